@@ -0,0 +1,98 @@
+package com.ciaranmckenna.medical_event_tracker;
+
+import com.ciaranmckenna.medical_event_tracker.dto.RegisterRequest;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.service.MedicalEventService;
+import com.ciaranmckenna.medical_event_tracker.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH load comparison of platform-thread and virtual-thread request execution.
+ * Boots the application on a random port, with the {@code virtual-threads} profile when {@code virtualThreads}
+ * is true, and has more concurrent clients than Tomcat's default 200 platform workers fetch a patient's events.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=RequestExecutionBenchmark}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(256)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class RequestExecutionBenchmark {
+
+    private static final int SEEDED_EVENTS = 50;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        String[] profiles = virtualThreads ? new String[]{"test", "virtual-threads"} : new String[]{"test"};
+        context = new SpringApplicationBuilder(MedicalEventTrackerApplication.class)
+                .profiles(profiles)
+                .properties("server.port=0", "spring.datasource.url=jdbc:h2:mem:request-benchmark;MODE=MySQL")
+                .run();
+
+        String token = context.getBean(UserService.class).registerUser(new RegisterRequest(
+                "benchmarkuser", "benchmark@example.com", "Benchmark1!Pass", "Bench", "Mark")).token();
+        UUID patientId = UUID.randomUUID();
+        MedicalEventService medicalEventService = context.getBean(MedicalEventService.class);
+        for (int i = 0; i < SEEDED_EVENTS; i++) {
+            medicalEventService.createMedicalEvent(createEvent(patientId, LocalDateTime.now().minusHours(i + 1)));
+        }
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/medical-events/patient/" + patientId))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getPatientEvents() throws Exception {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    private static MedicalEvent createEvent(UUID patientId, LocalDateTime eventTime) {
+        MedicalEvent event = new MedicalEvent();
+        event.setPatientId(patientId);
+        event.setEventTime(eventTime);
+        event.setTitle("Benchmark event");
+        event.setDescription("Event served by the request execution benchmark");
+        event.setSeverity(MedicalEventSeverity.MODERATE);
+        event.setCategory(MedicalEventCategory.SYMPTOM);
+        event.setWeightKg(new BigDecimal("70.0"));
+        event.setHeightCm(new BigDecimal("175.0"));
+        event.setDosageGiven(new BigDecimal("250.0"));
+        return event;
+    }
+}
@@ -0,0 +1,70 @@
+package com.ciaranmckenna.medical_event_tracker.service.impl;
+
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventPoint;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationCorrelationAnalysis;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationDosagePoint;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.store.PatientTimeSeriesStore;
+import com.ciaranmckenna.medical_event_tracker.util.PatientTimeSeries;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH latency benchmark for correlation analysis over a cached patient snapshot.
+ * One dose every 12 hours with an event three hours after each; the store returns the snapshot directly,
+ * so this measures the sweep alone, which is all a request costs once the snapshot is loaded.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=CorrelationServiceBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CorrelationServiceBenchmark {
+
+    @Param({"100", "2000", "20000"})
+    private int dosages;
+
+    private CorrelationServiceImpl correlationService;
+    private UUID patientId;
+    private UUID medicationId;
+
+    @Setup
+    public void setUp() {
+        patientId = UUID.randomUUID();
+        medicationId = UUID.randomUUID();
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 8, 0);
+        List<MedicationDosagePoint> dosagePoints = new ArrayList<>(dosages);
+        List<MedicalEventPoint> eventPoints = new ArrayList<>(dosages);
+        for (int i = 0; i < dosages; i++) {
+            LocalDateTime doseTime = start.plusHours(12L * i);
+            dosagePoints.add(new MedicationDosagePoint(doseTime, medicationId));
+            eventPoints.add(new MedicalEventPoint(doseTime.plusHours(3), MedicalEventCategory.SYMPTOM,
+                    MedicalEventSeverity.MILD, medicationId));
+        }
+        PatientTimeSeries series = PatientTimeSeries.of(eventPoints, dosagePoints);
+
+        PatientTimeSeriesStore store = new PatientTimeSeriesStore(null, null, null, 1, 1) {
+            @Override
+            public PatientTimeSeries get(UUID id) {
+                return series;
+            }
+        };
+        correlationService = new CorrelationServiceImpl(store);
+        ReflectionTestUtils.setField(correlationService, "correlationWindowHours", 24L);
+        ReflectionTestUtils.setField(correlationService, "lagBinMinutes", 60L);
+    }
+
+    @Benchmark
+    public MedicationCorrelationAnalysis correlation() {
+        return correlationService.generateMedicationCorrelationAnalysis(patientId, medicationId);
+    }
+}
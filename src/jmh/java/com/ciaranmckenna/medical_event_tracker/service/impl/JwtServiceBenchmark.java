@@ -0,0 +1,52 @@
+package com.ciaranmckenna.medical_event_tracker.service.impl;
+
+import com.ciaranmckenna.medical_event_tracker.dto.TokenClaims;
+import com.ciaranmckenna.medical_event_tracker.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH throughput benchmark for token generation and validation in JwtServiceImpl.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec}; see docs/architecture.md.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtServiceImpl jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtServiceImpl();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", "benchmarkSecretKey1234567890123456789012345678901234");
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationMs", 86_400_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpirationMs", 604_800_000L);
+        jwtService.init();
+
+        user = new User("benchmarkuser", "benchmark@example.com", "encodedPassword", "Bench", "Mark");
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public TokenClaims parseToken() {
+        return jwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, "benchmarkuser");
+    }
+}
@@ -0,0 +1,81 @@
+package com.ciaranmckenna.medical_event_tracker.util;
+
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventText;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH latency benchmark for searching one patient's full-text event index.
+ * Descriptions are up to 2,000 characters drawn from a 38-word vocabulary, so every query word occurs in
+ * nearly every event: a worst case, since real notes spread over far more words and have shorter postings.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=EventTextIndexBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventTextIndexBenchmark {
+
+    private static final String[] VOCABULARY = {
+            "seizure", "tonic", "clonic", "absence", "left", "right", "arm", "leg", "jerking", "sleep",
+            "fever", "headache", "rash", "vomiting", "drowsy", "after", "before", "dose", "school", "night",
+            "minutes", "recovered", "parents", "reported", "episode", "mild", "severe", "rescue", "medication",
+            "given", "hospital", "observed", "breathing", "normal", "confused", "tired", "appetite", "pain"
+    };
+
+    @Param({"1000", "10000"})
+    private int events;
+
+    private EventTextIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2020, 1, 1, 0, 0);
+        List<MedicalEventText> texts = new ArrayList<>(events);
+        for (int i = 0; i < events; i++) {
+            texts.add(new MedicalEventText(UUID.randomUUID(), start.plusHours(i),
+                    words(random, 2 + random.nextInt(4)), words(random, 20 + random.nextInt(250)),
+                    null, MedicalEventCategory.SYMPTOM, MedicalEventSeverity.MILD, null, null));
+        }
+        index = EventTextIndex.of(texts);
+    }
+
+    @Benchmark
+    public List<EventTextIndex.Hit> singleWord() {
+        return index.search("seizure", 50);
+    }
+
+    @Benchmark
+    public List<EventTextIndex.Hit> multiTerm() {
+        return index.search("seizure arm night", 50);
+    }
+
+    @Benchmark
+    public List<EventTextIndex.Hit> phrase() {
+        return index.search("\"left arm\" jerking", 50);
+    }
+
+    @Benchmark
+    public List<EventTextIndex.Hit> prefix() {
+        return index.search("re", 50);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(VOCABULARY[random.nextInt(VOCABULARY.length)]).append(' ');
+        }
+        return text.toString();
+    }
+}
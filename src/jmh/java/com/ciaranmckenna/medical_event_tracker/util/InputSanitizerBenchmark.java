@@ -0,0 +1,74 @@
+package com.ciaranmckenna.medical_event_tracker.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH latency benchmark for sanitizing 2,000-character event descriptions, as mapToEntity does for every
+ * event write. {@code patternSanitizeText} is the pattern-per-rule sequence the sanitizer used for all input
+ * before, and still uses for input with active content.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.include=InputSanitizerBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InputSanitizerBenchmark {
+
+    private static final int LENGTH = 2_000;
+
+    private static final String[] WORDS = {
+            "patient", "reported", "mild", "headache", "after", "morning", "dose", "of", "250mg", "levetiracetam",
+            "seizure", "lasted", "approximately", "two", "minutes;", "recovered", "fully.", "Temperature", "38.2C,",
+            "parents", "observed", "left-sided", "twitching", "(no", "injury)", "-", "follow", "up", "with", "GP"
+    };
+
+    /**
+     * plain: words and single spaces; formatted: pasted rich text with tags, blank lines and runs of spaces;
+     * active: formatted text that also contains an event handler, so it takes the pattern sequence.
+     */
+    @Param({"plain", "formatted", "active"})
+    private String content;
+
+    private InputSanitizer sanitizer;
+    private String description;
+
+    @Setup
+    public void setUp() {
+        sanitizer = new InputSanitizer();
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(LENGTH);
+        while (text.length() < LENGTH) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (content.equals("plain")) {
+                text.append(word).append(' ');
+            } else {
+                int roll = random.nextInt(20);
+                text.append(roll == 0 ? "<b>" + word + "</b>" : word).append(roll == 1 ? "\n\n" : roll == 2 ? "   " : " ");
+            }
+        }
+        if (content.equals("active")) {
+            text.insert(LENGTH / 2, "<img src=x onerror=alert(1)>");
+        }
+        description = text.substring(0, LENGTH);
+    }
+
+    @Benchmark
+    public String sanitizeText() {
+        return sanitizer.sanitizeText(description);
+    }
+
+    @Benchmark
+    public String patternSanitizeText() {
+        return sanitizer.sanitizeTextWithPatterns(description);
+    }
+
+    @Benchmark
+    public String sanitizeMedicalData() {
+        return sanitizer.sanitizeMedicalData(description);
+    }
+}
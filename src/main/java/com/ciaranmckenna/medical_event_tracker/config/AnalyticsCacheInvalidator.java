@@ -0,0 +1,44 @@
+package com.ciaranmckenna.medical_event_tracker.config;
+
+import com.ciaranmckenna.medical_event_tracker.event.PatientDataChangedEvent;
+import com.ciaranmckenna.medical_event_tracker.store.PatientTimeSeriesStore;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts a patient's cached analytics once a change to their events or dosages has committed.
+ * The patient's time-series snapshot goes first, so recomputed results never read the old snapshot.
+ * Advancing the patient's cache generation then retires the keys of reads already in flight: a read that
+ * loaded pre-commit data stores its result under the old generation, where no later read looks.
+ */
+@Component
+public class AnalyticsCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final PatientTimeSeriesStore timeSeriesStore;
+    private final PatientCacheGenerations generations;
+
+    public AnalyticsCacheInvalidator(CacheManager cacheManager, PatientTimeSeriesStore timeSeriesStore,
+                                     PatientCacheGenerations generations) {
+        this.cacheManager = cacheManager;
+        this.timeSeriesStore = timeSeriesStore;
+        this.generations = generations;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPatientDataChanged(PatientDataChangedEvent event) {
+        timeSeriesStore.evict(event.patientId());
+        generations.advance(event.patientId());
+        for (String cacheName : CacheConfig.ANALYTICS_CACHES) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null
+                    && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                nativeCache.asMap().keySet().removeIf(key -> key instanceof CacheConfig.PatientCacheKey patientKey
+                        && event.patientId().equals(patientKey.patientId()));
+            }
+        }
+    }
+}
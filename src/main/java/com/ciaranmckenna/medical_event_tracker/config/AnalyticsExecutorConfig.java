@@ -0,0 +1,127 @@
+package com.ciaranmckenna.medical_event_tracker.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor configuration for analytics work fanned out from a request thread.
+ * Work is bounded in both threading modes; work submitted past the bound is rejected
+ * rather than queued without limit, and callers report the affected section as failed.
+ */
+@Configuration
+public class AnalyticsExecutorConfig {
+
+    public static final String ANALYTICS_EXECUTOR = "analyticsExecutor";
+
+    /**
+     * Fixed-size pool of daemon threads for analytics overview sections, used with platform threads.
+     *
+     * @param poolSize      number of worker threads
+     * @param queueCapacity number of sections that may wait for a worker
+     * @return the executor, shut down with the application context
+     */
+    @Bean(name = ANALYTICS_EXECUTOR, destroyMethod = "shutdownNow")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService analyticsExecutor(
+            @Value("${app.analytics.overview.pool-size:8}") int poolSize,
+            @Value("${app.analytics.overview.queue-capacity:64}") int queueCapacity) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "analytics-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Virtual thread per analytics overview section, used when {@code spring.threads.virtual.enabled} is set.
+     * Virtual threads are not pooled; a semaphore admits up to {@code pool-size + queue-capacity}
+     * sections at once, and the connection pool bounds how many of them touch the database.
+     *
+     * @param poolSize      number of sections the platform pool would run at once
+     * @param queueCapacity number of sections the platform pool would queue
+     * @return the executor, shut down with the application context
+     */
+    @Bean(name = ANALYTICS_EXECUTOR, destroyMethod = "shutdownNow")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService virtualThreadAnalyticsExecutor(
+            @Value("${app.analytics.overview.pool-size:8}") int poolSize,
+            @Value("${app.analytics.overview.queue-capacity:64}") int queueCapacity) {
+        return new BoundedVirtualThreadExecutor(poolSize + queueCapacity);
+    }
+
+    /**
+     * Executor starting a named virtual thread per task, rejecting tasks once {@code maxInFlight} are running.
+     */
+    static final class BoundedVirtualThreadExecutor extends AbstractExecutorService {
+
+        private final ExecutorService delegate = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("analytics-virtual-", 1).factory());
+        private final Semaphore permits;
+
+        BoundedVirtualThreadExecutor(int maxInFlight) {
+            this.permits = new Semaphore(maxInFlight);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (!permits.tryAcquire()) {
+                throw new RejectedExecutionException("Analytics executor is saturated");
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        command.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
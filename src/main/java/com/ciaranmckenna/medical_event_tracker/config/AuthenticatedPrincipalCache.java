@@ -0,0 +1,104 @@
+package com.ciaranmckenna.medical_event_tracker.config;
+
+import com.ciaranmckenna.medical_event_tracker.entity.User;
+import com.ciaranmckenna.medical_event_tracker.event.UserAccountChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded cache of validated JWTs to the principal they authenticate.
+ * Each entry expires with its token, and a user's entries are evicted once a change to their account commits.
+ */
+@Component
+public class AuthenticatedPrincipalCache {
+
+    private final Cache<String, CachedPrincipal> principals;
+
+    public AuthenticatedPrincipalCache(@Value("${app.jwt.principal-cache.maximum-size:10000}") long maximumSize) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    /**
+     * Returns the principal cached for a token, if the token is still cached and unexpired.
+     *
+     * @param token the raw JWT
+     * @return the cached principal, or empty if the token has to be validated again
+     */
+    public Optional<CachedPrincipal> get(String token) {
+        return Optional.ofNullable(principals.getIfPresent(token));
+    }
+
+    /**
+     * Caches the principal for a token that has just been validated.
+     *
+     * @param token     the raw JWT
+     * @param principal the authenticated user and their authorities
+     */
+    public void put(String token, CachedPrincipal principal) {
+        if (principal.expiresAt().isAfter(Instant.now())) {
+            principals.put(token, principal);
+        }
+    }
+
+    /**
+     * Evicts every cached token for a user once the change to their account has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        evictUser(event.userId());
+    }
+
+    /**
+     * Evicts every cached token for a user.
+     *
+     * @param userId the user's UUID
+     */
+    public void evictUser(UUID userId) {
+        principals.asMap().values().removeIf(principal -> userId.equals(principal.user().getId()));
+    }
+
+    /**
+     * A validated principal and the time its token expires.
+     *
+     * @param user        the authenticated user
+     * @param authorities the authorities granted to the user
+     * @param expiresAt   the token's expiration time
+     */
+    public record CachedPrincipal(User user, List<? extends GrantedAuthority> authorities, Instant expiresAt) {
+    }
+
+    private static final class TokenExpiry implements Expiry<String, CachedPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String token, CachedPrincipal principal, long currentTime) {
+            return Math.max(0L, Duration.between(Instant.now(), principal.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, CachedPrincipal principal, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(token, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, CachedPrincipal principal, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
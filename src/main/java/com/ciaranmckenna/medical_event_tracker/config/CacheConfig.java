@@ -0,0 +1,96 @@
+package com.ciaranmckenna.medical_event_tracker.config;
+
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineAnalysis;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Cache configuration for analytics results and medication typeahead suggestions.
+ * The Caffeine cache manager, size and TTL come from the spring.cache.* properties;
+ * this class enables caching, supplies the patient-scoped cache key and bounds the timeline cache
+ * by the number of data points it holds rather than by entry count.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String DASHBOARD_CACHE = "analyticsDashboard";
+    public static final String WEEKLY_TRENDS_CACHE = "analyticsWeeklyTrends";
+    public static final String TRENDS_CACHE = "analyticsTrends";
+    public static final String CORRELATIONS_CACHE = "analyticsCorrelations";
+    public static final String TIMELINE_CACHE = "analyticsTimeline";
+    public static final String MEDICATION_TYPEAHEAD_CACHE = "medicationTypeahead";
+
+    /**
+     * All analytics caches, evicted together when a patient's data changes.
+     */
+    public static final List<String> ANALYTICS_CACHES = List.of(
+            DASHBOARD_CACHE, WEEKLY_TRENDS_CACHE, TRENDS_CACHE, CORRELATIONS_CACHE, TIMELINE_CACHE);
+
+    /**
+     * Key generator for methods whose first parameter is the patient ID.
+     * Keeping the patient ID separate lets every entry for a patient be evicted without clearing the cache;
+     * the patient's generation keeps a load that raced an eviction from being served afterwards.
+     *
+     * @param generations the per-patient cache generations
+     * @return key generator producing {@link PatientCacheKey}s
+     */
+    @Bean
+    public KeyGenerator patientKeyGenerator(PatientCacheGenerations generations) {
+        return (target, method, params) -> {
+            UUID patientId = (UUID) params[0];
+            return new PatientCacheKey(patientId, generations.current(patientId),
+                    Arrays.asList(Arrays.copyOfRange(params, 1, params.length)));
+        };
+    }
+
+    /**
+     * Registers the timeline cache with its own bound.
+     * A timeline holds one data point per event and dosage in its period, so entries are weighed by size.
+     *
+     * @param maximumWeight    the total number of data points and buckets the cache may hold
+     * @param expireAfterWrite how long an entry lives
+     * @return customizer applied to the auto-configured Caffeine cache manager
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> timelineCacheCustomizer(
+            @Value("${app.analytics.timeline-cache.maximum-weight:200000}") long maximumWeight,
+            @Value("${app.analytics.timeline-cache.expire-after-write:5m}") Duration expireAfterWrite) {
+        return cacheManager -> cacheManager.registerCustomCache(TIMELINE_CACHE, Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Object key, Object value) -> timelineWeight(value))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build());
+    }
+
+    static int timelineWeight(Object value) {
+        if (value instanceof TimelineAnalysis timeline) {
+            int dataPoints = timeline.dataPoints() == null ? 0 : timeline.dataPoints().size();
+            int buckets = timeline.buckets() == null ? 0 : timeline.buckets().size();
+            return 1 + dataPoints + buckets;
+        }
+        return 1;
+    }
+
+    /**
+     * Cache key made of the patient ID, the patient's cache generation and the remaining query parameters.
+     *
+     * @param patientId  the patient's UUID
+     * @param generation the patient's generation when the read started
+     * @param parameters the other method arguments, in order
+     */
+    public record PatientCacheKey(UUID patientId, long generation, List<Object> parameters) {
+    }
+}
@@ -1,11 +1,15 @@
 package com.ciaranmckenna.medical_event_tracker.config;
 
+import com.ciaranmckenna.medical_event_tracker.config.AuthenticatedPrincipalCache.CachedPrincipal;
+import com.ciaranmckenna.medical_event_tracker.dto.TokenClaims;
+import com.ciaranmckenna.medical_event_tracker.entity.User;
 import com.ciaranmckenna.medical_event_tracker.service.JwtService;
 import com.ciaranmckenna.medical_event_tracker.service.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -24,10 +28,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserService userService;
+    private final AuthenticatedPrincipalCache principalCache;
+    private final TokenRevocationList tokenRevocationList;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserService userService) {
+    // Opt-in: build the principal from verified claims instead of loading the user per token
+    @Value("${app.jwt.stateless-auth:false}")
+    private boolean statelessAuth;
+
+    public JwtAuthenticationFilter(JwtService jwtService, UserService userService,
+                                   AuthenticatedPrincipalCache principalCache,
+                                   TokenRevocationList tokenRevocationList) {
         this.jwtService = jwtService;
         this.userService = userService;
+        this.principalCache = principalCache;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     @Override
@@ -37,7 +51,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
 
         if (!StringUtils.hasText(authHeader) || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -46,28 +59,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
         try {
-            username = jwtService.extractUsername(jwt);
-
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                try {
-                    var user = userService.findByUsername(username);
-
-                    if (jwtService.isTokenValid(jwt, username) && user.getEnabled()) {
-                        List<SimpleGrantedAuthority> authorities = List.of(
-                            new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
-                        );
-
-                        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            user,  // Store the User entity as the principal, not just the username
-                            null,
-                            authorities
-                        );
-
-                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authToken);
-                    }
-                } catch (UsernameNotFoundException e) {
-                    logger.debug("User not found: " + username);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                CachedPrincipal principal = principalCache.get(jwt)
+                        .filter(cached -> !isRevoked(cached))
+                        .orElseGet(() -> validate(jwt));
+
+                if (principal != null) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        principal.user(),  // Store the User entity as the principal, not just the username
+                        null,
+                        principal.authorities()
+                    );
+
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
                 }
             }
         } catch (Exception e) {
@@ -76,4 +81,56 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * In stateless mode a cached principal is checked against the revocation list on every request,
+     * since a revocation committed on another node cannot evict it from this node's cache.
+     */
+    private boolean isRevoked(CachedPrincipal principal) {
+        User user = principal.user();
+        return statelessAuth && tokenRevocationList.isRevoked(user.getId(), user.getTokenVersion());
+    }
+
+    /**
+     * Parses and verifies the token once, resolves the user and caches the result until the token expires.
+     * The parser rejects expired tokens and bad signatures by throwing.
+     * In stateless mode the user is built from the token claims and checked against the revocation list;
+     * otherwise, or for tokens without user claims, the user is loaded from the database.
+     *
+     * @return the validated principal, or null if the user is missing, disabled or revoked
+     */
+    private CachedPrincipal validate(String jwt) {
+        TokenClaims claims = jwtService.parseToken(jwt);
+        String username = claims.username();
+        if (username == null) {
+            return null;
+        }
+
+        User user;
+        if (statelessAuth && claims.hasUserClaims()) {
+            if (tokenRevocationList.isRevoked(claims.userId(), claims.tokenVersion())) {
+                logger.debug("Revoked token for user: " + username);
+                return null;
+            }
+            user = claims.toUser();
+        } else {
+            try {
+                user = userService.findByUsername(username);
+            } catch (UsernameNotFoundException e) {
+                logger.debug("User not found: " + username);
+                return null;
+            }
+            if (!user.getEnabled()) {
+                return null;
+            }
+        }
+
+        CachedPrincipal principal = new CachedPrincipal(
+            user,
+            List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())),
+            claims.expiresAt()
+        );
+        principalCache.put(jwt, principal);
+        return principal;
+    }
+}
@@ -0,0 +1,40 @@
+package com.ciaranmckenna.medical_event_tracker.config;
+
+import com.ciaranmckenna.medical_event_tracker.service.NameSearchIndexService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Startup command that backfills normalized names and name trigrams for existing patients and medications.
+ * Runs by itself when any row is missing its normalized names, as after upgrading a database that predates
+ * them, so name search never silently skips those rows. Force a full rebuild with
+ * {@code --app.search.rebuild-on-startup=true}.
+ */
+@Component
+public class NameSearchIndexRebuildRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(NameSearchIndexRebuildRunner.class);
+
+    private final NameSearchIndexService nameSearchIndexService;
+    private final boolean rebuildOnStartup;
+
+    public NameSearchIndexRebuildRunner(NameSearchIndexService nameSearchIndexService,
+                                        @Value("${app.search.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.nameSearchIndexService = nameSearchIndexService;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (rebuildOnStartup) {
+            logger.info("Rebuilding name search keys for patients and medications...");
+            nameSearchIndexService.rebuildAll();
+        } else if (nameSearchIndexService.needsBackfill()) {
+            logger.info("Some patients or medications have no name search keys; backfilling them...");
+            nameSearchIndexService.backfillMissing();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ciaranmckenna.medical_event_tracker.config;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-patient generation numbers that form part of every analytics cache key.
+ * A read takes the generation before it loads; a committed change advances it, so a result loaded
+ * from pre-change data is stored under a key that no later read asks for.
+ * Generations are never dropped, since restarting one at zero could match a key still in the cache.
+ */
+@Component
+public class PatientCacheGenerations {
+
+    private final Map<UUID, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the patient's current generation.
+     *
+     * @param patientId the patient's UUID
+     * @return the generation, zero until the patient's data first changes
+     */
+    public long current(UUID patientId) {
+        AtomicLong generation = generations.get(patientId);
+        return generation == null ? 0L : generation.get();
+    }
+
+    /**
+     * Advances the patient's generation so that keys taken before this call are no longer looked up.
+     *
+     * @param patientId the patient's UUID
+     */
+    public void advance(UUID patientId) {
+        generations.computeIfAbsent(patientId, id -> new AtomicLong()).incrementAndGet();
+    }
+}
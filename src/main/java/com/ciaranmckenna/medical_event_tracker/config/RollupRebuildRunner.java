@@ -0,0 +1,41 @@
+package com.ciaranmckenna.medical_event_tracker.config;
+
+import com.ciaranmckenna.medical_event_tracker.service.PatientRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Startup command that backfills the daily rollup tables from existing events and dosages.
+ * Runs by itself when the rollups are empty but there are events or dosages, as after upgrading a database
+ * that predates them, so dashboards never read empty totals. Force a full rebuild with
+ * {@code --app.rollup.rebuild-on-startup=true}.
+ */
+@Component
+public class RollupRebuildRunner implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollupRebuildRunner.class);
+
+    private final PatientRollupService patientRollupService;
+    private final boolean rebuildOnStartup;
+
+    public RollupRebuildRunner(PatientRollupService patientRollupService,
+                               @Value("${app.rollup.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.patientRollupService = patientRollupService;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (rebuildOnStartup) {
+            logger.info("Rebuilding daily rollups from raw events and dosages...");
+        } else if (patientRollupService.needsBackfill()) {
+            logger.info("Daily rollups are empty but events or dosages exist; backfilling them...");
+        } else {
+            return;
+        }
+        patientRollupService.rebuildAll();
+    }
+}
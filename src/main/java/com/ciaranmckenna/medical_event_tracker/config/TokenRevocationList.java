@@ -0,0 +1,65 @@
+package com.ciaranmckenna.medical_event_tracker.config;
+
+import com.ciaranmckenna.medical_event_tracker.event.UserAccountChangedEvent;
+import com.ciaranmckenna.medical_event_tracker.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Cache of user ID to persisted token version, used by stateless authentication
+ * to reject tokens issued before a user was disabled or changed their credentials.
+ * Each version is re-read from the database once its entry is older than the refresh interval,
+ * so a revocation committed on another node takes effect here within that interval;
+ * changes committed on this node take effect immediately.
+ * A user who no longer exists has every token revoked.
+ */
+@Component
+public class TokenRevocationList {
+
+    private final UserRepository userRepository;
+    private final AuthenticatedPrincipalCache principalCache;
+    private final LoadingCache<UUID, Integer> tokenVersions;
+
+    public TokenRevocationList(UserRepository userRepository, AuthenticatedPrincipalCache principalCache,
+                               @Value("${app.jwt.revocation.refresh-interval:30s}") Duration refreshInterval,
+                               @Value("${app.jwt.principal-cache.maximum-size:10000}") long maximumSize) {
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.tokenVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(refreshInterval)
+                .build(this::loadTokenVersion);
+    }
+
+    /**
+     * Checks if a token was issued before the user's current token version.
+     *
+     * @param userId       the user's UUID from the token
+     * @param tokenVersion the token version from the token
+     * @return true if the token must no longer be accepted
+     */
+    public boolean isRevoked(UUID userId, int tokenVersion) {
+        return tokenVersion < tokenVersions.get(userId);
+    }
+
+    /**
+     * Drops the user's cached token version once the change has committed, so the next check
+     * reads the new one, then evicts their cached principals so none outlive the revocation.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserAccountChanged(UserAccountChangedEvent event) {
+        tokenVersions.invalidate(event.userId());
+        principalCache.evictUser(event.userId());
+    }
+
+    private Integer loadTokenVersion(UUID userId) {
+        return userRepository.findTokenVersionById(userId).orElse(Integer.MAX_VALUE);
+    }
+}
@@ -1,9 +1,14 @@
 package com.ciaranmckenna.medical_event_tracker.controller;
 
+import com.ciaranmckenna.medical_event_tracker.dto.AnalyticsOverview;
 import com.ciaranmckenna.medical_event_tracker.dto.DashboardSummary;
 import com.ciaranmckenna.medical_event_tracker.dto.MedicationCorrelationAnalysis;
 import com.ciaranmckenna.medical_event_tracker.dto.MedicationImpactAnalysis;
 import com.ciaranmckenna.medical_event_tracker.dto.TimelineAnalysis;
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineResolution;
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineSection;
+import com.ciaranmckenna.medical_event_tracker.dto.TrendPeriod;
+import com.ciaranmckenna.medical_event_tracker.service.AnalyticsOverviewService;
 import com.ciaranmckenna.medical_event_tracker.service.AnalyticsService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -11,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -22,9 +28,11 @@ import java.util.UUID;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final AnalyticsOverviewService analyticsOverviewService;
 
-    public AnalyticsController(AnalyticsService analyticsService) {
+    public AnalyticsController(AnalyticsService analyticsService, AnalyticsOverviewService analyticsOverviewService) {
         this.analyticsService = analyticsService;
+        this.analyticsOverviewService = analyticsOverviewService;
     }
 
     /**
@@ -76,15 +84,20 @@ public class AnalyticsController {
      * @param patientId the patient's UUID
      * @param startDate the start date (ISO format: 2023-01-01T00:00:00)
      * @param endDate   the end date (ISO format: 2023-12-31T23:59:59)
-     * @return timeline analysis with chronological data points
+     * @param resolution optional HOUR, DAY or WEEK to return per-bucket summaries instead of raw points
+     * @param include    optional comma-separated STATISTICS and/or PATTERNS sections to compute
+     * @return timeline analysis with chronological data points or downsampled buckets
      */
     @GetMapping("/timeline/{patientId}")
     public ResponseEntity<TimelineAnalysis> getTimelineAnalysis(
             @PathVariable UUID patientId,
             @RequestParam LocalDateTime startDate,
-            @RequestParam LocalDateTime endDate) {
+            @RequestParam LocalDateTime endDate,
+            @RequestParam(required = false) TimelineResolution resolution,
+            @RequestParam(required = false) Set<TimelineSection> include) {
         
-        TimelineAnalysis timeline = analyticsService.generateTimelineAnalysis(patientId, startDate, endDate);
+        TimelineAnalysis timeline = analyticsService.generateTimelineAnalysis(
+                patientId, startDate, endDate, resolution, include);
         return ResponseEntity.ok(timeline);
     }
 
@@ -122,32 +135,34 @@ public class AnalyticsController {
     }
 
     /**
-     * Generate comprehensive analytics overview for a patient.
-     * Combines dashboard summary with correlation analysis for all medications.
+     * Generate trend summaries bucketed by week or month.
      *
      * @param patientId the patient's UUID
-     * @return comprehensive analytics overview
+     * @param period    the bucket size (WEEK or MONTH)
+     * @param periods   the number of buckets to return, most recent first
+     * @return map of period summaries with period identifiers
      */
-    @GetMapping("/overview/{patientId}")
-    public ResponseEntity<AnalyticsOverviewResponse> getAnalyticsOverview(@PathVariable UUID patientId) {
-        DashboardSummary dashboard = analyticsService.generateDashboardSummary(patientId);
-        List<MedicationCorrelationAnalysis> correlations = analyticsService.generateAllMedicationCorrelations(patientId);
-        
-        AnalyticsOverviewResponse overview = new AnalyticsOverviewResponse(
-                dashboard,
-                correlations,
-                LocalDateTime.now()
-        );
-        
-        return ResponseEntity.ok(overview);
+    @GetMapping("/trends/{patientId}")
+    public ResponseEntity<Map<String, DashboardSummary>> getTrends(
+            @PathVariable UUID patientId,
+            @RequestParam(defaultValue = "WEEK") TrendPeriod period,
+            @RequestParam(defaultValue = "8") int periods) {
+
+        Map<String, DashboardSummary> trends = analyticsService.generateTrendSummaries(patientId, period, periods);
+        return ResponseEntity.ok(trends);
     }
 
     /**
-     * DTO for comprehensive analytics overview response.
+     * Generate comprehensive analytics overview for a patient.
+     * Combines dashboard summary with correlation analysis for all medications, computed concurrently.
+     * A section that is slow or fails is returned as null with its status in {@code sectionStatus}.
+     *
+     * @param patientId the patient's UUID
+     * @return comprehensive analytics overview, possibly partial
      */
-    public record AnalyticsOverviewResponse(
-            DashboardSummary dashboardSummary,
-            List<MedicationCorrelationAnalysis> medicationCorrelations,
-            LocalDateTime generatedAt
-    ) {}
-}
\ No newline at end of file
+    @GetMapping("/overview/{patientId}")
+    public ResponseEntity<AnalyticsOverview> getAnalyticsOverview(@PathVariable UUID patientId) {
+        AnalyticsOverview overview = analyticsOverviewService.generateAnalyticsOverview(patientId);
+        return ResponseEntity.ok(overview);
+    }
+}
@@ -1,5 +1,7 @@
 package com.ciaranmckenna.medical_event_tracker.controller;
 
+import com.ciaranmckenna.medical_event_tracker.dto.BulkCreateMedicalEventRequest;
+import com.ciaranmckenna.medical_event_tracker.dto.BulkCreateResponse;
 import com.ciaranmckenna.medical_event_tracker.dto.CreateMedicalEventRequest;
 import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventResponse;
 import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventSearchRequest;
@@ -11,6 +13,7 @@ import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
 import com.ciaranmckenna.medical_event_tracker.exception.MedicalEventNotFoundException;
 import com.ciaranmckenna.medical_event_tracker.service.MedicalEventService;
 import com.ciaranmckenna.medical_event_tracker.service.MapperService;
+import com.ciaranmckenna.medical_event_tracker.validation.BulkItemValidator;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,7 +21,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -33,10 +38,13 @@ public class MedicalEventController {
 
     private final MedicalEventService medicalEventService;
     private final MapperService mapperService;
+    private final BulkItemValidator bulkItemValidator;
 
-    public MedicalEventController(MedicalEventService medicalEventService, MapperService mapperService) {
+    public MedicalEventController(MedicalEventService medicalEventService, MapperService mapperService,
+                                  BulkItemValidator bulkItemValidator) {
         this.medicalEventService = medicalEventService;
         this.mapperService = mapperService;
+        this.bulkItemValidator = bulkItemValidator;
     }
 
     /**
@@ -54,6 +62,30 @@ public class MedicalEventController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Create many medical events at once, such as a device's offline log.
+     * Valid events are saved together; invalid ones are reported per item and skipped.
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('PRIMARY_USER') or hasRole('ADMIN')")
+    public ResponseEntity<BulkCreateResponse> createMedicalEvents(
+            @Valid @RequestBody BulkCreateMedicalEventRequest request) {
+
+        List<Map<String, String>> itemErrors = bulkItemValidator.validate(request.events());
+        List<MedicalEvent> medicalEvents = new ArrayList<>();
+        for (int i = 0; i < itemErrors.size(); i++) {
+            if (itemErrors.get(i).isEmpty()) {
+                medicalEvents.add(mapperService.mapToEntity(request.events().get(i)));
+            }
+        }
+
+        List<MedicalEvent> createdEvents = medicalEventService.createMedicalEvents(medicalEvents);
+        BulkCreateResponse response = BulkCreateResponse.of(itemErrors,
+                createdEvents.stream().map(MedicalEvent::getId).toList());
+
+        return new ResponseEntity<>(response, response.created() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Get a medical event by ID.
      */
@@ -171,15 +203,16 @@ public class MedicalEventController {
     }
 
     /**
-     * Search medical events for a patient by text.
+     * Search medical events for a patient by text, returning at most {@code limit} of the most relevant.
      */
     @GetMapping("/patient/{patientId}/search")
     public ResponseEntity<List<MedicalEventResponse>> searchMedicalEvents(
             @PathVariable UUID patientId,
-            @RequestParam String searchText) {
+            @RequestParam String searchText,
+            @RequestParam(defaultValue = "50") int limit) {
         
         List<MedicalEvent> events = medicalEventService.searchMedicalEventsByPatientId(
-                patientId, searchText);
+                patientId, searchText, limit);
         List<MedicalEventResponse> responses = events.stream()
                 .map(mapperService::mapToResponse)
                 .toList();
@@ -233,6 +266,35 @@ public class MedicalEventController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Advanced search for medical events with keyset pagination.
+     * Pass the previous response's nextCursor to fetch the following page.
+     */
+    @PostMapping("/search/cursor")
+    public ResponseEntity<PagedMedicalEventResponse> searchMedicalEventsByCursor(
+            @Valid @RequestBody MedicalEventSearchRequest searchRequest) {
+        
+        PagedMedicalEventResponse response = medicalEventService.searchMedicalEventsByCursor(searchRequest);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get medical events for a patient with keyset pagination, newest first by default.
+     * Suited to infinite-scroll timelines; the total count is only computed when requested.
+     */
+    @GetMapping("/patient/{patientId}/cursor")
+    public ResponseEntity<PagedMedicalEventResponse> getMedicalEventsByCursor(
+            @PathVariable UUID patientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        PagedMedicalEventResponse response = medicalEventService.getMedicalEventsByPatientIdCursor(
+                patientId, cursor, size, sortDirection, includeTotal);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get medical events statistics for a patient.
      * Provides aggregated data for medical event analysis and reporting.
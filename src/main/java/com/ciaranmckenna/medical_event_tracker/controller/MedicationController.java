@@ -2,6 +2,7 @@ package com.ciaranmckenna.medical_event_tracker.controller;
 
 import com.ciaranmckenna.medical_event_tracker.dto.CreateMedicationRequest;
 import com.ciaranmckenna.medical_event_tracker.dto.MedicationResponse;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationSuggestion;
 import com.ciaranmckenna.medical_event_tracker.dto.PaginatedResponse;
 import com.ciaranmckenna.medical_event_tracker.dto.UpdateMedicationRequest;
 import com.ciaranmckenna.medical_event_tracker.entity.Medication;
@@ -92,6 +93,17 @@ public class MedicationController {
         return ResponseEntity.ok(medications);
     }
 
+    /**
+     * Suggest medications for the medication picker as the user types.
+     * Served from the name indexes and cached, since it is called on every keystroke.
+     */
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<MedicationSuggestion>> suggestMedications(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(medicationService.suggestMedications(query, limit));
+    }
+
     @GetMapping("/type/{type}")
     public ResponseEntity<List<MedicationResponse>> getMedicationsByType(
             @PathVariable Medication.MedicationType type) {
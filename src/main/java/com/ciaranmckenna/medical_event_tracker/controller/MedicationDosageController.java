@@ -1,12 +1,17 @@
 package com.ciaranmckenna.medical_event_tracker.controller;
 
+import com.ciaranmckenna.medical_event_tracker.dto.BulkCreateMedicationDosageRequest;
+import com.ciaranmckenna.medical_event_tracker.dto.BulkCreateResponse;
 import com.ciaranmckenna.medical_event_tracker.dto.CreateMedicationDosageRequest;
 import com.ciaranmckenna.medical_event_tracker.dto.MedicationDosageResponse;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationDosageSearchRequest;
+import com.ciaranmckenna.medical_event_tracker.dto.PagedMedicationDosageResponse;
 import com.ciaranmckenna.medical_event_tracker.dto.UpdateMedicationDosageRequest;
 import com.ciaranmckenna.medical_event_tracker.entity.DosageSchedule;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
 import com.ciaranmckenna.medical_event_tracker.exception.MedicationDosageNotFoundException;
 import com.ciaranmckenna.medical_event_tracker.service.MedicationDosageService;
+import com.ciaranmckenna.medical_event_tracker.validation.BulkItemValidator;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,7 +19,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,9 +35,12 @@ import java.util.UUID;
 public class MedicationDosageController {
 
     private final MedicationDosageService medicationDosageService;
+    private final BulkItemValidator bulkItemValidator;
 
-    public MedicationDosageController(MedicationDosageService medicationDosageService) {
+    public MedicationDosageController(MedicationDosageService medicationDosageService,
+                                      BulkItemValidator bulkItemValidator) {
         this.medicationDosageService = medicationDosageService;
+        this.bulkItemValidator = bulkItemValidator;
     }
 
     /**
@@ -48,6 +58,30 @@ public class MedicationDosageController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Create many medication dosage records at once, such as a caregiver's offline log.
+     * Valid dosages are saved together; invalid ones are reported per item and skipped.
+     */
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('PRIMARY_USER') or hasRole('ADMIN')")
+    public ResponseEntity<BulkCreateResponse> createMedicationDosages(
+            @Valid @RequestBody BulkCreateMedicationDosageRequest request) {
+
+        List<Map<String, String>> itemErrors = bulkItemValidator.validate(request.dosages());
+        List<MedicationDosage> dosages = new ArrayList<>();
+        for (int i = 0; i < itemErrors.size(); i++) {
+            if (itemErrors.get(i).isEmpty()) {
+                dosages.add(mapToEntity(request.dosages().get(i)));
+            }
+        }
+
+        List<MedicationDosage> createdDosages = medicationDosageService.createMedicationDosages(dosages);
+        BulkCreateResponse response = BulkCreateResponse.of(itemErrors,
+                createdDosages.stream().map(MedicationDosage::getId).toList());
+
+        return new ResponseEntity<>(response, response.created() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Get a medication dosage by ID.
      */
@@ -217,6 +251,152 @@ public class MedicationDosageController {
         return ResponseEntity.ok(responses);
     }
 
+    /**
+     * Advanced search for medication dosages with keyset pagination.
+     * Pass the previous response's nextCursor to fetch the following page.
+     */
+    @PostMapping("/search/cursor")
+    public ResponseEntity<PagedMedicationDosageResponse> searchMedicationDosagesByCursor(
+            @Valid @RequestBody MedicationDosageSearchRequest searchRequest) {
+        
+        PagedMedicationDosageResponse response = medicationDosageService.searchMedicationDosagesByCursor(searchRequest);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get medication dosages for a patient with keyset pagination, newest first by default.
+     * Optional filters narrow the listing; the total count is only computed when requested.
+     */
+    @GetMapping("/patient/{patientId}/cursor")
+    public ResponseEntity<PagedMedicationDosageResponse> getMedicationDosagesByCursor(
+            @PathVariable UUID patientId,
+            @RequestParam(required = false) List<UUID> medicationIds,
+            @RequestParam(required = false) List<DosageSchedule> schedules,
+            @RequestParam(required = false) Boolean administered,
+            @RequestParam(required = false) LocalDateTime startDate,
+            @RequestParam(required = false) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        PagedMedicationDosageResponse response = medicationDosageService.searchMedicationDosagesByCursor(
+                cursorRequest(patientId, medicationIds, schedules, administered, startDate, endDate,
+                        cursor, size, sortDirection, includeTotal));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get medication dosages for a patient and medication with keyset pagination.
+     */
+    @GetMapping("/patient/{patientId}/medication/{medicationId}/cursor")
+    public ResponseEntity<PagedMedicationDosageResponse> getMedicationDosagesByPatientAndMedicationCursor(
+            @PathVariable UUID patientId,
+            @PathVariable UUID medicationId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        PagedMedicationDosageResponse response = medicationDosageService.searchMedicationDosagesByCursor(
+                cursorRequest(patientId, List.of(medicationId), null, null, null, null,
+                        cursor, size, sortDirection, includeTotal));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get medication dosages for a patient by schedule with keyset pagination.
+     */
+    @GetMapping("/patient/{patientId}/schedule/{schedule}/cursor")
+    public ResponseEntity<PagedMedicationDosageResponse> getMedicationDosagesByScheduleCursor(
+            @PathVariable UUID patientId,
+            @PathVariable DosageSchedule schedule,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        PagedMedicationDosageResponse response = medicationDosageService.searchMedicationDosagesByCursor(
+                cursorRequest(patientId, null, List.of(schedule), null, null, null,
+                        cursor, size, sortDirection, includeTotal));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get missed dosages for a patient with keyset pagination.
+     * The cutoff defaults to now and is returned as anchorTime; pass it back as cutoffTime with each
+     * cursor so pages stay consistent.
+     */
+    @GetMapping("/patient/{patientId}/missed/cursor")
+    public ResponseEntity<PagedMedicationDosageResponse> getMissedDosagesByCursor(
+            @PathVariable UUID patientId,
+            @RequestParam(required = false) LocalDateTime cutoffTime,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        LocalDateTime effectiveCutoffTime = cutoffTime != null ? cutoffTime : LocalDateTime.now();
+        PagedMedicationDosageResponse response = medicationDosageService.getMissedDosagesByCursor(
+                patientId, effectiveCutoffTime, cursor, size, sortDirection, includeTotal);
+        return ResponseEntity.ok(response.withAnchorTime(effectiveCutoffTime));
+    }
+
+    /**
+     * Get upcoming dosages for a patient with keyset pagination, soonest first by default.
+     * The window starts at fromTime, or now when omitted, and is returned as anchorTime; pass it back
+     * as fromTime with each cursor so the window does not slide between pages.
+     */
+    @GetMapping("/patient/{patientId}/upcoming/cursor")
+    public ResponseEntity<PagedMedicationDosageResponse> getUpcomingDosagesByCursor(
+            @PathVariable UUID patientId,
+            @RequestParam(defaultValue = "24") int hoursAhead,
+            @RequestParam(required = false) LocalDateTime fromTime,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        LocalDateTime currentTime = fromTime != null ? fromTime : LocalDateTime.now();
+        LocalDateTime futureTime = currentTime.plusHours(hoursAhead);
+        
+        PagedMedicationDosageResponse response = medicationDosageService.getUpcomingDosagesByCursor(
+                patientId, currentTime, futureTime, cursor, size, sortDirection, includeTotal);
+        return ResponseEntity.ok(response.withAnchorTime(currentTime));
+    }
+
+    /**
+     * Get recent dosages for a patient with keyset pagination.
+     * The window is measured back from asOfTime, or now when omitted, and is returned as anchorTime;
+     * pass it back as asOfTime with each cursor so pages stay consistent.
+     */
+    @GetMapping("/patient/{patientId}/recent/cursor")
+    public ResponseEntity<PagedMedicationDosageResponse> getRecentDosagesByCursor(
+            @PathVariable UUID patientId,
+            @RequestParam(defaultValue = "7") int daysBack,
+            @RequestParam(required = false) LocalDateTime asOfTime,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        LocalDateTime effectiveAsOfTime = asOfTime != null ? asOfTime : LocalDateTime.now();
+        LocalDateTime cutoffDate = effectiveAsOfTime.minusDays(daysBack);
+        PagedMedicationDosageResponse response = medicationDosageService.searchMedicationDosagesByCursor(
+                cursorRequest(patientId, null, null, null, cutoffDate, null,
+                        cursor, size, sortDirection, includeTotal));
+        return ResponseEntity.ok(response.withAnchorTime(effectiveAsOfTime));
+    }
+
+    private MedicationDosageSearchRequest cursorRequest(UUID patientId, List<UUID> medicationIds,
+                                                        List<DosageSchedule> schedules, Boolean administered,
+                                                        LocalDateTime startDate, LocalDateTime endDate,
+                                                        String cursor, int size, String sortDirection,
+                                                        boolean includeTotal) {
+        return new MedicationDosageSearchRequest(patientId, medicationIds, schedules, administered,
+                startDate, endDate, 0, size, "administrationTime", sortDirection, cursor, includeTotal);
+    }
+
     private MedicationDosage mapToEntity(CreateMedicationDosageRequest request) {
         MedicationDosage dosage = new MedicationDosage();
         dosage.setPatientId(request.patientId());
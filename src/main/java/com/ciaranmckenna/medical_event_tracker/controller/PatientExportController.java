@@ -0,0 +1,51 @@
+package com.ciaranmckenna.medical_event_tracker.controller;
+
+import com.ciaranmckenna.medical_event_tracker.dto.ExportFormat;
+import com.ciaranmckenna.medical_event_tracker.service.PatientExportService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+/**
+ * REST controller for exporting a patient's complete medical history.
+ * The export is streamed to the client as it is read, so it is never held in memory in full.
+ */
+@RestController
+@RequestMapping("/api/export")
+@PreAuthorize("hasRole('PRIMARY_USER') or hasRole('SECONDARY_USER') or hasRole('ADMIN')")
+public class PatientExportController {
+
+    private final PatientExportService patientExportService;
+
+    public PatientExportController(PatientExportService patientExportService) {
+        this.patientExportService = patientExportService;
+    }
+
+    /**
+     * Export every medical event and medication dosage for a patient, oldest first.
+     *
+     * @param patientId the patient's UUID
+     * @param format    NDJSON (default) or CSV
+     * @return streamed export as a file download
+     */
+    @GetMapping("/patients/{patientId}/history")
+    public ResponseEntity<StreamingResponseBody> exportPatientHistory(
+            @PathVariable UUID patientId,
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+
+        StreamingResponseBody body = output -> patientExportService.exportPatientHistory(patientId, format, output);
+        String filename = "patient-" + patientId + "-history." + format.getFileExtension();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
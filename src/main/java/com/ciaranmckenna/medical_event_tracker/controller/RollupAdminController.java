@@ -0,0 +1,60 @@
+package com.ciaranmckenna.medical_event_tracker.controller;
+
+import com.ciaranmckenna.medical_event_tracker.dto.RollupConsistencyReport;
+import com.ciaranmckenna.medical_event_tracker.service.PatientRollupService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * REST controller for maintaining the per-patient daily rollup tables.
+ * Lets administrators backfill rollups from raw data and verify they are consistent.
+ */
+@RestController
+@RequestMapping("/api/admin/rollups")
+@PreAuthorize("hasRole('ADMIN')")
+public class RollupAdminController {
+
+    private final PatientRollupService patientRollupService;
+
+    public RollupAdminController(PatientRollupService patientRollupService) {
+        this.patientRollupService = patientRollupService;
+    }
+
+    /**
+     * Rebuild the rollups for every patient from the raw event and dosage rows.
+     *
+     * @return number of patients rebuilt
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuildAll() {
+        int patientsRebuilt = patientRollupService.rebuildAll();
+        return ResponseEntity.ok(Map.of("patientsRebuilt", patientsRebuilt));
+    }
+
+    /**
+     * Rebuild a single patient's rollups from the raw event and dosage rows.
+     *
+     * @param patientId the patient's UUID
+     * @return consistency report taken after the rebuild
+     */
+    @PostMapping("/rebuild/{patientId}")
+    public ResponseEntity<RollupConsistencyReport> rebuildPatient(@PathVariable UUID patientId) {
+        patientRollupService.rebuildPatient(patientId);
+        return ResponseEntity.ok(patientRollupService.checkConsistency(patientId));
+    }
+
+    /**
+     * Compare a patient's rollups against the raw event and dosage rows.
+     *
+     * @param patientId the patient's UUID
+     * @return consistency report listing any discrepancies
+     */
+    @GetMapping("/consistency/{patientId}")
+    public ResponseEntity<RollupConsistencyReport> checkConsistency(@PathVariable UUID patientId) {
+        return ResponseEntity.ok(patientRollupService.checkConsistency(patientId));
+    }
+}
@@ -0,0 +1,31 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO combining the dashboard summary with correlation analysis for all medications.
+ * A section that timed out or failed is null, and {@code sectionStatus} says which.
+ *
+ * @param dashboardSummary       the dashboard summary, or null if the section did not complete
+ * @param medicationCorrelations correlation analyses, or null if the section did not complete
+ * @param sectionStatus          the outcome of every section
+ * @param generatedAt            when the overview was assembled
+ */
+public record AnalyticsOverview(
+        DashboardSummary dashboardSummary,
+        List<MedicationCorrelationAnalysis> medicationCorrelations,
+        Map<OverviewSection, OverviewSectionStatus> sectionStatus,
+        LocalDateTime generatedAt
+) {
+
+    /**
+     * Checks if every section completed.
+     *
+     * @return true if no section timed out or failed
+     */
+    public boolean isComplete() {
+        return sectionStatus.values().stream().allMatch(status -> status == OverviewSectionStatus.COMPLETE);
+    }
+}
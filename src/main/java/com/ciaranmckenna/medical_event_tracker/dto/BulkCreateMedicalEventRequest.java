@@ -0,0 +1,17 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for creating many medical events in one request, such as a device's offline log.
+ * Items are validated one by one so that invalid items are reported without rejecting the rest.
+ */
+public record BulkCreateMedicalEventRequest(
+        @NotEmpty(message = "At least one medical event is required")
+        @Size(max = 5000, message = "Cannot create more than 5000 medical events per request")
+        List<CreateMedicalEventRequest> events
+) {
+}
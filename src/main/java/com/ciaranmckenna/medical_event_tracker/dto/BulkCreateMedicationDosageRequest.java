@@ -0,0 +1,17 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for creating many medication dosage records in one request, such as a caregiver's offline log.
+ * Items are validated one by one so that invalid items are reported without rejecting the rest.
+ */
+public record BulkCreateMedicationDosageRequest(
+        @NotEmpty(message = "At least one medication dosage is required")
+        @Size(max = 5000, message = "Cannot create more than 5000 medication dosages per request")
+        List<CreateMedicationDosageRequest> dosages
+) {
+}
@@ -0,0 +1,39 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Response DTO for bulk create requests.
+ * Lists a result for every submitted item, in submission order, alongside the totals.
+ */
+public record BulkCreateResponse(
+        int received,
+        int created,
+        int rejected,
+        List<BulkItemResult> results
+) {
+
+    /**
+     * Create a bulk response from each item's validation errors and the IDs of the items that were saved.
+     *
+     * @param itemErrors field errors for every submitted item, empty for the items that were valid
+     * @param createdIds IDs of the saved items, in the order the valid items were submitted
+     * @return bulk create response
+     */
+    public static BulkCreateResponse of(List<Map<String, String>> itemErrors, List<UUID> createdIds) {
+        List<BulkItemResult> results = new ArrayList<>(itemErrors.size());
+        Iterator<UUID> ids = createdIds.iterator();
+        for (int index = 0; index < itemErrors.size(); index++) {
+            Map<String, String> errors = itemErrors.get(index);
+            results.add(errors.isEmpty()
+                    ? BulkItemResult.created(index, ids.next())
+                    : BulkItemResult.rejected(index, errors));
+        }
+        return new BulkCreateResponse(itemErrors.size(), createdIds.size(),
+                itemErrors.size() - createdIds.size(), results);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Result for one item of a bulk create request, in the same position as the submitted item.
+ * Created items carry their new ID; rejected items carry their field errors and were not saved.
+ */
+public record BulkItemResult(
+        int index,
+        BulkItemStatus status,
+        UUID id,
+        Map<String, String> fieldErrors
+) {
+
+    public static BulkItemResult created(int index, UUID id) {
+        return new BulkItemResult(index, BulkItemStatus.CREATED, id, Map.of());
+    }
+
+    public static BulkItemResult rejected(int index, Map<String, String> fieldErrors) {
+        return new BulkItemResult(index, BulkItemStatus.REJECTED, null, fieldErrors);
+    }
+}
@@ -0,0 +1,9 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+/**
+ * Outcome of one item in a bulk create request.
+ */
+public enum BulkItemStatus {
+    CREATED,
+    REJECTED
+}
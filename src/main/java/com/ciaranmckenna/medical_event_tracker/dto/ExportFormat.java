@@ -0,0 +1,42 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+/**
+ * Enumeration of formats available for patient history exports.
+ */
+public enum ExportFormat {
+    /**
+     * One JSON object per line
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values with a header row
+     */
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Gets the media type the export is served as.
+     *
+     * @return the content type
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Gets the file extension used for the download filename.
+     *
+     * @return the file extension without a leading dot
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+}
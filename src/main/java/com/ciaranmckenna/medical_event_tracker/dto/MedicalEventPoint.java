@@ -0,0 +1,23 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of the medical event columns analytics read, loaded without materializing the entity.
+ *
+ * @param eventTime    the time when the event occurred
+ * @param category     the event category
+ * @param severity     the event severity
+ * @param medicationId the associated medication, or null if none
+ */
+public record MedicalEventPoint(
+        LocalDateTime eventTime,
+        MedicalEventCategory category,
+        MedicalEventSeverity severity,
+        UUID medicationId
+) {
+}
@@ -42,7 +42,12 @@ public record MedicalEventSearchRequest(
         
         String sortBy,
         
-        String sortDirection
+        String sortDirection,
+
+        @Size(max = 200, message = "Cursor cannot exceed 200 characters")
+        String cursor,
+
+        Boolean includeTotal
 ) {
     
     public MedicalEventSearchRequest {
@@ -51,6 +56,18 @@ public record MedicalEventSearchRequest(
         size = size != null ? size : 20;
         sortBy = sortBy != null ? sortBy : "eventTime";
         sortDirection = sortDirection != null ? sortDirection : "DESC";
+        includeTotal = includeTotal != null ? includeTotal : false;
+    }
+
+    /**
+     * Create an offset-paginated search request without cursor fields.
+     */
+    public MedicalEventSearchRequest(UUID patientId, String searchText, List<MedicalEventCategory> categories,
+                                     List<MedicalEventSeverity> severities, List<UUID> medicationIds,
+                                     LocalDateTime startDate, LocalDateTime endDate, Integer page, Integer size,
+                                     String sortBy, String sortDirection) {
+        this(patientId, searchText, categories, severities, medicationIds, startDate, endDate,
+                page, size, sortBy, sortDirection, null, null);
     }
     
     /**
@@ -0,0 +1,48 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of the medical event columns the full-text index is built from.
+ * Besides the text it carries the columns searches filter and sort on, so matches can be filtered and
+ * ordered without a query.
+ *
+ * @param id           the event's UUID
+ * @param eventTime    the time when the event occurred, used to order equally ranked matches
+ * @param title        the event title
+ * @param description  the event description, may be null
+ * @param medicationId the related medication's UUID, may be null
+ * @param category     the event category
+ * @param severity     the event severity
+ * @param createdAt    when the event was recorded
+ * @param updatedAt    when the event was last changed
+ */
+public record MedicalEventText(
+        UUID id,
+        LocalDateTime eventTime,
+        String title,
+        String description,
+        UUID medicationId,
+        MedicalEventCategory category,
+        MedicalEventSeverity severity,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+
+    /**
+     * Project a medical event the way {@code MedicalEventRepository.findEventTextsByPatientId} does.
+     *
+     * @param event the medical event
+     * @return the event's text projection
+     */
+    public static MedicalEventText of(MedicalEvent event) {
+        return new MedicalEventText(event.getId(), event.getEventTime(), event.getTitle(), event.getDescription(),
+                event.getMedicationId(), event.getCategory(), event.getSeverity(), event.getCreatedAt(),
+                event.getUpdatedAt());
+    }
+}
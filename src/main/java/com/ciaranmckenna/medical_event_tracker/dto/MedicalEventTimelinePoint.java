@@ -0,0 +1,24 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the medical event columns a timeline reads, loaded without materializing the entity.
+ *
+ * @param eventTime the time when the event occurred
+ * @param title     the title of the event
+ * @param severity  the event severity
+ * @param weightKg  the patient's weight at the time of the event, or null if not recorded
+ * @param heightCm  the patient's height at the time of the event, or null if not recorded
+ */
+public record MedicalEventTimelinePoint(
+        LocalDateTime eventTime,
+        String title,
+        MedicalEventSeverity severity,
+        BigDecimal weightKg,
+        BigDecimal heightCm
+) {
+}
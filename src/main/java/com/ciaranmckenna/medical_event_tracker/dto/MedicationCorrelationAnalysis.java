@@ -42,8 +42,23 @@ public record MedicationCorrelationAnalysis(
         Map<MedicalEventSeverity, Long> eventsBySeverityCount,
         
         @NotNull(message = "Analysis generation timestamp is required")
-        LocalDateTime analysisGeneratedAt
+        LocalDateTime analysisGeneratedAt,
+
+        MedicationExposureStatistics exposure
 ) {
+
+    /**
+     * Create an analysis with no exposure statistics.
+     */
+    public MedicationCorrelationAnalysis(UUID medicationId, UUID patientId, String medicationName,
+                                         Long totalDosages, Long totalEventsAfterDosage,
+                                         Double correlationPercentage, Double correlationStrength,
+                                         Map<MedicalEventCategory, Long> eventsByCategoryCount,
+                                         Map<MedicalEventSeverity, Long> eventsBySeverityCount,
+                                         LocalDateTime analysisGeneratedAt) {
+        this(medicationId, patientId, medicationName, totalDosages, totalEventsAfterDosage, correlationPercentage,
+                correlationStrength, eventsByCategoryCount, eventsBySeverityCount, analysisGeneratedAt, null);
+    }
     
     /**
      * Checks if the correlation indicates a strong relationship between medication and events.
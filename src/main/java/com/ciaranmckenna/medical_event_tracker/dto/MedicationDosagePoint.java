@@ -0,0 +1,16 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of the medication dosage columns analytics read, loaded without materializing the entity.
+ *
+ * @param administrationTime the time when the medication was administered
+ * @param medicationId       the medication's UUID
+ */
+public record MedicationDosagePoint(
+        LocalDateTime administrationTime,
+        UUID medicationId
+) {
+}
@@ -4,6 +4,7 @@ import com.ciaranmckenna.medical_event_tracker.entity.DosageSchedule;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -37,7 +38,12 @@ public record MedicationDosageSearchRequest(
         
         String sortBy,
         
-        String sortDirection
+        String sortDirection,
+
+        @Size(max = 200, message = "Cursor cannot exceed 200 characters")
+        String cursor,
+
+        Boolean includeTotal
 ) {
     
     public MedicationDosageSearchRequest {
@@ -46,6 +52,17 @@ public record MedicationDosageSearchRequest(
         size = size != null ? size : 20;
         sortBy = sortBy != null ? sortBy : "administrationTime";
         sortDirection = sortDirection != null ? sortDirection : "DESC";
+        includeTotal = includeTotal != null ? includeTotal : false;
+    }
+
+    /**
+     * Create an offset-paginated search request without cursor fields.
+     */
+    public MedicationDosageSearchRequest(UUID patientId, List<UUID> medicationIds, List<DosageSchedule> schedules,
+                                         Boolean administered, LocalDateTime startDate, LocalDateTime endDate,
+                                         Integer page, Integer size, String sortBy, String sortDirection) {
+        this(patientId, medicationIds, schedules, administered, startDate, endDate,
+                page, size, sortBy, sortDirection, null, null);
     }
     
     /**
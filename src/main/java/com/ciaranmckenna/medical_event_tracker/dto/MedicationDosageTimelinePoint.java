@@ -0,0 +1,16 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the medication dosage columns a timeline reads, loaded without materializing the entity.
+ *
+ * @param administrationTime the time when the medication was administered
+ * @param dosageAmount       the amount administered
+ */
+public record MedicationDosageTimelinePoint(
+        LocalDateTime administrationTime,
+        BigDecimal dosageAmount
+) {
+}
@@ -0,0 +1,55 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import java.util.List;
+
+/**
+ * DTO comparing a patient's events with their exposure to one medication.
+ * The lag histogram counts events by time since the most recent preceding dose, in bins of
+ * {@code lagBinMinutes} up to the correlation window. On- and off-medication event rates come from the
+ * prescription start and end dates, and their ratio is reported with a 95% Poisson confidence interval.
+ * Rates and the ratio are null when the observed period has no on-medication or no off-medication time.
+ *
+ * @param lagBinMinutes          width of each lag histogram bin
+ * @param lagHistogram           events per bin, the first bin starting at the dose
+ * @param eventsOnMedication     events while the medication was prescribed
+ * @param daysOnMedication       observed days while the medication was prescribed
+ * @param eventsOffMedication    events while the medication was not prescribed
+ * @param daysOffMedication      observed days while the medication was not prescribed
+ * @param eventRateOnMedication  events per day on medication
+ * @param eventRateOffMedication events per day off medication
+ * @param rateRatio              on-medication rate divided by off-medication rate
+ * @param rateRatioLower95       lower bound of the rate ratio's 95% confidence interval
+ * @param rateRatioUpper95       upper bound of the rate ratio's 95% confidence interval
+ */
+public record MedicationExposureStatistics(
+        long lagBinMinutes,
+        List<Long> lagHistogram,
+        long eventsOnMedication,
+        double daysOnMedication,
+        long eventsOffMedication,
+        double daysOffMedication,
+        Double eventRateOnMedication,
+        Double eventRateOffMedication,
+        Double rateRatio,
+        Double rateRatioLower95,
+        Double rateRatioUpper95
+) {
+
+    /**
+     * Checks if there is both on- and off-medication time to compare.
+     *
+     * @return true if the rate ratio could be computed
+     */
+    public boolean hasBaseline() {
+        return rateRatio != null;
+    }
+
+    /**
+     * Checks if the event rate on medication differs significantly from the rate off it.
+     *
+     * @return true if the 95% confidence interval of the rate ratio excludes 1
+     */
+    public boolean isSignificant() {
+        return hasBaseline() && (rateRatioLower95 > 1.0 || rateRatioUpper95 < 1.0);
+    }
+}
@@ -53,8 +53,24 @@ public record MedicationImpactAnalysis(
         Map<String, List<Long>> weeklyTrends,
         
         @NotNull(message = "Analysis generation timestamp is required")
-        LocalDateTime analysisGeneratedAt
+        LocalDateTime analysisGeneratedAt,
+
+        MedicationExposureStatistics exposure
 ) {
+
+    /**
+     * Create an analysis with no exposure statistics.
+     */
+    public MedicationImpactAnalysis(UUID medicationId, UUID patientId, String medicationName,
+                                    LocalDateTime analysisPeriodStart, LocalDateTime analysisPeriodEnd,
+                                    Long totalDosages, Long eventsWithin24Hours, Double eventRatePercentage,
+                                    Long symptomEvents, Long adverseReactionEvents,
+                                    Double symptomReductionPercentage, Double effectivenessScore,
+                                    Map<String, List<Long>> weeklyTrends, LocalDateTime analysisGeneratedAt) {
+        this(medicationId, patientId, medicationName, analysisPeriodStart, analysisPeriodEnd, totalDosages,
+                eventsWithin24Hours, eventRatePercentage, symptomEvents, adverseReactionEvents,
+                symptomReductionPercentage, effectivenessScore, weeklyTrends, analysisGeneratedAt, null);
+    }
     
     /**
      * Checks if the medication shows high effectiveness.
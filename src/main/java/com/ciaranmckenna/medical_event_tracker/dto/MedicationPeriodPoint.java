@@ -0,0 +1,18 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Projection of the dates a patient was prescribed a medication, loaded without materializing the entity.
+ *
+ * @param medicationId the prescribed medication
+ * @param startDate    when the patient started taking it
+ * @param endDate      when the patient stopped taking it, or null if they still take it
+ */
+public record MedicationPeriodPoint(
+        UUID medicationId,
+        LocalDateTime startDate,
+        LocalDateTime endDate
+) {
+}
@@ -0,0 +1,37 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import com.ciaranmckenna.medical_event_tracker.entity.Medication;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Compact medication entry returned by the typeahead endpoint.
+ *
+ * @param id           the medication's UUID
+ * @param name         display name
+ * @param genericName  generic name, if any
+ * @param strength     strength, if any
+ * @param unit         strength unit, if any
+ * @param matchQuality how closely the name or generic name matched the typed text
+ */
+public record MedicationSuggestion(
+        UUID id,
+        String name,
+        String genericName,
+        BigDecimal strength,
+        String unit,
+        NameMatchQuality matchQuality
+) {
+
+    public static MedicationSuggestion of(Medication medication, NameMatchQuality matchQuality) {
+        return new MedicationSuggestion(
+                medication.getId(),
+                medication.getName(),
+                medication.getGenericName(),
+                medication.getStrength(),
+                medication.getUnit(),
+                matchQuality
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+/**
+ * How closely a name matched a search term, best first.
+ * Comparisons are made on normalized names, so case, accents and punctuation never affect the quality.
+ */
+public enum NameMatchQuality {
+    /** The whole name equals the term. */
+    EXACT,
+    /** The name starts with the term. */
+    PREFIX,
+    /** A later word of the name starts with the term. */
+    WORD_PREFIX,
+    /** The term appears elsewhere inside the name. */
+    SUBSTRING
+}
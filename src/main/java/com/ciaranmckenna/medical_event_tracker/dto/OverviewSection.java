@@ -0,0 +1,17 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+/**
+ * Enumeration of the independent sections of the analytics overview.
+ * Sections are computed concurrently, each within its own timeout.
+ */
+public enum OverviewSection {
+    /**
+     * Event and dosage totals with category and severity breakdowns
+     */
+    DASHBOARD,
+
+    /**
+     * Correlation analysis for every medication the patient has been dosed with
+     */
+    CORRELATIONS
+}
@@ -0,0 +1,21 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+/**
+ * Enumeration of the outcomes of computing one analytics overview section.
+ */
+public enum OverviewSectionStatus {
+    /**
+     * The section finished in time and its data is present
+     */
+    COMPLETE,
+
+    /**
+     * The section did not finish within its timeout and its data is null
+     */
+    TIMED_OUT,
+
+    /**
+     * The section threw or could not be scheduled and its data is null
+     */
+    FAILED
+}
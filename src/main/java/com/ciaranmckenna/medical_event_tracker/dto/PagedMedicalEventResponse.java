@@ -5,6 +5,8 @@ import java.util.List;
 /**
  * Paginated response DTO for medical event search results.
  * Provides comprehensive pagination metadata for medical event lists.
+ * Cursor-paginated responses carry a {@code nextCursor} instead of a page number,
+ * and leave the totals null unless they were requested.
  */
 public record PagedMedicalEventResponse(
         
@@ -14,9 +16,9 @@ public record PagedMedicalEventResponse(
         
         int size,
         
-        long totalElements,
+        Long totalElements,
         
-        int totalPages,
+        Integer totalPages,
         
         boolean first,
         
@@ -28,7 +30,9 @@ public record PagedMedicalEventResponse(
         
         String sortBy,
         
-        String sortDirection
+        String sortDirection,
+
+        String nextCursor
 ) {
     
     /**
@@ -66,7 +70,45 @@ public record PagedMedicalEventResponse(
                 hasNext,
                 hasPrevious,
                 sortBy,
-                sortDirection
+                sortDirection,
+                null
+        );
+    }
+
+    /**
+     * Create a cursor-paginated response.
+     *
+     * @param events the list of medical event responses
+     * @param size page size
+     * @param totalElements total matching elements, or null if the count was not requested
+     * @param first whether this page was requested without a cursor
+     * @param nextCursor continuation token for the next page, or null if this is the last page
+     * @param sortDirection the sort direction (ASC/DESC)
+     * @return cursor-paginated medical event response
+     */
+    public static PagedMedicalEventResponse ofCursor(List<MedicalEventResponse> events,
+                                                   int size,
+                                                   Long totalElements,
+                                                   boolean first,
+                                                   String nextCursor,
+                                                   String sortDirection) {
+
+        Integer totalPages = totalElements != null ? (int) Math.ceil((double) totalElements / size) : null;
+        boolean hasNext = nextCursor != null;
+
+        return new PagedMedicalEventResponse(
+                events,
+                0,
+                size,
+                totalElements,
+                totalPages,
+                first,
+                !hasNext,
+                hasNext,
+                !first,
+                "eventTime",
+                sortDirection,
+                nextCursor
         );
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,15 @@
 package com.ciaranmckenna.medical_event_tracker.dto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * Paginated response DTO for medication dosage search results.
  * Provides comprehensive pagination metadata for dosage tracking analysis.
+ * Cursor-paginated responses carry a {@code nextCursor} instead of a page number,
+ * and leave the totals null unless they were requested.
+ * Time-window endpoints also return {@code anchorTime}, the instant their window was measured from;
+ * a client that let the server default it sends it back with each cursor so later pages do not drift.
  */
 public record PagedMedicationDosageResponse(
         
@@ -14,9 +19,9 @@ public record PagedMedicationDosageResponse(
         
         int size,
         
-        long totalElements,
+        Long totalElements,
         
-        int totalPages,
+        Integer totalPages,
         
         boolean first,
         
@@ -28,7 +33,11 @@ public record PagedMedicationDosageResponse(
         
         String sortBy,
         
-        String sortDirection
+        String sortDirection,
+
+        String nextCursor,
+
+        LocalDateTime anchorTime
 ) {
     
     /**
@@ -66,7 +75,58 @@ public record PagedMedicationDosageResponse(
                 hasNext,
                 hasPrevious,
                 sortBy,
-                sortDirection
+                sortDirection,
+                null,
+                null
+        );
+    }
+
+    /**
+     * Create a cursor-paginated response.
+     *
+     * @param dosages the list of medication dosage responses
+     * @param size page size
+     * @param totalElements total number of matching dosages, or null if not requested
+     * @param first whether this page was requested without a cursor
+     * @param nextCursor continuation token for the next page, or null if this is the last page
+     * @param sortDirection the sort direction (ASC/DESC)
+     * @return cursor-paginated medication dosage response
+     */
+    public static PagedMedicationDosageResponse ofCursor(List<MedicationDosageResponse> dosages,
+                                                        int size,
+                                                        Long totalElements,
+                                                        boolean first,
+                                                        String nextCursor,
+                                                        String sortDirection) {
+
+        Integer totalPages = totalElements != null ? (int) Math.ceil((double) totalElements / size) : null;
+        boolean hasNext = nextCursor != null;
+
+        return new PagedMedicationDosageResponse(
+                dosages,
+                0,
+                size,
+                totalElements,
+                totalPages,
+                first,
+                !hasNext,
+                hasNext,
+                !first,
+                "administrationTime",
+                sortDirection,
+                nextCursor,
+                null
         );
     }
+
+    /**
+     * Copy this response with the anchor its time window was measured from.
+     *
+     * @param anchorTime the cutoff, start or as-of time the server used for the window
+     * @return the same page carrying the anchor
+     */
+    public PagedMedicationDosageResponse withAnchorTime(LocalDateTime anchorTime) {
+        return new PagedMedicationDosageResponse(content, page, size, totalElements, totalPages, first, last,
+                hasNext, hasPrevious, sortBy, sortDirection, nextCursor, anchorTime);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import com.ciaranmckenna.medical_event_tracker.entity.DosageSchedule;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row of a patient history export: either a medical event or a medication dosage.
+ * Fields that do not apply to the row's type are null and omitted from NDJSON output.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record PatientHistoryEntry(
+        EntryType type,
+        UUID id,
+        LocalDateTime time,
+        UUID medicationId,
+        String title,
+        String description,
+        MedicalEventCategory category,
+        MedicalEventSeverity severity,
+        BigDecimal weightKg,
+        BigDecimal heightCm,
+        BigDecimal dosageAmount,
+        String dosageUnit,
+        DosageSchedule schedule,
+        Boolean administered,
+        String notes
+) {
+
+    /**
+     * The kind of record an entry was exported from.
+     */
+    public enum EntryType {
+        EVENT,
+        DOSAGE
+    }
+
+    /**
+     * Create an export entry from a medical event.
+     *
+     * @param event the medical event
+     * @return the export entry
+     */
+    public static PatientHistoryEntry fromEvent(MedicalEvent event) {
+        return new PatientHistoryEntry(
+                EntryType.EVENT,
+                event.getId(),
+                event.getEventTime(),
+                event.getMedicationId(),
+                event.getTitle(),
+                event.getDescription(),
+                event.getCategory(),
+                event.getSeverity(),
+                event.getWeightKg(),
+                event.getHeightCm(),
+                event.getDosageGiven(),
+                null,
+                null,
+                null,
+                null
+        );
+    }
+
+    /**
+     * Create an export entry from a medication dosage.
+     *
+     * @param dosage the medication dosage
+     * @return the export entry
+     */
+    public static PatientHistoryEntry fromDosage(MedicationDosage dosage) {
+        return new PatientHistoryEntry(
+                EntryType.DOSAGE,
+                dosage.getId(),
+                dosage.getAdministrationTime(),
+                dosage.getMedicationId(),
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                dosage.getDosageAmount(),
+                dosage.getDosageUnit(),
+                dosage.getSchedule(),
+                dosage.isAdministered(),
+                dosage.getNotes()
+        );
+    }
+}
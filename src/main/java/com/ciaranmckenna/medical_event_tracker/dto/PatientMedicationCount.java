@@ -0,0 +1,15 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import java.util.UUID;
+
+/**
+ * Projection of how many active medications a patient has, counted in the database.
+ *
+ * @param patientId             the patient
+ * @param activeMedicationCount number of active patient-medication rows for the patient
+ */
+public record PatientMedicationCount(
+        UUID patientId,
+        long activeMedicationCount
+) {
+}
@@ -0,0 +1,25 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO describing whether a patient's daily rollups match the raw event and dosage rows.
+ * Each discrepancy names the rollup key along with the expected and stored counts.
+ */
+public record RollupConsistencyReport(
+        UUID patientId,
+        List<String> discrepancies,
+        LocalDateTime checkedAt
+) {
+
+    /**
+     * Checks if the rollups agree with the raw rows.
+     *
+     * @return true if no discrepancies were found
+     */
+    public boolean isConsistent() {
+        return discrepancies == null || discrepancies.isEmpty();
+    }
+}
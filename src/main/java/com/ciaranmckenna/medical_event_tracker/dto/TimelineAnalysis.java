@@ -4,12 +4,15 @@ import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * DTO representing a timeline analysis of medical events and medication dosages.
  * Provides chronological data for visualization and correlation analysis.
+ * A downsampled timeline carries per-bucket summaries in {@code buckets} instead of raw data points.
+ * {@code statistics} and {@code patterns} are only populated when requested via {@link TimelineSection}.
  */
 public record TimelineAnalysis(
         
@@ -26,8 +29,33 @@ public record TimelineAnalysis(
         List<TimelineDataPoint> dataPoints,
         
         @NotNull(message = "Generation timestamp is required for timeline analysis")
-        LocalDateTime generatedAt
+        LocalDateTime generatedAt,
+
+        TimelineResolution resolution,
+
+        List<TimelineBucket> buckets,
+
+        Map<String, Object> statistics,
+
+        List<String> patterns
 ) {
+
+    /**
+     * Create a timeline of raw data points with no downsampling or analysis sections.
+     */
+    public TimelineAnalysis(UUID patientId, LocalDateTime periodStart, LocalDateTime periodEnd,
+                            List<TimelineDataPoint> dataPoints, LocalDateTime generatedAt) {
+        this(patientId, periodStart, periodEnd, dataPoints, generatedAt, null, null, null, null);
+    }
+
+    /**
+     * Create a timeline with no analysis sections.
+     */
+    public TimelineAnalysis(UUID patientId, LocalDateTime periodStart, LocalDateTime periodEnd,
+                            List<TimelineDataPoint> dataPoints, LocalDateTime generatedAt,
+                            TimelineResolution resolution, List<TimelineBucket> buckets) {
+        this(patientId, periodStart, periodEnd, dataPoints, generatedAt, resolution, buckets, null, null);
+    }
     
     /**
      * Gets all dosage data points from the timeline.
@@ -68,6 +96,9 @@ public record TimelineAnalysis(
      * @return count of dosage data points
      */
     public long getTotalDosages() {
+        if (buckets != null) {
+            return countBuckets("DOSAGE");
+        }
         return getDosagePoints().size();
     }
     
@@ -77,6 +108,9 @@ public record TimelineAnalysis(
      * @return count of medical event data points
      */
     public long getTotalEvents() {
+        if (buckets != null) {
+            return countBuckets("EVENT");
+        }
         return getEventPoints().size();
     }
     
@@ -95,6 +129,9 @@ public record TimelineAnalysis(
      * @return true if dataPoints list is not empty
      */
     public boolean hasData() {
+        if (buckets != null) {
+            return !buckets.isEmpty();
+        }
         return dataPoints != null && !dataPoints.isEmpty();
     }
     
@@ -108,4 +145,11 @@ public record TimelineAnalysis(
                 .sorted((dp1, dp2) -> dp1.timestamp().compareTo(dp2.timestamp()))
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    private long countBuckets(String eventType) {
+        return buckets.stream()
+                .filter(bucket -> eventType.equals(bucket.eventType()))
+                .mapToLong(TimelineBucket::count)
+                .sum();
+    }
+}
@@ -0,0 +1,27 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO summarising the timeline data points of one type within one downsampling bucket.
+ * For DOSAGE buckets the value range is over dosage amounts; for EVENT buckets it is over BMI.
+ *
+ * @param bucketStart the start of the bucket
+ * @param eventType   "EVENT" or "DOSAGE"
+ * @param count       number of data points in the bucket
+ * @param minValue    smallest value in the bucket, or null if no point carried one
+ * @param maxValue    largest value in the bucket, or null if no point carried one
+ * @param maxSeverity highest event severity in the bucket; null for dosage buckets
+ */
+public record TimelineBucket(
+        LocalDateTime bucketStart,
+        String eventType,
+        long count,
+        BigDecimal minValue,
+        BigDecimal maxValue,
+        MedicalEventSeverity maxSeverity
+) {
+}
@@ -0,0 +1,58 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Enumeration of bucket sizes a timeline can be downsampled to.
+ * Buckets are aligned to calendar boundaries: the top of the hour, midnight, or Monday midnight.
+ */
+public enum TimelineResolution {
+    /**
+     * One bucket per clock hour
+     */
+    HOUR(Duration.ofHours(1)),
+
+    /**
+     * One bucket per calendar day
+     */
+    DAY(Duration.ofDays(1)),
+
+    /**
+     * One bucket per ISO week, starting on Monday
+     */
+    WEEK(Duration.ofDays(7));
+
+    private final Duration bucketLength;
+
+    TimelineResolution(Duration bucketLength) {
+        this.bucketLength = bucketLength;
+    }
+
+    /**
+     * Gets the length of one bucket.
+     *
+     * @return the bucket length
+     */
+    public Duration getBucketLength() {
+        return bucketLength;
+    }
+
+    /**
+     * Gets the start of the bucket a timestamp falls into.
+     *
+     * @param timestamp the timestamp to bucket
+     * @return the bucket start
+     */
+    public LocalDateTime bucketStart(LocalDateTime timestamp) {
+        return switch (this) {
+            case HOUR -> timestamp.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> timestamp.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> timestamp.truncatedTo(ChronoUnit.DAYS)
+                    .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+/**
+ * Enumeration of optional analysis sections a timeline can carry alongside its data.
+ * Sections are only computed when a caller asks for them.
+ */
+public enum TimelineSection {
+    /**
+     * Data point counts by type and the time span they cover
+     */
+    STATISTICS,
+
+    /**
+     * Coarse activity patterns, such as event frequency relative to dosages
+     */
+    PATTERNS
+}
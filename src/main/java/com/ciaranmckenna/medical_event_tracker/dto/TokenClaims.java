@@ -0,0 +1,53 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+import com.ciaranmckenna.medical_event_tracker.entity.User;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The claims the application reads from a verified JWT, taken from a single parse.
+ * Refresh tokens and tokens issued before the user claims were added carry only the subject and expiry.
+ *
+ * @param userId       the user's UUID, or null if the token has no uid claim
+ * @param username     the token subject
+ * @param email        the user's email
+ * @param firstName    the user's first name
+ * @param lastName     the user's last name
+ * @param role         the user's role, or null for tokens without a role claim
+ * @param tokenVersion the user's token version when the token was issued
+ * @param expiresAt    when the token stops being accepted
+ */
+public record TokenClaims(
+        UUID userId,
+        String username,
+        String email,
+        String firstName,
+        String lastName,
+        User.Role role,
+        int tokenVersion,
+        Instant expiresAt
+) {
+
+    /**
+     * Checks if the token carries enough claims to build the principal without loading the user.
+     *
+     * @return true if the user ID and role are both present
+     */
+    public boolean hasUserClaims() {
+        return userId != null && role != null;
+    }
+
+    /**
+     * Builds a detached user from the claims, for use as the authenticated principal.
+     *
+     * @return a user populated from the token, not attached to any persistence context
+     */
+    public User toUser() {
+        User user = new User(username, email, null, firstName, lastName);
+        user.setId(userId);
+        user.setRole(role);
+        user.setTokenVersion(tokenVersion);
+        return user;
+    }
+}
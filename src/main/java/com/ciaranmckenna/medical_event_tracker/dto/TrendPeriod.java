@@ -0,0 +1,32 @@
+package com.ciaranmckenna.medical_event_tracker.dto;
+
+/**
+ * Enumeration of bucket sizes available for trend summaries.
+ * Buckets are counted back from the current date, with bucket 1 being the most recent.
+ */
+public enum TrendPeriod {
+    /**
+     * Rolling seven-day buckets ending today
+     */
+    WEEK("Week"),
+
+    /**
+     * Calendar month buckets, starting with the current month
+     */
+    MONTH("Month");
+
+    private final String label;
+
+    TrendPeriod(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Gets the label used to key summaries for this period, e.g. "Week 1".
+     *
+     * @return the period label
+     */
+    public String getLabel() {
+        return label;
+    }
+}
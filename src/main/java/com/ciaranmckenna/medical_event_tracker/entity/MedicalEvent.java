@@ -14,7 +14,10 @@ import java.util.UUID;
  * tests, and other significant medical occurrences.
  */
 @Entity
-@Table(name = "medical_events")
+@Table(name = "medical_events", indexes = {
+    @Index(name = "idx_medical_event_patient_time", columnList = "patient_id, event_time"),
+    @Index(name = "idx_medical_event_patient_medication_time", columnList = "patient_id, medication_id, event_time")
+})
 public class MedicalEvent {
 
     @Id
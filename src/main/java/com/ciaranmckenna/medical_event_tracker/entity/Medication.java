@@ -1,7 +1,9 @@
 package com.ciaranmckenna.medical_event_tracker.entity;
 
+import com.ciaranmckenna.medical_event_tracker.util.NameSearch;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,7 +17,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "medications", indexes = {
     @Index(name = "idx_medication_active", columnList = "active"),
-    @Index(name = "idx_medication_name", columnList = "name")
+    @Index(name = "idx_medication_name", columnList = "name"),
+    @Index(name = "idx_medication_active_name_normalized", columnList = "active, name_normalized"),
+    @Index(name = "idx_medication_active_generic_name_normalized", columnList = "active, generic_name_normalized")
 })
 public class Medication {
 
@@ -33,6 +37,19 @@ public class Medication {
     @Column(name = "generic_name", length = 100)
     private String genericName;
 
+    @Column(name = "name_normalized", length = 100)
+    private String nameNormalized;
+
+    @Column(name = "generic_name_normalized", length = 100)
+    private String genericNameNormalized;
+
+    @ElementCollection
+    @CollectionTable(name = "medication_name_trigrams",
+            joinColumns = @JoinColumn(name = "medication_id", foreignKey = @ForeignKey(name = "fk_medication_name_trigram_medication")))
+    @Column(name = "trigram", length = NameSearch.TRIGRAM_LENGTH, nullable = false)
+    @BatchSize(size = 100)
+    private Set<String> nameTrigrams = new HashSet<>();
+
     @NotNull(message = "Medication type is required")
     @Enumerated(EnumType.STRING)
     @Column(name = "type", nullable = false)
@@ -87,6 +104,7 @@ public class Medication {
         this.name = name;
         this.type = type;
         this.active = true;
+        refreshSearchKeys();
     }
 
     // Getters
@@ -102,6 +120,14 @@ public class Medication {
         return genericName;
     }
 
+    public String getNameNormalized() {
+        return nameNormalized;
+    }
+
+    public String getGenericNameNormalized() {
+        return genericNameNormalized;
+    }
+
     public MedicationType getType() {
         return type;
     }
@@ -145,10 +171,12 @@ public class Medication {
     // Setters
     public void setName(String name) {
         this.name = name;
+        refreshSearchKeys();
     }
 
     public void setGenericName(String genericName) {
         this.genericName = genericName;
+        refreshSearchKeys();
     }
 
     public void setType(MedicationType type) {
@@ -192,6 +220,18 @@ public class Medication {
         this.active = false;
     }
 
+    /**
+     * Recompute the normalized names and name trigrams used by indexed search.
+     * Called whenever a searched name changes, and by the search index rebuild for older rows.
+     */
+    public void refreshSearchKeys() {
+        nameNormalized = NameSearch.normalize(name);
+        genericNameNormalized = NameSearch.normalize(genericName);
+        Set<String> trigrams = NameSearch.trigrams(nameNormalized, genericNameNormalized);
+        nameTrigrams.retainAll(trigrams);
+        nameTrigrams.addAll(trigrams);
+    }
+
     // equals and hashCode using ID
     @Override
     public boolean equals(Object o) {
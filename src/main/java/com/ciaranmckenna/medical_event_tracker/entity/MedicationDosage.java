@@ -13,7 +13,11 @@ import java.util.UUID;
  * Tracks when medications are given, in what amounts, and following which schedule.
  */
 @Entity
-@Table(name = "medication_dosages")
+@Table(name = "medication_dosages", indexes = {
+    @Index(name = "idx_medication_dosage_patient_time", columnList = "patient_id, administration_time"),
+    @Index(name = "idx_medication_dosage_patient_medication_time", columnList = "patient_id, medication_id, administration_time"),
+    @Index(name = "idx_medication_dosage_patient_administered_time", columnList = "patient_id, administered, administration_time")
+})
 public class MedicationDosage {
 
     @Id
@@ -1,7 +1,9 @@
 package com.ciaranmckenna.medical_event_tracker.entity;
 
+import com.ciaranmckenna.medical_event_tracker.util.NameSearch;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -16,7 +18,9 @@ import java.util.UUID;
 @Entity
 @Table(name = "patients", indexes = {
     @Index(name = "idx_patient_user_id", columnList = "user_id"),
-    @Index(name = "idx_patient_active", columnList = "active")
+    @Index(name = "idx_patient_active", columnList = "active"),
+    @Index(name = "idx_patient_user_active_first_name_normalized", columnList = "user_id, active, first_name_normalized"),
+    @Index(name = "idx_patient_user_active_last_name_normalized", columnList = "user_id, active, last_name_normalized")
 })
 public class Patient {
 
@@ -35,6 +39,19 @@ public class Patient {
     @Column(name = "last_name", nullable = false, length = 50)
     private String lastName;
 
+    @Column(name = "first_name_normalized", length = 50)
+    private String firstNameNormalized;
+
+    @Column(name = "last_name_normalized", length = 50)
+    private String lastNameNormalized;
+
+    @ElementCollection
+    @CollectionTable(name = "patient_name_trigrams",
+            joinColumns = @JoinColumn(name = "patient_id", foreignKey = @ForeignKey(name = "fk_patient_name_trigram_patient")))
+    @Column(name = "trigram", length = NameSearch.TRIGRAM_LENGTH, nullable = false)
+    @BatchSize(size = 100)
+    private Set<String> nameTrigrams = new HashSet<>();
+
     @NotNull(message = "Date of birth is required")
     @Past(message = "Date of birth must be in the past")
     @Column(name = "date_of_birth", nullable = false)
@@ -99,6 +116,7 @@ public class Patient {
         this.gender = gender;
         this.user = user;
         this.active = true;
+        refreshSearchKeys();
     }
 
     // Getters
@@ -114,6 +132,14 @@ public class Patient {
         return lastName;
     }
 
+    public String getFirstNameNormalized() {
+        return firstNameNormalized;
+    }
+
+    public String getLastNameNormalized() {
+        return lastNameNormalized;
+    }
+
     public LocalDate getDateOfBirth() {
         return dateOfBirth;
     }
@@ -161,10 +187,12 @@ public class Patient {
     // Setters
     public void setFirstName(String firstName) {
         this.firstName = firstName;
+        refreshSearchKeys();
     }
 
     public void setLastName(String lastName) {
         this.lastName = lastName;
+        refreshSearchKeys();
     }
 
     public void setDateOfBirth(LocalDate dateOfBirth) {
@@ -220,6 +248,23 @@ public class Patient {
         this.active = false;
     }
 
+    /**
+     * Recompute the normalized names and name trigrams used by indexed search.
+     * Trigrams cover the full name in both "first last" and "last first" order, so a term spanning
+     * the two names matches whichever way round it was typed.
+     * Called whenever a searched name changes, and by the search index rebuild for older rows.
+     */
+    public void refreshSearchKeys() {
+        firstNameNormalized = NameSearch.normalize(firstName);
+        lastNameNormalized = NameSearch.normalize(lastName);
+        Set<String> trigrams = firstNameNormalized == null || lastNameNormalized == null
+            ? NameSearch.trigrams(firstNameNormalized, lastNameNormalized)
+            : NameSearch.trigrams(firstNameNormalized + " " + lastNameNormalized,
+                lastNameNormalized + " " + firstNameNormalized);
+        nameTrigrams.retainAll(trigrams);
+        nameTrigrams.addAll(trigrams);
+    }
+
     // equals and hashCode using ID
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,123 @@
+package com.ciaranmckenna.medical_event_tracker.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Precomputed count of a patient's medication dosages for one day and medication.
+ * Maintained incrementally as dosages are written so analytics can avoid scanning raw rows.
+ */
+@Entity
+@Table(name = "patient_daily_dosage_rollup", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_patient_daily_dosage_rollup_key",
+            columnNames = {"patient_id", "rollup_date", "medication_id"})
+})
+public class PatientDailyDosageRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "patient_id", nullable = false)
+    private UUID patientId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "medication_id", nullable = false)
+    private UUID medicationId;
+
+    @Column(name = "dosage_count", nullable = false)
+    private long dosageCount;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public PatientDailyDosageRollup() {
+    }
+
+    /**
+     * Constructor for creating a rollup row.
+     *
+     * @param patientId    the UUID of the patient
+     * @param rollupDate   the day the dosages were administered on
+     * @param medicationId the UUID of the medication
+     * @param dosageCount  the number of matching dosages
+     */
+    public PatientDailyDosageRollup(UUID patientId, LocalDate rollupDate, UUID medicationId, long dosageCount) {
+        this.patientId = patientId;
+        this.rollupDate = rollupDate;
+        this.medicationId = medicationId;
+        this.dosageCount = dosageCount;
+    }
+
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getPatientId() {
+        return patientId;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public UUID getMedicationId() {
+        return medicationId;
+    }
+
+    public long getDosageCount() {
+        return dosageCount;
+    }
+
+    // Setters
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public void setPatientId(UUID patientId) {
+        this.patientId = patientId;
+    }
+
+    public void setRollupDate(LocalDate rollupDate) {
+        this.rollupDate = rollupDate;
+    }
+
+    public void setMedicationId(UUID medicationId) {
+        this.medicationId = medicationId;
+    }
+
+    public void setDosageCount(long dosageCount) {
+        this.dosageCount = dosageCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PatientDailyDosageRollup that = (PatientDailyDosageRollup) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "PatientDailyDosageRollup{" +
+                "id=" + id +
+                ", patientId=" + patientId +
+                ", rollupDate=" + rollupDate +
+                ", medicationId=" + medicationId +
+                ", dosageCount=" + dosageCount +
+                '}';
+    }
+}
@@ -0,0 +1,140 @@
+package com.ciaranmckenna.medical_event_tracker.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Precomputed count of a patient's medical events for one day, category and severity.
+ * Maintained incrementally as events are written so analytics can avoid scanning raw rows.
+ */
+@Entity
+@Table(name = "patient_daily_rollup", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_patient_daily_rollup_key",
+            columnNames = {"patient_id", "rollup_date", "category", "severity"})
+})
+public class PatientDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "patient_id", nullable = false)
+    private UUID patientId;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", nullable = false)
+    private MedicalEventCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "severity", nullable = false)
+    private MedicalEventSeverity severity;
+
+    @Column(name = "event_count", nullable = false)
+    private long eventCount;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public PatientDailyRollup() {
+    }
+
+    /**
+     * Constructor for creating a rollup row.
+     *
+     * @param patientId  the UUID of the patient
+     * @param rollupDate the day the events occurred on
+     * @param category   the event category
+     * @param severity   the event severity
+     * @param eventCount the number of matching events
+     */
+    public PatientDailyRollup(UUID patientId, LocalDate rollupDate, MedicalEventCategory category,
+                              MedicalEventSeverity severity, long eventCount) {
+        this.patientId = patientId;
+        this.rollupDate = rollupDate;
+        this.category = category;
+        this.severity = severity;
+        this.eventCount = eventCount;
+    }
+
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+
+    public UUID getPatientId() {
+        return patientId;
+    }
+
+    public LocalDate getRollupDate() {
+        return rollupDate;
+    }
+
+    public MedicalEventCategory getCategory() {
+        return category;
+    }
+
+    public MedicalEventSeverity getSeverity() {
+        return severity;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    // Setters
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public void setPatientId(UUID patientId) {
+        this.patientId = patientId;
+    }
+
+    public void setRollupDate(LocalDate rollupDate) {
+        this.rollupDate = rollupDate;
+    }
+
+    public void setCategory(MedicalEventCategory category) {
+        this.category = category;
+    }
+
+    public void setSeverity(MedicalEventSeverity severity) {
+        this.severity = severity;
+    }
+
+    public void setEventCount(long eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PatientDailyRollup that = (PatientDailyRollup) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "PatientDailyRollup{" +
+                "id=" + id +
+                ", patientId=" + patientId +
+                ", rollupDate=" + rollupDate +
+                ", category=" + category +
+                ", severity=" + severity +
+                ", eventCount=" + eventCount +
+                '}';
+    }
+}
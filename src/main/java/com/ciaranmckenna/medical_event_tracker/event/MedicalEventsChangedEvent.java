@@ -0,0 +1,26 @@
+package com.ciaranmckenna.medical_event_tracker.event;
+
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Application event published when medical events of one patient are saved or deleted.
+ * Listeners use it to apply the change to data derived from the events, such as the full-text index,
+ * instead of rebuilding it. Read the saved events after commit, once their audit timestamps are final.
+ *
+ * @param patientId       the UUID of the patient whose events changed
+ * @param savedEvents     events created or updated for the patient
+ * @param removedEventIds IDs of events deleted from the patient or moved to another patient
+ */
+public record MedicalEventsChangedEvent(UUID patientId, List<MedicalEvent> savedEvents, List<UUID> removedEventIds) {
+
+    public static MedicalEventsChangedEvent saved(UUID patientId, List<MedicalEvent> savedEvents) {
+        return new MedicalEventsChangedEvent(patientId, savedEvents, List.of());
+    }
+
+    public static MedicalEventsChangedEvent removed(UUID patientId, UUID removedEventId) {
+        return new MedicalEventsChangedEvent(patientId, List.of(), List.of(removedEventId));
+    }
+}
@@ -0,0 +1,12 @@
+package com.ciaranmckenna.medical_event_tracker.event;
+
+import java.util.UUID;
+
+/**
+ * Application event published when a patient's medical events or medication dosages change.
+ * Listeners use it to drop derived data, such as cached analytics, for that patient.
+ *
+ * @param patientId the UUID of the patient whose data changed
+ */
+public record PatientDataChangedEvent(UUID patientId) {
+}
@@ -0,0 +1,12 @@
+package com.ciaranmckenna.medical_event_tracker.event;
+
+import java.util.UUID;
+
+/**
+ * Application event published when a user's account details or status change.
+ * Listeners use it to drop anything derived from the old account, such as cached authenticated principals.
+ *
+ * @param userId the UUID of the user whose account changed
+ */
+public record UserAccountChangedEvent(UUID userId) {
+}
@@ -1,11 +1,17 @@
 package com.ciaranmckenna.medical_event_tracker.repository;
 
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventPoint;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventText;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventTimelinePoint;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -13,6 +19,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for MedicalEvent entities.
@@ -93,19 +100,6 @@ public interface MedicalEventRepository extends JpaRepository<MedicalEvent, UUID
      */
     long countByPatientIdAndCategory(UUID patientId, MedicalEventCategory category);
 
-    /**
-     * Find medical events for a patient that contain specific text in title or description.
-     *
-     * @param patientId   the patient's UUID
-     * @param searchText  the text to search for
-     * @return list of medical events containing the search text
-     */
-    @Query("SELECT me FROM MedicalEvent me WHERE me.patientId = :patientId " +
-           "AND (LOWER(me.title) LIKE LOWER(CONCAT('%', :searchText, '%')) " +
-           "OR LOWER(me.description) LIKE LOWER(CONCAT('%', :searchText, '%')))")
-    List<MedicalEvent> findByPatientIdAndTitleOrDescriptionContaining(@Param("patientId") UUID patientId,
-                                                                     @Param("searchText") String searchText);
-
     /**
      * Find recent medical events for a patient (last N days).
      *
@@ -223,4 +217,102 @@ public interface MedicalEventRepository extends JpaRepository<MedicalEvent, UUID
      */
     @Query("SELECT me.severity, COUNT(me) FROM MedicalEvent me WHERE me.patientId = :patientId GROUP BY me.severity")
     List<Object[]> countByPatientIdGroupBySeverity(@Param("patientId") UUID patientId);
-}
\ No newline at end of file
+
+    /**
+     * Count medical events for a patient per calendar day, category and severity.
+     * Used to rebuild and verify the daily rollup table.
+     *
+     * @param patientId the patient's UUID
+     * @return rows of [event_date, category, severity, event_count]
+     */
+    @Query("SELECT CAST(me.eventTime AS LocalDate), me.category, me.severity, COUNT(me) FROM MedicalEvent me " +
+           "WHERE me.patientId = :patientId " +
+           "GROUP BY CAST(me.eventTime AS LocalDate), me.category, me.severity")
+    List<Object[]> countByPatientIdGroupByEventDateCategoryAndSeverity(@Param("patientId") UUID patientId);
+
+    /**
+     * Find the IDs of all patients that have medical events.
+     *
+     * @return list of distinct patient IDs
+     */
+    @Query("SELECT DISTINCT me.patientId FROM MedicalEvent me")
+    List<UUID> findDistinctPatientIds();
+
+    /**
+     * Stream all medical events for a patient in (eventTime, id) order.
+     * Rows are fetched from the cursor in batches and loaded read-only; the caller must
+     * consume the stream inside a transaction and close it.
+     *
+     * @param patientId the patient's UUID
+     * @return stream of medical events ordered by event time ascending
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT me FROM MedicalEvent me WHERE me.patientId = :patientId ORDER BY me.eventTime ASC, me.id ASC")
+    Stream<MedicalEvent> streamByPatientIdOrderByEventTimeAsc(@Param("patientId") UUID patientId);
+
+    /**
+     * Load the time, category, severity and medication of every medical event for a patient.
+     * Only those columns are selected and no entities are materialized.
+     *
+     * @param patientId the patient's UUID
+     * @return event projections ordered by event time ascending
+     */
+    @Query("SELECT new com.ciaranmckenna.medical_event_tracker.dto.MedicalEventPoint(" +
+           "me.eventTime, me.category, me.severity, me.medicationId) " +
+           "FROM MedicalEvent me WHERE me.patientId = :patientId ORDER BY me.eventTime ASC, me.id ASC")
+    List<MedicalEventPoint> findEventPointsByPatientId(@Param("patientId") UUID patientId);
+
+    /**
+     * Load the searchable text, filter and sort columns of all of a patient's medical events.
+     * Only those columns are selected and no entities are materialized.
+     *
+     * @param patientId the patient's UUID
+     * @return text projections ordered by event time ascending
+     */
+    @Query("SELECT new com.ciaranmckenna.medical_event_tracker.dto.MedicalEventText(" +
+           "me.id, me.eventTime, me.title, me.description, me.medicationId, me.category, me.severity, " +
+           "me.createdAt, me.updatedAt) " +
+           "FROM MedicalEvent me WHERE me.patientId = :patientId ORDER BY me.eventTime ASC, me.id ASC")
+    List<MedicalEventText> findEventTextsByPatientId(@Param("patientId") UUID patientId);
+
+    /**
+     * Load the timeline columns of a patient's medical events within a time range.
+     * Only those columns are selected and no entities are materialized.
+     *
+     * @param patientId the patient's UUID
+     * @param startTime the start of the time range
+     * @param endTime   the end of the time range
+     * @return event projections ordered by event time ascending
+     */
+    @Query("SELECT new com.ciaranmckenna.medical_event_tracker.dto.MedicalEventTimelinePoint(" +
+           "me.eventTime, me.title, me.severity, me.weightKg, me.heightCm) " +
+           "FROM MedicalEvent me WHERE me.patientId = :patientId " +
+           "AND me.eventTime BETWEEN :startTime AND :endTime ORDER BY me.eventTime ASC, me.id ASC")
+    List<MedicalEventTimelinePoint> findTimelinePointsByPatientIdAndEventTimeBetween(
+            @Param("patientId") UUID patientId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * Load the timeline columns of a patient's medical events linked to a medication within a time range.
+     * Only those columns are selected and no entities are materialized.
+     *
+     * @param patientId    the patient's UUID
+     * @param medicationId the medication's UUID
+     * @param startTime    the start of the time range
+     * @param endTime      the end of the time range
+     * @return event projections ordered by event time ascending
+     */
+    @Query("SELECT new com.ciaranmckenna.medical_event_tracker.dto.MedicalEventTimelinePoint(" +
+           "me.eventTime, me.title, me.severity, me.weightKg, me.heightCm) " +
+           "FROM MedicalEvent me WHERE me.patientId = :patientId AND me.medicationId = :medicationId " +
+           "AND me.eventTime BETWEEN :startTime AND :endTime ORDER BY me.eventTime ASC, me.id ASC")
+    List<MedicalEventTimelinePoint> findTimelinePointsByPatientIdAndMedicationIdAndEventTimeBetween(
+            @Param("patientId") UUID patientId,
+            @Param("medicationId") UUID medicationId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+}
@@ -4,7 +4,9 @@ import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventSearchRequest;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.util.KeysetCursor;
 import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
@@ -175,4 +177,28 @@ public class MedicalEventSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Create a keyset specification selecting events after the cursor in (eventTime, id) order.
+     * 
+     * @param cursor the position of the last event already returned
+     * @param direction the listing order; DESC selects older events, ASC newer ones
+     * @return specification for the next page of a keyset listing
+     */
+    public static Specification<MedicalEvent> isAfterCursor(KeysetCursor cursor, Sort.Direction direction) {
+        return (root, query, criteriaBuilder) -> {
+            if (direction.isAscending()) {
+                return criteriaBuilder.or(
+                    criteriaBuilder.greaterThan(root.get("eventTime"), cursor.time()),
+                    criteriaBuilder.and(
+                        criteriaBuilder.equal(root.get("eventTime"), cursor.time()),
+                        criteriaBuilder.greaterThan(root.get("id"), cursor.id())));
+            }
+            return criteriaBuilder.or(
+                criteriaBuilder.lessThan(root.get("eventTime"), cursor.time()),
+                criteriaBuilder.and(
+                    criteriaBuilder.equal(root.get("eventTime"), cursor.time()),
+                    criteriaBuilder.lessThan(root.get("id"), cursor.id())));
+        };
+    }
+}
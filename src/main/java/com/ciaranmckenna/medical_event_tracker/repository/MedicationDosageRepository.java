@@ -1,10 +1,15 @@
 package com.ciaranmckenna.medical_event_tracker.repository;
 
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationDosagePoint;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationDosageTimelinePoint;
 import com.ciaranmckenna.medical_event_tracker.entity.DosageSchedule;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +17,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for MedicationDosage entities.
@@ -218,4 +224,93 @@ public interface MedicationDosageRepository extends JpaRepository<MedicationDosa
     long countByPatientIdAndAdministrationTimeBetween(UUID patientId, 
                                                      LocalDateTime startTime, 
                                                      LocalDateTime endTime);
-}
\ No newline at end of file
+
+    /**
+     * Count medication dosages for a patient per calendar day and medication.
+     * Used to rebuild and verify the daily dosage rollup table.
+     *
+     * @param patientId the patient's UUID
+     * @return rows of [administration_date, medication_id, dosage_count]
+     */
+    @Query("SELECT CAST(md.administrationTime AS LocalDate), md.medicationId, COUNT(md) FROM MedicationDosage md " +
+           "WHERE md.patientId = :patientId " +
+           "GROUP BY CAST(md.administrationTime AS LocalDate), md.medicationId")
+    List<Object[]> countByPatientIdGroupByAdministrationDateAndMedication(@Param("patientId") UUID patientId);
+
+    /**
+     * Find the IDs of all patients that have medication dosages.
+     *
+     * @return list of distinct patient IDs
+     */
+    @Query("SELECT DISTINCT md.patientId FROM MedicationDosage md")
+    List<UUID> findDistinctPatientIds();
+
+    /**
+     * Stream all medication dosages for a patient in (administrationTime, id) order.
+     * Rows are fetched from the cursor in batches and loaded read-only; the caller must
+     * consume the stream inside a transaction and close it.
+     *
+     * @param patientId the patient's UUID
+     * @return stream of medication dosages ordered by administration time ascending
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT md FROM MedicationDosage md WHERE md.patientId = :patientId " +
+           "ORDER BY md.administrationTime ASC, md.id ASC")
+    Stream<MedicationDosage> streamByPatientIdOrderByAdministrationTimeAsc(@Param("patientId") UUID patientId);
+
+    /**
+     * Load the administration time and medication of every dosage for a patient.
+     * Only those columns are selected and no entities are materialized.
+     *
+     * @param patientId the patient's UUID
+     * @return dosage projections ordered by administration time ascending
+     */
+    @Query("SELECT new com.ciaranmckenna.medical_event_tracker.dto.MedicationDosagePoint(" +
+           "md.administrationTime, md.medicationId) " +
+           "FROM MedicationDosage md WHERE md.patientId = :patientId " +
+           "ORDER BY md.administrationTime ASC, md.id ASC")
+    List<MedicationDosagePoint> findDosagePointsByPatientId(@Param("patientId") UUID patientId);
+
+    /**
+     * Load the timeline columns of a patient's medication dosages within a time range.
+     * Only those columns are selected and no entities are materialized.
+     *
+     * @param patientId the patient's UUID
+     * @param startTime the start of the time range
+     * @param endTime   the end of the time range
+     * @return dosage projections ordered by administration time ascending
+     */
+    @Query("SELECT new com.ciaranmckenna.medical_event_tracker.dto.MedicationDosageTimelinePoint(" +
+           "md.administrationTime, md.dosageAmount) " +
+           "FROM MedicationDosage md WHERE md.patientId = :patientId " +
+           "AND md.administrationTime BETWEEN :startTime AND :endTime " +
+           "ORDER BY md.administrationTime ASC, md.id ASC")
+    List<MedicationDosageTimelinePoint> findTimelinePointsByPatientIdAndAdministrationTimeBetween(
+            @Param("patientId") UUID patientId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+
+    /**
+     * Load the timeline columns of a patient's dosages of one medication within a time range.
+     * Only those columns are selected and no entities are materialized.
+     *
+     * @param patientId    the patient's UUID
+     * @param medicationId the medication's UUID
+     * @param startTime    the start of the time range
+     * @param endTime      the end of the time range
+     * @return dosage projections ordered by administration time ascending
+     */
+    @Query("SELECT new com.ciaranmckenna.medical_event_tracker.dto.MedicationDosageTimelinePoint(" +
+           "md.administrationTime, md.dosageAmount) " +
+           "FROM MedicationDosage md WHERE md.patientId = :patientId AND md.medicationId = :medicationId " +
+           "AND md.administrationTime BETWEEN :startTime AND :endTime " +
+           "ORDER BY md.administrationTime ASC, md.id ASC")
+    List<MedicationDosageTimelinePoint> findTimelinePointsByPatientIdAndMedicationIdAndAdministrationTimeBetween(
+            @Param("patientId") UUID patientId,
+            @Param("medicationId") UUID medicationId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("endTime") LocalDateTime endTime);
+}
@@ -3,7 +3,9 @@ package com.ciaranmckenna.medical_event_tracker.repository;
 import com.ciaranmckenna.medical_event_tracker.dto.MedicationDosageSearchRequest;
 import com.ciaranmckenna.medical_event_tracker.entity.DosageSchedule;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
+import com.ciaranmckenna.medical_event_tracker.util.KeysetCursor;
 import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
@@ -169,4 +171,28 @@ public class MedicationDosageSpecification {
                 criteriaBuilder.between(root.get("administrationTime"), fromTime, toTime)
             );
     }
-}
\ No newline at end of file
+
+    /**
+     * Create a keyset specification selecting dosages after the cursor in (administrationTime, id) order.
+     * 
+     * @param cursor the position of the last dosage already returned
+     * @param direction the listing order; DESC selects older dosages, ASC newer ones
+     * @return specification for the next page of a keyset listing
+     */
+    public static Specification<MedicationDosage> isAfterCursor(KeysetCursor cursor, Sort.Direction direction) {
+        return (root, query, criteriaBuilder) -> {
+            if (direction.isAscending()) {
+                return criteriaBuilder.or(
+                    criteriaBuilder.greaterThan(root.get("administrationTime"), cursor.time()),
+                    criteriaBuilder.and(
+                        criteriaBuilder.equal(root.get("administrationTime"), cursor.time()),
+                        criteriaBuilder.greaterThan(root.get("id"), cursor.id())));
+            }
+            return criteriaBuilder.or(
+                criteriaBuilder.lessThan(root.get("administrationTime"), cursor.time()),
+                criteriaBuilder.and(
+                    criteriaBuilder.equal(root.get("administrationTime"), cursor.time()),
+                    criteriaBuilder.lessThan(root.get("id"), cursor.id())));
+        };
+    }
+}
@@ -1,11 +1,13 @@
 package com.ciaranmckenna.medical_event_tracker.repository;
 
 import com.ciaranmckenna.medical_event_tracker.entity.Medication;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,18 +20,64 @@ public interface MedicationRepository extends JpaRepository<Medication, UUID> {
      */
     List<Medication> findByActiveTrue();
 
+    /**
+     * Check whether any medication is missing its normalized name, as rows written before the column existed are
+     */
+    boolean existsByNameNormalizedIsNull();
+
+    /**
+     * Find medications missing their normalized name
+     */
+    List<Medication> findByNameNormalizedIsNull();
+
     /**
      * Find active medication by ID
      */
     Optional<Medication> findByIdAndActiveTrue(UUID id);
 
     /**
-     * Find medications by name pattern
+     * Find active medications whose normalized name starts with a prefix.
+     * Uses the (active, normalized name) index; the prefix must already be normalized.
+     *
+     * @param prefix    normalized name prefix
+     * @param prefixEnd exclusive upper bound from {@code NameSearch.prefixEnd}
+     * @param limit     maximum number of medications to return
+     * @return matching medications ordered by normalized name
      */
     @Query("SELECT m FROM Medication m WHERE m.active = true AND " +
-           "(LOWER(m.name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(m.genericName) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    List<Medication> findByNameContaining(@Param("searchTerm") String searchTerm);
+           "m.nameNormalized >= :prefix AND m.nameNormalized < :prefixEnd ORDER BY m.nameNormalized")
+    List<Medication> findByNamePrefix(@Param("prefix") String prefix, @Param("prefixEnd") String prefixEnd, Limit limit);
+
+    /**
+     * Find active medications whose normalized generic name starts with a prefix.
+     * Uses the (active, normalized generic name) index; the prefix must already be normalized.
+     *
+     * @param prefix    normalized name prefix
+     * @param prefixEnd exclusive upper bound from {@code NameSearch.prefixEnd}
+     * @param limit     maximum number of medications to return
+     * @return matching medications ordered by normalized generic name
+     */
+    @Query("SELECT m FROM Medication m WHERE m.active = true AND " +
+           "m.genericNameNormalized >= :prefix AND m.genericNameNormalized < :prefixEnd ORDER BY m.genericNameNormalized")
+    List<Medication> findByGenericNamePrefix(@Param("prefix") String prefix, @Param("prefixEnd") String prefixEnd, Limit limit);
+
+    /**
+     * Find the IDs of active medications whose name or generic name contains every given trigram.
+     * Driven by the trigram table's (trigram, medication) primary key; the active check sits in HAVING so the
+     * planner does not start from the active-medication index instead. Candidates still need checking for the
+     * actual substring, since trigrams may occur in a different order, and are only ranked after that check:
+     * the limit keeps the first candidates by normalized name, not the best matches.
+     *
+     * @param trigrams     the search term's distinct trigrams
+     * @param trigramCount number of distinct trigrams
+     * @param limit        maximum number of IDs to return
+     * @return candidate medication IDs ordered by normalized name, then ID
+     */
+    @Query("SELECT m.id FROM Medication m JOIN m.nameTrigrams t WHERE t IN :trigrams " +
+           "GROUP BY m.id, m.nameNormalized, m.active HAVING COUNT(t) = :trigramCount AND m.active = true " +
+           "ORDER BY m.nameNormalized, m.id")
+    List<UUID> findIdsByNameTrigrams(@Param("trigrams") Collection<String> trigrams,
+                                     @Param("trigramCount") long trigramCount, Limit limit);
 
     /**
      * Find medications by type
@@ -0,0 +1,103 @@
+package com.ciaranmckenna.medical_event_tracker.repository;
+
+import com.ciaranmckenna.medical_event_tracker.entity.PatientDailyDosageRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for PatientDailyDosageRollup entities.
+ * Provides incremental maintenance and aggregate reads over the daily dosage rollup.
+ */
+@Repository
+public interface PatientDailyDosageRollupRepository extends JpaRepository<PatientDailyDosageRollup, UUID> {
+
+    /**
+     * Find all dosage rollup rows for a patient.
+     *
+     * @param patientId the patient's UUID
+     * @return list of dosage rollup rows for the patient
+     */
+    List<PatientDailyDosageRollup> findByPatientId(UUID patientId);
+
+    /**
+     * Add to the dosage count of a patient, day and medication in a single statement,
+     * so concurrent writes to the same key cannot lose increments.
+     *
+     * @param patientId    the patient's UUID
+     * @param rollupDate   the day of the dosages
+     * @param medicationId the medication's UUID
+     * @param delta        the change in dosage count
+     * @return number of rows updated, 0 if the key has not been seen before
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE PatientDailyDosageRollup r SET r.dosageCount = r.dosageCount + :delta " +
+           "WHERE r.patientId = :patientId AND r.rollupDate = :rollupDate AND r.medicationId = :medicationId")
+    int incrementDosageCount(@Param("patientId") UUID patientId,
+                             @Param("rollupDate") LocalDate rollupDate,
+                             @Param("medicationId") UUID medicationId,
+                             @Param("delta") long delta);
+
+    /**
+     * Add to the dosage count of a patient, day and medication, creating the row if it is new,
+     * in a single {@code INSERT ... ON DUPLICATE KEY UPDATE}. Native to MySQL, and supported by H2 in
+     * MySQL mode, so a first write needs neither a second transaction nor a retry.
+     *
+     * @param id           the ID to give the row if it is created
+     * @param patientId    the patient's UUID
+     * @param rollupDate   the day of the dosages
+     * @param medicationId the medication's UUID
+     * @param delta        the number of dosages to add
+     * @return number of rows affected
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO patient_daily_dosage_rollup (id, patient_id, rollup_date, medication_id, dosage_count) " +
+                   "VALUES (:id, :patientId, :rollupDate, :medicationId, :delta) " +
+                   "ON DUPLICATE KEY UPDATE dosage_count = dosage_count + :delta",
+           nativeQuery = true)
+    int upsertDosageCount(@Param("id") UUID id,
+                          @Param("patientId") UUID patientId,
+                          @Param("rollupDate") LocalDate rollupDate,
+                          @Param("medicationId") UUID medicationId,
+                          @Param("delta") long delta);
+
+    /**
+     * Sum all dosage counts for a patient.
+     *
+     * @param patientId the patient's UUID
+     * @return total number of dosages recorded for the patient
+     */
+    @Query("SELECT COALESCE(SUM(r.dosageCount), 0) FROM PatientDailyDosageRollup r WHERE r.patientId = :patientId")
+    long sumDosageCountByPatientId(@Param("patientId") UUID patientId);
+
+    /**
+     * Sum dosage counts for a patient per day within a date range.
+     *
+     * @param patientId the patient's UUID
+     * @param startDate the first day of the range
+     * @param endDate   the last day of the range
+     * @return rows of [rollup_date, dosage_count]
+     */
+    @Query("SELECT r.rollupDate, SUM(r.dosageCount) FROM PatientDailyDosageRollup r " +
+           "WHERE r.patientId = :patientId AND r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.rollupDate")
+    List<Object[]> sumDosageCountsByPatientIdGroupByDate(@Param("patientId") UUID patientId,
+                                                         @Param("startDate") LocalDate startDate,
+                                                         @Param("endDate") LocalDate endDate);
+
+    /**
+     * Delete all dosage rollup rows for a patient.
+     *
+     * @param patientId the patient's UUID
+     * @return number of rows deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM PatientDailyDosageRollup r WHERE r.patientId = :patientId")
+    int deleteByPatientId(@Param("patientId") UUID patientId);
+}
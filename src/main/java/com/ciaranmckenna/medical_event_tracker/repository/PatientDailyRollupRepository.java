@@ -0,0 +1,111 @@
+package com.ciaranmckenna.medical_event_tracker.repository;
+
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.entity.PatientDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for PatientDailyRollup entities.
+ * Provides incremental maintenance and aggregate reads over the daily event rollup.
+ */
+@Repository
+public interface PatientDailyRollupRepository extends JpaRepository<PatientDailyRollup, UUID> {
+
+    /**
+     * Find all rollup rows for a patient.
+     *
+     * @param patientId the patient's UUID
+     * @return list of rollup rows for the patient
+     */
+    List<PatientDailyRollup> findByPatientId(UUID patientId);
+
+    /**
+     * Add to the event count of a patient, day, category and severity in a single statement,
+     * so concurrent writes to the same key cannot lose increments.
+     *
+     * @param patientId  the patient's UUID
+     * @param rollupDate the day of the events
+     * @param category   the event category
+     * @param severity   the event severity
+     * @param delta      the change in event count
+     * @return number of rows updated, 0 if the key has not been seen before
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE PatientDailyRollup r SET r.eventCount = r.eventCount + :delta " +
+           "WHERE r.patientId = :patientId AND r.rollupDate = :rollupDate " +
+           "AND r.category = :category AND r.severity = :severity")
+    int incrementEventCount(@Param("patientId") UUID patientId,
+                            @Param("rollupDate") LocalDate rollupDate,
+                            @Param("category") MedicalEventCategory category,
+                            @Param("severity") MedicalEventSeverity severity,
+                            @Param("delta") long delta);
+
+    /**
+     * Add to the event count of a patient, day, category and severity, creating the row if it is new,
+     * in a single {@code INSERT ... ON DUPLICATE KEY UPDATE}. Native to MySQL, and supported by H2 in
+     * MySQL mode, so a first write needs neither a second transaction nor a retry.
+     *
+     * @param id         the ID to give the row if it is created
+     * @param patientId  the patient's UUID
+     * @param rollupDate the day of the events
+     * @param category   the event category name
+     * @param severity   the event severity name
+     * @param delta      the number of events to add
+     * @return number of rows affected
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO patient_daily_rollup (id, patient_id, rollup_date, category, severity, event_count) " +
+                   "VALUES (:id, :patientId, :rollupDate, :category, :severity, :delta) " +
+                   "ON DUPLICATE KEY UPDATE event_count = event_count + :delta",
+           nativeQuery = true)
+    int upsertEventCount(@Param("id") UUID id,
+                         @Param("patientId") UUID patientId,
+                         @Param("rollupDate") LocalDate rollupDate,
+                         @Param("category") String category,
+                         @Param("severity") String severity,
+                         @Param("delta") long delta);
+
+    /**
+     * Sum event counts for a patient grouped by category and severity.
+     *
+     * @param patientId the patient's UUID
+     * @return rows of [category, severity, event_count]
+     */
+    @Query("SELECT r.category, r.severity, SUM(r.eventCount) FROM PatientDailyRollup r " +
+           "WHERE r.patientId = :patientId GROUP BY r.category, r.severity")
+    List<Object[]> sumEventCountsByPatientIdGroupByCategoryAndSeverity(@Param("patientId") UUID patientId);
+
+    /**
+     * Sum event counts for a patient per day within a date range.
+     *
+     * @param patientId the patient's UUID
+     * @param startDate the first day of the range
+     * @param endDate   the last day of the range
+     * @return rows of [rollup_date, event_count]
+     */
+    @Query("SELECT r.rollupDate, SUM(r.eventCount) FROM PatientDailyRollup r " +
+           "WHERE r.patientId = :patientId AND r.rollupDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY r.rollupDate")
+    List<Object[]> sumEventCountsByPatientIdGroupByDate(@Param("patientId") UUID patientId,
+                                                        @Param("startDate") LocalDate startDate,
+                                                        @Param("endDate") LocalDate endDate);
+
+    /**
+     * Delete all rollup rows for a patient.
+     *
+     * @param patientId the patient's UUID
+     * @return number of rows deleted
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM PatientDailyRollup r WHERE r.patientId = :patientId")
+    int deleteByPatientId(@Param("patientId") UUID patientId);
+}
@@ -1,5 +1,7 @@
 package com.ciaranmckenna.medical_event_tracker.repository;
 
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationPeriodPoint;
+import com.ciaranmckenna.medical_event_tracker.dto.PatientMedicationCount;
 import com.ciaranmckenna.medical_event_tracker.entity.Patient;
 import com.ciaranmckenna.medical_event_tracker.entity.PatientMedication;
 import com.ciaranmckenna.medical_event_tracker.entity.Medication;
@@ -9,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -72,6 +75,18 @@ public interface PatientMedicationRepository extends JpaRepository<PatientMedica
      */
     long countByPatientAndActiveTrue(Patient patient);
 
+    /**
+     * Count active medications for several patients in one grouped query.
+     * Patients without an active medication have no row in the result.
+     *
+     * @param patientIds the patients' UUIDs
+     * @return one count projection per patient with at least one active medication
+     */
+    @Query("SELECT new com.ciaranmckenna.medical_event_tracker.dto.PatientMedicationCount(pm.patient.id, COUNT(pm)) " +
+           "FROM PatientMedication pm WHERE pm.patient.id IN :patientIds AND pm.active = true " +
+           "GROUP BY pm.patient.id")
+    List<PatientMedicationCount> countActiveByPatientIds(@Param("patientIds") Collection<UUID> patientIds);
+
     /**
      * Find all patients taking a specific medication
      */
@@ -93,4 +108,18 @@ public interface PatientMedicationRepository extends JpaRepository<PatientMedica
      */
     List<PatientMedication> findByPatientAndEndDateBetweenAndActiveTrue(
         Patient patient, LocalDateTime startDate, LocalDateTime endDate);
-}
\ No newline at end of file
+
+    /**
+     * Load the start and end dates of every medication a patient has been prescribed.
+     * Discontinued medications are included; soft-deleted ones, inactive with no end date, are not.
+     *
+     * @param patientId the patient's UUID
+     * @return period projections ordered by start date ascending
+     */
+    @Query("SELECT new com.ciaranmckenna.medical_event_tracker.dto.MedicationPeriodPoint(" +
+           "pm.medication.id, pm.startDate, pm.endDate) " +
+           "FROM PatientMedication pm WHERE pm.patient.id = :patientId " +
+           "AND (pm.active = true OR pm.endDate IS NOT NULL) " +
+           "ORDER BY pm.startDate ASC, pm.id ASC")
+    List<MedicationPeriodPoint> findPeriodPointsByPatientId(@Param("patientId") UUID patientId);
+}
@@ -2,12 +2,14 @@ package com.ciaranmckenna.medical_event_tracker.repository;
 
 import com.ciaranmckenna.medical_event_tracker.entity.Patient;
 import com.ciaranmckenna.medical_event_tracker.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,6 +27,16 @@ public interface PatientRepository extends JpaRepository<Patient, UUID> {
      */
     List<Patient> findByUser(User user);
 
+    /**
+     * Check whether any patient is missing a normalized name, as rows written before the columns existed are
+     */
+    boolean existsByFirstNameNormalizedIsNullOrLastNameNormalizedIsNull();
+
+    /**
+     * Find patients missing either normalized name
+     */
+    List<Patient> findByFirstNameNormalizedIsNullOrLastNameNormalizedIsNull();
+
     /**
      * Find active patient by ID and user (for security)
      */
@@ -36,12 +48,53 @@ public interface PatientRepository extends JpaRepository<Patient, UUID> {
     Optional<Patient> findByIdAndUser(UUID id, User user);
 
     /**
-     * Find patients by name pattern for a specific user
+     * Find a user's active patients whose normalized first name starts with a prefix.
+     * Uses the (user, active, normalized first name) index; the prefix must already be normalized.
+     *
+     * @param user      the owning user
+     * @param prefix    normalized name prefix
+     * @param prefixEnd exclusive upper bound from {@code NameSearch.prefixEnd}
+     * @param limit     maximum number of patients to return
+     * @return matching patients ordered by normalized first name
      */
     @Query("SELECT p FROM Patient p WHERE p.user = :user AND p.active = true AND " +
-           "(LOWER(p.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(p.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    List<Patient> findByUserAndNameContaining(@Param("user") User user, @Param("searchTerm") String searchTerm);
+           "p.firstNameNormalized >= :prefix AND p.firstNameNormalized < :prefixEnd ORDER BY p.firstNameNormalized")
+    List<Patient> findByUserAndFirstNamePrefix(@Param("user") User user, @Param("prefix") String prefix,
+                                               @Param("prefixEnd") String prefixEnd, Limit limit);
+
+    /**
+     * Find a user's active patients whose normalized last name starts with a prefix.
+     * Uses the (user, active, normalized last name) index; the prefix must already be normalized.
+     *
+     * @param user      the owning user
+     * @param prefix    normalized name prefix
+     * @param prefixEnd exclusive upper bound from {@code NameSearch.prefixEnd}
+     * @param limit     maximum number of patients to return
+     * @return matching patients ordered by normalized last name
+     */
+    @Query("SELECT p FROM Patient p WHERE p.user = :user AND p.active = true AND " +
+           "p.lastNameNormalized >= :prefix AND p.lastNameNormalized < :prefixEnd ORDER BY p.lastNameNormalized")
+    List<Patient> findByUserAndLastNamePrefix(@Param("user") User user, @Param("prefix") String prefix,
+                                               @Param("prefixEnd") String prefixEnd, Limit limit);
+
+    /**
+     * Find the IDs of a user's active patients whose name contains every given trigram.
+     * Driven by the user's patients, probing each one's trigram rows by primary key, so the cost follows
+     * the size of one caseload rather than every user's patients sharing a common trigram.
+     * Candidates still need checking for the actual substring, since trigrams may occur in a different order,
+     * and are only ranked after that check: the limit keeps the first candidates by name, not the best matches.
+     *
+     * @param user         the owning user
+     * @param trigrams     the search term's distinct trigrams
+     * @param trigramCount number of distinct trigrams
+     * @param limit        maximum number of IDs to return
+     * @return candidate patient IDs ordered by normalized last name, first name, then ID
+     */
+    @Query("SELECT p.id FROM Patient p JOIN p.nameTrigrams t WHERE p.user = :user AND p.active = true AND " +
+           "t IN :trigrams GROUP BY p.id, p.lastNameNormalized, p.firstNameNormalized " +
+           "HAVING COUNT(t) = :trigramCount ORDER BY p.lastNameNormalized, p.firstNameNormalized, p.id")
+    List<UUID> findIdsByUserAndNameTrigrams(@Param("user") User user, @Param("trigrams") Collection<String> trigrams,
+                                            @Param("trigramCount") long trigramCount, Limit limit);
 
     /**
      * Find patients by age range for a specific user
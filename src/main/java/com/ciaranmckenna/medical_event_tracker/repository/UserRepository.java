@@ -25,4 +25,7 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     @Query("SELECT COUNT(u) > 0 FROM User u WHERE (u.username = :username OR u.email = :email) AND u.id != :id")
     boolean existsByUsernameOrEmailAndNotId(@Param("username") String username, @Param("email") String email, @Param("id") UUID id);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(@Param("id") UUID id);
 }
\ No newline at end of file
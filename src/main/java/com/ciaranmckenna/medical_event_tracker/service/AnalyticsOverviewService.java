@@ -0,0 +1,23 @@
+package com.ciaranmckenna.medical_event_tracker.service;
+
+import com.ciaranmckenna.medical_event_tracker.dto.AnalyticsOverview;
+
+import java.util.UUID;
+
+/**
+ * Service interface for the combined analytics overview.
+ * Computes independent sections concurrently so the overview takes as long as its slowest section.
+ */
+public interface AnalyticsOverviewService {
+
+    /**
+     * Generates the dashboard summary and all medication correlations for a patient.
+     * Each section has its own timeout; a section that times out or fails is left out
+     * and reported in the overview's section status instead of failing the whole overview.
+     *
+     * @param patientId the UUID of the patient
+     * @return the overview, possibly partial
+     * @throws IllegalArgumentException if patientId is null
+     */
+    AnalyticsOverview generateAnalyticsOverview(UUID patientId);
+}
@@ -4,8 +4,12 @@ import com.ciaranmckenna.medical_event_tracker.dto.DashboardSummary;
 import com.ciaranmckenna.medical_event_tracker.dto.MedicationCorrelationAnalysis;
 import com.ciaranmckenna.medical_event_tracker.dto.MedicationImpactAnalysis;
 import com.ciaranmckenna.medical_event_tracker.dto.TimelineAnalysis;
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineResolution;
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineSection;
+import com.ciaranmckenna.medical_event_tracker.dto.TrendPeriod;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -47,6 +51,24 @@ public interface AnalyticsService {
      */
     TimelineAnalysis generateTimelineAnalysis(UUID patientId, LocalDateTime startDate, LocalDateTime endDate);
 
+    /**
+     * Generates timeline analysis for a specified period, optionally downsampled to fixed-size buckets
+     * with a count and value range per bucket, so wide ranges return a bounded payload.
+     * Statistics and patterns are computed only for the sections listed in {@code include}.
+     *
+     * @param patientId  the UUID of the patient
+     * @param startDate  the start of the analysis period
+     * @param endDate    the end of the analysis period
+     * @param resolution bucket size to downsample to, or null for raw data points
+     * @param include    analysis sections to compute, or null for none
+     * @return timeline analysis with either chronological data points or per-bucket summaries,
+     *         plus any requested sections
+     * @throws IllegalArgumentException if any date is null, startDate is after endDate, or the range
+     *                                  holds too many buckets at the requested resolution
+     */
+    TimelineAnalysis generateTimelineAnalysis(UUID patientId, LocalDateTime startDate, LocalDateTime endDate,
+                                              TimelineResolution resolution, Set<TimelineSection> include);
+
     /**
      * Generates detailed impact analysis for a specific medication over a specified period.
      * Analyzes effectiveness, side effects, symptom reduction, and weekly trends.
@@ -80,4 +102,16 @@ public interface AnalyticsService {
      * @throws IllegalArgumentException if patientId is null
      */
     java.util.Map<String, DashboardSummary> generateWeeklySummaries(UUID patientId);
-}
\ No newline at end of file
+
+    /**
+     * Generates trend summary statistics for a patient bucketed by week or month.
+     * All buckets are filled from a single grouped query per table, so the cost does not grow with the bucket count.
+     *
+     * @param patientId the UUID of the patient
+     * @param period    the bucket size
+     * @param periods   the number of buckets to return, most recent first
+     * @return map of period statistics with period identifiers as keys
+     * @throws IllegalArgumentException if patientId or period is null, or periods is out of range
+     */
+    java.util.Map<String, DashboardSummary> generateTrendSummaries(UUID patientId, TrendPeriod period, int periods);
+}
@@ -1,6 +1,7 @@
 package com.ciaranmckenna.medical_event_tracker.service;
 
 import com.ciaranmckenna.medical_event_tracker.dto.DashboardSummary;
+import com.ciaranmckenna.medical_event_tracker.dto.TrendPeriod;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
 
@@ -29,6 +30,16 @@ public interface DashboardService {
      */
     Map<String, DashboardSummary> generateWeeklySummaries(UUID patientId);
 
+    /**
+     * Generate trend summaries bucketed by week or month.
+     * 
+     * @param patientId the patient's UUID
+     * @param period the bucket size
+     * @param periods number of buckets to return, most recent first
+     * @return map of period summaries with period identifiers
+     */
+    Map<String, DashboardSummary> generateTrendSummaries(UUID patientId, TrendPeriod period, int periods);
+
     /**
      * Get events grouped by category for a patient.
      * 
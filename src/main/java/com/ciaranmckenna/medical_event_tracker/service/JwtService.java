@@ -1,5 +1,6 @@
 package com.ciaranmckenna.medical_event_tracker.service;
 
+import com.ciaranmckenna.medical_event_tracker.dto.TokenClaims;
 import com.ciaranmckenna.medical_event_tracker.entity.User;
 import io.jsonwebtoken.Claims;
 
@@ -13,6 +14,8 @@ public interface JwtService {
 
     Claims extractAllClaims(String token);
 
+    TokenClaims parseToken(String token);
+
     String extractUsername(String token);
 
     LocalDateTime extractExpiration(String token);
@@ -26,6 +26,17 @@ public interface MedicalEventService {
      */
     MedicalEvent createMedicalEvent(MedicalEvent medicalEvent);
 
+    /**
+     * Create many medical events in one transaction, inserting them in JDBC batches.
+     * The daily rollups are adjusted once per affected row, and each patient's
+     * derived data is invalidated once rather than once per event.
+     *
+     * @param medicalEvents the medical events to create
+     * @return the created medical events with generated IDs, in the same order
+     * @throws IllegalArgumentException if the list or any of its events is null
+     */
+    List<MedicalEvent> createMedicalEvents(List<MedicalEvent> medicalEvents);
+
     /**
      * Retrieve a medical event by its ID.
      *
@@ -99,13 +110,16 @@ public interface MedicalEventService {
     List<MedicalEvent> getMedicalEventsByPatientIdAndMedicationId(UUID patientId, UUID medicationId);
 
     /**
-     * Search medical events for a patient by text in title or description.
+     * Search medical events for a patient by text in title or description, through the patient's full-text index.
+     * Every word must match the start of a word in the event, and quoted phrases must appear as written.
      *
      * @param patientId  the UUID of the patient
-     * @param searchText the text to search for
-     * @return list of medical events containing the search text
+     * @param searchText words and quoted phrases to search for
+     * @param limit      maximum number of events to return, clamped to 1-200
+     * @return the most relevant matching medical events, most relevant first, or the patient's newest events
+     *         if the search text is blank
      */
-    List<MedicalEvent> searchMedicalEventsByPatientId(UUID patientId, String searchText);
+    List<MedicalEvent> searchMedicalEventsByPatientId(UUID patientId, String searchText, int limit);
 
     /**
      * Get recent medical events for a patient (last N days).
@@ -159,4 +173,32 @@ public interface MedicalEventService {
                                                                   int size, 
                                                                   String sortBy, 
                                                                   String sortDirection);
-}
\ No newline at end of file
+
+    /**
+     * Advanced search for medical events using keyset pagination on (eventTime, id).
+     * Supports every filter of {@link #searchMedicalEvents}; the request's page and sortBy are ignored.
+     * Each page costs the same however deep it is, and the total count is only run when requested.
+     *
+     * @param searchRequest the search criteria, optional cursor from the previous page, and includeTotal flag
+     * @return page of matching medical events with a continuation cursor if more remain
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    PagedMedicalEventResponse searchMedicalEventsByCursor(MedicalEventSearchRequest searchRequest);
+
+    /**
+     * Get medical events for a patient using keyset pagination on (eventTime, id).
+     *
+     * @param patientId the UUID of the patient
+     * @param cursor continuation cursor from the previous page, or null for the first page
+     * @param size the page size
+     * @param sortDirection the sort direction (ASC/DESC)
+     * @param includeTotal whether to count all matching events
+     * @return page of medical events with a continuation cursor if more remain
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    PagedMedicalEventResponse getMedicalEventsByPatientIdCursor(UUID patientId,
+                                                               String cursor,
+                                                               int size,
+                                                               String sortDirection,
+                                                               boolean includeTotal);
+}
@@ -1,5 +1,7 @@
 package com.ciaranmckenna.medical_event_tracker.service;
 
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationDosageSearchRequest;
+import com.ciaranmckenna.medical_event_tracker.dto.PagedMedicationDosageResponse;
 import com.ciaranmckenna.medical_event_tracker.entity.DosageSchedule;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
 
@@ -24,6 +26,17 @@ public interface MedicationDosageService {
      */
     MedicationDosage createMedicationDosage(MedicationDosage medicationDosage);
 
+    /**
+     * Create many medication dosage records in one transaction, inserting them in JDBC batches.
+     * The daily rollups are adjusted once per affected row, and each patient's
+     * derived data is invalidated once rather than once per dosage.
+     *
+     * @param medicationDosages the medication dosages to create
+     * @return the created medication dosages with generated IDs, in the same order
+     * @throws IllegalArgumentException if the list or any of its dosages is null
+     */
+    List<MedicationDosage> createMedicationDosages(List<MedicationDosage> medicationDosages);
+
     /**
      * Retrieve a medication dosage by its ID.
      *
@@ -150,4 +163,46 @@ public interface MedicationDosageService {
      * @return count of medication dosages for the specified schedule
      */
     long countDosagesByPatientIdAndSchedule(UUID patientId, DosageSchedule schedule);
-}
\ No newline at end of file
+
+    /**
+     * Search medication dosages with keyset pagination ordered by (administrationTime, id).
+     * Reads one page past the cursor in the request; the total is only counted when requested.
+     *
+     * @param searchRequest the search criteria, page size and optional cursor
+     * @return one page of matching dosages with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed or the page size is out of range
+     */
+    PagedMedicationDosageResponse searchMedicationDosagesByCursor(MedicationDosageSearchRequest searchRequest);
+
+    /**
+     * Get missed dosages for a patient with keyset pagination.
+     *
+     * @param patientId     the UUID of the patient
+     * @param cutoffTime    the time cutoff for considering a dosage missed
+     * @param cursor        continuation token from the previous page, or null for the first page
+     * @param size          number of dosages per page
+     * @param sortDirection ASC or DESC by administration time
+     * @param includeTotal  whether to count all missed dosages
+     * @return one page of missed dosages with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed or the page size is out of range
+     */
+    PagedMedicationDosageResponse getMissedDosagesByCursor(UUID patientId, LocalDateTime cutoffTime, String cursor,
+                                                           int size, String sortDirection, boolean includeTotal);
+
+    /**
+     * Get upcoming dosages for a patient within a time window with keyset pagination.
+     *
+     * @param patientId     the UUID of the patient
+     * @param currentTime   the current time
+     * @param futureTime    the future time limit
+     * @param cursor        continuation token from the previous page, or null for the first page
+     * @param size          number of dosages per page
+     * @param sortDirection ASC or DESC by administration time
+     * @param includeTotal  whether to count all upcoming dosages in the window
+     * @return one page of upcoming dosages with the cursor for the next page
+     * @throws IllegalArgumentException if the cursor is malformed or the page size is out of range
+     */
+    PagedMedicationDosageResponse getUpcomingDosagesByCursor(UUID patientId, LocalDateTime currentTime,
+                                                             LocalDateTime futureTime, String cursor, int size,
+                                                             String sortDirection, boolean includeTotal);
+}
@@ -2,6 +2,7 @@ package com.ciaranmckenna.medical_event_tracker.service;
 
 import com.ciaranmckenna.medical_event_tracker.dto.CreateMedicationRequest;
 import com.ciaranmckenna.medical_event_tracker.dto.MedicationResponse;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationSuggestion;
 import com.ciaranmckenna.medical_event_tracker.dto.UpdateMedicationRequest;
 import com.ciaranmckenna.medical_event_tracker.entity.Medication;
 
@@ -39,10 +40,15 @@ public interface MedicationService {
     void deleteMedication(UUID id);
 
     /**
-     * Search medications by name or generic name
+     * Search medications by name or generic name, best matches first
      */
     List<MedicationResponse> searchMedications(String searchTerm);
 
+    /**
+     * Suggest medications for partially typed text, best matches first
+     */
+    List<MedicationSuggestion> suggestMedications(String query, int limit);
+
     /**
      * Get medications by type
      */
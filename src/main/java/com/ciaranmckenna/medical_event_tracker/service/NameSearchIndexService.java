@@ -0,0 +1,30 @@
+package com.ciaranmckenna.medical_event_tracker.service;
+
+/**
+ * Service interface for the normalized name columns and name trigram tables behind patient and medication search.
+ * Writes keep them current through the entity setters; this rebuilds them for rows written before they existed.
+ */
+public interface NameSearchIndexService {
+
+    /**
+     * Recompute normalized names and name trigrams for every patient and medication.
+     *
+     * @return number of patients and medications reindexed
+     */
+    int rebuildAll();
+
+    /**
+     * Check whether any patient or medication is missing its normalized names, as after upgrading a database
+     * that predates them.
+     *
+     * @return true if there are rows to backfill
+     */
+    boolean needsBackfill();
+
+    /**
+     * Compute normalized names and name trigrams for the patients and medications missing them.
+     *
+     * @return number of patients and medications backfilled
+     */
+    int backfillMissing();
+}
@@ -0,0 +1,26 @@
+package com.ciaranmckenna.medical_event_tracker.service;
+
+import com.ciaranmckenna.medical_event_tracker.dto.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+/**
+ * Service interface for exporting a patient's complete history.
+ */
+public interface PatientExportService {
+
+    /**
+     * Write every medical event and medication dosage for a patient to the output, oldest first.
+     * Rows are streamed from the database and written as they are read, so memory use does not
+     * grow with the length of the history.
+     *
+     * @param patientId the patient's UUID
+     * @param format    the output format
+     * @param output    the stream to write to; flushed but not closed
+     * @return the number of rows written
+     * @throws IOException if writing to the output fails
+     */
+    long exportPatientHistory(UUID patientId, ExportFormat format, OutputStream output) throws IOException;
+}
@@ -0,0 +1,104 @@
+package com.ciaranmckenna.medical_event_tracker.service;
+
+import com.ciaranmckenna.medical_event_tracker.dto.RollupConsistencyReport;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Service interface for the per-patient daily rollup tables.
+ * Keeps precomputed event and dosage counts in step with writes, and can rebuild or verify them.
+ */
+public interface PatientRollupService {
+
+    /**
+     * Apply a medical event to the event rollup.
+     *
+     * @param patientId the patient's UUID
+     * @param eventTime when the event occurred
+     * @param category  the event category
+     * @param severity  the event severity
+     * @param delta     +1 when the event is added, -1 when it is removed
+     */
+    void applyEvent(UUID patientId, LocalDateTime eventTime, MedicalEventCategory category,
+                    MedicalEventSeverity severity, long delta);
+
+    /**
+     * Apply a medical event to the event rollup.
+     *
+     * @param event the medical event
+     * @param delta +1 when the event is added, -1 when it is removed
+     */
+    default void applyEvent(MedicalEvent event, long delta) {
+        applyEvent(event.getPatientId(), event.getEventTime(), event.getCategory(), event.getSeverity(), delta);
+    }
+
+    /**
+     * Apply newly added medical events to the event rollup, adjusting each affected rollup row once.
+     *
+     * @param events the added medical events
+     */
+    void applyEvents(Collection<MedicalEvent> events);
+
+    /**
+     * Apply a medication dosage to the dosage rollup.
+     *
+     * @param patientId          the patient's UUID
+     * @param administrationTime when the dosage was administered
+     * @param medicationId       the medication's UUID
+     * @param delta              +1 when the dosage is added, -1 when it is removed
+     */
+    void applyDosage(UUID patientId, LocalDateTime administrationTime, UUID medicationId, long delta);
+
+    /**
+     * Apply a medication dosage to the dosage rollup.
+     *
+     * @param dosage the medication dosage
+     * @param delta  +1 when the dosage is added, -1 when it is removed
+     */
+    default void applyDosage(MedicationDosage dosage, long delta) {
+        applyDosage(dosage.getPatientId(), dosage.getAdministrationTime(), dosage.getMedicationId(), delta);
+    }
+
+    /**
+     * Apply newly added medication dosages to the dosage rollup, adjusting each affected rollup row once.
+     *
+     * @param dosages the added medication dosages
+     */
+    void applyDosages(Collection<MedicationDosage> dosages);
+
+    /**
+     * Recompute a patient's rollups from the raw event and dosage rows.
+     *
+     * @param patientId the patient's UUID
+     */
+    void rebuildPatient(UUID patientId);
+
+    /**
+     * Recompute the rollups for every patient that has events or dosages, each patient in its own transaction.
+     *
+     * @return number of patients rebuilt
+     */
+    int rebuildAll();
+
+    /**
+     * Whether the rollups are empty although there are events or dosages to count,
+     * as after upgrading a database that predates the rollup tables.
+     *
+     * @return true if the rollups should be rebuilt before they are read
+     */
+    boolean needsBackfill();
+
+    /**
+     * Compare a patient's rollups against the raw event and dosage rows.
+     *
+     * @param patientId the patient's UUID
+     * @return report listing any discrepancies
+     */
+    RollupConsistencyReport checkConsistency(UUID patientId);
+}
@@ -42,7 +42,7 @@ public interface PatientService {
     void deletePatient(UUID patientId, User user);
 
     /**
-     * Search patients by name for the authenticated user
+     * Search patients by name for the authenticated user, best matches first
      */
     List<PatientResponse> searchPatientsByName(String searchTerm, User user);
 
@@ -2,10 +2,13 @@ package com.ciaranmckenna.medical_event_tracker.service;
 
 import com.ciaranmckenna.medical_event_tracker.dto.TimelineAnalysis;
 import com.ciaranmckenna.medical_event_tracker.dto.TimelineDataPoint;
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineResolution;
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineSection;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -24,6 +27,33 @@ public interface TimelineService {
      */
     TimelineAnalysis generateTimelineAnalysis(UUID patientId, LocalDateTime startDate, LocalDateTime endDate);
 
+    /**
+     * Generate timeline analysis for a patient, optionally downsampled to fixed-size buckets.
+     * 
+     * @param patientId the patient's UUID
+     * @param startDate the start date for analysis
+     * @param endDate the end date for analysis
+     * @param resolution bucket size to downsample to, or null for raw data points
+     * @return timeline analysis with either chronological data points or per-bucket summaries
+     * @throws IllegalArgumentException if the range holds too many buckets at the requested resolution
+     */
+    TimelineAnalysis generateTimelineAnalysis(UUID patientId, LocalDateTime startDate, LocalDateTime endDate,
+                                              TimelineResolution resolution);
+
+    /**
+     * Generate timeline analysis for a patient, optionally downsampled and with the requested analysis sections.
+     * 
+     * @param patientId the patient's UUID
+     * @param startDate the start date for analysis
+     * @param endDate the end date for analysis
+     * @param resolution bucket size to downsample to, or null for raw data points
+     * @param include analysis sections to compute, or null or empty for none
+     * @return timeline analysis with data points or buckets, plus any requested sections
+     * @throws IllegalArgumentException if the range holds too many buckets at the requested resolution
+     */
+    TimelineAnalysis generateTimelineAnalysis(UUID patientId, LocalDateTime startDate, LocalDateTime endDate,
+                                              TimelineResolution resolution, Set<TimelineSection> include);
+
     /**
      * Create timeline data points from medical events and dosages.
      * 
@@ -50,6 +80,24 @@ public interface TimelineService {
             LocalDateTime endDate
     );
 
+    /**
+     * Generate timeline for a specific medication with the requested analysis sections.
+     * 
+     * @param patientId the patient's UUID
+     * @param medicationId the medication's UUID
+     * @param startDate the start date for analysis
+     * @param endDate the end date for analysis
+     * @param include analysis sections to compute, or null or empty for none
+     * @return timeline analysis focused on the specific medication, plus any requested sections
+     */
+    TimelineAnalysis generateMedicationTimeline(
+            UUID patientId, 
+            UUID medicationId, 
+            LocalDateTime startDate, 
+            LocalDateTime endDate,
+            Set<TimelineSection> include
+    );
+
     /**
      * Calculate timeline statistics (total events, patterns, etc.).
      * 
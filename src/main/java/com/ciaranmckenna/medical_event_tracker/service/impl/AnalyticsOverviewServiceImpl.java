@@ -0,0 +1,146 @@
+package com.ciaranmckenna.medical_event_tracker.service.impl;
+
+import com.ciaranmckenna.medical_event_tracker.config.AnalyticsExecutorConfig;
+import com.ciaranmckenna.medical_event_tracker.dto.AnalyticsOverview;
+import com.ciaranmckenna.medical_event_tracker.dto.DashboardSummary;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationCorrelationAnalysis;
+import com.ciaranmckenna.medical_event_tracker.dto.OverviewSection;
+import com.ciaranmckenna.medical_event_tracker.dto.OverviewSectionStatus;
+import com.ciaranmckenna.medical_event_tracker.service.AnalyticsOverviewService;
+import com.ciaranmckenna.medical_event_tracker.service.AnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Implementation of AnalyticsOverviewService.
+ * Submits every section to the bounded analytics executor before waiting on any, then waits for each
+ * until its own deadline measured from the start of the request. Sections go through the cached
+ * {@link AnalyticsService} facade, each in its own read-only transaction on its worker thread.
+ * That transaction carries the section's deadline as its timeout, which Spring applies to every JDBC
+ * query, so a section abandoned by the request stops at the database rather than being interrupted.
+ */
+@Service
+public class AnalyticsOverviewServiceImpl implements AnalyticsOverviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsOverviewServiceImpl.class);
+
+    private final AnalyticsService analyticsService;
+    private final ExecutorService executor;
+    private final long dashboardTimeoutMillis;
+    private final long correlationsTimeoutMillis;
+    private final TransactionTemplate dashboardTransaction;
+    private final TransactionTemplate correlationsTransaction;
+
+    public AnalyticsOverviewServiceImpl(AnalyticsService analyticsService,
+                                        @Qualifier(AnalyticsExecutorConfig.ANALYTICS_EXECUTOR) ExecutorService executor,
+                                        @Value("${app.analytics.overview.dashboard-timeout-ms:2000}")
+                                        long dashboardTimeoutMillis,
+                                        @Value("${app.analytics.overview.correlations-timeout-ms:5000}")
+                                        long correlationsTimeoutMillis,
+                                        PlatformTransactionManager transactionManager) {
+        this.analyticsService = analyticsService;
+        this.executor = executor;
+        this.dashboardTimeoutMillis = dashboardTimeoutMillis;
+        this.correlationsTimeoutMillis = correlationsTimeoutMillis;
+        this.dashboardTransaction = readOnlyTransaction(transactionManager, dashboardTimeoutMillis);
+        this.correlationsTransaction = readOnlyTransaction(transactionManager, correlationsTimeoutMillis);
+    }
+
+    @Override
+    public AnalyticsOverview generateAnalyticsOverview(UUID patientId) {
+        if (patientId == null) {
+            throw new IllegalArgumentException("Patient ID cannot be null");
+        }
+
+        long startNanos = System.nanoTime();
+        Future<DashboardSummary> dashboard = submit(() -> dashboardTransaction.execute(
+                status -> analyticsService.generateDashboardSummary(patientId)));
+        Future<List<MedicationCorrelationAnalysis>> correlations = submit(() -> correlationsTransaction.execute(
+                status -> analyticsService.generateAllMedicationCorrelations(patientId)));
+
+        Map<OverviewSection, OverviewSectionStatus> sectionStatus = new EnumMap<>(OverviewSection.class);
+        DashboardSummary dashboardSummary = await(OverviewSection.DASHBOARD, dashboard,
+                startNanos, dashboardTimeoutMillis, patientId, sectionStatus);
+        List<MedicationCorrelationAnalysis> medicationCorrelations = await(OverviewSection.CORRELATIONS,
+                correlations, startNanos, correlationsTimeoutMillis, patientId, sectionStatus);
+
+        return new AnalyticsOverview(dashboardSummary, medicationCorrelations, sectionStatus, LocalDateTime.now());
+    }
+
+    // Private helper methods
+
+    /**
+     * Read-only transaction whose timeout covers the section's deadline.
+     * Transaction timeouts are whole seconds, so the deadline is rounded up.
+     */
+    private static TransactionTemplate readOnlyTransaction(PlatformTransactionManager transactionManager,
+                                                           long timeoutMillis) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) Math.max(1L, TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + 999L)));
+        return transaction;
+    }
+
+    private <T> Future<T> submit(Callable<T> section) {
+        try {
+            return executor.submit(section);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Waits for a section until its deadline, recording its status.
+     * A section that misses its deadline is cancelled without interrupting its worker, whose
+     * transaction timeout ends any query still running.
+     *
+     * @return the section's result, or null if it did not complete
+     */
+    private <T> T await(OverviewSection section, Future<T> future, long startNanos, long timeoutMillis,
+                        UUID patientId, Map<OverviewSection, OverviewSectionStatus> sectionStatus) {
+        if (future == null) {
+            logger.warn("Analytics overview section {} for patient {} was rejected by a saturated executor",
+                    section, patientId);
+            sectionStatus.put(section, OverviewSectionStatus.FAILED);
+            return null;
+        }
+
+        long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis) - (System.nanoTime() - startNanos);
+        try {
+            T result = future.get(Math.max(0L, remainingNanos), TimeUnit.NANOSECONDS);
+            sectionStatus.put(section, OverviewSectionStatus.COMPLETE);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            logger.warn("Analytics overview section {} for patient {} timed out after {} ms",
+                    section, patientId, timeoutMillis);
+            sectionStatus.put(section, OverviewSectionStatus.TIMED_OUT);
+        } catch (ExecutionException e) {
+            logger.warn("Analytics overview section {} for patient {} failed", section, patientId, e.getCause());
+            sectionStatus.put(section, OverviewSectionStatus.FAILED);
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            sectionStatus.put(section, OverviewSectionStatus.FAILED);
+        }
+        return null;
+    }
+}
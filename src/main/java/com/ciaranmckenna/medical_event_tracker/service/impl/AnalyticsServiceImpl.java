@@ -1,22 +1,27 @@
 package com.ciaranmckenna.medical_event_tracker.service.impl;
 
+import com.ciaranmckenna.medical_event_tracker.config.CacheConfig;
 import com.ciaranmckenna.medical_event_tracker.dto.*;
 import com.ciaranmckenna.medical_event_tracker.service.AnalyticsService;
 import com.ciaranmckenna.medical_event_tracker.service.CorrelationService;
 import com.ciaranmckenna.medical_event_tracker.service.DashboardService;
 import com.ciaranmckenna.medical_event_tracker.service.TimelineService;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * Implementation of AnalyticsService that delegates to focused services.
  * Acts as a facade for correlation, dashboard, and timeline services.
  * Updated to follow Single Responsibility Principle.
+ * Dashboard, trend, correlation and timeline results are cached per patient and evicted
+ * by {@link com.ciaranmckenna.medical_event_tracker.config.AnalyticsCacheInvalidator} when the patient's data changes.
  */
 @Service
 @Transactional(readOnly = true)
@@ -40,15 +45,24 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.DASHBOARD_CACHE, keyGenerator = "patientKeyGenerator")
     public DashboardSummary generateDashboardSummary(UUID patientId) {
         return dashboardService.generateDashboardSummary(patientId);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.TIMELINE_CACHE, keyGenerator = "patientKeyGenerator")
     public TimelineAnalysis generateTimelineAnalysis(UUID patientId, LocalDateTime startDate, LocalDateTime endDate) {
         return timelineService.generateTimelineAnalysis(patientId, startDate, endDate);
     }
 
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TIMELINE_CACHE, keyGenerator = "patientKeyGenerator")
+    public TimelineAnalysis generateTimelineAnalysis(UUID patientId, LocalDateTime startDate, LocalDateTime endDate,
+                                                     TimelineResolution resolution, Set<TimelineSection> include) {
+        return timelineService.generateTimelineAnalysis(patientId, startDate, endDate, resolution, include);
+    }
+
     @Override
     public MedicationImpactAnalysis generateMedicationImpactAnalysis(UUID patientId, UUID medicationId, 
                                                                    LocalDateTime startDate, LocalDateTime endDate) {
@@ -56,12 +70,20 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.CORRELATIONS_CACHE, keyGenerator = "patientKeyGenerator")
     public List<MedicationCorrelationAnalysis> generateAllMedicationCorrelations(UUID patientId) {
         return correlationService.generateAllMedicationCorrelations(patientId);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.WEEKLY_TRENDS_CACHE, keyGenerator = "patientKeyGenerator")
     public Map<String, DashboardSummary> generateWeeklySummaries(UUID patientId) {
         return dashboardService.generateWeeklySummaries(patientId);
     }
-}
\ No newline at end of file
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TRENDS_CACHE, keyGenerator = "patientKeyGenerator")
+    public Map<String, DashboardSummary> generateTrendSummaries(UUID patientId, TrendPeriod period, int periods) {
+        return dashboardService.generateTrendSummaries(patientId, period, periods);
+    }
+}
@@ -1,84 +1,95 @@
 package com.ciaranmckenna.medical_event_tracker.service.impl;
 
 import com.ciaranmckenna.medical_event_tracker.dto.MedicationCorrelationAnalysis;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationExposureStatistics;
 import com.ciaranmckenna.medical_event_tracker.dto.MedicationImpactAnalysis;
 import com.ciaranmckenna.medical_event_tracker.entity.*;
-import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
-import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
 import com.ciaranmckenna.medical_event_tracker.service.CorrelationService;
+import com.ciaranmckenna.medical_event_tracker.store.PatientTimeSeriesStore;
+import com.ciaranmckenna.medical_event_tracker.util.PatientTimeSeries;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of CorrelationService for medication correlation analysis.
  * Focused solely on correlation calculations and medication impact analysis.
+ * Reads the patient's columnar {@link PatientTimeSeries} snapshot rather than event and dosage entities.
+ * Every statistic comes from forward sweeps over the snapshot's time-ordered arrays, so a request costs
+ * time linear in the patient's history and issues no queries beyond the snapshot load.
  */
 @Service
 @Transactional(readOnly = true)
 public class CorrelationServiceImpl implements CorrelationService {
 
-    private final MedicalEventRepository medicalEventRepository;
-    private final MedicationDosageRepository medicationDosageRepository;
+    private static final long SECONDS_PER_MINUTE = 60L;
+    private static final long SECONDS_PER_HOUR = 3600L;
+    private static final double SECONDS_PER_DAY = 86_400.0;
+    private static final double Z_95 = 1.959964;
 
-    public CorrelationServiceImpl(MedicalEventRepository medicalEventRepository,
-                                 MedicationDosageRepository medicationDosageRepository) {
-        this.medicalEventRepository = medicalEventRepository;
-        this.medicationDosageRepository = medicationDosageRepository;
+    private final PatientTimeSeriesStore timeSeriesStore;
+
+    @Value("${app.analytics.correlation-window-hours:24}")
+    private long correlationWindowHours;
+
+    @Value("${app.analytics.lag-bin-minutes:60}")
+    private long lagBinMinutes;
+
+    public CorrelationServiceImpl(PatientTimeSeriesStore timeSeriesStore) {
+        this.timeSeriesStore = timeSeriesStore;
     }
 
     @Override
     public MedicationCorrelationAnalysis generateMedicationCorrelationAnalysis(UUID patientId, UUID medicationId) {
         validatePatientAndMedicationIds(patientId, medicationId);
 
-        // Get all dosages for this medication
-        List<MedicationDosage> dosages = medicationDosageRepository.findByPatientIdAndMedicationId(patientId, medicationId);
-        
-        if (dosages.isEmpty()) {
+        PatientTimeSeries series = timeSeriesStore.get(patientId);
+        int medication = series.medicationIndex(medicationId);
+        int[] dosages = medication == PatientTimeSeries.NO_MEDICATION ? new int[0] : series.dosagesOf(medication);
+
+        if (dosages.length == 0) {
             return createEmptyCorrelationAnalysis(patientId, medicationId);
         }
 
-        // Get events that occurred within 24 hours after dosages
-        List<MedicalEvent> eventsAfterDosages = findEventsAfterDosages(patientId, medicationId, dosages);
-        
-        // Calculate correlation metrics
-        double correlationPercentage = calculateCorrelationPercentage(dosages.size(), eventsAfterDosages.size());
-        double correlationStrength = calculateCorrelationStrength(correlationPercentage);
-        
-        // Group events by category and severity
-        Map<MedicalEventCategory, Long> eventsByCategory = groupEventsByCategory(eventsAfterDosages);
-        Map<MedicalEventSeverity, Long> eventsBySeverity = groupEventsBySeverity(eventsAfterDosages);
-        
-        // Get medication name (simplified - in real implementation would query medication table)
-        String medicationName = "Medication " + medicationId.toString().substring(0, 8);
+        // Count events that occurred within the correlation window after any dosage
+        long[] lagCounts = newLagHistogram();
+        EventTally eventsAfterDosages = sweepEventsInDosageWindows(series, dosages, Long.MAX_VALUE, lagCounts);
+        ExposureTally exposure = tallyExposure(series, medication, observedFrom(series), observedTo(series));
 
-        return new MedicationCorrelationAnalysis(
-                medicationId,
-                patientId,
-                medicationName,
-                (long) dosages.size(),
-                (long) eventsAfterDosages.size(),
-                correlationPercentage,
-                correlationStrength,
-                eventsByCategory,
-                eventsBySeverity,
-                LocalDateTime.now()
-        );
+        return buildCorrelationAnalysis(patientId, medicationId, dosages.length, eventsAfterDosages,
+                buildExposureStatistics(lagCounts, exposure));
     }
 
     @Override
     public List<MedicationCorrelationAnalysis> generateAllMedicationCorrelations(UUID patientId) {
         validatePatientId(patientId);
 
-        // Get all unique medications for the patient
-        List<UUID> medicationIds = medicationDosageRepository.findDistinctMedicationIdsByPatientId(patientId);
-        
-        return medicationIds.stream()
-                .map(medicationId -> generateMedicationCorrelationAnalysis(patientId, medicationId))
-                .collect(Collectors.toList());
+        PatientTimeSeries series = timeSeriesStore.get(patientId);
+        if (series.dosageCount() == 0) {
+            return new ArrayList<>();
+        }
+
+        // Medications are indexed in order of first dosage, so results keep that order
+        int[][] dosagesByMedication = series.dosagesByMedication();
+        long observedFrom = observedFrom(series);
+        long observedTo = observedTo(series);
+        List<MedicationCorrelationAnalysis> analyses = new ArrayList<>(dosagesByMedication.length);
+        for (int medication = 0; medication < dosagesByMedication.length; medication++) {
+            int[] dosages = dosagesByMedication[medication];
+            if (dosages.length == 0) {
+                continue; // referenced by events only
+            }
+            long[] lagCounts = newLagHistogram();
+            EventTally eventsAfterDosages = sweepEventsInDosageWindows(series, dosages, Long.MAX_VALUE, lagCounts);
+            ExposureTally exposure = tallyExposure(series, medication, observedFrom, observedTo);
+            analyses.add(buildCorrelationAnalysis(patientId, series.medicationId(medication), dosages.length,
+                    eventsAfterDosages, buildExposureStatistics(lagCounts, exposure)));
+        }
+
+        return analyses;
     }
 
     @Override
@@ -88,31 +99,42 @@ public class CorrelationServiceImpl implements CorrelationService {
         validatePatientAndMedicationIds(patientId, medicationId);
         validateDateRange(startDate, endDate);
 
-        // Get dosages within the date range
-        List<MedicationDosage> dosages = medicationDosageRepository
-                .findByPatientIdAndMedicationIdAndAdministrationTimeBetween(
-                        patientId, medicationId, startDate, endDate);
+        PatientTimeSeries series = timeSeriesStore.get(patientId);
+        long from = PatientTimeSeries.toEpochSecond(startDate);
+        long to = PatientTimeSeries.toEpochSecond(endDate);
+
+        // Collect dosages of this medication within the date range
+        int medication = series.medicationIndex(medicationId);
+        int[] dosages = new int[0];
+        if (medication != PatientTimeSeries.NO_MEDICATION) {
+            int dosageCount = 0;
+            int firstDosage = series.firstDosageAtOrAfter(from);
+            int endDosage = series.firstDosageAfter(to);
+            dosages = new int[endDosage - firstDosage];
+            for (int dosage = firstDosage; dosage < endDosage; dosage++) {
+                if (series.dosageMedication(dosage) == medication) {
+                    dosages[dosageCount++] = dosage;
+                }
+            }
+            dosages = Arrays.copyOf(dosages, dosageCount);
+        }
 
-        // Get events within the date range
-        List<MedicalEvent> events = medicalEventRepository
-                .findByPatientIdAndEventTimeBetween(patientId, startDate, endDate);
+        // Split events within the date range by whether the medication was prescribed at the time
+        long[] lagCounts = newLagHistogram();
+        if (dosages.length > 0) {
+            sweepEventsInDosageWindows(series, dosages, to, lagCounts);
+        }
+        ExposureTally exposure = tallyExposure(series, medication, from, to);
+        EventTally events = exposure.allEvents();
+        MedicationExposureStatistics exposureStatistics = buildExposureStatistics(lagCounts, exposure);
 
         // Calculate impact metrics
-        double averageEventsPerDay = calculateAverageEventsPerDay(events, startDate, endDate);
-        double medicationEffectiveness = calculateMedicationEffectiveness(dosages, events);
-        Map<MedicalEventSeverity, Long> severityImpact = analyzeSeverityImpact(events);
-
-        // Calculate required metrics for MedicationImpactAnalysis
-        long symptomEventsCount = events.stream()
-                .mapToLong(event -> event.getCategory().toString().contains("SYMPTOM") ? 1 : 0)
-                .sum();
-        
-        long adverseReactionEventsCount = events.stream()
-                .mapToLong(event -> event.getCategory().toString().contains("ADVERSE") ? 1 : 0)
-                .sum();
-        
-        double symptomReductionPercentage = calculateSymptomReduction(events, startDate, endDate);
-        Map<String, java.util.List<Long>> weeklyTrends = calculateWeeklyTrends(events, startDate, endDate);
+        double averageEventsPerDay = calculateAverageEventsPerDay(events.total, startDate, endDate);
+        double medicationEffectiveness = calculateMedicationEffectiveness(exposureStatistics);
+        long symptomEventsCount = events.countCategoriesNamed("SYMPTOM");
+        long adverseReactionEventsCount = events.countCategoriesNamed("ADVERSE");
+        double symptomReductionPercentage = calculateSymptomReduction(exposure);
+        Map<String, java.util.List<Long>> weeklyTrends = calculateWeeklyTrends(events.total);
         
         return new MedicationImpactAnalysis(
                 medicationId,
@@ -120,15 +142,16 @@ public class CorrelationServiceImpl implements CorrelationService {
                 "Medication Impact Analysis",
                 startDate,
                 endDate,
-                (long) dosages.size(),
-                (long) events.size(),
+                (long) dosages.length,
+                events.total,
                 averageEventsPerDay,
                 symptomEventsCount,
                 adverseReactionEventsCount,
                 symptomReductionPercentage,
                 medicationEffectiveness,
                 weeklyTrends,
-                LocalDateTime.now()
+                LocalDateTime.now(),
+                exposureStatistics
         );
     }
 
@@ -190,72 +213,288 @@ public class CorrelationServiceImpl implements CorrelationService {
         );
     }
 
-    private List<MedicalEvent> findEventsAfterDosages(UUID patientId, UUID medicationId, List<MedicationDosage> dosages) {
-        List<MedicalEvent> allEvents = new ArrayList<>();
+    private MedicationCorrelationAnalysis buildCorrelationAnalysis(UUID patientId, UUID medicationId,
+                                                                   int dosageCount,
+                                                                   EventTally eventsAfterDosages,
+                                                                   MedicationExposureStatistics exposure) {
+        // Calculate correlation metrics
+        double correlationPercentage = calculateCorrelationPercentage(dosageCount, (int) eventsAfterDosages.total);
+        double correlationStrength = calculateCorrelationStrength(correlationPercentage);
         
-        for (MedicationDosage dosage : dosages) {
-            LocalDateTime dosageTime = dosage.getAdministrationTime();
-            LocalDateTime windowEnd = dosageTime.plusHours(24);
-            
-            List<MedicalEvent> eventsInWindow = medicalEventRepository
-                    .findByPatientIdAndEventTimeBetween(patientId, dosageTime, windowEnd);
-            
-            allEvents.addAll(eventsInWindow);
+        // Get medication name (simplified - in real implementation would query medication table)
+        String medicationName = "Medication " + medicationId.toString().substring(0, 8);
+
+        return new MedicationCorrelationAnalysis(
+                medicationId,
+                patientId,
+                medicationName,
+                (long) dosageCount,
+                eventsAfterDosages.total,
+                correlationPercentage,
+                correlationStrength,
+                eventsAfterDosages.byCategory(),
+                eventsAfterDosages.bySeverity(),
+                LocalDateTime.now(),
+                exposure
+        );
+    }
+
+    /**
+     * Two-pointer sweep over one medication's time-ordered dosages and the patient's events, visiting
+     * only the events between the first dosage and the end of the last dosage's window. For each event
+     * the most recent dosage at or before it is the only candidate that matters: if that dosage's window
+     * does not cover the event, no earlier dosage's window can. Each event is counted once even when
+     * windows overlap, and its lag since that dosage is added to the lag histogram.
+     *
+     * @param series    the patient's snapshot
+     * @param dosages   indexes of the medication's dosages in time order, not empty
+     * @param until     epoch second after which events are ignored
+     * @param lagCounts lag histogram to add to, from {@link #newLagHistogram()}
+     * @return tally of events within a post-dose window
+     */
+    private EventTally sweepEventsInDosageWindows(PatientTimeSeries series, int[] dosages, long until,
+                                                  long[] lagCounts) {
+        long windowSeconds = correlationWindowHours * SECONDS_PER_HOUR;
+        long binSeconds = lagBinSeconds();
+        EventTally eventsInWindows = new EventTally();
+        int dosageIndex = -1;
+
+        int firstEvent = series.firstEventAtOrAfter(series.dosageTime(dosages[0]));
+        int endEvent = Math.min(series.firstEventAfter(until),
+                series.firstEventAfter(series.dosageTime(dosages[dosages.length - 1]) + windowSeconds));
+        for (int event = firstEvent; event < endEvent; event++) {
+            long eventTime = series.eventTime(event);
+            while (dosageIndex + 1 < dosages.length && series.dosageTime(dosages[dosageIndex + 1]) <= eventTime) {
+                dosageIndex++;
+            }
+            if (dosageIndex < 0) {
+                continue;
+            }
+
+            long lag = eventTime - series.dosageTime(dosages[dosageIndex]);
+            if (lag <= windowSeconds) {
+                eventsInWindows.add(series, event);
+                lagCounts[(int) Math.min(lag / binSeconds, lagCounts.length - 1)]++;
+            }
         }
-        
-        return allEvents;
+
+        return eventsInWindows;
+    }
+
+    private long lagBinSeconds() {
+        return Math.max(1L, lagBinMinutes) * SECONDS_PER_MINUTE;
     }
 
-    private Map<MedicalEventCategory, Long> groupEventsByCategory(List<MedicalEvent> events) {
-        return events.stream()
-                .collect(Collectors.groupingBy(
-                        MedicalEvent::getCategory,
-                        Collectors.counting()
-                ));
+    private long[] newLagHistogram() {
+        long windowSeconds = correlationWindowHours * SECONDS_PER_HOUR;
+        return new long[(int) Math.max(1L, (windowSeconds + lagBinSeconds() - 1) / lagBinSeconds())];
     }
 
-    private Map<MedicalEventSeverity, Long> groupEventsBySeverity(List<MedicalEvent> events) {
-        return events.stream()
-                .collect(Collectors.groupingBy(
-                        MedicalEvent::getSeverity,
-                        Collectors.counting()
-                ));
+    private long observedFrom(PatientTimeSeries series) {
+        long from = series.dosageCount() > 0 ? series.dosageTime(0) : Long.MAX_VALUE;
+        return series.eventCount() > 0 ? Math.min(from, series.eventTime(0)) : from;
     }
 
-    private double calculateAverageEventsPerDay(List<MedicalEvent> events, LocalDateTime startDate, LocalDateTime endDate) {
+    private long observedTo(PatientTimeSeries series) {
+        long to = series.dosageCount() > 0 ? series.dosageTime(series.dosageCount() - 1) : Long.MIN_VALUE;
+        return series.eventCount() > 0 ? Math.max(to, series.eventTime(series.eventCount() - 1)) : to;
+    }
+
+    /**
+     * Measures on- and off-medication time within a range from the medication's exposure intervals, then
+     * splits the range's events between them in one forward pass, advancing an interval pointer as it goes.
+     *
+     * @param series     the patient's snapshot
+     * @param medication the medication's dictionary index, or {@link PatientTimeSeries#NO_MEDICATION}
+     * @param from       first epoch second of the range
+     * @param to         last epoch second of the range
+     * @return events and seconds on and off medication
+     */
+    private ExposureTally tallyExposure(PatientTimeSeries series, int medication, long from, long to) {
+        ExposureTally tally = new ExposureTally();
+        int exposures = medication == PatientTimeSeries.NO_MEDICATION ? 0 : series.exposureCount(medication);
+
+        for (int exposure = 0; exposure < exposures; exposure++) {
+            long start = Math.max(from, series.exposureStart(medication, exposure));
+            long end = Math.min(to, series.exposureEnd(medication, exposure));
+            if (end > start) {
+                tally.onSeconds += end - start;
+            }
+        }
+        tally.offSeconds = Math.max(0L, to - from - tally.onSeconds);
+
+        int exposure = 0;
+        for (int event = series.firstEventAtOrAfter(from), end = series.firstEventAfter(to); event < end; event++) {
+            long eventTime = series.eventTime(event);
+            while (exposure < exposures && series.exposureEnd(medication, exposure) <= eventTime) {
+                exposure++;
+            }
+            if (exposure < exposures && series.exposureStart(medication, exposure) <= eventTime) {
+                tally.on.add(series, event);
+            } else {
+                tally.off.add(series, event);
+            }
+        }
+
+        return tally;
+    }
+
+    /**
+     * Builds exposure statistics, with a Poisson rate ratio whose 95% interval is
+     * {@code exp(ln(ratio) ± 1.96 * sqrt(1/a + 1/b))} for a events on and b events off medication.
+     * If either count is zero, 0.5 is added to both so the estimate and interval stay finite.
+     */
+    private MedicationExposureStatistics buildExposureStatistics(long[] lagCounts, ExposureTally exposure) {
+        long eventsOn = exposure.on.total;
+        long eventsOff = exposure.off.total;
+        double daysOn = exposure.onSeconds / SECONDS_PER_DAY;
+        double daysOff = exposure.offSeconds / SECONDS_PER_DAY;
+        Double rateOn = exposure.onSeconds > 0 ? eventsOn / daysOn : null;
+        Double rateOff = exposure.offSeconds > 0 ? eventsOff / daysOff : null;
+
+        Double rateRatio = null;
+        Double lower = null;
+        Double upper = null;
+        if (rateOn != null && rateOff != null && eventsOn + eventsOff > 0) {
+            double correction = eventsOn == 0 || eventsOff == 0 ? 0.5 : 0.0;
+            double a = eventsOn + correction;
+            double b = eventsOff + correction;
+            double logRatio = Math.log((a / daysOn) / (b / daysOff));
+            double margin = Z_95 * Math.sqrt(1.0 / a + 1.0 / b);
+            rateRatio = Math.exp(logRatio);
+            lower = Math.exp(logRatio - margin);
+            upper = Math.exp(logRatio + margin);
+        }
+
+        return new MedicationExposureStatistics(
+                lagBinSeconds() / SECONDS_PER_MINUTE,
+                Arrays.stream(lagCounts).boxed().toList(),
+                eventsOn,
+                daysOn,
+                eventsOff,
+                daysOff,
+                rateOn,
+                rateOff,
+                rateRatio,
+                lower,
+                upper
+        );
+    }
+
+    private double calculateAverageEventsPerDay(long eventCount, LocalDateTime startDate, LocalDateTime endDate) {
         long daysBetween = java.time.temporal.ChronoUnit.DAYS.between(startDate.toLocalDate(), endDate.toLocalDate());
         if (daysBetween == 0) daysBetween = 1;
-        return events.size() / (double) daysBetween;
+        return eventCount / (double) daysBetween;
     }
 
-    private double calculateMedicationEffectiveness(List<MedicationDosage> dosages, List<MedicalEvent> events) {
-        if (dosages.isEmpty()) return 0.0;
-        
-        // Simple effectiveness calculation: lower event count per dosage indicates higher effectiveness
-        double eventsPerDosage = events.size() / (double) dosages.size();
-        return Math.max(0.0, 1.0 - (eventsPerDosage / 10.0)); // Normalize to 0-1 scale
-    }
+    /**
+     * Effectiveness is the proportional reduction in event rate on medication against off it, 0 with no baseline.
+     */
+    private double calculateMedicationEffectiveness(MedicationExposureStatistics exposure) {
+        if (!exposure.hasBaseline()) return 0.0;
 
-    private Map<MedicalEventSeverity, Long> analyzeSeverityImpact(List<MedicalEvent> events) {
-        return groupEventsBySeverity(events);
+        return Math.min(1.0, Math.max(0.0, 1.0 - exposure.rateRatio()));
     }
 
-    private double calculateSymptomReduction(List<MedicalEvent> events, LocalDateTime startDate, LocalDateTime endDate) {
-        // Simple calculation - in real implementation would compare to baseline
-        long totalEvents = events.size();
-        if (totalEvents == 0) return 0.0;
-        
-        long symptomEvents = events.stream()
-                .mapToLong(event -> event.getCategory().toString().contains("SYMPTOM") ? 1 : 0)
-                .sum();
-        
-        return Math.max(0.0, (1.0 - ((double) symptomEvents / totalEvents)) * 100.0);
+    /**
+     * Symptom reduction compares the symptom event rate on medication with the rate off it, 0 with no baseline.
+     */
+    private double calculateSymptomReduction(ExposureTally exposure) {
+        long symptomsOff = exposure.off.countCategoriesNamed("SYMPTOM");
+        if (exposure.onSeconds == 0 || exposure.offSeconds == 0 || symptomsOff == 0) return 0.0;
+
+        double symptomRateOn = exposure.on.countCategoriesNamed("SYMPTOM") / (double) exposure.onSeconds;
+        double symptomRateOff = symptomsOff / (double) exposure.offSeconds;
+        return Math.max(0.0, (1.0 - symptomRateOn / symptomRateOff) * 100.0);
     }
     
-    private Map<String, java.util.List<Long>> calculateWeeklyTrends(List<MedicalEvent> events, LocalDateTime startDate, LocalDateTime endDate) {
+    private Map<String, java.util.List<Long>> calculateWeeklyTrends(long eventCount) {
         Map<String, java.util.List<Long>> trends = new HashMap<>();
-        trends.put("events", java.util.Arrays.asList((long) events.size()));
+        trends.put("events", java.util.Arrays.asList(eventCount));
         trends.put("dosages", java.util.Arrays.asList(0L)); // Simplified
         return trends;
     }
-}
\ No newline at end of file
+
+    /**
+     * Event count by category and severity ordinal, filled without materializing event objects.
+     */
+    private static final class EventTally {
+
+        private static final MedicalEventCategory[] CATEGORIES = MedicalEventCategory.values();
+        private static final MedicalEventSeverity[] SEVERITIES = MedicalEventSeverity.values();
+
+        private final long[] categoryCounts = new long[CATEGORIES.length];
+        private final long[] severityCounts = new long[SEVERITIES.length];
+        private long total;
+
+        private void add(PatientTimeSeries series, int event) {
+            total++;
+            MedicalEventCategory category = series.eventCategory(event);
+            if (category != null) {
+                categoryCounts[category.ordinal()]++;
+            }
+            MedicalEventSeverity severity = series.eventSeverity(event);
+            if (severity != null) {
+                severityCounts[severity.ordinal()]++;
+            }
+        }
+
+        private void addAll(EventTally other) {
+            total += other.total;
+            for (int i = 0; i < categoryCounts.length; i++) {
+                categoryCounts[i] += other.categoryCounts[i];
+            }
+            for (int i = 0; i < severityCounts.length; i++) {
+                severityCounts[i] += other.severityCounts[i];
+            }
+        }
+
+        private long countCategoriesNamed(String fragment) {
+            long count = 0;
+            for (MedicalEventCategory category : CATEGORIES) {
+                if (category.name().contains(fragment)) {
+                    count += categoryCounts[category.ordinal()];
+                }
+            }
+            return count;
+        }
+
+        private Map<MedicalEventCategory, Long> byCategory() {
+            Map<MedicalEventCategory, Long> counts = new EnumMap<>(MedicalEventCategory.class);
+            for (MedicalEventCategory category : CATEGORIES) {
+                if (categoryCounts[category.ordinal()] > 0) {
+                    counts.put(category, categoryCounts[category.ordinal()]);
+                }
+            }
+            return counts;
+        }
+
+        private Map<MedicalEventSeverity, Long> bySeverity() {
+            Map<MedicalEventSeverity, Long> counts = new EnumMap<>(MedicalEventSeverity.class);
+            for (MedicalEventSeverity severity : SEVERITIES) {
+                if (severityCounts[severity.ordinal()] > 0) {
+                    counts.put(severity, severityCounts[severity.ordinal()]);
+                }
+            }
+            return counts;
+        }
+    }
+
+    /**
+     * Events and observed seconds on and off a medication within a range.
+     */
+    private static final class ExposureTally {
+
+        private final EventTally on = new EventTally();
+        private final EventTally off = new EventTally();
+        private long onSeconds;
+        private long offSeconds;
+
+        private EventTally allEvents() {
+            EventTally all = new EventTally();
+            all.addAll(on);
+            all.addAll(off);
+            return all;
+        }
+    }
+}
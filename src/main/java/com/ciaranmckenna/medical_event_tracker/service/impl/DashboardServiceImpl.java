@@ -1,15 +1,20 @@
 package com.ciaranmckenna.medical_event_tracker.service.impl;
 
 import com.ciaranmckenna.medical_event_tracker.dto.DashboardSummary;
+import com.ciaranmckenna.medical_event_tracker.dto.TrendPeriod;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
-import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.PatientDailyDosageRollupRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.PatientDailyRollupRepository;
 import com.ciaranmckenna.medical_event_tracker.service.DashboardService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -21,28 +26,33 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class DashboardServiceImpl implements DashboardService {
 
+    private static final int RECENT_EVENTS_DAYS = 7;
+    private static final int DEFAULT_WEEKLY_PERIODS = 8;
+    private static final int MAX_TREND_PERIODS = 120;
+
     private final MedicalEventRepository medicalEventRepository;
-    private final MedicationDosageRepository medicationDosageRepository;
+    private final PatientDailyRollupRepository eventRollupRepository;
+    private final PatientDailyDosageRollupRepository dosageRollupRepository;
 
     public DashboardServiceImpl(MedicalEventRepository medicalEventRepository,
-                               MedicationDosageRepository medicationDosageRepository) {
+                               PatientDailyRollupRepository eventRollupRepository,
+                               PatientDailyDosageRollupRepository dosageRollupRepository) {
         this.medicalEventRepository = medicalEventRepository;
-        this.medicationDosageRepository = medicationDosageRepository;
+        this.eventRollupRepository = eventRollupRepository;
+        this.dosageRollupRepository = dosageRollupRepository;
     }
 
     @Override
     public DashboardSummary generateDashboardSummary(UUID patientId) {
         validatePatientId(patientId);
 
-        // Calculate key metrics
-        long[] keyMetrics = calculateKeyMetrics(patientId);
-        long totalEvents = keyMetrics[0];
-        long totalDosages = keyMetrics[1];
-        long recentEvents = keyMetrics[2];
-        
-        // Get event breakdowns
-        Map<MedicalEventCategory, Long> eventsByCategory = getEventsByCategory(patientId);
-        Map<MedicalEventSeverity, Long> eventsBySeverity = getEventsBySeverity(patientId);
+        // Totals and breakdowns come from the daily rollup; the recent count stays exact on the raw index
+        Map<MedicalEventCategory, Long> eventsByCategory = new HashMap<>();
+        Map<MedicalEventSeverity, Long> eventsBySeverity = new HashMap<>();
+        long totalEvents = foldRollupTotals(patientId, eventsByCategory, eventsBySeverity);
+
+        long recentEvents = getRecentEventsCount(patientId, RECENT_EVENTS_DAYS);
+        long totalDosages = dosageRollupRepository.sumDosageCountByPatientId(patientId);
 
         return new DashboardSummary(
                 patientId,
@@ -57,57 +67,58 @@ public class DashboardServiceImpl implements DashboardService {
 
     @Override
     public Map<String, DashboardSummary> generateWeeklySummaries(UUID patientId) {
+        return generateTrendSummaries(patientId, TrendPeriod.WEEK, DEFAULT_WEEKLY_PERIODS);
+    }
+
+    @Override
+    public Map<String, DashboardSummary> generateTrendSummaries(UUID patientId, TrendPeriod period, int periods) {
         validatePatientId(patientId);
+        if (period == null) {
+            throw new IllegalArgumentException("Trend period cannot be null");
+        }
+        if (periods < 1 || periods > MAX_TREND_PERIODS) {
+            throw new IllegalArgumentException("Number of periods must be between 1 and " + MAX_TREND_PERIODS);
+        }
 
-        Map<String, DashboardSummary> weeklySummaries = new LinkedHashMap<>();
-        LocalDateTime endDate = LocalDateTime.now();
-        
-        // Generate summaries for the last 8 weeks
-        for (int week = 0; week < 8; week++) {
-            LocalDateTime weekStart = endDate.minusWeeks(week + 1);
-            LocalDateTime weekEnd = endDate.minusWeeks(week);
-            
-            DashboardSummary weeklySummary = generateWeeklySummary(patientId, weekStart, weekEnd);
-            String weekKey = "Week " + (week + 1);
-            weeklySummaries.put(weekKey, weeklySummary);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        LocalDate rangeStart = periodStart(today, period, periods - 1);
+
+        // Two rollup reads return per-day counts for the whole range, whatever the bucket count
+        long[] eventCounts = new long[periods];
+        long[] dosageCounts = new long[periods];
+        foldDailyCounts(eventRollupRepository.sumEventCountsByPatientIdGroupByDate(patientId, rangeStart, today),
+                today, period, eventCounts);
+        foldDailyCounts(dosageRollupRepository.sumDosageCountsByPatientIdGroupByDate(patientId, rangeStart, today),
+                today, period, dosageCounts);
+
+        Map<String, DashboardSummary> summaries = new LinkedHashMap<>();
+        for (int bucket = 0; bucket < periods; bucket++) {
+            summaries.put(period.getLabel() + " " + (bucket + 1),
+                    createPeriodSummary(patientId, eventCounts[bucket], dosageCounts[bucket], now));
         }
-        
-        return weeklySummaries;
+        return summaries;
     }
 
     @Override
     public Map<MedicalEventCategory, Long> getEventsByCategory(UUID patientId) {
-        List<Object[]> results = medicalEventRepository.countByPatientIdGroupByCategory(patientId);
         Map<MedicalEventCategory, Long> categoryMap = new HashMap<>();
-        
-        for (Object[] result : results) {
-            MedicalEventCategory category = (MedicalEventCategory) result[0];
-            Long count = (Long) result[1];
-            categoryMap.put(category, count);
-        }
-        
+        foldRollupTotals(patientId, categoryMap, new HashMap<>());
         return categoryMap;
     }
 
     @Override
     public Map<MedicalEventSeverity, Long> getEventsBySeverity(UUID patientId) {
-        List<Object[]> results = medicalEventRepository.countByPatientIdGroupBySeverity(patientId);
         Map<MedicalEventSeverity, Long> severityMap = new HashMap<>();
-        
-        for (Object[] result : results) {
-            MedicalEventSeverity severity = (MedicalEventSeverity) result[0];
-            Long count = (Long) result[1];
-            severityMap.put(severity, count);
-        }
-        
+        foldRollupTotals(patientId, new HashMap<>(), severityMap);
         return severityMap;
     }
 
     @Override
     public long[] calculateKeyMetrics(UUID patientId) {
-        long totalEvents = medicalEventRepository.countByPatientId(patientId);
-        long totalDosages = medicationDosageRepository.countByPatientId(patientId);
-        long recentEvents = getRecentEventsCount(patientId, 7);
+        long totalEvents = foldRollupTotals(patientId, new HashMap<>(), new HashMap<>());
+        long totalDosages = dosageRollupRepository.sumDosageCountByPatientId(patientId);
+        long recentEvents = getRecentEventsCount(patientId, RECENT_EVENTS_DAYS);
         
         return new long[]{totalEvents, totalDosages, recentEvents};
     }
@@ -126,22 +137,65 @@ public class DashboardServiceImpl implements DashboardService {
         }
     }
 
-    private DashboardSummary generateWeeklySummary(UUID patientId, LocalDateTime startDate, LocalDateTime endDate) {
-        long weeklyEvents = medicalEventRepository.countByPatientIdAndEventTimeBetween(patientId, startDate, endDate);
-        long weeklyDosages = medicationDosageRepository.countByPatientIdAndAdministrationTimeBetween(patientId, startDate, endDate);
-        
-        // For weekly summaries, we'll use simplified category and severity breakdowns
+    /**
+     * Folds the patient's rollup rows, one per (category, severity), into the given breakdowns.
+     * Keys whose count has dropped to zero are left out, matching a count over the raw events.
+     *
+     * @return the total number of events across all rows
+     */
+    private long foldRollupTotals(UUID patientId, Map<MedicalEventCategory, Long> eventsByCategory,
+                                  Map<MedicalEventSeverity, Long> eventsBySeverity) {
+        long totalEvents = 0;
+        for (Object[] row : eventRollupRepository.sumEventCountsByPatientIdGroupByCategoryAndSeverity(patientId)) {
+            long count = ((Number) row[2]).longValue();
+            if (count == 0) {
+                continue;
+            }
+
+            totalEvents += count;
+            eventsByCategory.merge((MedicalEventCategory) row[0], count, Long::sum);
+            eventsBySeverity.merge((MedicalEventSeverity) row[1], count, Long::sum);
+        }
+        return totalEvents;
+    }
+
+    private LocalDate periodStart(LocalDate today, TrendPeriod period, int bucket) {
+        return switch (period) {
+            case WEEK -> today.minusDays(7L * bucket + 6);
+            case MONTH -> today.withDayOfMonth(1).minusMonths(bucket);
+        };
+    }
+
+    private int bucketIndex(LocalDate today, LocalDate date, TrendPeriod period) {
+        return switch (period) {
+            case WEEK -> (int) (ChronoUnit.DAYS.between(date, today) / 7);
+            case MONTH -> (int) ChronoUnit.MONTHS.between(YearMonth.from(date), YearMonth.from(today));
+        };
+    }
+
+    private void foldDailyCounts(List<Object[]> dailyCounts, LocalDate today, TrendPeriod period, long[] buckets) {
+        for (Object[] row : dailyCounts) {
+            int bucket = bucketIndex(today, (LocalDate) row[0], period);
+            if (bucket >= 0 && bucket < buckets.length) {
+                buckets[bucket] += ((Number) row[1]).longValue();
+            }
+        }
+    }
+
+    private DashboardSummary createPeriodSummary(UUID patientId, long periodEvents, long periodDosages,
+                                                 LocalDateTime generatedAt) {
+        // For trend summaries, we'll use simplified category and severity breakdowns
         Map<MedicalEventCategory, Long> eventsByCategory = new HashMap<>();
         Map<MedicalEventSeverity, Long> eventsBySeverity = new HashMap<>();
-        
+
         return new DashboardSummary(
                 patientId,
-                weeklyEvents,
-                weeklyDosages,
+                periodEvents,
+                periodDosages,
                 eventsByCategory,
                 eventsBySeverity,
-                weeklyEvents, // For weekly view, all events in period are "recent"
-                LocalDateTime.now()
+                periodEvents, // For trend view, all events in period are "recent"
+                generatedAt
         );
     }
-}
\ No newline at end of file
+}
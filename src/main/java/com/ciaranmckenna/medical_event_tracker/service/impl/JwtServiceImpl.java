@@ -1,23 +1,31 @@
 package com.ciaranmckenna.medical_event_tracker.service.impl;
 
+import com.ciaranmckenna.medical_event_tracker.dto.TokenClaims;
 import com.ciaranmckenna.medical_event_tracker.entity.User;
 import com.ciaranmckenna.medical_event_tracker.service.JwtService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class JwtServiceImpl implements JwtService {
 
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+
     @Value("${app.jwt.secret:mySecretKey1234567890123456789012345678901234567890}")
     private String jwtSecret;
 
@@ -27,9 +35,25 @@ public class JwtServiceImpl implements JwtService {
     @Value("${app.jwt.refresh-expiration:604800000}")
     private long refreshExpirationMs;
 
+    // Built once from the configured secret; both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     @Override
     public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
+        if (user.getId() != null) {
+            claims.put(USER_ID_CLAIM, user.getId().toString());
+        }
+        claims.put(TOKEN_VERSION_CLAIM, user.getTokenVersion());
         claims.put("role", user.getRole().name());
         claims.put("email", user.getEmail());
         claims.put("firstName", user.getFirstName());
@@ -46,11 +70,25 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    @Override
+    public TokenClaims parseToken(String token) {
+        Claims claims = extractAllClaims(token);
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        String role = claims.get("role", String.class);
+        Integer tokenVersion = claims.get(TOKEN_VERSION_CLAIM, Integer.class);
+        return new TokenClaims(
+                userId != null ? UUID.fromString(userId) : null,
+                claims.getSubject(),
+                claims.get("email", String.class),
+                claims.get("firstName", String.class),
+                claims.get("lastName", String.class),
+                role != null ? User.Role.valueOf(role) : null,
+                tokenVersion != null ? tokenVersion : 0,
+                claims.getExpiration().toInstant()
+        );
     }
 
     @Override
@@ -66,8 +104,8 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public boolean isTokenValid(String token, String username) {
-        final String tokenUsername = extractUsername(token);
-        return (tokenUsername.equals(username)) && !isTokenExpired(token);
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(username) && claims.getExpiration().after(new Date());
     }
 
     @Override
@@ -84,12 +122,7 @@ public class JwtServiceImpl implements JwtService {
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSignInKey())
+                .signWith(signingKey)
                 .compact();
     }
-
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-}
\ No newline at end of file
+}
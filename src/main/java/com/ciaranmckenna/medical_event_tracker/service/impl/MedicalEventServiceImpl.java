@@ -2,15 +2,23 @@ package com.ciaranmckenna.medical_event_tracker.service.impl;
 
 import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventResponse;
 import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventSearchRequest;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventText;
 import com.ciaranmckenna.medical_event_tracker.dto.PagedMedicalEventResponse;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.event.MedicalEventsChangedEvent;
+import com.ciaranmckenna.medical_event_tracker.event.PatientDataChangedEvent;
 import com.ciaranmckenna.medical_event_tracker.exception.InvalidMedicalDataException;
 import com.ciaranmckenna.medical_event_tracker.exception.MedicalEventNotFoundException;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventSpecification;
 import com.ciaranmckenna.medical_event_tracker.service.MedicalEventService;
+import com.ciaranmckenna.medical_event_tracker.service.PatientRollupService;
+import com.ciaranmckenna.medical_event_tracker.store.EventTextIndexStore;
+import com.ciaranmckenna.medical_event_tracker.util.EventTextIndex;
+import com.ciaranmckenna.medical_event_tracker.util.KeysetCursor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -20,9 +28,14 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of MedicalEventService interface.
@@ -32,10 +45,22 @@ import java.util.UUID;
 @Transactional
 public class MedicalEventServiceImpl implements MedicalEventService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_TEXT_SEARCH_RESULTS = 200;
+
     private final MedicalEventRepository medicalEventRepository;
+    private final PatientRollupService patientRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EventTextIndexStore eventTextIndexStore;
 
-    public MedicalEventServiceImpl(MedicalEventRepository medicalEventRepository) {
+    public MedicalEventServiceImpl(MedicalEventRepository medicalEventRepository,
+                                   PatientRollupService patientRollupService,
+                                   ApplicationEventPublisher eventPublisher,
+                                   EventTextIndexStore eventTextIndexStore) {
         this.medicalEventRepository = medicalEventRepository;
+        this.patientRollupService = patientRollupService;
+        this.eventPublisher = eventPublisher;
+        this.eventTextIndexStore = eventTextIndexStore;
     }
 
     @Override
@@ -44,7 +69,28 @@ public class MedicalEventServiceImpl implements MedicalEventService {
             throw new InvalidMedicalDataException("Medical event cannot be null");
         }
         
-        return medicalEventRepository.save(medicalEvent);
+        MedicalEvent savedEvent = medicalEventRepository.save(medicalEvent);
+        patientRollupService.applyEvent(savedEvent, 1);
+        eventPublisher.publishEvent(new PatientDataChangedEvent(savedEvent.getPatientId()));
+        eventPublisher.publishEvent(MedicalEventsChangedEvent.saved(savedEvent.getPatientId(), List.of(savedEvent)));
+        return savedEvent;
+    }
+
+    @Override
+    public List<MedicalEvent> createMedicalEvents(List<MedicalEvent> medicalEvents) {
+        if (medicalEvents == null || medicalEvents.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidMedicalDataException("Medical events cannot be null");
+        }
+
+        List<MedicalEvent> savedEvents = medicalEventRepository.saveAll(medicalEvents);
+        patientRollupService.applyEvents(savedEvents);
+        savedEvents.stream()
+                .collect(Collectors.groupingBy(MedicalEvent::getPatientId))
+                .forEach((patientId, patientEvents) -> {
+                    eventPublisher.publishEvent(new PatientDataChangedEvent(patientId));
+                    eventPublisher.publishEvent(MedicalEventsChangedEvent.saved(patientId, patientEvents));
+                });
+        return savedEvents;
     }
 
     @Override
@@ -61,20 +107,36 @@ public class MedicalEventServiceImpl implements MedicalEventService {
 
     @Override
     public MedicalEvent updateMedicalEvent(MedicalEvent medicalEvent) {
-        if (!medicalEventRepository.existsById(medicalEvent.getId())) {
-            throw new MedicalEventNotFoundException(medicalEvent.getId());
+        MedicalEvent existingEvent = medicalEventRepository.findById(medicalEvent.getId())
+                .orElseThrow(() -> new MedicalEventNotFoundException(medicalEvent.getId()));
+
+        // Capture the rollup key before save merges the new state into the managed entity
+        UUID previousPatientId = existingEvent.getPatientId();
+        LocalDateTime previousEventTime = existingEvent.getEventTime();
+        MedicalEventCategory previousCategory = existingEvent.getCategory();
+        MedicalEventSeverity previousSeverity = existingEvent.getSeverity();
+
+        MedicalEvent savedEvent = medicalEventRepository.save(medicalEvent);
+        patientRollupService.applyEvent(previousPatientId, previousEventTime, previousCategory, previousSeverity, -1);
+        patientRollupService.applyEvent(savedEvent, 1);
+        eventPublisher.publishEvent(new PatientDataChangedEvent(previousPatientId));
+        if (!previousPatientId.equals(savedEvent.getPatientId())) {
+            eventPublisher.publishEvent(new PatientDataChangedEvent(savedEvent.getPatientId()));
+            eventPublisher.publishEvent(MedicalEventsChangedEvent.removed(previousPatientId, savedEvent.getId()));
         }
-        
-        return medicalEventRepository.save(medicalEvent);
+        eventPublisher.publishEvent(MedicalEventsChangedEvent.saved(savedEvent.getPatientId(), List.of(savedEvent)));
+        return savedEvent;
     }
 
     @Override
     public void deleteMedicalEvent(UUID id) {
-        if (!medicalEventRepository.existsById(id)) {
-            throw new MedicalEventNotFoundException(id);
-        }
+        MedicalEvent existingEvent = medicalEventRepository.findById(id)
+                .orElseThrow(() -> new MedicalEventNotFoundException(id));
         
-        medicalEventRepository.deleteById(id);
+        medicalEventRepository.delete(existingEvent);
+        patientRollupService.applyEvent(existingEvent, -1);
+        eventPublisher.publishEvent(new PatientDataChangedEvent(existingEvent.getPatientId()));
+        eventPublisher.publishEvent(MedicalEventsChangedEvent.removed(existingEvent.getPatientId(), id));
     }
 
     @Override
@@ -108,8 +170,13 @@ public class MedicalEventServiceImpl implements MedicalEventService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<MedicalEvent> searchMedicalEventsByPatientId(UUID patientId, String searchText) {
-        return medicalEventRepository.findByPatientIdAndTitleOrDescriptionContaining(patientId, searchText);
+    public List<MedicalEvent> searchMedicalEventsByPatientId(UUID patientId, String searchText, int limit) {
+        int maxResults = Math.clamp(limit, 1, MAX_TEXT_SEARCH_RESULTS);
+        if (searchText == null || searchText.isBlank()) {
+            return medicalEventRepository.findAll(MedicalEventSpecification.hasPatientId(patientId),
+                    PageRequest.of(0, maxResults, Sort.by(Sort.Direction.DESC, "eventTime"))).getContent();
+        }
+        return findAllInOrder(eventTextIndexStore.get(patientId).search(searchText, maxResults));
     }
 
     @Override
@@ -142,7 +209,11 @@ public class MedicalEventServiceImpl implements MedicalEventService {
             throw new InvalidMedicalDataException("Invalid date range: start date must be before or equal to end date");
         }
         
-        // Create specification for dynamic query building
+        if (usesTextIndex(searchRequest)) {
+            return findTextPageByOffset(eventTextIndexStore.get(searchRequest.patientId())
+                    .matches(searchRequest.searchText(), textIndexFilter(searchRequest)), searchRequest);
+        }
+
         Specification<MedicalEvent> specification = MedicalEventSpecification.createSpecification(searchRequest);
         
         // Create pageable with sorting
@@ -203,6 +274,225 @@ public class MedicalEventServiceImpl implements MedicalEventService {
         );
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public PagedMedicalEventResponse searchMedicalEventsByCursor(MedicalEventSearchRequest searchRequest) {
+        if (searchRequest == null) {
+            throw new InvalidMedicalDataException("Search request cannot be null");
+        }
+
+        if (!searchRequest.isValidDateRange()) {
+            throw new InvalidMedicalDataException("Invalid date range: start date must be before or equal to end date");
+        }
+
+        if (usesTextIndex(searchRequest)) {
+            return findTextPageByKeyset(
+                    eventTextIndexStore.get(searchRequest.patientId())
+                            .matches(searchRequest.searchText(), textIndexFilter(searchRequest)),
+                    searchRequest.cursor(),
+                    searchRequest.size(),
+                    searchRequest.sortDirection(),
+                    searchRequest.includeTotal()
+            );
+        }
+
+        return findPageByKeyset(
+                MedicalEventSpecification.createSpecification(searchRequest),
+                searchRequest.cursor(),
+                searchRequest.size(),
+                searchRequest.sortDirection(),
+                searchRequest.includeTotal()
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagedMedicalEventResponse getMedicalEventsByPatientIdCursor(UUID patientId,
+                                                                      String cursor,
+                                                                      int size,
+                                                                      String sortDirection,
+                                                                      boolean includeTotal) {
+        if (patientId == null) {
+            throw new InvalidMedicalDataException("Patient ID cannot be null");
+        }
+
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        return findPageByKeyset(
+                MedicalEventSpecification.hasPatientId(patientId),
+                cursor,
+                size,
+                sortDirection,
+                includeTotal
+        );
+    }
+
+    /**
+     * Whether the search text can be answered from the patient's full-text index.
+     * Searches across all patients have no index to use and fall back to matching the text with LIKE.
+     */
+    private boolean usesTextIndex(MedicalEventSearchRequest searchRequest) {
+        return searchRequest.patientId() != null
+                && searchRequest.searchText() != null && !searchRequest.searchText().isBlank();
+    }
+
+    private EventTextIndex.Filter textIndexFilter(MedicalEventSearchRequest searchRequest) {
+        return new EventTextIndex.Filter(searchRequest.categories(), searchRequest.severities(),
+                searchRequest.medicationIds(), searchRequest.startDate(), searchRequest.endDate());
+    }
+
+    /**
+     * Page text matches, already filtered by the index, sorted by the requested field and then id.
+     * The index holds every sortable column, so all matches are sorted in memory and only the events on
+     * the requested page are loaded; the query never carries more IDs than a page.
+     */
+    private PagedMedicalEventResponse findTextPageByOffset(List<EventTextIndex.Hit> matches,
+                                                           MedicalEventSearchRequest searchRequest) {
+        Sort.Direction direction = "ASC".equalsIgnoreCase(searchRequest.sortDirection())
+                ? Sort.Direction.ASC : Sort.Direction.DESC;
+        int size = searchRequest.size();
+        List<EventTextIndex.Hit> pageMatches = matches.stream()
+                .sorted(textMatchOrder(validateSortField(searchRequest.sortBy()), direction))
+                .skip((long) searchRequest.page() * size)
+                .limit(size)
+                .toList();
+
+        return PagedMedicalEventResponse.of(
+                findAllInOrder(pageMatches).stream().map(this::mapToResponse).toList(),
+                searchRequest.page(),
+                size,
+                matches.size(),
+                searchRequest.sortBy(),
+                searchRequest.sortDirection()
+        );
+    }
+
+    /**
+     * Keyset page over text matches, already filtered by the index: seeks past the cursor and takes one
+     * extra match to tell whether another page follows, then loads only that page's events.
+     */
+    private PagedMedicalEventResponse findTextPageByKeyset(List<EventTextIndex.Hit> matches,
+                                                           String cursor,
+                                                           int size,
+                                                           String sortDirection,
+                                                           boolean includeTotal) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Sort.Direction direction = "ASC".equalsIgnoreCase(sortDirection) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Comparator<EventTextIndex.Hit> order = textMatchOrder("eventTime", direction);
+
+        List<EventTextIndex.Hit> rows = matches.stream()
+                .filter(hit -> position == null || isAfterCursor(hit, position, direction))
+                .sorted(order)
+                .limit(size + 1L)
+                .toList();
+
+        boolean hasNext = rows.size() > size;
+        List<EventTextIndex.Hit> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            EventTextIndex.Hit last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new KeysetCursor(last.eventTime(), last.id()).encode();
+        }
+
+        return PagedMedicalEventResponse.ofCursor(
+                findAllInOrder(pageRows).stream().map(this::mapToResponse).toList(),
+                size,
+                includeTotal ? (long) matches.size() : null,
+                position == null,
+                nextCursor,
+                direction.name()
+        );
+    }
+
+    /**
+     * Order text matches by a validated sort field and then id, as the database would order the events.
+     * Enum columns are stored as their names, so categories and severities sort alphabetically.
+     */
+    private static Comparator<EventTextIndex.Hit> textMatchOrder(String sortField, Sort.Direction direction) {
+        Comparator<MedicalEventText> byField = switch (sortField) {
+            case "createdAt" -> Comparator.comparing(MedicalEventText::createdAt,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "updatedAt" -> Comparator.comparing(MedicalEventText::updatedAt,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "title" -> Comparator.comparing(MedicalEventText::title,
+                    Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+            case "category" -> Comparator.comparing(event -> event.category() != null ? event.category().name() : null,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            case "severity" -> Comparator.comparing(event -> event.severity() != null ? event.severity().name() : null,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            default -> Comparator.comparing(MedicalEventText::eventTime,
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+        };
+        Comparator<EventTextIndex.Hit> ascending = Comparator.comparing(EventTextIndex.Hit::event,
+                byField.thenComparing(MedicalEventText::id));
+        return direction == Sort.Direction.ASC ? ascending : ascending.reversed();
+    }
+
+    private static boolean isAfterCursor(EventTextIndex.Hit hit, KeysetCursor position, Sort.Direction direction) {
+        int byTime = Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder())
+                .compare(hit.eventTime(), position.time());
+        int comparison = byTime != 0 ? byTime : hit.id().compareTo(position.id());
+        return direction == Sort.Direction.ASC ? comparison > 0 : comparison < 0;
+    }
+
+    /**
+     * Load the events for a list of hits, keeping the hits' order.
+     */
+    private List<MedicalEvent> findAllInOrder(List<EventTextIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = hits.stream().map(EventTextIndex.Hit::id).toList();
+        Map<UUID, MedicalEvent> eventsById = medicalEventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(MedicalEvent::getId, Function.identity()));
+        return ids.stream()
+                .map(eventsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Fetch one keyset page: the filter plus a seek past the cursor, ordered by (eventTime, id).
+     * One extra row is read to tell whether another page follows, so no count query is needed.
+     */
+    private PagedMedicalEventResponse findPageByKeyset(Specification<MedicalEvent> filter,
+                                                       String cursor,
+                                                       int size,
+                                                       String sortDirection,
+                                                       boolean includeTotal) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Sort.Direction direction = "ASC".equalsIgnoreCase(sortDirection) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort keysetSort = Sort.by(direction, "eventTime").and(Sort.by(direction, "id"));
+
+        Specification<MedicalEvent> pageSpecification = position != null
+                ? filter.and(MedicalEventSpecification.isAfterCursor(position, direction))
+                : filter;
+
+        List<MedicalEvent> rows = medicalEventRepository.findBy(pageSpecification,
+                query -> query.sortBy(keysetSort).limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        List<MedicalEvent> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            MedicalEvent last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new KeysetCursor(last.getEventTime(), last.getId()).encode();
+        }
+
+        Long totalElements = includeTotal ? medicalEventRepository.count(filter) : null;
+
+        return PagedMedicalEventResponse.ofCursor(
+                pageRows.stream().map(this::mapToResponse).toList(),
+                size,
+                totalElements,
+                position == null,
+                nextCursor,
+                direction.name()
+        );
+    }
+
     /**
      * Create a Sort object based on field name and direction.
      * Provides safe sorting with validation for medical event fields.
@@ -1,17 +1,28 @@
 package com.ciaranmckenna.medical_event_tracker.service.impl;
 
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationDosageResponse;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationDosageSearchRequest;
+import com.ciaranmckenna.medical_event_tracker.dto.PagedMedicationDosageResponse;
 import com.ciaranmckenna.medical_event_tracker.entity.DosageSchedule;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
+import com.ciaranmckenna.medical_event_tracker.event.PatientDataChangedEvent;
 import com.ciaranmckenna.medical_event_tracker.exception.InvalidMedicalDataException;
 import com.ciaranmckenna.medical_event_tracker.exception.MedicationDosageNotFoundException;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageSpecification;
 import com.ciaranmckenna.medical_event_tracker.service.MedicationDosageService;
+import com.ciaranmckenna.medical_event_tracker.service.PatientRollupService;
+import com.ciaranmckenna.medical_event_tracker.util.KeysetCursor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,10 +34,18 @@ import java.util.UUID;
 @Transactional
 public class MedicationDosageServiceImpl implements MedicationDosageService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final MedicationDosageRepository medicationDosageRepository;
+    private final PatientRollupService patientRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public MedicationDosageServiceImpl(MedicationDosageRepository medicationDosageRepository) {
+    public MedicationDosageServiceImpl(MedicationDosageRepository medicationDosageRepository,
+                                       PatientRollupService patientRollupService,
+                                       ApplicationEventPublisher eventPublisher) {
         this.medicationDosageRepository = medicationDosageRepository;
+        this.patientRollupService = patientRollupService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -35,7 +54,25 @@ public class MedicationDosageServiceImpl implements MedicationDosageService {
             throw new InvalidMedicalDataException("Medication dosage cannot be null");
         }
         
-        return medicationDosageRepository.save(medicationDosage);
+        MedicationDosage savedDosage = medicationDosageRepository.save(medicationDosage);
+        patientRollupService.applyDosage(savedDosage, 1);
+        eventPublisher.publishEvent(new PatientDataChangedEvent(savedDosage.getPatientId()));
+        return savedDosage;
+    }
+
+    @Override
+    public List<MedicationDosage> createMedicationDosages(List<MedicationDosage> medicationDosages) {
+        if (medicationDosages == null || medicationDosages.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidMedicalDataException("Medication dosages cannot be null");
+        }
+
+        List<MedicationDosage> savedDosages = medicationDosageRepository.saveAll(medicationDosages);
+        patientRollupService.applyDosages(savedDosages);
+        savedDosages.stream()
+                .map(MedicationDosage::getPatientId)
+                .distinct()
+                .forEach(patientId -> eventPublisher.publishEvent(new PatientDataChangedEvent(patientId)));
+        return savedDosages;
     }
 
     @Override
@@ -52,20 +89,32 @@ public class MedicationDosageServiceImpl implements MedicationDosageService {
 
     @Override
     public MedicationDosage updateMedicationDosage(MedicationDosage medicationDosage) {
-        if (!medicationDosageRepository.existsById(medicationDosage.getId())) {
-            throw new MedicationDosageNotFoundException(medicationDosage.getId());
+        MedicationDosage existingDosage = medicationDosageRepository.findById(medicationDosage.getId())
+                .orElseThrow(() -> new MedicationDosageNotFoundException(medicationDosage.getId()));
+
+        // Capture the rollup key before save merges the new state into the managed entity
+        UUID previousPatientId = existingDosage.getPatientId();
+        LocalDateTime previousAdministrationTime = existingDosage.getAdministrationTime();
+        UUID previousMedicationId = existingDosage.getMedicationId();
+
+        MedicationDosage savedDosage = medicationDosageRepository.save(medicationDosage);
+        patientRollupService.applyDosage(previousPatientId, previousAdministrationTime, previousMedicationId, -1);
+        patientRollupService.applyDosage(savedDosage, 1);
+        eventPublisher.publishEvent(new PatientDataChangedEvent(previousPatientId));
+        if (!previousPatientId.equals(savedDosage.getPatientId())) {
+            eventPublisher.publishEvent(new PatientDataChangedEvent(savedDosage.getPatientId()));
         }
-        
-        return medicationDosageRepository.save(medicationDosage);
+        return savedDosage;
     }
 
     @Override
     public void deleteMedicationDosage(UUID id) {
-        if (!medicationDosageRepository.existsById(id)) {
-            throw new MedicationDosageNotFoundException(id);
-        }
+        MedicationDosage existingDosage = medicationDosageRepository.findById(id)
+                .orElseThrow(() -> new MedicationDosageNotFoundException(id));
         
-        medicationDosageRepository.deleteById(id);
+        medicationDosageRepository.delete(existingDosage);
+        patientRollupService.applyDosage(existingDosage, -1);
+        eventPublisher.publishEvent(new PatientDataChangedEvent(existingDosage.getPatientId()));
     }
 
     @Override
@@ -77,7 +126,9 @@ public class MedicationDosageServiceImpl implements MedicationDosageService {
         
         MedicationDosage dosage = dosageOpt.get();
         dosage.setAdministered(true);
-        return medicationDosageRepository.save(dosage);
+        MedicationDosage savedDosage = medicationDosageRepository.save(dosage);
+        eventPublisher.publishEvent(new PatientDataChangedEvent(savedDosage.getPatientId()));
+        return savedDosage;
     }
 
     @Override
@@ -142,4 +193,133 @@ public class MedicationDosageServiceImpl implements MedicationDosageService {
     public long countDosagesByPatientIdAndSchedule(UUID patientId, DosageSchedule schedule) {
         return medicationDosageRepository.countByPatientIdAndSchedule(patientId, schedule);
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagedMedicationDosageResponse searchMedicationDosagesByCursor(MedicationDosageSearchRequest searchRequest) {
+        if (searchRequest == null) {
+            throw new InvalidMedicalDataException("Search request cannot be null");
+        }
+
+        if (searchRequest.patientId() == null) {
+            throw new InvalidMedicalDataException("Patient ID cannot be null");
+        }
+
+        if (!searchRequest.isValidDateRange()) {
+            throw new InvalidMedicalDataException("Invalid date range: start date must be before or equal to end date");
+        }
+
+        return findPageByKeyset(
+                MedicationDosageSpecification.createSpecification(searchRequest),
+                searchRequest.cursor(),
+                searchRequest.size(),
+                searchRequest.sortDirection(),
+                searchRequest.includeTotal()
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagedMedicationDosageResponse getMissedDosagesByCursor(UUID patientId,
+                                                                  LocalDateTime cutoffTime,
+                                                                  String cursor,
+                                                                  int size,
+                                                                  String sortDirection,
+                                                                  boolean includeTotal) {
+        if (patientId == null) {
+            throw new InvalidMedicalDataException("Patient ID cannot be null");
+        }
+
+        return findPageByKeyset(
+                MedicationDosageSpecification.hasPatientId(patientId)
+                        .and(MedicationDosageSpecification.isMissed(cutoffTime)),
+                cursor,
+                size,
+                sortDirection,
+                includeTotal
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PagedMedicationDosageResponse getUpcomingDosagesByCursor(UUID patientId,
+                                                                    LocalDateTime currentTime,
+                                                                    LocalDateTime futureTime,
+                                                                    String cursor,
+                                                                    int size,
+                                                                    String sortDirection,
+                                                                    boolean includeTotal) {
+        if (patientId == null) {
+            throw new InvalidMedicalDataException("Patient ID cannot be null");
+        }
+
+        return findPageByKeyset(
+                MedicationDosageSpecification.hasPatientId(patientId)
+                        .and(MedicationDosageSpecification.isUpcoming(currentTime, futureTime)),
+                cursor,
+                size,
+                sortDirection,
+                includeTotal
+        );
+    }
+
+    /**
+     * Fetch one keyset page: the filter plus a seek past the cursor, ordered by (administrationTime, id).
+     * One extra row is read to tell whether another page follows, so no count query is needed.
+     */
+    private PagedMedicationDosageResponse findPageByKeyset(Specification<MedicationDosage> filter,
+                                                           String cursor,
+                                                           int size,
+                                                           String sortDirection,
+                                                           boolean includeTotal) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        Sort.Direction direction = "ASC".equalsIgnoreCase(sortDirection) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort keysetSort = Sort.by(direction, "administrationTime").and(Sort.by(direction, "id"));
+
+        Specification<MedicationDosage> pageSpecification = position != null
+                ? filter.and(MedicationDosageSpecification.isAfterCursor(position, direction))
+                : filter;
+
+        List<MedicationDosage> rows = medicationDosageRepository.findBy(pageSpecification,
+                query -> query.sortBy(keysetSort).limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        List<MedicationDosage> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            MedicationDosage last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new KeysetCursor(last.getAdministrationTime(), last.getId()).encode();
+        }
+
+        Long totalElements = includeTotal ? medicationDosageRepository.count(filter) : null;
+
+        return PagedMedicationDosageResponse.ofCursor(
+                pageRows.stream().map(this::mapToResponse).toList(),
+                size,
+                totalElements,
+                position == null,
+                nextCursor,
+                direction.name()
+        );
+    }
+
+    private MedicationDosageResponse mapToResponse(MedicationDosage dosage) {
+        return new MedicationDosageResponse(
+                dosage.getId(),
+                dosage.getPatientId(),
+                dosage.getMedicationId(),
+                dosage.getAdministrationTime(),
+                dosage.getDosageAmount(),
+                dosage.getDosageUnit(),
+                dosage.getSchedule(),
+                dosage.isAdministered(),
+                dosage.getNotes(),
+                dosage.getCreatedAt(),
+                dosage.getUpdatedAt()
+        );
+    }
+}
@@ -1,19 +1,29 @@
 package com.ciaranmckenna.medical_event_tracker.service.impl;
 
+import com.ciaranmckenna.medical_event_tracker.config.CacheConfig;
 import com.ciaranmckenna.medical_event_tracker.dto.CreateMedicationRequest;
 import com.ciaranmckenna.medical_event_tracker.dto.MedicationResponse;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationSuggestion;
 import com.ciaranmckenna.medical_event_tracker.dto.UpdateMedicationRequest;
 import com.ciaranmckenna.medical_event_tracker.entity.Medication;
 import com.ciaranmckenna.medical_event_tracker.exception.MedicationNotFoundException;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicationRepository;
 import com.ciaranmckenna.medical_event_tracker.service.MedicationService;
+import com.ciaranmckenna.medical_event_tracker.util.NameSearch;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Transactional
@@ -23,11 +33,21 @@ public class MedicationServiceImpl implements MedicationService {
 
     private final MedicationRepository medicationRepository;
 
+    @Value("${app.search.max-results:50}")
+    private int maxResults;
+
+    @Value("${app.search.candidate-limit:200}")
+    private int candidateLimit;
+
+    @Value("${app.search.typeahead.budget-ms:50}")
+    private long typeaheadBudgetMillis;
+
     public MedicationServiceImpl(MedicationRepository medicationRepository) {
         this.medicationRepository = medicationRepository;
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.MEDICATION_TYPEAHEAD_CACHE, allEntries = true)
     public MedicationResponse createMedication(CreateMedicationRequest request) {
         logger.info("Creating new medication: {}", request.name());
 
@@ -75,6 +95,7 @@ public class MedicationServiceImpl implements MedicationService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.MEDICATION_TYPEAHEAD_CACHE, allEntries = true)
     public MedicationResponse updateMedication(UUID id, UpdateMedicationRequest request) {
         logger.info("Updating medication with ID: {}", id);
         
@@ -122,6 +143,7 @@ public class MedicationServiceImpl implements MedicationService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.MEDICATION_TYPEAHEAD_CACHE, allEntries = true)
     public void deleteMedication(UUID id) {
         logger.info("Soft deleting medication with ID: {}", id);
         
@@ -143,10 +165,31 @@ public class MedicationServiceImpl implements MedicationService {
             return getAllActiveMedications();
         }
         
-        List<Medication> medications = medicationRepository.findByNameContaining(searchTerm.trim());
-        return medications.stream()
-                .map(MedicationResponse::of)
+        return findRankedMedications(NameSearch.normalize(searchTerm), maxResults).stream()
+                .map(match -> MedicationResponse.of(match.item()))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.MEDICATION_TYPEAHEAD_CACHE)
+    public List<MedicationSuggestion> suggestMedications(String query, int limit) {
+        String normalizedQuery = NameSearch.normalize(query);
+        if (normalizedQuery == null || normalizedQuery.isEmpty()) {
+            return List.of();
+        }
+
+        long start = System.nanoTime();
+        List<MedicationSuggestion> suggestions = findRankedMedications(normalizedQuery, Math.clamp(limit, 1, maxResults))
+                .stream()
+                .map(match -> MedicationSuggestion.of(match.item(), match.quality()))
                 .toList();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (elapsedMillis > typeaheadBudgetMillis) {
+            logger.warn("Medication typeahead for '{}' took {} ms, over its {} ms budget",
+                    normalizedQuery, elapsedMillis, typeaheadBudgetMillis);
+        }
+        return suggestions;
     }
 
     @Override
@@ -180,4 +223,30 @@ public class MedicationServiceImpl implements MedicationService {
         
         return medicationRepository.existsByNameIgnoreCaseAndActiveTrue(name.trim());
     }
-}
\ No newline at end of file
+
+    /**
+     * Collects candidates from the normalized name and generic name indexes, plus the trigram index for
+     * substrings, then verifies and ranks them. Prefix candidates always outrank trigram-only ones,
+     * so the trigram lookup is skipped when the prefix lookups already fill the limit.
+     */
+    private List<NameSearch.Match<Medication>> findRankedMedications(String normalizedTerm, int limit) {
+        if (normalizedTerm.isEmpty()) {
+            return List.of();
+        }
+
+        String prefixEnd = NameSearch.prefixEnd(normalizedTerm);
+        Set<Medication> candidates = new LinkedHashSet<>();
+        candidates.addAll(medicationRepository.findByNamePrefix(normalizedTerm, prefixEnd, Limit.of(candidateLimit)));
+        candidates.addAll(medicationRepository.findByGenericNamePrefix(normalizedTerm, prefixEnd, Limit.of(candidateLimit)));
+        if (candidates.size() < limit && NameSearch.supportsSubstringSearch(normalizedTerm)) {
+            Set<String> trigrams = NameSearch.trigrams(normalizedTerm);
+            List<UUID> ids = medicationRepository.findIdsByNameTrigrams(trigrams, trigrams.size(), Limit.of(candidateLimit));
+            if (!ids.isEmpty()) {
+                candidates.addAll(medicationRepository.findAllById(ids));
+            }
+        }
+
+        return NameSearch.rank(candidates, normalizedTerm,
+                medication -> new String[]{medication.getNameNormalized(), medication.getGenericNameNormalized()}, limit);
+    }
+}
@@ -0,0 +1,63 @@
+package com.ciaranmckenna.medical_event_tracker.service.impl;
+
+import com.ciaranmckenna.medical_event_tracker.config.CacheConfig;
+import com.ciaranmckenna.medical_event_tracker.entity.Medication;
+import com.ciaranmckenna.medical_event_tracker.entity.Patient;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicationRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.PatientRepository;
+import com.ciaranmckenna.medical_event_tracker.service.NameSearchIndexService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional
+public class NameSearchIndexServiceImpl implements NameSearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NameSearchIndexServiceImpl.class);
+
+    private final PatientRepository patientRepository;
+    private final MedicationRepository medicationRepository;
+
+    public NameSearchIndexServiceImpl(PatientRepository patientRepository, MedicationRepository medicationRepository) {
+        this.patientRepository = patientRepository;
+        this.medicationRepository = medicationRepository;
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.MEDICATION_TYPEAHEAD_CACHE, allEntries = true)
+    public int rebuildAll() {
+        List<Patient> patients = patientRepository.findAll();
+        patients.forEach(Patient::refreshSearchKeys);
+
+        List<Medication> medications = medicationRepository.findAll();
+        medications.forEach(Medication::refreshSearchKeys);
+
+        logger.info("Rebuilt name search keys for {} patients and {} medications", patients.size(), medications.size());
+        return patients.size() + medications.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean needsBackfill() {
+        return patientRepository.existsByFirstNameNormalizedIsNullOrLastNameNormalizedIsNull()
+                || medicationRepository.existsByNameNormalizedIsNull();
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.MEDICATION_TYPEAHEAD_CACHE, allEntries = true)
+    public int backfillMissing() {
+        List<Patient> patients = patientRepository.findByFirstNameNormalizedIsNullOrLastNameNormalizedIsNull();
+        patients.forEach(Patient::refreshSearchKeys);
+
+        List<Medication> medications = medicationRepository.findByNameNormalizedIsNull();
+        medications.forEach(Medication::refreshSearchKeys);
+
+        logger.info("Backfilled name search keys for {} patients and {} medications", patients.size(), medications.size());
+        return patients.size() + medications.size();
+    }
+}
@@ -0,0 +1,129 @@
+package com.ciaranmckenna.medical_event_tracker.service.impl;
+
+import com.ciaranmckenna.medical_event_tracker.dto.ExportFormat;
+import com.ciaranmckenna.medical_event_tracker.dto.PatientHistoryEntry;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
+import com.ciaranmckenna.medical_event_tracker.service.PatientExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of PatientExportService.
+ * Merges the time-ordered event and dosage streams and writes each row as soon as it is read.
+ */
+@Service
+@Transactional
+public class PatientExportServiceImpl implements PatientExportService {
+
+    private static final String CSV_HEADER = "type,id,time,medicationId,title,description,category,severity,"
+            + "weightKg,heightCm,dosageAmount,dosageUnit,schedule,administered,notes";
+
+    private final MedicalEventRepository medicalEventRepository;
+    private final MedicationDosageRepository medicationDosageRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public PatientExportServiceImpl(MedicalEventRepository medicalEventRepository,
+                                    MedicationDosageRepository medicationDosageRepository,
+                                    ObjectMapper objectMapper,
+                                    EntityManager entityManager) {
+        this.medicalEventRepository = medicalEventRepository;
+        this.medicationDosageRepository = medicationDosageRepository;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportPatientHistory(UUID patientId, ExportFormat format, OutputStream output) throws IOException {
+        if (patientId == null) {
+            throw new IllegalArgumentException("Patient ID cannot be null");
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long rows = 0;
+        try (Stream<MedicalEvent> events = medicalEventRepository.streamByPatientIdOrderByEventTimeAsc(patientId);
+             Stream<MedicationDosage> dosages = medicationDosageRepository
+                     .streamByPatientIdOrderByAdministrationTimeAsc(patientId)) {
+
+            Iterator<MedicalEvent> eventIterator = events.iterator();
+            Iterator<MedicationDosage> dosageIterator = dosages.iterator();
+            MedicalEvent nextEvent = nextOrNull(eventIterator);
+            MedicationDosage nextDosage = nextOrNull(dosageIterator);
+
+            // Both streams are already time ordered, so a two-way merge keeps only the current heads in memory
+            while (nextEvent != null || nextDosage != null) {
+                PatientHistoryEntry entry;
+                if (nextDosage == null || (nextEvent != null
+                        && !nextEvent.getEventTime().isAfter(nextDosage.getAdministrationTime()))) {
+                    entry = PatientHistoryEntry.fromEvent(nextEvent);
+                    entityManager.detach(nextEvent);
+                    nextEvent = nextOrNull(eventIterator);
+                } else {
+                    entry = PatientHistoryEntry.fromDosage(nextDosage);
+                    entityManager.detach(nextDosage);
+                    nextDosage = nextOrNull(dosageIterator);
+                }
+
+                writeEntry(writer, format, entry);
+                rows++;
+            }
+        }
+
+        writer.flush();
+        return rows;
+    }
+
+    // Private helper methods
+
+    private <T> T nextOrNull(Iterator<T> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+
+    private void writeEntry(Writer writer, ExportFormat format, PatientHistoryEntry entry) throws IOException {
+        if (format == ExportFormat.CSV) {
+            writer.write(toCsvRow(entry));
+        } else {
+            writer.write(objectMapper.writeValueAsString(entry));
+        }
+        writer.write('\n');
+    }
+
+    private String toCsvRow(PatientHistoryEntry entry) {
+        return Stream.of(entry.type(), entry.id(), entry.time(), entry.medicationId(), entry.title(),
+                        entry.description(), entry.category(), entry.severity(), entry.weightKg(),
+                        entry.heightCm(), entry.dosageAmount(), entry.dosageUnit(), entry.schedule(),
+                        entry.administered(), entry.notes())
+                .map(value -> escapeCsv(Objects.toString(value, "")))
+                .collect(Collectors.joining(","));
+    }
+
+    private String escapeCsv(String value) {
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,229 @@
+package com.ciaranmckenna.medical_event_tracker.service.impl;
+
+import com.ciaranmckenna.medical_event_tracker.dto.RollupConsistencyReport;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
+import com.ciaranmckenna.medical_event_tracker.entity.PatientDailyDosageRollup;
+import com.ciaranmckenna.medical_event_tracker.entity.PatientDailyRollup;
+import com.ciaranmckenna.medical_event_tracker.event.PatientDataChangedEvent;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.PatientDailyDosageRollupRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.PatientDailyRollupRepository;
+import com.ciaranmckenna.medical_event_tracker.service.PatientRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Implementation of PatientRollupService.
+ * Adds to the rollup row on each write with a single upsert in the caller's transaction, so two writers
+ * racing to create the same row cannot roll back each other's event or dosage, and a first write needs
+ * no second connection. Removals only decrement rows that exist.
+ * Bulk writes are summed per key first and upserted once per key, in a fixed order so that
+ * concurrent bulk writes for the same patient cannot deadlock.
+ */
+@Service
+@Transactional
+public class PatientRollupServiceImpl implements PatientRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PatientRollupServiceImpl.class);
+
+    private static final Comparator<EventRollupKey> EVENT_KEY_ORDER = Comparator
+            .comparing(EventRollupKey::patientId)
+            .thenComparing(EventRollupKey::rollupDate)
+            .thenComparing(EventRollupKey::category)
+            .thenComparing(EventRollupKey::severity);
+
+    private static final Comparator<DosageRollupKey> DOSAGE_KEY_ORDER = Comparator
+            .comparing(DosageRollupKey::patientId)
+            .thenComparing(DosageRollupKey::rollupDate)
+            .thenComparing(DosageRollupKey::medicationId);
+
+    private final PatientDailyRollupRepository eventRollupRepository;
+    private final PatientDailyDosageRollupRepository dosageRollupRepository;
+    private final MedicalEventRepository medicalEventRepository;
+    private final MedicationDosageRepository medicationDosageRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public PatientRollupServiceImpl(PatientDailyRollupRepository eventRollupRepository,
+                                    PatientDailyDosageRollupRepository dosageRollupRepository,
+                                    MedicalEventRepository medicalEventRepository,
+                                    MedicationDosageRepository medicationDosageRepository,
+                                    ApplicationEventPublisher eventPublisher,
+                                    PlatformTransactionManager transactionManager) {
+        this.eventRollupRepository = eventRollupRepository;
+        this.dosageRollupRepository = dosageRollupRepository;
+        this.medicalEventRepository = medicalEventRepository;
+        this.medicationDosageRepository = medicationDosageRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void applyEvent(UUID patientId, LocalDateTime eventTime, MedicalEventCategory category,
+                           MedicalEventSeverity severity, long delta) {
+        LocalDate rollupDate = eventTime.toLocalDate();
+        if (delta > 0) {
+            eventRollupRepository.upsertEventCount(UUID.randomUUID(), patientId, rollupDate,
+                    category.name(), severity.name(), delta);
+        } else if (eventRollupRepository.incrementEventCount(patientId, rollupDate, category, severity, delta) == 0) {
+            logger.warn("No event rollup row for patient {} on {} ({}, {}); rollup needs rebuilding",
+                    patientId, rollupDate, category, severity);
+        }
+    }
+
+    @Override
+    public void applyDosage(UUID patientId, LocalDateTime administrationTime, UUID medicationId, long delta) {
+        LocalDate rollupDate = administrationTime.toLocalDate();
+        if (delta > 0) {
+            dosageRollupRepository.upsertDosageCount(UUID.randomUUID(), patientId, rollupDate, medicationId, delta);
+        } else if (dosageRollupRepository.incrementDosageCount(patientId, rollupDate, medicationId, delta) == 0) {
+            logger.warn("No dosage rollup row for patient {} on {} (medication {}); rollup needs rebuilding",
+                    patientId, rollupDate, medicationId);
+        }
+    }
+
+    @Override
+    public void applyEvents(Collection<MedicalEvent> events) {
+        Map<EventRollupKey, Long> counts = new TreeMap<>(EVENT_KEY_ORDER);
+        for (MedicalEvent event : events) {
+            counts.merge(new EventRollupKey(event.getPatientId(), event.getEventTime().toLocalDate(),
+                    event.getCategory(), event.getSeverity()), 1L, Long::sum);
+        }
+        // Summed counts are always positive, so each key is one upsert with no update-then-insert fallback
+        counts.forEach((key, count) -> eventRollupRepository.upsertEventCount(UUID.randomUUID(), key.patientId(),
+                key.rollupDate(), key.category().name(), key.severity().name(), count));
+    }
+
+    @Override
+    public void applyDosages(Collection<MedicationDosage> dosages) {
+        Map<DosageRollupKey, Long> counts = new TreeMap<>(DOSAGE_KEY_ORDER);
+        for (MedicationDosage dosage : dosages) {
+            counts.merge(new DosageRollupKey(dosage.getPatientId(), dosage.getAdministrationTime().toLocalDate(),
+                    dosage.getMedicationId()), 1L, Long::sum);
+        }
+        counts.forEach((key, count) -> dosageRollupRepository.upsertDosageCount(UUID.randomUUID(), key.patientId(),
+                key.rollupDate(), key.medicationId(), count));
+    }
+
+    @Override
+    public void rebuildPatient(UUID patientId) {
+        validatePatientId(patientId);
+
+        eventRollupRepository.deleteByPatientId(patientId);
+        dosageRollupRepository.deleteByPatientId(patientId);
+
+        List<PatientDailyRollup> eventRollups = new ArrayList<>();
+        for (Object[] row : medicalEventRepository.countByPatientIdGroupByEventDateCategoryAndSeverity(patientId)) {
+            eventRollups.add(new PatientDailyRollup(patientId, (LocalDate) row[0],
+                    (MedicalEventCategory) row[1], (MedicalEventSeverity) row[2], ((Number) row[3]).longValue()));
+        }
+        eventRollupRepository.saveAll(eventRollups);
+
+        List<PatientDailyDosageRollup> dosageRollups = new ArrayList<>();
+        for (Object[] row : medicationDosageRepository.countByPatientIdGroupByAdministrationDateAndMedication(patientId)) {
+            dosageRollups.add(new PatientDailyDosageRollup(patientId, (LocalDate) row[0],
+                    (UUID) row[1], ((Number) row[2]).longValue()));
+        }
+        dosageRollupRepository.saveAll(dosageRollups);
+
+        // Rebuilt rollups can differ from what the cached analytics were computed from
+        eventPublisher.publishEvent(new PatientDataChangedEvent(patientId));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuildAll() {
+        Set<UUID> patientIds = new LinkedHashSet<>(medicalEventRepository.findDistinctPatientIds());
+        patientIds.addAll(medicationDosageRepository.findDistinctPatientIds());
+
+        // One transaction per patient, so a large backfill neither holds every patient's locks nor
+        // loses the patients already rebuilt if a later one fails
+        for (UUID patientId : patientIds) {
+            transactionTemplate.executeWithoutResult(status -> rebuildPatient(patientId));
+        }
+        logger.info("Rebuilt daily rollups for {} patients", patientIds.size());
+        return patientIds.size();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RollupConsistencyReport checkConsistency(UUID patientId) {
+        validatePatientId(patientId);
+
+        List<String> discrepancies = new ArrayList<>();
+
+        Map<List<Object>, Long> expectedEvents = new HashMap<>();
+        for (Object[] row : medicalEventRepository.countByPatientIdGroupByEventDateCategoryAndSeverity(patientId)) {
+            expectedEvents.put(List.of(row[0], row[1], row[2]), ((Number) row[3]).longValue());
+        }
+        Map<List<Object>, Long> storedEvents = new HashMap<>();
+        for (PatientDailyRollup rollup : eventRollupRepository.findByPatientId(patientId)) {
+            storedEvents.put(List.of(rollup.getRollupDate(), rollup.getCategory(), rollup.getSeverity()),
+                    rollup.getEventCount());
+        }
+        compareCounts("events", expectedEvents, storedEvents, discrepancies);
+
+        Map<List<Object>, Long> expectedDosages = new HashMap<>();
+        for (Object[] row : medicationDosageRepository.countByPatientIdGroupByAdministrationDateAndMedication(patientId)) {
+            expectedDosages.put(List.of(row[0], row[1]), ((Number) row[2]).longValue());
+        }
+        Map<List<Object>, Long> storedDosages = new HashMap<>();
+        for (PatientDailyDosageRollup rollup : dosageRollupRepository.findByPatientId(patientId)) {
+            storedDosages.put(List.of(rollup.getRollupDate(), rollup.getMedicationId()), rollup.getDosageCount());
+        }
+        compareCounts("dosages", expectedDosages, storedDosages, discrepancies);
+
+        return new RollupConsistencyReport(patientId, discrepancies, LocalDateTime.now());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean needsBackfill() {
+        return (eventRollupRepository.count() == 0 && medicalEventRepository.count() > 0)
+                || (dosageRollupRepository.count() == 0 && medicationDosageRepository.count() > 0);
+    }
+
+    // Private helper methods
+
+    private void validatePatientId(UUID patientId) {
+        if (patientId == null) {
+            throw new IllegalArgumentException("Patient ID cannot be null");
+        }
+    }
+
+    private void compareCounts(String kind, Map<List<Object>, Long> expected, Map<List<Object>, Long> stored,
+                               List<String> discrepancies) {
+        Set<List<Object>> keys = new HashSet<>(expected.keySet());
+        keys.addAll(stored.keySet());
+
+        for (List<Object> key : keys) {
+            long expectedCount = expected.getOrDefault(key, 0L);
+            long storedCount = stored.getOrDefault(key, 0L);
+            // Rows decremented to zero are left in place and count as absent
+            if (expectedCount != storedCount) {
+                discrepancies.add(kind + " " + key + ": expected " + expectedCount + ", rollup has " + storedCount);
+            }
+        }
+    }
+
+    private record EventRollupKey(UUID patientId, LocalDate rollupDate, MedicalEventCategory category,
+                                  MedicalEventSeverity severity) {
+    }
+
+    private record DosageRollupKey(UUID patientId, LocalDate rollupDate, UUID medicationId) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.ciaranmckenna.medical_event_tracker.service.impl;
 
 import com.ciaranmckenna.medical_event_tracker.dto.PatientCreateRequest;
+import com.ciaranmckenna.medical_event_tracker.dto.PatientMedicationCount;
 import com.ciaranmckenna.medical_event_tracker.dto.PatientResponse;
 import com.ciaranmckenna.medical_event_tracker.dto.PatientUpdateRequest;
 import com.ciaranmckenna.medical_event_tracker.entity.Patient;
@@ -10,12 +11,19 @@ import com.ciaranmckenna.medical_event_tracker.exception.PatientNotFoundExceptio
 import com.ciaranmckenna.medical_event_tracker.repository.PatientRepository;
 import com.ciaranmckenna.medical_event_tracker.repository.PatientMedicationRepository;
 import com.ciaranmckenna.medical_event_tracker.service.PatientService;
+import com.ciaranmckenna.medical_event_tracker.util.NameSearch;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -24,6 +32,12 @@ public class PatientServiceImpl implements PatientService {
     private final PatientRepository patientRepository;
     private final PatientMedicationRepository patientMedicationRepository;
 
+    @Value("${app.search.max-results:50}")
+    private int maxResults;
+
+    @Value("${app.search.candidate-limit:200}")
+    private int candidateLimit;
+
     public PatientServiceImpl(PatientRepository patientRepository,
                              PatientMedicationRepository patientMedicationRepository) {
         this.patientRepository = patientRepository;
@@ -58,24 +72,14 @@ public class PatientServiceImpl implements PatientService {
     @Transactional(readOnly = true)
     public List<PatientResponse> getActivePatients(User user) {
         List<Patient> patients = patientRepository.findByUserAndActiveTrue(user);
-        return patients.stream()
-            .map(patient -> {
-                long medicationCount = patientMedicationRepository.countByPatientAndActiveTrue(patient);
-                return PatientResponse.fromEntity(patient, (int) medicationCount);
-            })
-            .toList();
+        return toResponses(patients);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PatientResponse> getAllPatients(User user) {
         List<Patient> patients = patientRepository.findByUser(user);
-        return patients.stream()
-            .map(patient -> {
-                long medicationCount = patientMedicationRepository.countByPatientAndActiveTrue(patient);
-                return PatientResponse.fromEntity(patient, (int) medicationCount);
-            })
-            .toList();
+        return toResponses(patients);
     }
 
     @Override
@@ -133,13 +137,31 @@ public class PatientServiceImpl implements PatientService {
             return getActivePatients(user);
         }
 
-        List<Patient> patients = patientRepository.findByUserAndNameContaining(user, searchTerm.trim());
-        return patients.stream()
-            .map(patient -> {
-                long medicationCount = patientMedicationRepository.countByPatientAndActiveTrue(patient);
-                return PatientResponse.fromEntity(patient, (int) medicationCount);
-            })
+        String normalizedTerm = NameSearch.normalize(searchTerm);
+        if (normalizedTerm.isEmpty()) {
+            return List.of();
+        }
+
+        String prefixEnd = NameSearch.prefixEnd(normalizedTerm);
+        Set<Patient> candidates = new LinkedHashSet<>();
+        candidates.addAll(patientRepository.findByUserAndLastNamePrefix(
+            user, normalizedTerm, prefixEnd, Limit.of(candidateLimit)));
+        candidates.addAll(patientRepository.findByUserAndFirstNamePrefix(
+            user, normalizedTerm, prefixEnd, Limit.of(candidateLimit)));
+        if (candidates.size() < maxResults && NameSearch.supportsSubstringSearch(normalizedTerm)) {
+            Set<String> trigrams = NameSearch.trigrams(normalizedTerm);
+            List<UUID> ids = patientRepository.findIdsByUserAndNameTrigrams(
+                user, trigrams, trigrams.size(), Limit.of(candidateLimit));
+            if (!ids.isEmpty()) {
+                candidates.addAll(patientRepository.findAllById(ids));
+            }
+        }
+
+        List<Patient> patients = NameSearch.rank(candidates, normalizedTerm, PatientServiceImpl::searchNames, maxResults)
+            .stream()
+            .map(NameSearch.Match::item)
             .toList();
+        return toResponses(patients);
     }
 
     @Override
@@ -153,24 +175,14 @@ public class PatientServiceImpl implements PatientService {
         LocalDate minBirthDate = LocalDate.now().minusYears(maxAge + 1);
 
         List<Patient> patients = patientRepository.findByUserAndDateOfBirthBetween(user, minBirthDate, maxBirthDate);
-        return patients.stream()
-            .map(patient -> {
-                long medicationCount = patientMedicationRepository.countByPatientAndActiveTrue(patient);
-                return PatientResponse.fromEntity(patient, (int) medicationCount);
-            })
-            .toList();
+        return toResponses(patients);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PatientResponse> getPatientsWithActiveMedications(User user) {
         List<Patient> patients = patientRepository.findByUserWithActiveMedications(user);
-        return patients.stream()
-            .map(patient -> {
-                long medicationCount = patientMedicationRepository.countByPatientAndActiveTrue(patient);
-                return PatientResponse.fromEntity(patient, (int) medicationCount);
-            })
-            .toList();
+        return toResponses(patients);
     }
 
     @Override
@@ -185,4 +197,32 @@ public class PatientServiceImpl implements PatientService {
         return patientRepository.existsByUserAndFirstNameAndLastNameAndDateOfBirthAndActiveTrue(
             user, firstName, lastName, dateOfBirth);
     }
-}
\ No newline at end of file
+
+    /**
+     * Normalized names a search term is ranked against, "last first" first so ties sort by surname.
+     */
+    private static String[] searchNames(Patient patient) {
+        String first = patient.getFirstNameNormalized();
+        String last = patient.getLastNameNormalized();
+        return new String[]{last + " " + first, first + " " + last, last, first};
+    }
+
+    /**
+     * Maps patients to responses, counting their active medications in a single grouped query
+     * rather than one count per patient.
+     */
+    private List<PatientResponse> toResponses(List<Patient> patients) {
+        if (patients.isEmpty()) {
+            return List.of();
+        }
+
+        List<UUID> patientIds = patients.stream().map(Patient::getId).toList();
+        Map<UUID, Long> medicationCounts = patientMedicationRepository.countActiveByPatientIds(patientIds).stream()
+            .collect(Collectors.toMap(PatientMedicationCount::patientId, PatientMedicationCount::activeMedicationCount));
+
+        return patients.stream()
+            .map(patient -> PatientResponse.fromEntity(patient,
+                medicationCounts.getOrDefault(patient.getId(), 0L).intValue()))
+            .toList();
+    }
+}
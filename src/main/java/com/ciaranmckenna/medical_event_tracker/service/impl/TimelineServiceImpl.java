@@ -1,28 +1,39 @@
 package com.ciaranmckenna.medical_event_tracker.service.impl;
 
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventTimelinePoint;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationDosageTimelinePoint;
 import com.ciaranmckenna.medical_event_tracker.dto.TimelineAnalysis;
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineBucket;
 import com.ciaranmckenna.medical_event_tracker.dto.TimelineDataPoint;
-import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
-import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineResolution;
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineSection;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
 import com.ciaranmckenna.medical_event_tracker.service.TimelineService;
+import com.ciaranmckenna.medical_event_tracker.util.SortedMerge;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 /**
  * Implementation of TimelineService for timeline analysis.
  * Focused on chronological data analysis and timeline generation.
+ * Reads column projections rather than managed entities, so nothing is held in the persistence context.
  */
 @Service
 @Transactional(readOnly = true)
 public class TimelineServiceImpl implements TimelineService {
 
+    // Upper bound on buckets per data point type, so a downsampled payload stays bounded
+    private static final long MAX_BUCKETS = 5000;
+
     private final MedicalEventRepository medicalEventRepository;
     private final MedicationDosageRepository medicationDosageRepository;
 
@@ -34,72 +45,68 @@ public class TimelineServiceImpl implements TimelineService {
 
     @Override
     public TimelineAnalysis generateTimelineAnalysis(UUID patientId, LocalDateTime startDate, LocalDateTime endDate) {
-        validateInputs(patientId, startDate, endDate);
-
-        List<TimelineDataPoint> dataPoints = createTimelineDataPoints(patientId, startDate, endDate);
-        Map<String, Object> statistics = calculateTimelineStatistics(dataPoints);
-        List<String> patterns = identifyTimelinePatterns(dataPoints);
-
-        return new TimelineAnalysis(
-                patientId,
-                startDate,
-                endDate,
-                dataPoints,
-                LocalDateTime.now()
-        );
+        return generateTimelineAnalysis(patientId, startDate, endDate, null);
     }
 
     @Override
-    public List<TimelineDataPoint> createTimelineDataPoints(UUID patientId, LocalDateTime startDate, LocalDateTime endDate) {
-        List<TimelineDataPoint> dataPoints = new ArrayList<>();
+    public TimelineAnalysis generateTimelineAnalysis(UUID patientId, LocalDateTime startDate, LocalDateTime endDate,
+                                                     TimelineResolution resolution) {
+        return generateTimelineAnalysis(patientId, startDate, endDate, resolution, Set.of());
+    }
 
-        // Get medical events in the date range
-        List<MedicalEvent> events = medicalEventRepository.findByPatientIdAndEventTimeBetween(patientId, startDate, endDate);
-        
-        // Convert events to timeline data points
-        // Each event includes BMI calculation based on weight and height at time of event
-        for (MedicalEvent event : events) {
-            // Calculate BMI from event's weight and height data
-            BigDecimal bmi = calculateBMI(event.getWeightKg(), event.getHeightCm());
-
-            TimelineDataPoint dataPoint = new TimelineDataPoint(
-                    event.getEventTime(),
-                    "EVENT",
-                    event.getTitle(),
-                    null, // BigDecimal value - not used for events
-                    null, // String unit - not used for events
-                    event.getSeverity(),
-                    bmi   // BMI calculated from event's weight and height
-            );
-            dataPoints.add(dataPoint);
+    @Override
+    public TimelineAnalysis generateTimelineAnalysis(UUID patientId, LocalDateTime startDate, LocalDateTime endDate,
+                                                     TimelineResolution resolution, Set<TimelineSection> include) {
+        validateInputs(patientId, startDate, endDate);
+        Set<TimelineSection> sections = include != null ? include : Set.of();
+        TimelineTally tally = sections.isEmpty() ? null : new TimelineTally();
+
+        if (resolution == null) {
+            List<TimelineDataPoint> dataPoints = collectDataPoints(
+                    medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
+                            patientId, startDate, endDate),
+                    medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
+                            patientId, startDate, endDate),
+                    tally);
+            return buildAnalysis(patientId, startDate, endDate, dataPoints, null, null, tally, sections);
         }
 
-        // Get medication dosages in the date range
-        List<MedicationDosage> dosages = medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(patientId, startDate, endDate);
-        
-        // Convert dosages to timeline data points
-        // Dosages don't include BMI as they don't have weight/height measurements
-        for (MedicationDosage dosage : dosages) {
-            TimelineDataPoint dataPoint = new TimelineDataPoint(
-                    dosage.getAdministrationTime(),
-                    "DOSAGE",
-                    "Medication Administration",
-                    dosage.getDosageAmount(),
-                    "mg",
-                    null, // MedicalEventSeverity - not applicable for dosages
-                    null  // BMI - not applicable for dosages
-            );
-            dataPoints.add(dataPoint);
+        long bucketCount = Duration.between(startDate, endDate).dividedBy(resolution.getBucketLength()) + 1;
+        if (bucketCount > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Date range spans " + bucketCount + " " + resolution
+                    + " buckets; the maximum is " + MAX_BUCKETS + ", use a coarser resolution");
         }
 
-        // Sort by timestamp
-        dataPoints.sort(Comparator.comparing(TimelineDataPoint::timestamp));
+        Iterator<TimelineDataPoint> dataPoints = mergeDataPoints(
+                medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
+                        patientId, startDate, endDate),
+                medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
+                        patientId, startDate, endDate));
 
-        return dataPoints;
+        List<TimelineBucket> buckets = downsample(dataPoints, resolution, tally);
+        return buildAnalysis(patientId, startDate, endDate, List.of(), resolution, buckets, tally, sections);
+    }
+
+    @Override
+    public List<TimelineDataPoint> createTimelineDataPoints(UUID patientId, LocalDateTime startDate, LocalDateTime endDate) {
+        // Both sources are column projections already ordered by time from the (patient_id, time) indexes,
+        // so they are merged rather than concatenated and re-sorted
+        List<MedicalEventTimelinePoint> events = medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
+                patientId, startDate, endDate);
+        List<MedicationDosageTimelinePoint> dosages = medicationDosageRepository
+                .findTimelinePointsByPatientIdAndAdministrationTimeBetween(patientId, startDate, endDate);
+
+        return collectDataPoints(events, dosages, null);
     }
 
     @Override
     public TimelineAnalysis generateMedicationTimeline(UUID patientId, UUID medicationId, LocalDateTime startDate, LocalDateTime endDate) {
+        return generateMedicationTimeline(patientId, medicationId, startDate, endDate, Set.of());
+    }
+
+    @Override
+    public TimelineAnalysis generateMedicationTimeline(UUID patientId, UUID medicationId, LocalDateTime startDate,
+                                                       LocalDateTime endDate, Set<TimelineSection> include) {
         validateInputs(patientId, startDate, endDate);
         
         if (medicationId == null) {
@@ -107,80 +114,28 @@ public class TimelineServiceImpl implements TimelineService {
         }
 
         // Get only events and dosages related to this medication
-        List<MedicalEvent> events = medicalEventRepository.findByPatientIdAndMedicationIdAndEventTimeBetween(
-                patientId, medicationId, startDate, endDate);
-        
-        List<MedicationDosage> dosages = medicationDosageRepository.findByPatientIdAndMedicationIdAndAdministrationTimeBetween(
+        List<MedicalEventTimelinePoint> events = medicalEventRepository.findTimelinePointsByPatientIdAndMedicationIdAndEventTimeBetween(
                 patientId, medicationId, startDate, endDate);
-
-        List<TimelineDataPoint> dataPoints = new ArrayList<>();
         
-        // Convert to timeline data points (simplified version)
-        events.forEach(event -> dataPoints.add(createEventDataPoint(event)));
-        dosages.forEach(dosage -> dataPoints.add(createDosageDataPoint(dosage)));
-
-        // Sort by timestamp
-        dataPoints.sort(Comparator.comparing(TimelineDataPoint::timestamp));
+        List<MedicationDosageTimelinePoint> dosages = medicationDosageRepository
+                .findTimelinePointsByPatientIdAndMedicationIdAndAdministrationTimeBetween(
+                        patientId, medicationId, startDate, endDate);
 
-        Map<String, Object> statistics = calculateTimelineStatistics(dataPoints);
-        List<String> patterns = identifyTimelinePatterns(dataPoints);
+        Set<TimelineSection> sections = include != null ? include : Set.of();
+        TimelineTally tally = sections.isEmpty() ? null : new TimelineTally();
+        List<TimelineDataPoint> dataPoints = collectDataPoints(events, dosages, tally);
 
-        return new TimelineAnalysis(
-                patientId,
-                startDate,
-                endDate,
-                dataPoints,
-                LocalDateTime.now()
-        );
+        return buildAnalysis(patientId, startDate, endDate, dataPoints, null, null, tally, sections);
     }
 
     @Override
     public Map<String, Object> calculateTimelineStatistics(List<TimelineDataPoint> dataPoints) {
-        Map<String, Object> statistics = new HashMap<>();
-        
-        statistics.put("totalDataPoints", dataPoints.size());
-        statistics.put("medicalEvents", dataPoints.stream()
-                .mapToLong(dp -> "EVENT".equals(dp.eventType()) ? 1 : 0)
-                .sum());
-        statistics.put("medicationDosages", dataPoints.stream()
-                .mapToLong(dp -> "DOSAGE".equals(dp.eventType()) ? 1 : 0)
-                .sum());
-        
-        // Calculate time span
-        if (!dataPoints.isEmpty()) {
-            LocalDateTime firstEvent = dataPoints.get(0).timestamp();
-            LocalDateTime lastEvent = dataPoints.get(dataPoints.size() - 1).timestamp();
-            long daysBetween = java.time.temporal.ChronoUnit.DAYS.between(firstEvent, lastEvent);
-            statistics.put("timeSpanDays", daysBetween);
-        }
-
-        return statistics;
+        return tally(dataPoints).toStatistics();
     }
 
     @Override
     public List<String> identifyTimelinePatterns(List<TimelineDataPoint> dataPoints) {
-        List<String> patterns = new ArrayList<>();
-        
-        if (dataPoints.isEmpty()) {
-            return patterns;
-        }
-
-        // Simple pattern identification
-        long eventCount = dataPoints.stream().mapToLong(dp -> "EVENT".equals(dp.eventType()) ? 1 : 0).sum();
-        long dosageCount = dataPoints.stream().mapToLong(dp -> "DOSAGE".equals(dp.eventType()) ? 1 : 0).sum();
-
-        if (eventCount > dosageCount * 1.5) {
-            patterns.add("High event frequency relative to medication dosages");
-        } else if (dosageCount > eventCount * 2) {
-            patterns.add("Consistent medication administration with low event frequency");
-        }
-
-        // Check for clustering
-        if (dataPoints.size() > 10) {
-            patterns.add("Dense activity period with multiple data points");
-        }
-
-        return patterns;
+        return tally(dataPoints).toPatterns();
     }
 
     // Private helper methods
@@ -197,59 +152,127 @@ public class TimelineServiceImpl implements TimelineService {
         }
     }
 
-    private Map<String, Object> createEventProperties(MedicalEvent event) {
-        Map<String, Object> properties = new HashMap<>();
-        properties.put("eventId", event.getId());
-        properties.put("description", event.getDescription());
-        properties.put("category", event.getCategory());
-        properties.put("severity", event.getSeverity());
-        return properties;
+    private TimelineTally tally(List<TimelineDataPoint> dataPoints) {
+        TimelineTally tally = new TimelineTally();
+        dataPoints.forEach(tally::add);
+        return tally;
+    }
+
+    /**
+     * Merge time-ordered events and dosages into a list, feeding the tally (if any) in the same pass.
+     */
+    private List<TimelineDataPoint> collectDataPoints(List<MedicalEventTimelinePoint> events, List<MedicationDosageTimelinePoint> dosages,
+                                                      TimelineTally tally) {
+        List<TimelineDataPoint> dataPoints = new ArrayList<>(events.size() + dosages.size());
+        Iterator<TimelineDataPoint> merged = mergeDataPoints(events, dosages);
+        while (merged.hasNext()) {
+            TimelineDataPoint dataPoint = merged.next();
+            if (tally != null) {
+                tally.add(dataPoint);
+            }
+            dataPoints.add(dataPoint);
+        }
+        return dataPoints;
     }
 
-    private Map<String, Object> createDosageProperties(MedicationDosage dosage) {
-        Map<String, Object> properties = new HashMap<>();
-        properties.put("dosageId", dosage.getId());
-        properties.put("medicationId", dosage.getMedicationId());
-        properties.put("amount", dosage.getDosageAmount());
-        properties.put("schedule", dosage.getSchedule());
-        return properties;
+    private TimelineAnalysis buildAnalysis(UUID patientId, LocalDateTime startDate, LocalDateTime endDate,
+                                           List<TimelineDataPoint> dataPoints, TimelineResolution resolution,
+                                           List<TimelineBucket> buckets, TimelineTally tally,
+                                           Set<TimelineSection> sections) {
+        return new TimelineAnalysis(
+                patientId,
+                startDate,
+                endDate,
+                dataPoints,
+                LocalDateTime.now(),
+                resolution,
+                buckets,
+                sections.contains(TimelineSection.STATISTICS) ? tally.toStatistics() : null,
+                sections.contains(TimelineSection.PATTERNS) ? tally.toPatterns() : null
+        );
+    }
+
+    /**
+     * Lazily merge time-ordered events and dosages into one time-ordered sequence of data points.
+     * Events sort ahead of dosages recorded at the same instant.
+     */
+    private Iterator<TimelineDataPoint> mergeDataPoints(List<MedicalEventTimelinePoint> events,
+                                                        List<MedicationDosageTimelinePoint> dosages) {
+        return SortedMerge.merge(
+                List.of(events.stream().map(this::createEventDataPoint).iterator(),
+                        dosages.stream().map(this::createDosageDataPoint).iterator()),
+                Comparator.comparing(TimelineDataPoint::timestamp));
+    }
+
+    /**
+     * Fold time-ordered data points into one bucket per type and period in a single pass.
+     * Periods with no data points produce no buckets. The tally, if any, sees every data point on the way.
+     */
+    private List<TimelineBucket> downsample(Iterator<TimelineDataPoint> dataPoints, TimelineResolution resolution,
+                                            TimelineTally tally) {
+        List<TimelineBucket> buckets = new ArrayList<>();
+        LocalDateTime currentBucket = null;
+        BucketAccumulator events = new BucketAccumulator("EVENT");
+        BucketAccumulator dosages = new BucketAccumulator("DOSAGE");
+
+        while (dataPoints.hasNext()) {
+            TimelineDataPoint dataPoint = dataPoints.next();
+            if (tally != null) {
+                tally.add(dataPoint);
+            }
+            LocalDateTime bucketStart = resolution.bucketStart(dataPoint.timestamp());
+            if (!bucketStart.equals(currentBucket)) {
+                events.drainTo(currentBucket, buckets);
+                dosages.drainTo(currentBucket, buckets);
+                currentBucket = bucketStart;
+            }
+            if (dataPoint.isDosage()) {
+                dosages.add(dataPoint.value(), null);
+            } else {
+                events.add(dataPoint.bmi(), dataPoint.severity());
+            }
+        }
+        events.drainTo(currentBucket, buckets);
+        dosages.drainTo(currentBucket, buckets);
+
+        return buckets;
     }
 
     /**
-     * Creates a TimelineDataPoint from a MedicalEvent.
+     * Creates a TimelineDataPoint from a medical event projection.
      * Calculates BMI from the event's weight and height measurements.
      *
      * @param event The medical event to convert
      * @return TimelineDataPoint with event data and calculated BMI
      */
-    private TimelineDataPoint createEventDataPoint(MedicalEvent event) {
+    private TimelineDataPoint createEventDataPoint(MedicalEventTimelinePoint event) {
         // Calculate BMI from event's weight and height at time of occurrence
-        BigDecimal bmi = calculateBMI(event.getWeightKg(), event.getHeightCm());
+        BigDecimal bmi = calculateBMI(event.weightKg(), event.heightCm());
 
         return new TimelineDataPoint(
-                event.getEventTime(),
+                event.eventTime(),
                 "EVENT",
-                event.getTitle(),
+                event.title(),
                 null, // BigDecimal value - not used for events
                 null, // String unit - not used for events
-                event.getSeverity(),
+                event.severity(),
                 bmi   // BMI calculated from event's measurements
         );
     }
 
     /**
-     * Creates a TimelineDataPoint from a MedicationDosage.
+     * Creates a TimelineDataPoint from a medication dosage projection.
      * Dosages don't include BMI as they don't have weight/height measurements.
      *
      * @param dosage The medication dosage to convert
      * @return TimelineDataPoint with dosage data
      */
-    private TimelineDataPoint createDosageDataPoint(MedicationDosage dosage) {
+    private TimelineDataPoint createDosageDataPoint(MedicationDosageTimelinePoint dosage) {
         return new TimelineDataPoint(
-                dosage.getAdministrationTime(),
+                dosage.administrationTime(),
                 "DOSAGE",
                 "Medication Administration",
-                dosage.getDosageAmount(),
+                dosage.dosageAmount(),
                 "mg",
                 null, // MedicalEventSeverity - not applicable for dosages
                 null  // BMI - not applicable for dosages
@@ -312,4 +335,96 @@ public class TimelineServiceImpl implements TimelineService {
 
         return bmi;
     }
-}
\ No newline at end of file
+
+    /**
+     * Running count, value range and worst severity for the current bucket of one data point type.
+     */
+    private static final class BucketAccumulator {
+
+        private final String eventType;
+        private long count;
+        private BigDecimal minValue;
+        private BigDecimal maxValue;
+        private MedicalEventSeverity maxSeverity;
+
+        private BucketAccumulator(String eventType) {
+            this.eventType = eventType;
+        }
+
+        private void add(BigDecimal value, MedicalEventSeverity severity) {
+            count++;
+            if (value != null) {
+                minValue = minValue == null || value.compareTo(minValue) < 0 ? value : minValue;
+                maxValue = maxValue == null || value.compareTo(maxValue) > 0 ? value : maxValue;
+            }
+            if (severity != null && (maxSeverity == null || severity.compareTo(maxSeverity) > 0)) {
+                maxSeverity = severity;
+            }
+        }
+
+        private void drainTo(LocalDateTime bucketStart, List<TimelineBucket> buckets) {
+            if (count > 0) {
+                buckets.add(new TimelineBucket(bucketStart, eventType, count, minValue, maxValue, maxSeverity));
+            }
+            count = 0;
+            minValue = null;
+            maxValue = null;
+            maxSeverity = null;
+        }
+    }
+
+    /**
+     * Counts and time span gathered in one pass, from which both timeline statistics and patterns are derived.
+     */
+    private static final class TimelineTally {
+
+        private long totalCount;
+        private long eventCount;
+        private long dosageCount;
+        private LocalDateTime first;
+        private LocalDateTime last;
+
+        private void add(TimelineDataPoint dataPoint) {
+            totalCount++;
+            if (dataPoint.isDosage()) {
+                dosageCount++;
+            } else if (dataPoint.isMedicalEvent()) {
+                eventCount++;
+            }
+            if (first == null) {
+                first = dataPoint.timestamp();
+            }
+            last = dataPoint.timestamp();
+        }
+
+        private Map<String, Object> toStatistics() {
+            Map<String, Object> statistics = new HashMap<>();
+            statistics.put("totalDataPoints", totalCount);
+            statistics.put("medicalEvents", eventCount);
+            statistics.put("medicationDosages", dosageCount);
+            if (first != null) {
+                statistics.put("timeSpanDays", ChronoUnit.DAYS.between(first, last));
+            }
+            return statistics;
+        }
+
+        private List<String> toPatterns() {
+            List<String> patterns = new ArrayList<>();
+            if (totalCount == 0) {
+                return patterns;
+            }
+
+            if (eventCount > dosageCount * 1.5) {
+                patterns.add("High event frequency relative to medication dosages");
+            } else if (dosageCount > eventCount * 2) {
+                patterns.add("Consistent medication administration with low event frequency");
+            }
+
+            // Check for clustering
+            if (totalCount > 10) {
+                patterns.add("Dense activity period with multiple data points");
+            }
+            return patterns;
+        }
+    }
+}
@@ -5,10 +5,12 @@ import com.ciaranmckenna.medical_event_tracker.dto.LoginRequest;
 import com.ciaranmckenna.medical_event_tracker.dto.RegisterRequest;
 import com.ciaranmckenna.medical_event_tracker.dto.UserProfileResponse;
 import com.ciaranmckenna.medical_event_tracker.entity.User;
+import com.ciaranmckenna.medical_event_tracker.event.UserAccountChangedEvent;
 import com.ciaranmckenna.medical_event_tracker.repository.UserRepository;
 import com.ciaranmckenna.medical_event_tracker.service.JwtService;
 import com.ciaranmckenna.medical_event_tracker.service.UserService;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -25,14 +27,17 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.jwt.expiration:86400000}")
     private long jwtExpirationMs;
 
-    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService) {
+    public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtService jwtService,
+                           ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -96,6 +101,8 @@ public class UserServiceImpl implements UserService {
             throw new IllegalArgumentException("Username or email is already taken by another user");
         }
 
+        boolean credentialsChanged = !user.getUsername().equals(updateRequest.username());
+
         user.setUsername(updateRequest.username());
         user.setEmail(updateRequest.email());
         user.setFirstName(updateRequest.firstName());
@@ -103,9 +110,15 @@ public class UserServiceImpl implements UserService {
 
         if (updateRequest.password() != null && !updateRequest.password().isBlank()) {
             user.setPassword(passwordEncoder.encode(updateRequest.password()));
+            credentialsChanged = true;
+        }
+
+        if (credentialsChanged) {
+            revokeIssuedTokens(user);
         }
 
         User savedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userId));
         return UserProfileResponse.of(savedUser);
     }
 
@@ -115,7 +128,9 @@ public class UserServiceImpl implements UserService {
             .orElseThrow(() -> new UsernameNotFoundException("User not found"));
         
         user.setEnabled(false);
+        revokeIssuedTokens(user);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(userId));
     }
 
     @Override
@@ -143,4 +158,11 @@ public class UserServiceImpl implements UserService {
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
-}
\ No newline at end of file
+
+    /**
+     * Bumps the user's token version so tokens issued before now are rejected in stateless authentication.
+     */
+    private void revokeIssuedTokens(User user) {
+        user.setTokenVersion(user.getTokenVersion() + 1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.ciaranmckenna.medical_event_tracker.store;
+
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventText;
+import com.ciaranmckenna.medical_event_tracker.event.MedicalEventsChangedEvent;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
+import com.ciaranmckenna.medical_event_tracker.util.EventTextIndex;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bounded per-patient cache of {@link EventTextIndex} full-text indexes over event titles and descriptions.
+ * An index is built from a column projection on a patient's first search. Event writes are applied to a
+ * cached index once they commit, re-indexing the retained projections in memory rather than reloading the
+ * patient's events; other patient data changes, such as dosages, leave it alone. Nothing is persisted.
+ */
+@Component
+public class EventTextIndexStore {
+
+    private final MedicalEventRepository medicalEventRepository;
+    private final Cache<UUID, EventTextIndex> indexes;
+
+    public EventTextIndexStore(MedicalEventRepository medicalEventRepository,
+                               @Value("${app.search.event-index.maximum-patients:500}") long maximumPatients,
+                               @Value("${app.search.event-index.expire-after-access-minutes:30}")
+                               long expireAfterAccessMinutes) {
+        this.medicalEventRepository = medicalEventRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maximumPatients)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .build();
+    }
+
+    /**
+     * Gets a patient's index, building it if it is not cached.
+     *
+     * @param patientId the patient's UUID
+     * @return the index over the patient's events
+     */
+    public EventTextIndex get(UUID patientId) {
+        return indexes.get(patientId, this::load);
+    }
+
+    /**
+     * Evicts a patient's index so the next search rebuilds it.
+     * An eviction that races a build waits for the build and then removes its result.
+     *
+     * @param patientId the patient's UUID
+     */
+    public void evict(UUID patientId) {
+        indexes.invalidate(patientId);
+    }
+
+    /**
+     * Evicts every patient's index, e.g. after events were changed outside the service layer.
+     */
+    public void evictAll() {
+        indexes.invalidateAll();
+    }
+
+    /**
+     * Applies committed event writes to the patient's index, if it is cached; otherwise the next search loads
+     * the committed events. The update runs atomically with any build in progress for the patient.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMedicalEventsChanged(MedicalEventsChangedEvent event) {
+        List<MedicalEventText> saved = event.savedEvents().stream().map(MedicalEventText::of).toList();
+        indexes.asMap().computeIfPresent(event.patientId(),
+                (patientId, index) -> index.apply(saved, event.removedEventIds()));
+    }
+
+    private EventTextIndex load(UUID patientId) {
+        return EventTextIndex.of(medicalEventRepository.findEventTextsByPatientId(patientId));
+    }
+}
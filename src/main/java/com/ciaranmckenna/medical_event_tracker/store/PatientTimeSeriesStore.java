@@ -0,0 +1,71 @@
+package com.ciaranmckenna.medical_event_tracker.store;
+
+import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.PatientMedicationRepository;
+import com.ciaranmckenna.medical_event_tracker.util.PatientTimeSeries;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Bounded per-patient cache of {@link PatientTimeSeries} snapshots that analytics read instead of entities.
+ * A snapshot is loaded through column projections on first use and evicted by
+ * {@link com.ciaranmckenna.medical_event_tracker.config.AnalyticsCacheInvalidator} once a change to the patient's events or dosages commits.
+ * Prescription periods are loaded with it; any future write path for patient medications must
+ * publish a {@code PatientDataChangedEvent} too.
+ */
+@Component
+public class PatientTimeSeriesStore {
+
+    private final MedicalEventRepository medicalEventRepository;
+    private final MedicationDosageRepository medicationDosageRepository;
+    private final PatientMedicationRepository patientMedicationRepository;
+    private final Cache<UUID, PatientTimeSeries> snapshots;
+
+    public PatientTimeSeriesStore(MedicalEventRepository medicalEventRepository,
+                                  MedicationDosageRepository medicationDosageRepository,
+                                  PatientMedicationRepository patientMedicationRepository,
+                                  @Value("${app.analytics.time-series.maximum-patients:1000}") long maximumPatients,
+                                  @Value("${app.analytics.time-series.expire-after-access-minutes:30}")
+                                  long expireAfterAccessMinutes) {
+        this.medicalEventRepository = medicalEventRepository;
+        this.medicationDosageRepository = medicationDosageRepository;
+        this.patientMedicationRepository = patientMedicationRepository;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maximumPatients)
+                .expireAfterAccess(Duration.ofMinutes(expireAfterAccessMinutes))
+                .build();
+    }
+
+    /**
+     * Gets a patient's snapshot, loading it if it is not cached.
+     *
+     * @param patientId the patient's UUID
+     * @return the patient's event and dosage history
+     */
+    public PatientTimeSeries get(UUID patientId) {
+        return snapshots.get(patientId, this::load);
+    }
+
+    /**
+     * Evicts a patient's snapshot so the next read reloads it.
+     * An eviction that races a load waits for the load and then removes its result.
+     *
+     * @param patientId the patient's UUID
+     */
+    public void evict(UUID patientId) {
+        snapshots.invalidate(patientId);
+    }
+
+    private PatientTimeSeries load(UUID patientId) {
+        return PatientTimeSeries.of(
+                medicalEventRepository.findEventPointsByPatientId(patientId),
+                medicationDosageRepository.findDosagePointsByPatientId(patientId),
+                patientMedicationRepository.findPeriodPointsByPatientId(patientId));
+    }
+}
@@ -0,0 +1,458 @@
+package com.ciaranmckenna.medical_event_tracker.util;
+
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventText;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable in-memory inverted index over one patient's event titles and descriptions.
+ * Both fields are tokenized with {@link NameSearch#normalize}, and each token keeps its positions, so a
+ * query never touches the database or rescans the text. Queries are a list of clauses that must all match:
+ * a bare word matches any token starting with it, and a quoted phrase matches its tokens consecutively
+ * within one field. Matches are ranked by BM25, with title matches weighted above description matches,
+ * then newest first. Each event's projection is kept alongside, so matches can be narrowed by a
+ * {@link Filter} and sorted by any projected column without loading the events.
+ */
+public final class EventTextIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double TITLE_BOOST = 2.0;
+    private static final Pattern PHRASE = Pattern.compile("\"([^\"]*)\"?");
+
+    private final MedicalEventText[] events;
+    private final Field title;
+    private final Field description;
+
+    private EventTextIndex(MedicalEventText[] events, Field title, Field description) {
+        this.events = events;
+        this.title = title;
+        this.description = description;
+    }
+
+    /**
+     * Build an index from a patient's event text.
+     *
+     * @param events text projections of the patient's events
+     * @return the index
+     */
+    public static EventTextIndex of(List<MedicalEventText> events) {
+        int size = events.size();
+        FieldBuilder title = new FieldBuilder(size);
+        FieldBuilder description = new FieldBuilder(size);
+        for (int doc = 0; doc < size; doc++) {
+            MedicalEventText event = events.get(doc);
+            title.add(doc, event.title());
+            description.add(doc, event.description());
+        }
+        return new EventTextIndex(events.toArray(MedicalEventText[]::new), title.build(), description.build());
+    }
+
+    /**
+     * Build a new index with events added, replaced or removed, reusing the other events' projections so no
+     * query is needed. Events keep the projection's (eventTime, id) order.
+     *
+     * @param saved      projections of created or updated events, replacing any with the same ID
+     * @param removedIds IDs of events to drop
+     * @return the updated index
+     */
+    public EventTextIndex apply(Collection<MedicalEventText> saved, Collection<UUID> removedIds) {
+        Set<UUID> replaced = new HashSet<>(removedIds);
+        saved.forEach(event -> replaced.add(event.id()));
+        List<MedicalEventText> updated = new ArrayList<>(events.length + saved.size());
+        for (MedicalEventText event : events) {
+            if (!replaced.contains(event.id())) {
+                updated.add(event);
+            }
+        }
+        updated.addAll(saved);
+        updated.sort(Comparator.comparing(MedicalEventText::eventTime, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(MedicalEventText::id));
+        return of(updated);
+    }
+
+    /**
+     * Gets the number of indexed events.
+     */
+    public int size() {
+        return events.length;
+    }
+
+    /**
+     * Find the events matching every clause of a query, best match first.
+     * Only the best {@code limit} hits are ordered, so a short page of a common word stays cheap.
+     *
+     * @param query words and quoted phrases, e.g. {@code seizure "left arm"}
+     * @param limit maximum number of hits to return
+     * @return ranked hits, empty if the query has no searchable words
+     */
+    public List<Hit> search(String query, int limit) {
+        return search(query, limit, Filter.NONE);
+    }
+
+    /**
+     * Find the events matching every clause of a query and the filter, best match first.
+     *
+     * @param query  words and quoted phrases
+     * @param limit  maximum number of hits to return
+     * @param filter attributes the matching events must have
+     * @return ranked hits, empty if the query has no searchable words
+     */
+    public List<Hit> search(String query, int limit, Filter filter) {
+        double[] scores = score(query);
+        if (scores == null) {
+            return List.of();
+        }
+
+        Comparator<LocalDateTime> oldestFirst = Comparator.nullsFirst(Comparator.naturalOrder());
+        Comparator<Integer> bestFirst = (a, b) -> {
+            int byScore = Double.compare(scores[b], scores[a]);
+            if (byScore != 0) {
+                return byScore;
+            }
+            int byTime = oldestFirst.compare(events[b].eventTime(), events[a].eventTime());
+            return byTime != 0 ? byTime : events[a].id().compareTo(events[b].id());
+        };
+        PriorityQueue<Integer> worstFirst = new PriorityQueue<>(Math.max(1, Math.min(limit, scores.length)), bestFirst.reversed());
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (scores[doc] <= 0 || !accepts(filter, doc)) {
+                continue;
+            }
+            if (worstFirst.size() < limit) {
+                worstFirst.add(doc);
+            } else if (bestFirst.compare(doc, worstFirst.peek()) < 0) {
+                worstFirst.poll();
+                worstFirst.add(doc);
+            }
+        }
+
+        Hit[] hits = new Hit[worstFirst.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            int doc = worstFirst.poll();
+            hits[i] = new Hit(events[doc], scores[doc]);
+        }
+        return List.of(hits);
+    }
+
+    /**
+     * Find every event matching every clause of a query and the filter, without ranking them.
+     *
+     * @param query  words and quoted phrases
+     * @param filter attributes the matching events must have
+     * @return hits in index order, empty if the query has no searchable words
+     */
+    public List<Hit> matches(String query, Filter filter) {
+        double[] scores = score(query);
+        if (scores == null) {
+            return List.of();
+        }
+        List<Hit> matches = new ArrayList<>();
+        for (int doc = 0; doc < scores.length; doc++) {
+            if (scores[doc] > 0 && accepts(filter, doc)) {
+                matches.add(new Hit(events[doc], scores[doc]));
+            }
+        }
+        return matches;
+    }
+
+    private boolean accepts(Filter filter, int doc) {
+        MedicalEventText event = events[doc];
+        LocalDateTime eventTime = event.eventTime();
+        return (filter.categories() == null || filter.categories().isEmpty()
+                        || event.category() != null && filter.categories().contains(event.category()))
+                && (filter.severities() == null || filter.severities().isEmpty()
+                        || event.severity() != null && filter.severities().contains(event.severity()))
+                && (filter.medicationIds() == null || filter.medicationIds().isEmpty()
+                        || event.medicationId() != null && filter.medicationIds().contains(event.medicationId()))
+                && (filter.startTime() == null || eventTime != null && !eventTime.isBefore(filter.startTime()))
+                && (filter.endTime() == null || eventTime != null && !eventTime.isAfter(filter.endTime()));
+    }
+
+    /**
+     * Score every event against every clause; an event scores zero unless all clauses match it.
+     */
+    private double[] score(String query) {
+        List<Clause> clauses = parse(query);
+        if (clauses.isEmpty() || events.length == 0) {
+            return null;
+        }
+
+        double[] scores = null;
+        for (Clause clause : clauses) {
+            double[] clauseScores = new double[events.length];
+            title.score(clause, TITLE_BOOST, clauseScores);
+            description.score(clause, 1.0, clauseScores);
+            if (scores == null) {
+                scores = clauseScores;
+            } else {
+                for (int doc = 0; doc < scores.length; doc++) {
+                    scores[doc] = scores[doc] > 0 && clauseScores[doc] > 0 ? scores[doc] + clauseScores[doc] : 0;
+                }
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Split a query into quoted phrases and bare words, normalized the same way as the indexed text.
+     */
+    private static List<Clause> parse(String query) {
+        List<Clause> clauses = new ArrayList<>();
+        if (query == null) {
+            return clauses;
+        }
+        StringBuilder words = new StringBuilder();
+        Matcher matcher = PHRASE.matcher(query);
+        int end = 0;
+        while (matcher.find()) {
+            words.append(query, end, matcher.start()).append(' ');
+            List<String> tokens = tokenize(matcher.group(1));
+            if (!tokens.isEmpty()) {
+                clauses.add(new Clause(tokens, true));
+            }
+            end = matcher.end();
+        }
+        words.append(query, end, query.length());
+        for (String word : tokenize(words.toString())) {
+            clauses.add(new Clause(List.of(word), false));
+        }
+        return clauses;
+    }
+
+    private static List<String> tokenize(String text) {
+        String normalized = NameSearch.normalize(text);
+        if (normalized == null || normalized.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.asList(normalized.split(" "));
+    }
+
+    /**
+     * A query clause: a single word matched as a token prefix, or a phrase matched exactly.
+     */
+    record Clause(List<String> tokens, boolean phrase) {
+    }
+
+    /**
+     * A matching event.
+     *
+     * @param event the event's indexed projection
+     * @param score BM25 relevance, summed over the query's clauses
+     */
+    public record Hit(MedicalEventText event, double score) {
+
+        public UUID id() {
+            return event.id();
+        }
+
+        public LocalDateTime eventTime() {
+            return event.eventTime();
+        }
+    }
+
+    /**
+     * Event attributes a match must have; a null or empty collection and a null bound do not restrict.
+     *
+     * @param categories    accepted categories
+     * @param severities    accepted severities
+     * @param medicationIds accepted medication IDs
+     * @param startTime     earliest event time, inclusive
+     * @param endTime       latest event time, inclusive
+     */
+    public record Filter(Collection<MedicalEventCategory> categories,
+                         Collection<MedicalEventSeverity> severities,
+                         Collection<UUID> medicationIds,
+                         LocalDateTime startTime,
+                         LocalDateTime endTime) {
+
+        /**
+         * A filter that accepts every event.
+         */
+        public static final Filter NONE = new Filter(null, null, null, null, null);
+    }
+
+    /**
+     * Postings of one token in one field: the documents containing it, ascending, and the token's ascending
+     * positions within each, flattened so the i-th document's run is {@code positions[offsets[i]..offsets[i + 1])}.
+     */
+    private record Postings(int[] docs, int[] offsets, int[] positions) {
+
+        int frequency(int i) {
+            return offsets[i + 1] - offsets[i];
+        }
+    }
+
+    private static final class Field {
+
+        private final NavigableMap<String, Postings> postings;
+        private final int[] lengths;
+        private final double averageLength;
+
+        private Field(NavigableMap<String, Postings> postings, int[] lengths) {
+            this.postings = postings;
+            this.lengths = lengths;
+            this.averageLength = Math.max(1.0, Arrays.stream(lengths).average().orElse(1.0));
+        }
+
+        /**
+         * Add this field's BM25 score for the clause to each matching document's score.
+         */
+        void score(Clause clause, double boost, double[] scores) {
+            if (clause.phrase()) {
+                scorePhrase(clause.tokens(), boost, scores);
+            } else {
+                String prefix = clause.tokens().get(0);
+                for (Postings tokenPostings : postings.subMap(prefix, true, NameSearch.prefixEnd(prefix), false).values()) {
+                    double idf = idf(tokenPostings.docs().length);
+                    for (int i = 0; i < tokenPostings.docs().length; i++) {
+                        int doc = tokenPostings.docs()[i];
+                        scores[doc] += boost * idf * saturate(tokenPostings.frequency(i), doc);
+                    }
+                }
+            }
+        }
+
+        private void scorePhrase(List<String> tokens, double boost, double[] scores) {
+            Postings[] tokenPostings = new Postings[tokens.size()];
+            double idf = 0;
+            for (int k = 0; k < tokenPostings.length; k++) {
+                tokenPostings[k] = postings.get(tokens.get(k));
+                if (tokenPostings[k] == null) {
+                    return;
+                }
+                idf += idf(tokenPostings[k].docs().length);
+            }
+            // Every token's documents are ascending, so one forward cursor per token finds each shared document
+            int[] cursors = new int[tokenPostings.length];
+            Postings first = tokenPostings[0];
+            for (int i = 0; i < first.docs().length; i++) {
+                int doc = first.docs()[i];
+                cursors[0] = i;
+                if (advanceTo(doc, tokenPostings, cursors)) {
+                    int frequency = phraseFrequency(tokenPostings, cursors);
+                    if (frequency > 0) {
+                        scores[doc] += boost * idf * saturate(frequency, doc);
+                    }
+                }
+            }
+        }
+
+        private static boolean advanceTo(int doc, Postings[] tokenPostings, int[] cursors) {
+            for (int k = 1; k < tokenPostings.length; k++) {
+                int[] docs = tokenPostings[k].docs();
+                while (cursors[k] < docs.length && docs[cursors[k]] < doc) {
+                    cursors[k]++;
+                }
+                if (cursors[k] == docs.length || docs[cursors[k]] != doc) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Count the phrase's occurrences in the document at each token's cursor.
+         * Position runs are ascending, so each token's run is walked once alongside the first token's.
+         */
+        private static int phraseFrequency(Postings[] tokenPostings, int[] cursors) {
+            int[] next = new int[tokenPostings.length];
+            for (int k = 1; k < tokenPostings.length; k++) {
+                next[k] = tokenPostings[k].offsets()[cursors[k]];
+            }
+            Postings first = tokenPostings[0];
+            int frequency = 0;
+            for (int p = first.offsets()[cursors[0]]; p < first.offsets()[cursors[0] + 1]; p++) {
+                int start = first.positions()[p];
+                int k = 1;
+                while (k < tokenPostings.length) {
+                    int[] positions = tokenPostings[k].positions();
+                    int end = tokenPostings[k].offsets()[cursors[k] + 1];
+                    while (next[k] < end && positions[next[k]] < start + k) {
+                        next[k]++;
+                    }
+                    if (next[k] == end) {
+                        return frequency;
+                    }
+                    if (positions[next[k]] != start + k) {
+                        break;
+                    }
+                    k++;
+                }
+                if (k == tokenPostings.length) {
+                    frequency++;
+                }
+            }
+            return frequency;
+        }
+
+        private double idf(int documentFrequency) {
+            return Math.log(1 + (lengths.length - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        }
+
+        private double saturate(int frequency, int doc) {
+            return frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * lengths[doc] / averageLength));
+        }
+    }
+
+    private static final class FieldBuilder {
+
+        private final Map<String, List<int[]>> postings = new HashMap<>();
+        private final int[] lengths;
+
+        FieldBuilder(int size) {
+            this.lengths = new int[size];
+        }
+
+        void add(int doc, String text) {
+            List<String> tokens = tokenize(text);
+            lengths[doc] = tokens.size();
+            Map<String, List<Integer>> positions = new HashMap<>();
+            for (int position = 0; position < tokens.size(); position++) {
+                positions.computeIfAbsent(tokens.get(position), token -> new ArrayList<>()).add(position);
+            }
+            positions.forEach((token, tokenPositions) -> {
+                int[] entry = new int[tokenPositions.size() + 1];
+                entry[0] = doc;
+                for (int i = 0; i < tokenPositions.size(); i++) {
+                    entry[i + 1] = tokenPositions.get(i);
+                }
+                postings.computeIfAbsent(token, key -> new ArrayList<>()).add(entry);
+            });
+        }
+
+        Field build() {
+            NavigableMap<String, Postings> built = new TreeMap<>();
+            postings.forEach((token, entries) -> {
+                int[] docs = new int[entries.size()];
+                int[] offsets = new int[entries.size() + 1];
+                for (int i = 0; i < entries.size(); i++) {
+                    docs[i] = entries.get(i)[0];
+                    offsets[i + 1] = offsets[i] + entries.get(i).length - 1;
+                }
+                int[] positions = new int[offsets[entries.size()]];
+                for (int i = 0; i < entries.size(); i++) {
+                    System.arraycopy(entries.get(i), 1, positions, offsets[i], offsets[i + 1] - offsets[i]);
+                }
+                built.put(token, new Postings(docs, offsets, positions));
+            });
+            return new Field(built, lengths);
+        }
+    }
+}
@@ -7,6 +7,9 @@ import java.util.regex.Pattern;
 /**
  * Utility class for sanitizing user input to prevent XSS attacks.
  * Particularly important for medical data that may be displayed in UI.
+ * Ordinary text is cleaned in one hand-written pass; only input containing script tags, script protocols
+ * or event handlers goes through the original sequence of pattern replacements, whose output the single
+ * pass reproduces exactly.
  */
 @Component
 public class InputSanitizer {
@@ -19,6 +22,9 @@ public class InputSanitizer {
     private static final Pattern ONLOAD_PATTERN = Pattern.compile("onload[^=]*=", Pattern.CASE_INSENSITIVE);
     private static final Pattern ONERROR_PATTERN = Pattern.compile("onerror[^=]*=", Pattern.CASE_INSENSITIVE);
     private static final Pattern ONCLICK_PATTERN = Pattern.compile("onclick[^=]*=", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+    private static final String[] EVENT_HANDLERS = {"onload", "onerror", "onclick"};
 
     /**
      * Sanitizes text input by removing potentially dangerous HTML/JavaScript content.
@@ -28,10 +34,19 @@ public class InputSanitizer {
      * @return sanitized string safe for storage and display
      */
     public String sanitizeText(String input) {
-        if (input == null || input.trim().isEmpty()) {
+        if (input == null || isBlankAfterTrim(input)) {
             return input;
         }
 
+        String sanitized = stripTagsAndCollapseWhitespace(input);
+        return sanitized != null ? sanitized : sanitizeTextWithPatterns(input);
+    }
+
+    /**
+     * Sanitizes text with one pattern replacement per rule, in order.
+     * Used for input containing active content, where one rule's removal can expose a match for a later one.
+     */
+    String sanitizeTextWithPatterns(String input) {
         String sanitized = input;
         
         // Remove script tags and their content
@@ -50,11 +65,121 @@ public class InputSanitizer {
         sanitized = HTML_PATTERN.matcher(sanitized).replaceAll("");
         
         // Clean up multiple whitespaces
-        sanitized = sanitized.replaceAll("\\s+", " ").trim();
+        sanitized = WHITESPACE_PATTERN.matcher(sanitized).replaceAll(" ").trim();
         
         return sanitized;
     }
 
+    /**
+     * Removes HTML tags and collapses whitespace in one pass, with the same result as the pattern sequence
+     * for input without active content. The output is only copied once it first differs from the input.
+     *
+     * @return the sanitized text, or null if the input contains a script tag, a script protocol, or an
+     *         event handler name followed by '=', which need the pattern sequence
+     */
+    private static String stripTagsAndCollapseWhitespace(String input) {
+        int length = input.length();
+        StringBuilder out = null;
+        boolean eventHandlerSeen = false;
+        boolean afterWhitespace = false;
+        int tagEnd = -1;
+
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+
+            // Active content is detected inside tags too: its patterns can match across a tag's end
+            switch (c) {
+                case '<' -> {
+                    if (input.regionMatches(true, i + 1, "script", 0, 6)) {
+                        return null;
+                    }
+                }
+                case 'j', 'J' -> {
+                    if (input.regionMatches(true, i, "javascript:", 0, 11)) {
+                        return null;
+                    }
+                }
+                case 'v', 'V' -> {
+                    if (input.regionMatches(true, i, "vbscript:", 0, 9)) {
+                        return null;
+                    }
+                }
+                case 'o', 'O' -> eventHandlerSeen |= startsWithEventHandler(input, i);
+                case '=' -> {
+                    if (eventHandlerSeen) {
+                        return null;
+                    }
+                }
+                default -> {
+                }
+            }
+
+            if (i <= tagEnd) {
+                continue;
+            }
+            if (c == '<') {
+                int close = input.indexOf('>', i + 1);
+                if (close >= 0) {
+                    tagEnd = close;
+                    if (out == null) {
+                        out = new StringBuilder(length).append(input, 0, i);
+                    }
+                    continue;
+                }
+            }
+
+            if (isRegexWhitespace(c)) {
+                if (afterWhitespace || c != ' ') {
+                    if (out == null) {
+                        out = new StringBuilder(length).append(input, 0, i);
+                    }
+                    if (!afterWhitespace) {
+                        out.append(' ');
+                    }
+                } else if (out != null) {
+                    out.append(' ');
+                }
+                afterWhitespace = true;
+            } else {
+                if (out != null) {
+                    out.append(c);
+                }
+                afterWhitespace = false;
+            }
+        }
+
+        return (out == null ? input : out.toString()).trim();
+    }
+
+    private static boolean startsWithEventHandler(String input, int index) {
+        for (String handler : EVENT_HANDLERS) {
+            if (input.regionMatches(true, index, handler, 0, handler.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Matches the characters of the regex class {@code \s}: space, tab, newline, vertical tab, form feed
+     * and carriage return.
+     */
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /**
+     * Same as {@code input.trim().isEmpty()} without creating the trimmed copy.
+     */
+    private static boolean isBlankAfterTrim(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (input.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Sanitizes medical data with additional validation.
      * Ensures medical descriptions are clean and safe.
@@ -70,11 +195,54 @@ public class InputSanitizer {
         String sanitized = sanitizeText(medicalText);
         
         // Additional medical data specific sanitization
-        // Remove any remaining suspicious patterns
-        sanitized = sanitized.replaceAll("[<>\"']", ""); // Remove quotes and brackets
-        sanitized = sanitized.replaceAll("&[a-zA-Z0-9#]+;", ""); // Remove HTML entities
-        
-        return sanitized;
+        // Remove quotes and brackets, then HTML entities, which removing a quote can join up
+        return removeEntities(removeQuotesAndBrackets(sanitized));
+    }
+
+    private static String removeQuotesAndBrackets(String text) {
+        StringBuilder out = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean removed = c == '<' || c == '>' || c == '"' || c == '\'';
+            if (removed && out == null) {
+                out = new StringBuilder(text.length()).append(text, 0, i);
+            } else if (!removed && out != null) {
+                out.append(c);
+            }
+        }
+        return out == null ? text : out.toString();
+    }
+
+    /**
+     * Removes each {@code &name;} entity, where the name is one or more ASCII letters, digits or '#'.
+     */
+    private static String removeEntities(String text) {
+        int ampersand = text.indexOf('&');
+        if (ampersand < 0) {
+            return text;
+        }
+        StringBuilder out = new StringBuilder(text.length()).append(text, 0, ampersand);
+        int i = ampersand;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '&') {
+                int end = i + 1;
+                while (end < text.length() && isEntityNameChar(text.charAt(end))) {
+                    end++;
+                }
+                if (end > i + 1 && end < text.length() && text.charAt(end) == ';') {
+                    i = end + 1;
+                    continue;
+                }
+            }
+            out.append(c);
+            i++;
+        }
+        return out.toString();
+    }
+
+    private static boolean isEntityNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '#';
     }
 
     /**
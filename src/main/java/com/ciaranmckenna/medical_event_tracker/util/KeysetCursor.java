@@ -0,0 +1,55 @@
+package com.ciaranmckenna.medical_event_tracker.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a listing ordered by a timestamp with the row ID as tie-breaker.
+ * Encoded as an opaque, URL-safe continuation token so clients cannot depend on its layout.
+ *
+ * @param time the timestamp of the last row returned
+ * @param id   the ID of the last row returned
+ */
+public record KeysetCursor(LocalDateTime time, UUID id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Encode this position as a continuation token.
+     *
+     * @return URL-safe token
+     */
+    public String encode() {
+        String raw = time + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a continuation token produced by {@link #encode()}.
+     *
+     * @param token the token, or null for the first page
+     * @return the decoded position, or null if no token was given
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid pagination cursor");
+            }
+            return new KeysetCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor");
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.ciaranmckenna.medical_event_tracker.util;
+
+import com.ciaranmckenna.medical_event_tracker.dto.NameMatchQuality;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Normalization and ranking for indexed name search.
+ * Searchable names are stored a second time in normalized form (lowercase, accents stripped, punctuation
+ * collapsed to single spaces) and split into trigrams in a side table. Prefix lookups range-scan the
+ * normalized column's index, and substring lookups intersect trigram primary key entries; neither needs
+ * {@code LOWER(col) LIKE '%term%'}. Candidates from both are then checked and ranked here.
+ */
+public final class NameSearch {
+
+    /**
+     * Length of the name fragments indexed for substring search; shorter terms are matched by prefix only.
+     */
+    public static final int TRIGRAM_LENGTH = 3;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private NameSearch() {
+    }
+
+    /**
+     * Normalizes a name or search term for comparison and indexing.
+     *
+     * @param value the raw value, may be null
+     * @return the lowercase value without accents, with each run of other characters replaced by one space
+     *         and trimmed, or null if the value was null
+     */
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String withoutMarks = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(withoutMarks.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Splits normalized values into every overlapping trigram they contain.
+     * Every substring of at least {@link #TRIGRAM_LENGTH} characters of a value has all its own trigrams
+     * in the result, which is what makes the trigram table usable as a substring index.
+     *
+     * @param normalizedValues normalized values; nulls are skipped
+     * @return the distinct trigrams
+     */
+    public static Set<String> trigrams(String... normalizedValues) {
+        Set<String> trigrams = new HashSet<>();
+        for (String value : normalizedValues) {
+            if (value == null) {
+                continue;
+            }
+            for (int i = 0; i + TRIGRAM_LENGTH <= value.length(); i++) {
+                trigrams.add(value.substring(i, i + TRIGRAM_LENGTH));
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * Exclusive upper bound for a prefix range scan: every string starting with the prefix sorts below it.
+     * Range predicates let the planner pick the normalized name index even before parameters are bound,
+     * which {@code LIKE :prefix%} does not on every database.
+     *
+     * @param normalizedPrefix the normalized prefix
+     * @return the prefix followed by the highest char value
+     */
+    public static String prefixEnd(String normalizedPrefix) {
+        return normalizedPrefix + Character.MAX_VALUE;
+    }
+
+    /**
+     * Checks if a normalized term is long enough to be looked up in the trigram index.
+     *
+     * @param normalizedTerm the normalized search term
+     * @return true if the term has at least one trigram
+     */
+    public static boolean supportsSubstringSearch(String normalizedTerm) {
+        return normalizedTerm.length() >= TRIGRAM_LENGTH;
+    }
+
+    /**
+     * Finds the best match quality of a term against several normalized names of the same item.
+     *
+     * @param normalizedTerm   the normalized search term
+     * @param normalizedValues the item's normalized names; nulls are skipped
+     * @return the best quality, or null if no value contains the term
+     */
+    public static NameMatchQuality matchQuality(String normalizedTerm, String... normalizedValues) {
+        NameMatchQuality best = null;
+        for (String value : normalizedValues) {
+            NameMatchQuality quality = matchQuality(normalizedTerm, value);
+            if (quality != null && (best == null || quality.compareTo(best) < 0)) {
+                best = quality;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Verifies and ranks candidate items: best match quality first, then by primary name, the same order
+     * the prefix lookups read the index in. Candidates that do not actually contain the term, such as
+     * trigram false positives, are dropped.
+     *
+     * @param candidates      the candidate items, possibly containing duplicates
+     * @param normalizedTerm  the normalized search term
+     * @param normalizedNames the item's normalized names, primary name first
+     * @param limit           maximum number of matches to return
+     * @param <T>             item type
+     * @return ranked matches
+     */
+    public static <T> List<Match<T>> rank(Collection<T> candidates, String normalizedTerm,
+                                          Function<T, String[]> normalizedNames, int limit) {
+        return candidates.stream()
+                .distinct()
+                .map(candidate -> {
+                    String[] names = normalizedNames.apply(candidate);
+                    NameMatchQuality quality = matchQuality(normalizedTerm, names);
+                    return quality == null ? null : new Match<>(candidate, quality, Objects.requireNonNullElse(names[0], ""));
+                })
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing((Match<T> match) -> match.quality()).thenComparing(Match::primaryName))
+                .limit(limit)
+                .toList();
+    }
+
+    private static NameMatchQuality matchQuality(String term, String value) {
+        if (value == null || term.isEmpty()) {
+            return null;
+        }
+        if (value.equals(term)) {
+            return NameMatchQuality.EXACT;
+        }
+        if (value.startsWith(term)) {
+            return NameMatchQuality.PREFIX;
+        }
+        if (value.contains(" " + term)) {
+            return NameMatchQuality.WORD_PREFIX;
+        }
+        if (value.contains(term)) {
+            return NameMatchQuality.SUBSTRING;
+        }
+        return null;
+    }
+
+    /**
+     * A candidate that contains the search term, with how well it matched.
+     *
+     * @param item        the matched item
+     * @param quality     the best match quality across the item's names
+     * @param primaryName the item's normalized primary name, used to break ties
+     * @param <T>         item type
+     */
+    public record Match<T>(T item, NameMatchQuality quality, String primaryName) {
+    }
+}
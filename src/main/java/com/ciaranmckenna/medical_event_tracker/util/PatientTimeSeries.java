@@ -0,0 +1,360 @@
+package com.ciaranmckenna.medical_event_tracker.util;
+
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventPoint;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationDosagePoint;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationPeriodPoint;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable, column-per-field snapshot of one patient's event and dosage history for analytics.
+ * Times are held as epoch seconds, category and severity as enum ordinals, and medications as
+ * indexes into a per-patient dictionary, so an event costs 14 bytes and a dosage 12 bytes.
+ * Both histories are ordered by time, so ranges are found by binary search.
+ * Prescription periods are merged per medication into disjoint, time-ordered exposure intervals.
+ */
+public final class PatientTimeSeries {
+
+    /**
+     * Medication index of events with no associated medication, and of unknown medication IDs.
+     */
+    public static final int NO_MEDICATION = -1;
+
+    /**
+     * Exposure end of a prescription that has not ended.
+     */
+    public static final long OPEN_ENDED = Long.MAX_VALUE;
+
+    private static final byte NO_ORDINAL = -1;
+    private static final MedicalEventCategory[] CATEGORIES = MedicalEventCategory.values();
+    private static final MedicalEventSeverity[] SEVERITIES = MedicalEventSeverity.values();
+
+    private final UUID[] medications;
+    private final Map<UUID, Integer> medicationIndexes;
+
+    private final long[] eventTimes;
+    private final byte[] eventCategories;
+    private final byte[] eventSeverities;
+    private final int[] eventMedications;
+
+    private final long[] dosageTimes;
+    private final int[] dosageMedications;
+
+    private final long[][] exposureStarts;
+    private final long[][] exposureEnds;
+
+    private PatientTimeSeries(Map<UUID, Integer> medicationIndexes, long[] eventTimes, byte[] eventCategories,
+                              byte[] eventSeverities, int[] eventMedications, long[] dosageTimes,
+                              int[] dosageMedications, long[][] exposureStarts, long[][] exposureEnds) {
+        this.medicationIndexes = medicationIndexes;
+        this.medications = new UUID[medicationIndexes.size()];
+        medicationIndexes.forEach((id, index) -> medications[index] = id);
+        this.eventTimes = eventTimes;
+        this.eventCategories = eventCategories;
+        this.eventSeverities = eventSeverities;
+        this.eventMedications = eventMedications;
+        this.dosageTimes = dosageTimes;
+        this.dosageMedications = dosageMedications;
+        this.exposureStarts = exposureStarts;
+        this.exposureEnds = exposureEnds;
+    }
+
+    /**
+     * Build a snapshot with no prescription periods from time-ordered projections.
+     *
+     * @param events  event projections ordered by event time ascending
+     * @param dosages dosage projections ordered by administration time ascending
+     * @return the snapshot
+     */
+    public static PatientTimeSeries of(List<MedicalEventPoint> events, List<MedicationDosagePoint> dosages) {
+        return of(events, dosages, List.of());
+    }
+
+    /**
+     * Build a snapshot from time-ordered projections.
+     * Medications are indexed in order of first dosage, then of first event, then of first prescription.
+     *
+     * @param events  event projections ordered by event time ascending
+     * @param dosages dosage projections ordered by administration time ascending
+     * @param periods prescription period projections ordered by start date ascending
+     * @return the snapshot
+     */
+    public static PatientTimeSeries of(List<MedicalEventPoint> events, List<MedicationDosagePoint> dosages,
+                                       List<MedicationPeriodPoint> periods) {
+        Map<UUID, Integer> medicationIndexes = new HashMap<>();
+
+        long[] dosageTimes = new long[dosages.size()];
+        int[] dosageMedications = new int[dosages.size()];
+        for (int i = 0; i < dosageTimes.length; i++) {
+            MedicationDosagePoint dosage = dosages.get(i);
+            dosageTimes[i] = toEpochSecond(dosage.administrationTime());
+            dosageMedications[i] = indexOf(medicationIndexes, dosage.medicationId());
+        }
+
+        long[] eventTimes = new long[events.size()];
+        byte[] eventCategories = new byte[events.size()];
+        byte[] eventSeverities = new byte[events.size()];
+        int[] eventMedications = new int[events.size()];
+        for (int i = 0; i < eventTimes.length; i++) {
+            MedicalEventPoint event = events.get(i);
+            eventTimes[i] = toEpochSecond(event.eventTime());
+            eventCategories[i] = event.category() != null ? (byte) event.category().ordinal() : NO_ORDINAL;
+            eventSeverities[i] = event.severity() != null ? (byte) event.severity().ordinal() : NO_ORDINAL;
+            eventMedications[i] = indexOf(medicationIndexes, event.medicationId());
+        }
+
+        int[] periodMedications = new int[periods.size()];
+        for (int i = 0; i < periodMedications.length; i++) {
+            periodMedications[i] = indexOf(medicationIndexes, periods.get(i).medicationId());
+        }
+
+        // Periods arrive ordered by start, so each medication's periods merge in one pass
+        int medicationCount = medicationIndexes.size();
+        long[][] exposureStarts = new long[medicationCount][];
+        long[][] exposureEnds = new long[medicationCount][];
+        int[] exposureCounts = new int[medicationCount];
+        for (int medication = 0; medication < medicationCount; medication++) {
+            exposureStarts[medication] = new long[0];
+            exposureEnds[medication] = new long[0];
+        }
+        for (int i = 0; i < periodMedications.length; i++) {
+            MedicationPeriodPoint period = periods.get(i);
+            int medication = periodMedications[i];
+            if (medication == NO_MEDICATION || period.startDate() == null) {
+                continue;
+            }
+            long start = toEpochSecond(period.startDate());
+            long end = period.endDate() != null ? toEpochSecond(period.endDate()) : OPEN_ENDED;
+            if (end <= start) {
+                continue;
+            }
+
+            int count = exposureCounts[medication];
+            long[] starts = exposureStarts[medication];
+            long[] ends = exposureEnds[medication];
+            if (count > 0 && start <= ends[count - 1]) {
+                ends[count - 1] = Math.max(ends[count - 1], end);
+                continue;
+            }
+            if (count == starts.length) {
+                exposureStarts[medication] = starts = Arrays.copyOf(starts, Math.max(2, count * 2));
+                exposureEnds[medication] = ends = Arrays.copyOf(ends, Math.max(2, count * 2));
+            }
+            starts[count] = start;
+            ends[count] = end;
+            exposureCounts[medication] = count + 1;
+        }
+        for (int medication = 0; medication < medicationCount; medication++) {
+            exposureStarts[medication] = Arrays.copyOf(exposureStarts[medication], exposureCounts[medication]);
+            exposureEnds[medication] = Arrays.copyOf(exposureEnds[medication], exposureCounts[medication]);
+        }
+
+        return new PatientTimeSeries(medicationIndexes, eventTimes, eventCategories, eventSeverities,
+                eventMedications, dosageTimes, dosageMedications, exposureStarts, exposureEnds);
+    }
+
+    /**
+     * Convert a timestamp to the epoch seconds this snapshot stores, reading it as UTC.
+     *
+     * @param time the timestamp
+     * @return epoch seconds, truncating any fraction of a second
+     */
+    public static long toEpochSecond(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    // Medications
+
+    public int medicationCount() {
+        return medications.length;
+    }
+
+    public UUID medicationId(int medication) {
+        return medications[medication];
+    }
+
+    /**
+     * Gets the dictionary index of a medication.
+     *
+     * @param medicationId the medication's UUID
+     * @return the index, or {@link #NO_MEDICATION} if the patient has no events or dosages for it
+     */
+    public int medicationIndex(UUID medicationId) {
+        return medicationIndexes.getOrDefault(medicationId, NO_MEDICATION);
+    }
+
+    // Events
+
+    public int eventCount() {
+        return eventTimes.length;
+    }
+
+    public long eventTime(int event) {
+        return eventTimes[event];
+    }
+
+    public MedicalEventCategory eventCategory(int event) {
+        byte ordinal = eventCategories[event];
+        return ordinal != NO_ORDINAL ? CATEGORIES[ordinal] : null;
+    }
+
+    public MedicalEventSeverity eventSeverity(int event) {
+        byte ordinal = eventSeverities[event];
+        return ordinal != NO_ORDINAL ? SEVERITIES[ordinal] : null;
+    }
+
+    public int eventMedication(int event) {
+        return eventMedications[event];
+    }
+
+    /**
+     * Gets the index of the first event at or after a time, or {@link #eventCount()} if there is none.
+     */
+    public int firstEventAtOrAfter(long epochSecond) {
+        return lowerBound(eventTimes, epochSecond);
+    }
+
+    /**
+     * Gets the index of the first event strictly after a time, or {@link #eventCount()} if there is none.
+     */
+    public int firstEventAfter(long epochSecond) {
+        return epochSecond == Long.MAX_VALUE ? eventTimes.length : lowerBound(eventTimes, epochSecond + 1);
+    }
+
+    // Dosages
+
+    public int dosageCount() {
+        return dosageTimes.length;
+    }
+
+    public long dosageTime(int dosage) {
+        return dosageTimes[dosage];
+    }
+
+    public int dosageMedication(int dosage) {
+        return dosageMedications[dosage];
+    }
+
+    /**
+     * Gets the index of the first dosage at or after a time, or {@link #dosageCount()} if there is none.
+     */
+    public int firstDosageAtOrAfter(long epochSecond) {
+        return lowerBound(dosageTimes, epochSecond);
+    }
+
+    /**
+     * Gets the index of the first dosage strictly after a time, or {@link #dosageCount()} if there is none.
+     */
+    public int firstDosageAfter(long epochSecond) {
+        return epochSecond == Long.MAX_VALUE ? dosageTimes.length : lowerBound(dosageTimes, epochSecond + 1);
+    }
+
+    /**
+     * Gets the dosages of one medication.
+     *
+     * @param medication the medication's dictionary index
+     * @return dosage indexes in time order
+     */
+    public int[] dosagesOf(int medication) {
+        int count = 0;
+        for (int dosageMedication : dosageMedications) {
+            if (dosageMedication == medication) {
+                count++;
+            }
+        }
+
+        int[] dosages = new int[count];
+        for (int dosage = 0, next = 0; next < count; dosage++) {
+            if (dosageMedications[dosage] == medication) {
+                dosages[next++] = dosage;
+            }
+        }
+        return dosages;
+    }
+
+    /**
+     * Partitions every dosage by medication in one pass.
+     *
+     * @return dosage indexes in time order, per medication dictionary index; empty for medications never dosed
+     */
+    public int[][] dosagesByMedication() {
+        int[] counts = new int[medications.length];
+        for (int medication : dosageMedications) {
+            counts[medication]++;
+        }
+
+        int[][] partitions = new int[medications.length][];
+        for (int medication = 0; medication < partitions.length; medication++) {
+            partitions[medication] = new int[counts[medication]];
+        }
+
+        int[] filled = new int[medications.length];
+        for (int dosage = 0; dosage < dosageMedications.length; dosage++) {
+            int medication = dosageMedications[dosage];
+            partitions[medication][filled[medication]++] = dosage;
+        }
+        return partitions;
+    }
+
+    // Exposure
+
+    /**
+     * Gets the number of disjoint intervals during which a medication was prescribed.
+     *
+     * @param medication the medication's dictionary index
+     * @return the interval count, zero if the medication was never prescribed
+     */
+    public int exposureCount(int medication) {
+        return exposureStarts[medication].length;
+    }
+
+    public long exposureStart(int medication, int exposure) {
+        return exposureStarts[medication][exposure];
+    }
+
+    /**
+     * Gets the exclusive end of an exposure interval, or {@link #OPEN_ENDED} if the prescription has not ended.
+     */
+    public long exposureEnd(int medication, int exposure) {
+        return exposureEnds[medication][exposure];
+    }
+
+    // Private helper methods
+
+    private static int indexOf(Map<UUID, Integer> medicationIndexes, UUID medicationId) {
+        if (medicationId == null) {
+            return NO_MEDICATION;
+        }
+        Integer index = medicationIndexes.get(medicationId);
+        if (index == null) {
+            index = medicationIndexes.size();
+            medicationIndexes.put(medicationId, index);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the index of the first element not less than the key, or the array length if there is none.
+     */
+    private static int lowerBound(long[] times, long key) {
+        int low = 0;
+        int high = times.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
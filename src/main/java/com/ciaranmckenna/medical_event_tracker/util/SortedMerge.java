@@ -0,0 +1,66 @@
+package com.ciaranmckenna.medical_event_tracker.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of sources that are each already sorted.
+ * Holds only the current head of each source, so merging n elements from k sources costs
+ * O(n log k) time and O(k) extra space, and the result can be consumed lazily.
+ */
+public final class SortedMerge {
+
+    private SortedMerge() {
+    }
+
+    /**
+     * Merge sorted sources into a single sorted iterator.
+     * Elements that compare equal are returned in source order, so the merge is stable.
+     *
+     * @param sources    iterators that each yield elements in comparator order
+     * @param comparator the order the sources are sorted by
+     * @param <T>        the element type
+     * @return lazy iterator over every element of every source in comparator order
+     */
+    public static <T> Iterator<T> merge(List<? extends Iterator<? extends T>> sources, Comparator<? super T> comparator) {
+        Comparator<Head<T>> headOrder = (left, right) -> {
+            int order = comparator.compare(left.value, right.value);
+            return order != 0 ? order : Integer.compare(left.sourceIndex, right.sourceIndex);
+        };
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(Math.max(1, sources.size()), headOrder);
+
+        List<Iterator<? extends T>> iterators = new ArrayList<>(sources);
+        for (int i = 0; i < iterators.size(); i++) {
+            if (iterators.get(i).hasNext()) {
+                heads.add(new Head<>(iterators.get(i).next(), i));
+            }
+        }
+
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !heads.isEmpty();
+            }
+
+            @Override
+            public T next() {
+                Head<T> head = heads.poll();
+                if (head == null) {
+                    throw new NoSuchElementException();
+                }
+                Iterator<? extends T> source = iterators.get(head.sourceIndex);
+                if (source.hasNext()) {
+                    heads.add(new Head<>(source.next(), head.sourceIndex));
+                }
+                return head.value;
+            }
+        };
+    }
+
+    private record Head<T>(T value, int sourceIndex) {
+    }
+}
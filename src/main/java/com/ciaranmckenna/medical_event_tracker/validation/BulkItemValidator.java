@@ -0,0 +1,46 @@
+package com.ciaranmckenna.medical_event_tracker.validation;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validates the items of a bulk request individually, with the same constraints as the single-item endpoints.
+ * Errors are keyed by field name like the validation error responses, and a null item is reported as an error.
+ */
+@Component
+public class BulkItemValidator {
+
+    private final Validator validator;
+
+    public BulkItemValidator(Validator validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * Validate each item of a bulk request.
+     *
+     * @param items the submitted items
+     * @return field errors for each item, in submission order, empty for valid items
+     */
+    public <T> List<Map<String, String>> validate(List<T> items) {
+        List<Map<String, String>> itemErrors = new ArrayList<>(items.size());
+        for (T item : items) {
+            if (item == null) {
+                itemErrors.add(Map.of("item", "Item cannot be null"));
+                continue;
+            }
+            Map<String, String> errors = new LinkedHashMap<>();
+            for (ConstraintViolation<T> violation : validator.validate(item)) {
+                errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+            }
+            itemErrors.add(errors);
+        }
+        return itemErrors;
+    }
+}
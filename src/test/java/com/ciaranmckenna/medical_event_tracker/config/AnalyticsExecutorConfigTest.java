@@ -0,0 +1,85 @@
+package com.ciaranmckenna.medical_event_tracker.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the virtual-thread analytics executor.
+ * Checks tasks run on virtual threads and that admission stays bounded.
+ */
+class AnalyticsExecutorConfigTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new AnalyticsExecutorConfig().virtualThreadAnalyticsExecutor(1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void virtualThreadAnalyticsExecutor_RunsTasksOnNamedVirtualThreads() throws Exception {
+        // When
+        Future<Thread> future = executor.submit(Thread::currentThread);
+
+        // Then
+        Thread thread = future.get(5, TimeUnit.SECONDS);
+        assertThat(thread.isVirtual()).isTrue();
+        assertThat(thread.getName()).startsWith("analytics-virtual-");
+    }
+
+    @Test
+    void virtualThreadAnalyticsExecutor_Saturated_RejectsUntilATaskFinishes() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> first = executor.submit(() -> awaitQuietly(release));
+        Future<?> second = executor.submit(() -> awaitQuietly(release));
+
+        // When/Then
+        assertThatThrownBy(() -> executor.submit(() -> { }))
+                .isInstanceOf(RejectedExecutionException.class)
+                .hasMessage("Analytics executor is saturated");
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(submitWhenAdmitted().get(5, TimeUnit.SECONDS)).isEqualTo("accepted");
+    }
+
+    private Future<String> submitWhenAdmitted() throws InterruptedException {
+        // A permit is released just after its task's future completes, so admission may lag briefly
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (true) {
+            try {
+                return executor.submit(() -> "accepted");
+            } catch (RejectedExecutionException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(10L);
+            }
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.ciaranmckenna.medical_event_tracker.config;
+
+import com.ciaranmckenna.medical_event_tracker.dto.TokenClaims;
+import com.ciaranmckenna.medical_event_tracker.entity.User;
+import com.ciaranmckenna.medical_event_tracker.event.UserAccountChangedEvent;
+import com.ciaranmckenna.medical_event_tracker.service.JwtService;
+import com.ciaranmckenna.medical_event_tracker.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for JwtAuthenticationFilter.
+ * Focuses on parsing each token once and serving repeat requests from the principal cache.
+ */
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
+    private AuthenticatedPrincipalCache principalCache;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new AuthenticatedPrincipalCache(100);
+        filter = new JwtAuthenticationFilter(jwtService, userService, principalCache, tokenRevocationList);
+
+        user = new User("medicaluser", "medicaluser@example.com", "encodedPassword", "John", "Doe");
+        user.setId(UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_RepeatedToken_ParsesAndLoadsUserOnce() throws Exception {
+        // Given
+        stubToken(Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // When
+        Authentication first = authenticate();
+        Authentication second = authenticate();
+
+        // Then
+        assertThat(first.getPrincipal()).isSameAs(user);
+        assertThat(second.getPrincipal()).isSameAs(user);
+        assertThat(second.getAuthorities()).extracting("authority").containsExactly("ROLE_PRIMARY_USER");
+        verify(jwtService, times(1)).parseToken(TOKEN);
+        verify(userService, times(1)).findByUsername("medicaluser");
+        verifyNoMoreInteractions(jwtService);
+    }
+
+    @Test
+    void doFilter_AfterAccountChange_ReloadsUser() throws Exception {
+        // Given
+        stubToken(Instant.now().plus(1, ChronoUnit.HOURS));
+        authenticate();
+
+        // When
+        principalCache.onUserAccountChanged(new UserAccountChangedEvent(user.getId()));
+        authenticate();
+
+        // Then
+        verify(jwtService, times(2)).parseToken(TOKEN);
+        verify(userService, times(2)).findByUsername("medicaluser");
+    }
+
+    @Test
+    void doFilter_DisabledUser_IsNotAuthenticatedOrCached() throws Exception {
+        // Given
+        user.setEnabled(false);
+        stubToken(Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // When
+        Authentication authentication = authenticate();
+
+        // Then
+        assertThat(authentication).isNull();
+        assertThat(principalCache.get(TOKEN)).isEmpty();
+    }
+
+    @Test
+    void doFilter_TokenExpiringNow_IsNotCached() throws Exception {
+        // Given
+        stubToken(Instant.now().minusSeconds(1));
+
+        // When
+        authenticate();
+
+        // Then
+        assertThat(principalCache.get(TOKEN)).isEmpty();
+    }
+
+    @Test
+    void doFilter_StatelessMode_BuildsPrincipalFromClaimsWithoutUserLookup() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(filter, "statelessAuth", true);
+        when(jwtService.parseToken(TOKEN)).thenReturn(claimsFor(user, Instant.now().plus(1, ChronoUnit.HOURS)));
+
+        // When
+        Authentication authentication = authenticate();
+
+        // Then
+        User principal = (User) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(user.getId());
+        assertThat(principal.getUsername()).isEqualTo("medicaluser");
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_PRIMARY_USER");
+        verify(tokenRevocationList).isRevoked(user.getId(), 0);
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void doFilter_StatelessMode_RevokedToken_IsNotAuthenticated() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(filter, "statelessAuth", true);
+        when(jwtService.parseToken(TOKEN)).thenReturn(claimsFor(user, Instant.now().plus(1, ChronoUnit.HOURS)));
+        when(tokenRevocationList.isRevoked(user.getId(), 0)).thenReturn(true);
+
+        // When
+        Authentication authentication = authenticate();
+
+        // Then
+        assertThat(authentication).isNull();
+        assertThat(principalCache.get(TOKEN)).isEmpty();
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void doFilter_StatelessMode_CachedPrincipalRevokedElsewhere_IsNotAuthenticated() throws Exception {
+        // Given - the first request caches the principal, then another node raises the token version
+        ReflectionTestUtils.setField(filter, "statelessAuth", true);
+        when(jwtService.parseToken(TOKEN)).thenReturn(claimsFor(user, Instant.now().plus(1, ChronoUnit.HOURS)));
+        when(tokenRevocationList.isRevoked(user.getId(), 0)).thenReturn(false, true);
+        authenticate();
+
+        // When
+        Authentication authentication = authenticate();
+
+        // Then
+        assertThat(authentication).isNull();
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void doFilter_StatelessMode_TokenWithoutUserClaims_LoadsUser() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(filter, "statelessAuth", true);
+        stubToken(Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // When
+        Authentication authentication = authenticate();
+
+        // Then
+        assertThat(authentication.getPrincipal()).isSameAs(user);
+        verify(userService).findByUsername("medicaluser");
+        verifyNoInteractions(tokenRevocationList);
+    }
+
+    private void stubToken(Instant expiresAt) {
+        // Subject and expiry only, as in a refresh token
+        when(jwtService.parseToken(TOKEN)).thenReturn(
+                new TokenClaims(null, user.getUsername(), null, null, null, null, 0, expiresAt));
+        when(userService.findByUsername(user.getUsername())).thenReturn(user);
+    }
+
+    private TokenClaims claimsFor(User tokenUser, Instant expiresAt) {
+        return new TokenClaims(tokenUser.getId(), tokenUser.getUsername(), tokenUser.getEmail(),
+                tokenUser.getFirstName(), tokenUser.getLastName(), tokenUser.getRole(),
+                tokenUser.getTokenVersion(), expiresAt);
+    }
+
+    private Authentication authenticate() throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,55 @@
+package com.ciaranmckenna.medical_event_tracker.config;
+
+import com.ciaranmckenna.medical_event_tracker.service.NameSearchIndexService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NameSearchIndexRebuildRunner.
+ */
+@ExtendWith(MockitoExtension.class)
+class NameSearchIndexRebuildRunnerTest {
+
+    @Mock
+    private NameSearchIndexService nameSearchIndexService;
+
+    @Test
+    void run_RowsMissingSearchKeys_BackfillsOnlyThose() throws Exception {
+        // Given
+        when(nameSearchIndexService.needsBackfill()).thenReturn(true);
+
+        // When
+        new NameSearchIndexRebuildRunner(nameSearchIndexService, false).run();
+
+        // Then
+        verify(nameSearchIndexService).backfillMissing();
+        verify(nameSearchIndexService, never()).rebuildAll();
+    }
+
+    @Test
+    void run_SearchKeysAlreadyPopulated_DoesNothing() throws Exception {
+        // Given
+        when(nameSearchIndexService.needsBackfill()).thenReturn(false);
+
+        // When
+        new NameSearchIndexRebuildRunner(nameSearchIndexService, false).run();
+
+        // Then
+        verify(nameSearchIndexService, never()).backfillMissing();
+        verify(nameSearchIndexService, never()).rebuildAll();
+    }
+
+    @Test
+    void run_RebuildRequested_RebuildsWithoutChecking() throws Exception {
+        // When
+        new NameSearchIndexRebuildRunner(nameSearchIndexService, true).run();
+
+        // Then
+        verify(nameSearchIndexService).rebuildAll();
+        verify(nameSearchIndexService, never()).needsBackfill();
+    }
+}
@@ -0,0 +1,53 @@
+package com.ciaranmckenna.medical_event_tracker.config;
+
+import com.ciaranmckenna.medical_event_tracker.service.PatientRollupService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RollupRebuildRunner.
+ */
+@ExtendWith(MockitoExtension.class)
+class RollupRebuildRunnerTest {
+
+    @Mock
+    private PatientRollupService patientRollupService;
+
+    @Test
+    void run_EmptyRollupsWithExistingData_Backfills() throws Exception {
+        // Given
+        when(patientRollupService.needsBackfill()).thenReturn(true);
+
+        // When
+        new RollupRebuildRunner(patientRollupService, false).run();
+
+        // Then
+        verify(patientRollupService).rebuildAll();
+    }
+
+    @Test
+    void run_RollupsAlreadyPopulated_DoesNothing() throws Exception {
+        // Given
+        when(patientRollupService.needsBackfill()).thenReturn(false);
+
+        // When
+        new RollupRebuildRunner(patientRollupService, false).run();
+
+        // Then
+        verify(patientRollupService, never()).rebuildAll();
+    }
+
+    @Test
+    void run_RebuildRequested_RebuildsWithoutChecking() throws Exception {
+        // When
+        new RollupRebuildRunner(patientRollupService, true).run();
+
+        // Then
+        verify(patientRollupService).rebuildAll();
+        verify(patientRollupService, never()).needsBackfill();
+    }
+}
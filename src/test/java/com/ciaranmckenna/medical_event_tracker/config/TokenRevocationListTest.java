@@ -0,0 +1,89 @@
+package com.ciaranmckenna.medical_event_tracker.config;
+
+import com.ciaranmckenna.medical_event_tracker.event.UserAccountChangedEvent;
+import com.ciaranmckenna.medical_event_tracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TokenRevocationList.
+ * Focuses on reading the persisted token version and how long a node trusts its cached copy.
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationListTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AuthenticatedPrincipalCache principalCache;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void isRevoked_ComparesAgainstPersistedVersionAndCachesIt() {
+        // Given
+        TokenRevocationList revocationList = revocationList(Duration.ofMinutes(1));
+        when(userRepository.findTokenVersionById(userId)).thenReturn(Optional.of(2));
+
+        // When/Then
+        assertThat(revocationList.isRevoked(userId, 1)).isTrue();
+        assertThat(revocationList.isRevoked(userId, 2)).isFalse();
+        verify(userRepository, times(1)).findTokenVersionById(userId);
+    }
+
+    @Test
+    void isRevoked_AfterRefreshInterval_SeesVersionRaisedByAnotherNode() {
+        // Given
+        TokenRevocationList revocationList = revocationList(Duration.ZERO);
+        when(userRepository.findTokenVersionById(userId)).thenReturn(Optional.of(0), Optional.of(1));
+
+        // When/Then
+        assertThat(revocationList.isRevoked(userId, 0)).isFalse();
+        assertThat(revocationList.isRevoked(userId, 0)).isTrue();
+    }
+
+    @Test
+    void isRevoked_DeletedUser_RevokesEveryToken() {
+        // Given
+        TokenRevocationList revocationList = revocationList(Duration.ofMinutes(1));
+        when(userRepository.findTokenVersionById(userId)).thenReturn(Optional.empty());
+
+        // When/Then
+        assertThat(revocationList.isRevoked(userId, 5)).isTrue();
+    }
+
+    @Test
+    void onUserAccountChanged_RereadsVersionAndEvictsPrincipals() {
+        // Given
+        TokenRevocationList revocationList = revocationList(Duration.ofMinutes(1));
+        when(userRepository.findTokenVersionById(userId)).thenReturn(Optional.of(0), Optional.of(1));
+        assertThat(revocationList.isRevoked(userId, 0)).isFalse();
+
+        // When
+        revocationList.onUserAccountChanged(new UserAccountChangedEvent(userId));
+
+        // Then
+        assertThat(revocationList.isRevoked(userId, 0)).isTrue();
+        verify(principalCache).evictUser(userId);
+    }
+
+    private TokenRevocationList revocationList(Duration refreshInterval) {
+        return new TokenRevocationList(userRepository, principalCache, refreshInterval, 100);
+    }
+}
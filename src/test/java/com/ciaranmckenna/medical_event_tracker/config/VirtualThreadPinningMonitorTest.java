@@ -0,0 +1,71 @@
+package com.ciaranmckenna.medical_event_tracker.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for VirtualThreadPinningMonitor.
+ * Pins a real virtual thread by sleeping inside a monitor and waits for the flight recorder to report it.
+ */
+class VirtualThreadPinningMonitorTest {
+
+    private static final long THRESHOLD_MILLIS = 10L;
+
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        monitor = new VirtualThreadPinningMonitor(THRESHOLD_MILLIS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    void start_PinnedVirtualThread_IsReported() throws InterruptedException {
+        // Given
+        monitor.start();
+        Object lock = new Object();
+
+        // When
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                sleepQuietly(100L);
+            }
+        }).join();
+
+        // Then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (monitor.pinnedCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50L);
+        }
+        assertThat(monitor.pinnedCount()).isPositive();
+    }
+
+    @Test
+    void stop_StopsListening() {
+        // Given
+        monitor.start();
+
+        // When
+        monitor.stop();
+
+        // Then
+        assertThat(monitor.isRunning()).isFalse();
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.ciaranmckenna.medical_event_tracker.controller;
 
+import com.ciaranmckenna.medical_event_tracker.dto.AnalyticsOverview;
 import com.ciaranmckenna.medical_event_tracker.dto.DashboardSummary;
 import com.ciaranmckenna.medical_event_tracker.dto.MedicationCorrelationAnalysis;
 import com.ciaranmckenna.medical_event_tracker.dto.MedicationImpactAnalysis;
+import com.ciaranmckenna.medical_event_tracker.dto.OverviewSection;
+import com.ciaranmckenna.medical_event_tracker.dto.OverviewSectionStatus;
 import com.ciaranmckenna.medical_event_tracker.dto.TimelineAnalysis;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.service.AnalyticsOverviewService;
 import com.ciaranmckenna.medical_event_tracker.service.AnalyticsService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,6 +26,7 @@ import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 /**
@@ -34,6 +39,9 @@ class AnalyticsControllerTest {
     @Mock
     private AnalyticsService analyticsService;
 
+    @Mock
+    private AnalyticsOverviewService analyticsOverviewService;
+
     @InjectMocks
     private AnalyticsController analyticsController;
 
@@ -148,12 +156,12 @@ class AnalyticsControllerTest {
                 testTime
         );
 
-        when(analyticsService.generateTimelineAnalysis(eq(testPatientId), any(), any()))
+        when(analyticsService.generateTimelineAnalysis(eq(testPatientId), any(), any(), isNull(), isNull()))
                 .thenReturn(timeline);
 
         // When
         ResponseEntity<TimelineAnalysis> response = analyticsController.getTimelineAnalysis(
-                testPatientId, startDate, endDate);
+                testPatientId, startDate, endDate, null, null);
 
         // Then
         assertNotNull(response);
@@ -226,13 +234,15 @@ class AnalyticsControllerTest {
         // Given
         DashboardSummary dashboard = new DashboardSummary(
                 testPatientId, 25L, 15L, Map.of(), Map.of(), 5L, testTime);
-        List<MedicationCorrelationAnalysis> correlations = List.of();
+        AnalyticsOverview overview = new AnalyticsOverview(dashboard, List.of(),
+                Map.of(OverviewSection.DASHBOARD, OverviewSectionStatus.COMPLETE,
+                        OverviewSection.CORRELATIONS, OverviewSectionStatus.COMPLETE),
+                testTime);
 
-        when(analyticsService.generateDashboardSummary(testPatientId)).thenReturn(dashboard);
-        when(analyticsService.generateAllMedicationCorrelations(testPatientId)).thenReturn(correlations);
+        when(analyticsOverviewService.generateAnalyticsOverview(testPatientId)).thenReturn(overview);
 
         // When
-        ResponseEntity<AnalyticsController.AnalyticsOverviewResponse> response = analyticsController.getAnalyticsOverview(testPatientId);
+        ResponseEntity<AnalyticsOverview> response = analyticsController.getAnalyticsOverview(testPatientId);
 
         // Then
         assertNotNull(response);
@@ -241,6 +251,7 @@ class AnalyticsControllerTest {
         assertEquals(testPatientId, response.getBody().dashboardSummary().patientId());
         assertEquals(25L, response.getBody().dashboardSummary().totalEvents());
         assertNotNull(response.getBody().medicationCorrelations());
+        assertTrue(response.getBody().isComplete());
         assertNotNull(response.getBody().generatedAt());
     }
-}
\ No newline at end of file
+}
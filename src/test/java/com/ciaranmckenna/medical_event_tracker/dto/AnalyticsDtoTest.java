@@ -242,4 +242,23 @@ class AnalyticsDtoTest {
         assertTrue(analysis.eventsByCategoryCount().isEmpty());
         assertTrue(analysis.eventsBySeverityCount().isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void medicationExposureStatistics_ConfidenceInterval_DecidesSignificance() {
+        // Given
+        MedicationExposureStatistics significant = new MedicationExposureStatistics(
+            60L, List.of(1L, 0L), 2L, 10.0, 20L, 10.0, 0.2, 2.0, 0.1, 0.023, 0.428);
+        MedicationExposureStatistics inconclusive = new MedicationExposureStatistics(
+            60L, List.of(1L, 0L), 2L, 10.0, 8L, 10.0, 0.2, 0.8, 0.25, 0.053, 1.177);
+        MedicationExposureStatistics noBaseline = new MedicationExposureStatistics(
+            60L, List.of(0L, 0L), 0L, 0.0, 3L, 10.0, null, 0.3, null, null, null);
+
+        // Then
+        assertTrue(significant.hasBaseline());
+        assertTrue(significant.isSignificant());
+        assertTrue(inconclusive.hasBaseline());
+        assertFalse(inconclusive.isSignificant());
+        assertFalse(noBaseline.hasBaseline());
+        assertFalse(noBaseline.isSignificant());
+    }
+}
@@ -0,0 +1,194 @@
+package com.ciaranmckenna.medical_event_tracker.integration;
+
+import com.ciaranmckenna.medical_event_tracker.config.CacheConfig;
+import com.ciaranmckenna.medical_event_tracker.config.PatientCacheGenerations;
+import com.ciaranmckenna.medical_event_tracker.dto.DashboardSummary;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.PatientDailyRollupRepository;
+import com.ciaranmckenna.medical_event_tracker.service.AnalyticsService;
+import com.ciaranmckenna.medical_event_tracker.service.MedicalEventService;
+import com.ciaranmckenna.medical_event_tracker.store.PatientTimeSeriesStore;
+import com.ciaranmckenna.medical_event_tracker.util.PatientTimeSeries;
+import com.github.benmanes.caffeine.cache.Policy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for the per-patient analytics cache.
+ * Not transactional: eviction runs after commit, so writes here commit and are removed in teardown.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AnalyticsCacheIntegrationTest {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private MedicalEventService medicalEventService;
+
+    @Autowired
+    private MedicalEventRepository medicalEventRepository;
+
+    @Autowired
+    private PatientDailyRollupRepository eventRollupRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PatientTimeSeriesStore timeSeriesStore;
+
+    @Autowired
+    private PatientCacheGenerations generations;
+
+    private UUID patientId;
+    private UUID otherPatientId;
+
+    @BeforeEach
+    void setUp() {
+        patientId = UUID.randomUUID();
+        otherPatientId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (UUID id : List.of(patientId, otherPatientId)) {
+            medicalEventRepository.deleteAll(medicalEventRepository.findByPatientId(id));
+            eventRollupRepository.deleteAll(eventRollupRepository.findByPatientId(id));
+        }
+    }
+
+    @Test
+    void generateDashboardSummary_RepeatedCall_IsServedFromCache() {
+        // Given
+        medicalEventService.createMedicalEvent(createEvent(patientId));
+        DashboardSummary first = analyticsService.generateDashboardSummary(patientId);
+
+        // When
+        DashboardSummary second = analyticsService.generateDashboardSummary(patientId);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(dashboardCache().get(dashboardKey())).isNotNull();
+    }
+
+    @Test
+    void createMedicalEvent_EvictsCachedAnalyticsForThatPatient() {
+        // Given
+        medicalEventService.createMedicalEvent(createEvent(patientId));
+        assertThat(analyticsService.generateDashboardSummary(patientId).totalEvents()).isEqualTo(1L);
+
+        // When
+        medicalEventService.createMedicalEvent(createEvent(patientId));
+
+        // Then
+        assertThat(dashboardCache().get(dashboardKey())).isNull();
+        assertThat(analyticsService.generateDashboardSummary(patientId).totalEvents()).isEqualTo(2L);
+    }
+
+    @Test
+    void createMedicalEvent_ReadThatLoadedBeforeCommit_IsNotServedAfterwards() {
+        // Given - a read takes its key and loads the one-event summary before the next write commits
+        medicalEventService.createMedicalEvent(createEvent(patientId));
+        CacheConfig.PatientCacheKey inFlightKey = dashboardKey();
+        DashboardSummary staleSummary = analyticsService.generateDashboardSummary(patientId);
+        dashboardCache().evict(inFlightKey);
+
+        // When - the write commits, then the slow read stores its pre-commit result
+        medicalEventService.createMedicalEvent(createEvent(patientId));
+        dashboardCache().put(inFlightKey, staleSummary);
+
+        // Then
+        assertThat(dashboardKey()).isNotEqualTo(inFlightKey);
+        assertThat(analyticsService.generateDashboardSummary(patientId).totalEvents()).isEqualTo(2L);
+    }
+
+    @Test
+    void timelineCache_IsBoundedByDataPointWeight() {
+        // Given
+        Cache timelineCache = cacheManager.getCache(CacheConfig.TIMELINE_CACHE);
+
+        // When
+        Policy.Eviction<?, ?> eviction = ((com.github.benmanes.caffeine.cache.Cache<?, ?>) timelineCache.getNativeCache())
+                .policy().eviction().orElseThrow();
+
+        // Then
+        assertThat(eviction.isWeighted()).isTrue();
+        assertThat(eviction.getMaximum()).isEqualTo(200_000L);
+    }
+
+    @Test
+    void deleteMedicalEvent_KeepsOtherPatientsCachedAnalytics() {
+        // Given
+        MedicalEvent event = medicalEventService.createMedicalEvent(createEvent(patientId));
+        medicalEventService.createMedicalEvent(createEvent(otherPatientId));
+        analyticsService.generateDashboardSummary(patientId);
+        DashboardSummary otherSummary = analyticsService.generateDashboardSummary(otherPatientId);
+
+        // When
+        medicalEventService.deleteMedicalEvent(event.getId());
+
+        // Then
+        assertThat(analyticsService.generateDashboardSummary(patientId).totalEvents()).isZero();
+        assertThat(analyticsService.generateDashboardSummary(otherPatientId)).isSameAs(otherSummary);
+    }
+
+    @Test
+    void createMedicalEvent_ReloadsPatientTimeSeriesSnapshot() {
+        // Given
+        medicalEventService.createMedicalEvent(createEvent(patientId));
+        PatientTimeSeries before = timeSeriesStore.get(patientId);
+        PatientTimeSeries otherBefore = timeSeriesStore.get(otherPatientId);
+        assertThat(timeSeriesStore.get(patientId)).isSameAs(before);
+
+        // When
+        medicalEventService.createMedicalEvent(createEvent(patientId));
+
+        // Then
+        PatientTimeSeries after = timeSeriesStore.get(patientId);
+        assertThat(after).isNotSameAs(before);
+        assertThat(before.eventCount()).isEqualTo(1);
+        assertThat(after.eventCount()).isEqualTo(2);
+        assertThat(after.eventCategory(1)).isEqualTo(MedicalEventCategory.SYMPTOM);
+        assertThat(timeSeriesStore.get(otherPatientId)).isSameAs(otherBefore);
+    }
+
+    private CacheConfig.PatientCacheKey dashboardKey() {
+        return new CacheConfig.PatientCacheKey(patientId, generations.current(patientId), List.of());
+    }
+
+    private Cache dashboardCache() {
+        return cacheManager.getCache(CacheConfig.DASHBOARD_CACHE);
+    }
+
+    private MedicalEvent createEvent(UUID eventPatientId) {
+        MedicalEvent event = new MedicalEvent();
+        event.setPatientId(eventPatientId);
+        event.setEventTime(LocalDateTime.now().minusHours(2));
+        event.setTitle("Cached event");
+        event.setDescription("Event used to exercise analytics caching");
+        event.setSeverity(MedicalEventSeverity.MILD);
+        event.setCategory(MedicalEventCategory.SYMPTOM);
+        event.setWeightKg(new BigDecimal("70.50"));
+        event.setHeightCm(new BigDecimal("175.00"));
+        event.setDosageGiven(new BigDecimal("5.00"));
+        return event;
+    }
+}
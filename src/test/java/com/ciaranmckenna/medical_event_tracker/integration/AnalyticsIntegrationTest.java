@@ -4,6 +4,7 @@ import com.ciaranmckenna.medical_event_tracker.entity.*;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
 import com.ciaranmckenna.medical_event_tracker.repository.UserRepository;
+import com.ciaranmckenna.medical_event_tracker.service.PatientRollupService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,6 +51,9 @@ class AnalyticsIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PatientRollupService patientRollupService;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -85,6 +89,9 @@ class AnalyticsIntegrationTest {
         
         // Create medical events
         createTestMedicalEvents();
+
+        // Test data is written straight through the repositories, so backfill the rollups
+        patientRollupService.rebuildPatient(patientId);
     }
 
     @Test
@@ -113,6 +120,8 @@ class AnalyticsIntegrationTest {
                 .andExpect(jsonPath("$.correlationStrength").exists())
                 .andExpect(jsonPath("$.eventsByCategoryCount").exists())
                 .andExpect(jsonPath("$.eventsBySeverityCount").exists())
+                .andExpect(jsonPath("$.exposure.lagBinMinutes").value(60))
+                .andExpect(jsonPath("$.exposure.lagHistogram.length()").value(24))
                 .andExpect(jsonPath("$.analysisGeneratedAt").exists());
     }
 
@@ -142,6 +151,45 @@ class AnalyticsIntegrationTest {
                 .andExpect(jsonPath("$.generatedAt").exists());
     }
 
+    @Test
+    void getTimelineAnalysis_WithDailyResolution_ReturnsBuckets() throws Exception {
+        LocalDateTime startDate = LocalDateTime.now().minusDays(7);
+        LocalDateTime endDate = LocalDateTime.now();
+
+        mockMvc.perform(get("/api/analytics/timeline/{patientId}", patientId)
+                        .param("startDate", startDate.toString())
+                        .param("endDate", endDate.toString())
+                        .param("resolution", "DAY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resolution").value("DAY"))
+                .andExpect(jsonPath("$.dataPoints").isEmpty())
+                .andExpect(jsonPath("$.buckets").isNotEmpty())
+                .andExpect(jsonPath("$.buckets[0].count").exists())
+                .andExpect(jsonPath("$.totalDosages").value(3));
+    }
+
+    @Test
+    void getTimelineAnalysis_WithIncludedSections_ReturnsStatisticsAndPatterns() throws Exception {
+        LocalDateTime startDate = LocalDateTime.now().minusDays(7);
+        LocalDateTime endDate = LocalDateTime.now();
+
+        mockMvc.perform(get("/api/analytics/timeline/{patientId}", patientId)
+                        .param("startDate", startDate.toString())
+                        .param("endDate", endDate.toString())
+                        .param("include", "STATISTICS,PATTERNS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statistics.medicationDosages").value(3))
+                .andExpect(jsonPath("$.statistics.totalDataPoints").exists())
+                .andExpect(jsonPath("$.patterns").isArray());
+
+        mockMvc.perform(get("/api/analytics/timeline/{patientId}", patientId)
+                        .param("startDate", startDate.toString())
+                        .param("endDate", endDate.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.statistics").isEmpty())
+                .andExpect(jsonPath("$.patterns").isEmpty());
+    }
+
     @Test
     void getMedicationImpactAnalysis_Success() throws Exception {
         LocalDateTime startDate = LocalDateTime.now().minusDays(30);
@@ -159,6 +207,7 @@ class AnalyticsIntegrationTest {
                 .andExpect(jsonPath("$.analysisPeriodEnd").exists())
                 .andExpect(jsonPath("$.totalDosages").exists())
                 .andExpect(jsonPath("$.effectivenessScore").exists())
+                .andExpect(jsonPath("$.exposure.eventsOffMedication").exists())
                 .andExpect(jsonPath("$.analysisGeneratedAt").exists());
     }
 
@@ -179,6 +228,8 @@ class AnalyticsIntegrationTest {
                 .andExpect(content().contentType("application/json"))
                 .andExpect(jsonPath("$.dashboardSummary").exists())
                 .andExpect(jsonPath("$.medicationCorrelations").isArray())
+                .andExpect(jsonPath("$.sectionStatus.DASHBOARD").value("COMPLETE"))
+                .andExpect(jsonPath("$.sectionStatus.CORRELATIONS").value("COMPLETE"))
                 .andExpect(jsonPath("$.generatedAt").exists())
                 .andExpect(jsonPath("$.dashboardSummary.patientId").value(patientId.toString()));
     }
@@ -0,0 +1,128 @@
+package com.ciaranmckenna.medical_event_tracker.integration;
+
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineAnalysis;
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineResolution;
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineSection;
+import com.ciaranmckenna.medical_event_tracker.entity.*;
+import com.ciaranmckenna.medical_event_tracker.service.CorrelationService;
+import com.ciaranmckenna.medical_event_tracker.service.DashboardService;
+import com.ciaranmckenna.medical_event_tracker.service.MedicalEventService;
+import com.ciaranmckenna.medical_event_tracker.service.MedicationDosageService;
+import com.ciaranmckenna.medical_event_tracker.service.TimelineService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test checking the analytics reads never materialise entities.
+ * Runs every dashboard, correlation and timeline entry point in one transaction and
+ * asserts Hibernate neither loaded nor fetched an entity, and the persistence context stayed empty.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+@ActiveProfiles("test")
+class AnalyticsPersistenceContextIntegrationTest {
+
+    @Autowired
+    private MedicalEventService medicalEventService;
+
+    @Autowired
+    private MedicationDosageService medicationDosageService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private CorrelationService correlationService;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID patientId;
+    private UUID medicationId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        patientId = UUID.randomUUID();
+        medicationId = UUID.randomUUID();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void analyticsReads_LeavePersistenceContextEmpty() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime morning = LocalDate.now().atTime(8, 0);
+        for (int day = 1; day <= 3; day++) {
+            medicationDosageService.createMedicationDosage(createDosage(morning.minusDays(day)));
+            medicalEventService.createMedicalEvent(createEvent(morning.minusDays(day).plusHours(2)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // When
+        dashboardService.generateDashboardSummary(patientId);
+        dashboardService.generateWeeklySummaries(patientId);
+        dashboardService.getEventsByCategory(patientId);
+        correlationService.generateAllMedicationCorrelations(patientId);
+        correlationService.generateMedicationImpactAnalysis(patientId, medicationId, now.minusDays(7), now);
+        TimelineAnalysis raw = timelineService.generateTimelineAnalysis(patientId, now.minusDays(7), now);
+        TimelineAnalysis daily = timelineService.generateTimelineAnalysis(patientId, now.minusDays(7), now,
+                TimelineResolution.DAY, EnumSet.allOf(TimelineSection.class));
+        timelineService.generateMedicationTimeline(patientId, medicationId, now.minusDays(7), now);
+
+        // Then
+        assertThat(raw.dataPoints()).hasSize(6);
+        assertThat(daily.buckets()).hasSize(6);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityFetchCount()).isZero();
+        assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    private MedicalEvent createEvent(LocalDateTime eventTime) {
+        MedicalEvent event = new MedicalEvent();
+        event.setPatientId(patientId);
+        event.setMedicationId(medicationId);
+        event.setEventTime(eventTime);
+        event.setTitle("Projection event");
+        event.setDescription("Event used to check analytics reads stay entity-free");
+        event.setSeverity(MedicalEventSeverity.MODERATE);
+        event.setCategory(MedicalEventCategory.SYMPTOM);
+        event.setWeightKg(new BigDecimal("70.0"));
+        event.setHeightCm(new BigDecimal("175.0"));
+        event.setDosageGiven(new BigDecimal("250.0"));
+        return event;
+    }
+
+    private MedicationDosage createDosage(LocalDateTime administrationTime) {
+        MedicationDosage dosage = new MedicationDosage();
+        dosage.setPatientId(patientId);
+        dosage.setMedicationId(medicationId);
+        dosage.setAdministrationTime(administrationTime);
+        dosage.setDosageAmount(new BigDecimal("250.0"));
+        dosage.setDosageUnit("mg");
+        dosage.setSchedule(DosageSchedule.AM);
+        dosage.setAdministered(true);
+        return dosage;
+    }
+}
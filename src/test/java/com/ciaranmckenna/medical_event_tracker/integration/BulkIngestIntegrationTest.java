@@ -0,0 +1,234 @@
+package com.ciaranmckenna.medical_event_tracker.integration;
+
+import com.ciaranmckenna.medical_event_tracker.dto.BulkCreateMedicalEventRequest;
+import com.ciaranmckenna.medical_event_tracker.dto.BulkCreateMedicationDosageRequest;
+import com.ciaranmckenna.medical_event_tracker.dto.CreateMedicalEventRequest;
+import com.ciaranmckenna.medical_event_tracker.dto.CreateMedicationDosageRequest;
+import com.ciaranmckenna.medical_event_tracker.entity.DosageSchedule;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
+import com.ciaranmckenna.medical_event_tracker.service.DashboardService;
+import com.ciaranmckenna.medical_event_tracker.service.MedicalEventService;
+import com.ciaranmckenna.medical_event_tracker.service.PatientRollupService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration test for the bulk create endpoints.
+ * Checks per-item results, that rollups stay consistent, and that inserts go out in JDBC batches.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@WithMockUser(roles = "PRIMARY_USER")
+class BulkIngestIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MedicalEventService medicalEventService;
+
+    @Autowired
+    private PatientRollupService patientRollupService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private MedicalEventRepository medicalEventRepository;
+
+    @Autowired
+    private MedicationDosageRepository medicationDosageRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID patientId;
+    private UUID medicationId;
+
+    @BeforeEach
+    void setUp() {
+        patientId = UUID.randomUUID();
+        medicationId = UUID.randomUUID();
+    }
+
+    @Test
+    void createMedicalEvents_InsertsInBatchesAndKeepsRollupsConsistent() {
+        // Given - 500 events over 5 days and 2 severities, so 10 rollup rows
+        List<MedicalEvent> events = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            events.add(createEvent(LocalDateTime.now().minusDays(1 + i % 5),
+                    i % 2 == 0 ? MedicalEventSeverity.MILD : MedicalEventSeverity.SEVERE));
+        }
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        List<MedicalEvent> created = medicalEventService.createMedicalEvents(events);
+        entityManager.flush();
+
+        // Then - one insert statement reused for every batch of 50 events, plus one upsert per rollup row
+        assertThat(created).hasSize(500).allSatisfy(event -> assertThat(event.getId()).isNotNull());
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(500L);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(11L);
+        assertThat(patientRollupService.checkConsistency(patientId).isConsistent()).isTrue();
+        assertThat(dashboardService.generateDashboardSummary(patientId).totalEvents()).isEqualTo(500L);
+    }
+
+    @Test
+    void bulkCreateMedicalEvents_SavesValidItemsAndReportsInvalidOnes() throws Exception {
+        // Given
+        BulkCreateMedicalEventRequest request = new BulkCreateMedicalEventRequest(List.of(
+                createEventRequest("Morning seizure", LocalDateTime.now().minusHours(3)),
+                createEventRequest("", LocalDateTime.now().minusHours(2)),
+                createEventRequest("Afternoon headache", LocalDateTime.now().plusDays(1)),
+                createEventRequest("Evening fever", LocalDateTime.now().minusHours(1))));
+
+        // When/Then
+        mockMvc.perform(post("/api/medical-events/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.received").value(4))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].id").exists())
+                .andExpect(jsonPath("$.results[1].index").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].fieldErrors.title").value("Title is required"))
+                .andExpect(jsonPath("$.results[2].fieldErrors.eventTime").value("Event time cannot be in the future"))
+                .andExpect(jsonPath("$.results[3].status").value("CREATED"));
+
+        assertThat(medicalEventRepository.findByPatientIdOrderByEventTimeDesc(patientId))
+                .extracting(MedicalEvent::getTitle)
+                .containsExactly("Evening fever", "Morning seizure");
+        assertThat(patientRollupService.checkConsistency(patientId).isConsistent()).isTrue();
+    }
+
+    @Test
+    void bulkCreateMedicationDosages_SavesValidItemsAndReportsInvalidOnes() throws Exception {
+        // Given
+        BulkCreateMedicationDosageRequest request = new BulkCreateMedicationDosageRequest(List.of(
+                createDosageRequest(new BigDecimal("100.0")),
+                createDosageRequest(BigDecimal.ZERO),
+                createDosageRequest(new BigDecimal("150.0"))));
+
+        // When/Then
+        mockMvc.perform(post("/api/medication-dosages/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[1].fieldErrors.dosageAmount")
+                        .value("Dosage amount must be greater than 0"));
+
+        assertThat(medicationDosageRepository.findByPatientIdOrderByAdministrationTimeDesc(patientId)).hasSize(2);
+        assertThat(dashboardService.generateDashboardSummary(patientId).totalDosages()).isEqualTo(2L);
+    }
+
+    @Test
+    void bulkCreateMedicalEvents_NoValidItems_ReturnsBadRequestWithItemResults() throws Exception {
+        // Given
+        BulkCreateMedicalEventRequest request = new BulkCreateMedicalEventRequest(List.of(
+                createEventRequest("", LocalDateTime.now().minusHours(1))));
+
+        // When/Then
+        mockMvc.perform(post("/api/medical-events/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.created").value(0))
+                .andExpect(jsonPath("$.results[0].status").value("REJECTED"));
+
+        assertThat(medicalEventRepository.findByPatientIdOrderByEventTimeDesc(patientId)).isEmpty();
+    }
+
+    @Test
+    void bulkCreateMedicalEvents_EmptyRequest_ReturnsValidationError() throws Exception {
+        // When/Then
+        mockMvc.perform(post("/api/medical-events/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BulkCreateMedicalEventRequest(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.fieldErrors.events").value("At least one medical event is required"));
+    }
+
+    @Test
+    @WithMockUser(roles = "SECONDARY_USER")
+    void bulkCreateMedicalEvents_SecondaryUser_IsForbidden() throws Exception {
+        // Given
+        BulkCreateMedicalEventRequest request = new BulkCreateMedicalEventRequest(List.of(
+                createEventRequest("Morning seizure", LocalDateTime.now().minusHours(1))));
+
+        // When/Then
+        mockMvc.perform(post("/api/medical-events/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+    }
+
+    private MedicalEvent createEvent(LocalDateTime eventTime, MedicalEventSeverity severity) {
+        MedicalEvent event = new MedicalEvent();
+        event.setPatientId(patientId);
+        event.setEventTime(eventTime);
+        event.setTitle("Synced event");
+        event.setDescription("Event recorded offline by a monitoring device");
+        event.setSeverity(severity);
+        event.setCategory(MedicalEventCategory.SYMPTOM);
+        event.setWeightKg(new BigDecimal("70.50"));
+        event.setHeightCm(new BigDecimal("175.00"));
+        event.setDosageGiven(new BigDecimal("5.00"));
+        return event;
+    }
+
+    private CreateMedicalEventRequest createEventRequest(String title, LocalDateTime eventTime) {
+        return new CreateMedicalEventRequest(patientId, null, eventTime, title, "Recorded offline",
+                MedicalEventSeverity.MODERATE, MedicalEventCategory.SYMPTOM,
+                new BigDecimal("70.50"), new BigDecimal("175.00"), new BigDecimal("0.00"));
+    }
+
+    private CreateMedicationDosageRequest createDosageRequest(BigDecimal amount) {
+        return new CreateMedicationDosageRequest(patientId, medicationId, LocalDateTime.now().minusHours(2),
+                amount, "mg", DosageSchedule.AM, true, null);
+    }
+}
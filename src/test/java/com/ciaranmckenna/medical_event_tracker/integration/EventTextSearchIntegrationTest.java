@@ -0,0 +1,222 @@
+package com.ciaranmckenna.medical_event_tracker.integration;
+
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventResponse;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventSearchRequest;
+import com.ciaranmckenna.medical_event_tracker.dto.PagedMedicalEventResponse;
+import com.ciaranmckenna.medical_event_tracker.entity.DosageSchedule;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.PatientDailyDosageRollupRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.PatientDailyRollupRepository;
+import com.ciaranmckenna.medical_event_tracker.service.MedicalEventService;
+import com.ciaranmckenna.medical_event_tracker.service.MedicationDosageService;
+import com.ciaranmckenna.medical_event_tracker.store.EventTextIndexStore;
+import com.ciaranmckenna.medical_event_tracker.util.EventTextIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for full-text event search through the per-patient index.
+ * Not transactional: event writes reach the index after commit, so writes here commit and are removed in teardown.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventTextSearchIntegrationTest {
+
+    @Autowired
+    private MedicalEventService medicalEventService;
+
+    @Autowired
+    private MedicalEventRepository medicalEventRepository;
+
+    @Autowired
+    private PatientDailyRollupRepository eventRollupRepository;
+
+    @Autowired
+    private MedicationDosageService medicationDosageService;
+
+    @Autowired
+    private MedicationDosageRepository medicationDosageRepository;
+
+    @Autowired
+    private PatientDailyDosageRollupRepository dosageRollupRepository;
+
+    @Autowired
+    private EventTextIndexStore eventTextIndexStore;
+
+    private UUID patientId;
+
+    @BeforeEach
+    void setUp() {
+        patientId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        medicalEventRepository.deleteAll(medicalEventRepository.findByPatientId(patientId));
+        eventRollupRepository.deleteAll(eventRollupRepository.findByPatientId(patientId));
+        medicationDosageRepository.deleteAll(
+                medicationDosageRepository.findByPatientIdOrderByAdministrationTimeDesc(patientId));
+        dosageRollupRepository.deleteAll(dosageRollupRepository.findByPatientId(patientId));
+    }
+
+    @Test
+    void searchMedicalEventsByPatientId_RanksMultiTermAndPhraseMatches() {
+        // Given
+        medicalEventService.createMedicalEvent(createEvent("Night episode",
+                "Possible seizure during sleep with left arm jerking", MedicalEventCategory.SYMPTOM));
+        medicalEventService.createMedicalEvent(createEvent("Seizure",
+                "Tonic-clonic, arm stiffened, lasted two minutes", MedicalEventCategory.EMERGENCY));
+        medicalEventService.createMedicalEvent(createEvent("Injection",
+                "Left arm sore afterwards", MedicalEventCategory.MEDICATION));
+
+        // When
+        List<MedicalEvent> seizureAndArm = medicalEventService.searchMedicalEventsByPatientId(patientId, "seizure arm", 50);
+        List<MedicalEvent> leftArm = medicalEventService.searchMedicalEventsByPatientId(patientId, "\"left arm\"", 50);
+
+        // Then
+        assertThat(seizureAndArm).extracting(MedicalEvent::getTitle).containsExactly("Seizure", "Night episode");
+        assertThat(leftArm).extracting(MedicalEvent::getTitle)
+                .containsExactlyInAnyOrder("Night episode", "Injection");
+    }
+
+    @Test
+    void eventWrites_ApplyToTheCachedIndexAfterCommit() {
+        // Given
+        MedicalEvent event = medicalEventService.createMedicalEvent(
+                createEvent("Rash", "Red patches on both arms", MedicalEventCategory.SYMPTOM));
+        EventTextIndex before = eventTextIndexStore.get(patientId);
+        assertThat(medicalEventService.searchMedicalEventsByPatientId(patientId, "patches", 50)).hasSize(1);
+
+        // When
+        event.setDescription("Hives on both arms");
+        medicalEventService.updateMedicalEvent(event);
+
+        // Then
+        assertThat(eventTextIndexStore.get(patientId)).isNotSameAs(before);
+        assertThat(medicalEventService.searchMedicalEventsByPatientId(patientId, "patches", 50)).isEmpty();
+        assertThat(medicalEventService.searchMedicalEventsByPatientId(patientId, "hives", 50)).hasSize(1);
+
+        // When
+        medicalEventService.createMedicalEvent(createEvent("Hives", "Spreading to the neck", MedicalEventCategory.SYMPTOM));
+        medicalEventService.deleteMedicalEvent(event.getId());
+
+        // Then
+        assertThat(medicalEventService.searchMedicalEventsByPatientId(patientId, "hives", 50))
+                .extracting(MedicalEvent::getTitle).containsExactly("Hives");
+        assertThat(eventTextIndexStore.get(patientId).size()).isEqualTo(1);
+    }
+
+    @Test
+    void dosageWrites_KeepTheCachedIndex() {
+        // Given
+        medicalEventService.createMedicalEvent(createEvent("Rash", "Red patches on both arms", MedicalEventCategory.SYMPTOM));
+        EventTextIndex before = eventTextIndexStore.get(patientId);
+
+        // When
+        medicationDosageService.createMedicationDosage(new MedicationDosage(patientId, UUID.randomUUID(),
+                LocalDateTime.now().minusHours(1), new BigDecimal("100.0"), "mg", DosageSchedule.AM, true, null));
+
+        // Then
+        assertThat(eventTextIndexStore.get(patientId)).isSameAs(before);
+    }
+
+    @Test
+    void searchMedicalEvents_CombinesIndexedTextWithFilters() {
+        // Given
+        medicalEventService.createMedicalEvent(createEvent("Headache",
+                "Frontal headache after school", MedicalEventCategory.SYMPTOM));
+        medicalEventService.createMedicalEvent(createEvent("Paracetamol given",
+                "Given for headache", MedicalEventCategory.MEDICATION));
+        MedicalEventSearchRequest request = new MedicalEventSearchRequest(patientId, "headache",
+                List.of(MedicalEventCategory.MEDICATION), null, null, null, null, 0, 10, "eventTime", "DESC");
+
+        // When
+        PagedMedicalEventResponse page = medicalEventService.searchMedicalEvents(request);
+        PagedMedicalEventResponse cursorPage = medicalEventService.searchMedicalEventsByCursor(request);
+
+        // Then
+        assertThat(page.content()).extracting(MedicalEventResponse::title).containsExactly("Paracetamol given");
+        assertThat(page.totalElements()).isEqualTo(1L);
+        assertThat(cursorPage.content()).extracting(MedicalEventResponse::title).containsExactly("Paracetamol given");
+    }
+
+    @Test
+    void searchMedicalEventsByCursor_PagesTextMatchesInEventTimeOrder() {
+        // Given
+        for (int hoursAgo = 1; hoursAgo <= 5; hoursAgo++) {
+            medicalEventService.createMedicalEvent(createEvent("Headache " + hoursAgo,
+                    "Headache logged at school", MedicalEventCategory.SYMPTOM, LocalDateTime.now().minusHours(hoursAgo)));
+        }
+        MedicalEventSearchRequest first = new MedicalEventSearchRequest(patientId, "headache",
+                null, null, null, null, null, 0, 2, "eventTime", "DESC", null, true);
+
+        // When
+        PagedMedicalEventResponse page1 = medicalEventService.searchMedicalEventsByCursor(first);
+        PagedMedicalEventResponse page2 = medicalEventService.searchMedicalEventsByCursor(new MedicalEventSearchRequest(
+                patientId, "headache", null, null, null, null, null, 0, 2, "eventTime", "DESC", page1.nextCursor(), false));
+        PagedMedicalEventResponse page3 = medicalEventService.searchMedicalEventsByCursor(new MedicalEventSearchRequest(
+                patientId, "headache", null, null, null, null, null, 0, 2, "eventTime", "DESC", page2.nextCursor(), false));
+
+        // Then
+        assertThat(page1.content()).extracting(MedicalEventResponse::title).containsExactly("Headache 1", "Headache 2");
+        assertThat(page1.totalElements()).isEqualTo(5L);
+        assertThat(page2.content()).extracting(MedicalEventResponse::title).containsExactly("Headache 3", "Headache 4");
+        assertThat(page3.content()).extracting(MedicalEventResponse::title).containsExactly("Headache 5");
+        assertThat(page3.nextCursor()).isNull();
+    }
+
+    @Test
+    void searchMedicalEvents_SortedByOtherField_PagesEveryMatchInThatOrder() {
+        // Given
+        medicalEventService.createMedicalEvent(createEvent("Cough", "Headache and cough", MedicalEventCategory.SYMPTOM));
+        medicalEventService.createMedicalEvent(createEvent("ache", "Headache at night", MedicalEventCategory.SYMPTOM));
+        medicalEventService.createMedicalEvent(createEvent("Blurred vision", "Headache then blurred vision",
+                MedicalEventCategory.SYMPTOM));
+
+        // When
+        PagedMedicalEventResponse first = medicalEventService.searchMedicalEvents(new MedicalEventSearchRequest(
+                patientId, "headache", null, null, null, null, null, 0, 2, "title", "ASC"));
+        PagedMedicalEventResponse second = medicalEventService.searchMedicalEvents(new MedicalEventSearchRequest(
+                patientId, "headache", null, null, null, null, null, 1, 2, "title", "ASC"));
+
+        // Then
+        assertThat(first.content()).extracting(MedicalEventResponse::title).containsExactly("ache", "Blurred vision");
+        assertThat(first.totalElements()).isEqualTo(3L);
+        assertThat(second.content()).extracting(MedicalEventResponse::title).containsExactly("Cough");
+    }
+
+    private MedicalEvent createEvent(String title, String description, MedicalEventCategory category) {
+        return createEvent(title, description, category, LocalDateTime.now().minusHours(2));
+    }
+
+    private MedicalEvent createEvent(String title, String description, MedicalEventCategory category,
+                                     LocalDateTime eventTime) {
+        MedicalEvent event = new MedicalEvent();
+        event.setPatientId(patientId);
+        event.setEventTime(eventTime);
+        event.setTitle(title);
+        event.setDescription(description);
+        event.setSeverity(MedicalEventSeverity.MILD);
+        event.setCategory(category);
+        event.setWeightKg(new BigDecimal("70.50"));
+        event.setHeightCm(new BigDecimal("175.00"));
+        event.setDosageGiven(new BigDecimal("5.00"));
+        return event;
+    }
+}
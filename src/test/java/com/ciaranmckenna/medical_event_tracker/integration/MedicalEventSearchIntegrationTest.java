@@ -7,7 +7,9 @@ import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
 import com.ciaranmckenna.medical_event_tracker.entity.User;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
 import com.ciaranmckenna.medical_event_tracker.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,9 +26,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -51,6 +55,9 @@ class MedicalEventSearchIntegrationTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private User testUser;
     private UUID patientId;
     private UUID medicationId;
@@ -319,4 +326,105 @@ class MedicalEventSearchIntegrationTest {
                 .content(objectMapper.writeValueAsString(searchRequest)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getMedicalEventsByCursor_WalksEveryPageWithoutGapsOrDuplicates() throws Exception {
+        // Given - three events share one timestamp so the id tie-breaker decides their order
+        LocalDateTime sharedTime = LocalDateTime.now().minusDays(1).withNano(0);
+        for (int i = 0; i < 3; i++) {
+            saveEvent("Tied event " + i, sharedTime, MedicalEventSeverity.MILD);
+        }
+        saveEvent("Older event", sharedTime.minusDays(1), MedicalEventSeverity.MODERATE);
+        detachSavedEvents();
+
+        // When
+        List<String> seenIds = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/api/medical-events/patient/{patientId}/cursor", patientId).param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("content").forEach(event -> seenIds.add(event.get("id").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        List<String> expectedIds = medicalEventRepository.findByPatientIdOrderByEventTimeDesc(patientId).stream()
+                .map(event -> event.getId().toString())
+                .toList();
+        assertThat(pages).isEqualTo(3);
+        assertThat(seenIds).hasSize(6).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(expectedIds);
+        assertThat(seenIds.get(0)).isEqualTo(testEvent2.getId().toString());
+        assertThat(seenIds.get(5)).isEqualTo(expectedIds.get(5));
+    }
+
+    @Test
+    void searchMedicalEventsByCursor_AppliesFiltersAcrossPages() throws Exception {
+        // Given
+        saveEvent("Another severe event", LocalDateTime.now().minusDays(2), MedicalEventSeverity.SEVERE);
+        detachSavedEvents();
+        MedicalEventSearchRequest firstPage = new MedicalEventSearchRequest(
+                patientId, null, null, List.of(MedicalEventSeverity.SEVERE), null, null, null,
+                null, 1, null, "DESC", null, true);
+
+        // When
+        JsonNode first = objectMapper.readTree(mockMvc.perform(post("/api/medical-events/search/cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(firstPage)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.content[0].title").value("Severe Headache"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString());
+
+        MedicalEventSearchRequest secondPage = new MedicalEventSearchRequest(
+                patientId, null, null, List.of(MedicalEventSeverity.SEVERE), null, null, null,
+                null, 1, null, "DESC", first.get("nextCursor").asText(), false);
+
+        // Then
+        mockMvc.perform(post("/api/medical-events/search/cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(secondPage)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Another severe event"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getMedicalEventsByCursor_BadRequest_WithMalformedCursor() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/medical-events/patient/{patientId}/cursor", patientId)
+                .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Reload events from the database as a real request would, so cursors carry the stored timestamp precision.
+     */
+    private void detachSavedEvents() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void saveEvent(String title, LocalDateTime eventTime, MedicalEventSeverity severity) {
+        MedicalEvent event = new MedicalEvent();
+        event.setPatientId(patientId);
+        event.setEventTime(eventTime);
+        event.setTitle(title);
+        event.setDescription("Event used to exercise cursor pagination");
+        event.setSeverity(severity);
+        event.setCategory(MedicalEventCategory.SYMPTOM);
+        event.setWeightKg(new BigDecimal("72.00"));
+        event.setHeightCm(new BigDecimal("175.00"));
+        event.setDosageGiven(new BigDecimal("5.00"));
+        medicalEventRepository.save(event);
+    }
+}
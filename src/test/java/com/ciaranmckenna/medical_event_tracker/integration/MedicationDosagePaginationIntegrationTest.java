@@ -0,0 +1,329 @@
+package com.ciaranmckenna.medical_event_tracker.integration;
+
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationDosageSearchRequest;
+import com.ciaranmckenna.medical_event_tracker.entity.DosageSchedule;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
+import com.ciaranmckenna.medical_event_tracker.entity.User;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the keyset-paginated medication dosage listings.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+class MedicationDosagePaginationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MedicationDosageRepository medicationDosageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UUID patientId;
+    private UUID medicationId;
+
+    @BeforeEach
+    void setUp() {
+        User testUser = new User();
+        testUser.setUsername("dosageuser");
+        testUser.setEmail("dosageuser@example.com");
+        testUser.setPassword(passwordEncoder.encode("Password123!"));
+        testUser.setFirstName("Test");
+        testUser.setLastName("User");
+        testUser.setRole(User.Role.PRIMARY_USER);
+        testUser.setEnabled(true);
+        testUser = userRepository.save(testUser);
+
+        UsernamePasswordAuthenticationToken authentication =
+            new UsernamePasswordAuthenticationToken(testUser, null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + testUser.getRole().name())));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        patientId = UUID.randomUUID();
+        medicationId = UUID.randomUUID();
+    }
+
+    @Test
+    void getMedicationDosagesByCursor_WalksEveryPageWithoutGapsOrDuplicates() throws Exception {
+        // Given - three dosages share one timestamp so the id tie-breaker decides their order
+        LocalDateTime sharedTime = LocalDateTime.now().minusDays(1).withNano(0);
+        for (int i = 0; i < 3; i++) {
+            saveDosage(sharedTime, DosageSchedule.AM, true);
+        }
+        saveDosage(sharedTime.minusDays(1), DosageSchedule.PM, true);
+        saveDosage(sharedTime.plusHours(6), DosageSchedule.PM, false);
+        detachSavedDosages();
+
+        // When
+        List<String> seenIds = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            var request = get("/api/medication-dosages/patient/{patientId}/cursor", patientId).param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            JsonNode page = objectMapper.readTree(mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalElements").doesNotExist())
+                    .andReturn().getResponse().getContentAsString());
+            page.get("content").forEach(dosage -> seenIds.add(dosage.get("id").asText()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        // Then
+        List<String> expectedIds = medicationDosageRepository.findByPatientIdOrderByAdministrationTimeDesc(patientId)
+                .stream()
+                .map(dosage -> dosage.getId().toString())
+                .toList();
+        assertThat(pages).isEqualTo(3);
+        assertThat(seenIds).hasSize(5).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(expectedIds);
+        assertThat(seenIds.get(0)).isEqualTo(expectedIds.get(0));
+        assertThat(seenIds.get(4)).isEqualTo(expectedIds.get(4));
+    }
+
+    @Test
+    void getMedicationDosagesByScheduleCursor_FiltersAndCountsOnRequest() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        saveDosage(now.minusHours(2), DosageSchedule.AM, true);
+        saveDosage(now.minusHours(26), DosageSchedule.AM, true);
+        saveDosage(now.minusHours(14), DosageSchedule.PM, true);
+        detachSavedDosages();
+
+        // When
+        JsonNode first = objectMapper.readTree(mockMvc.perform(
+                        get("/api/medication-dosages/patient/{patientId}/schedule/{schedule}/cursor", patientId, "AM")
+                                .param("size", "1")
+                                .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(2))
+                .andExpect(jsonPath("$.totalPages").value(2))
+                .andExpect(jsonPath("$.content[0].schedule").value("AM"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString());
+
+        // Then
+        mockMvc.perform(get("/api/medication-dosages/patient/{patientId}/schedule/{schedule}/cursor", patientId, "AM")
+                        .param("size", "1")
+                        .param("cursor", first.get("nextCursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].schedule").value("AM"))
+                .andExpect(jsonPath("$.first").value(false))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getMissedDosagesByCursor_ReturnsOnlyPastDosagesNotAdministered() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        saveDosage(now.minusHours(3), DosageSchedule.AM, false);
+        saveDosage(now.minusHours(5), DosageSchedule.PM, true);
+        saveDosage(now.minusMinutes(30), DosageSchedule.PM, false);
+        detachSavedDosages();
+
+        // When/Then - a dosage due after the cutoff is not missed yet
+        mockMvc.perform(get("/api/medication-dosages/patient/{patientId}/missed/cursor", patientId)
+                        .param("cutoffTime", now.minusHours(1).toString())
+                        .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].administered").value(false))
+                .andExpect(jsonPath("$.content[0].schedule").value("AM"))
+                .andExpect(jsonPath("$.sortBy").value("administrationTime"));
+    }
+
+    @Test
+    void getUpcomingDosagesByCursor_FromTimePassedBack_KeepsTheWindowFixedAcrossPages() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        LocalDateTime fromTime = now.minusHours(10);
+        saveDosage(now.minusHours(9), DosageSchedule.AM, false);
+        saveDosage(now.minusHours(8), DosageSchedule.PM, false);
+        saveDosage(now.minusHours(3), DosageSchedule.AM, false);
+        detachSavedDosages();
+
+        // When
+        JsonNode first = objectMapper.readTree(mockMvc.perform(
+                        get("/api/medication-dosages/patient/{patientId}/upcoming/cursor", patientId)
+                                .param("fromTime", fromTime.toString())
+                                .param("hoursAhead", "4")
+                                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].schedule").value("AM"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString());
+
+        // Then - the second page is still measured from fromTime, not from the time of the request
+        mockMvc.perform(get("/api/medication-dosages/patient/{patientId}/upcoming/cursor", patientId)
+                        .param("fromTime", fromTime.toString())
+                        .param("hoursAhead", "4")
+                        .param("size", "1")
+                        .param("cursor", first.get("nextCursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].schedule").value("PM"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void getRecentDosagesByCursor_AsOfTimeOmitted_ReturnsTheAnchorToPassBack() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        saveDosage(now.minusDays(1), DosageSchedule.AM, true);
+        saveDosage(now.minusDays(2), DosageSchedule.PM, true);
+        detachSavedDosages();
+
+        // When
+        JsonNode first = objectMapper.readTree(mockMvc.perform(
+                        get("/api/medication-dosages/patient/{patientId}/recent/cursor", patientId)
+                                .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].schedule").value("AM"))
+                .andExpect(jsonPath("$.anchorTime").exists())
+                .andReturn().getResponse().getContentAsString());
+        String anchorTime = first.get("anchorTime").asText();
+
+        // Then - the server's default is echoed back so the next page reuses the same window
+        assertThat(LocalDateTime.parse(anchorTime)).isBetween(now, LocalDateTime.now());
+        mockMvc.perform(get("/api/medication-dosages/patient/{patientId}/recent/cursor", patientId)
+                        .param("asOfTime", anchorTime)
+                        .param("size", "1")
+                        .param("cursor", first.get("nextCursor").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].schedule").value("PM"))
+                .andExpect(jsonPath("$.anchorTime").value(anchorTime))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void getRecentDosagesByCursor_MeasuresTheWindowFromAsOfTime() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        saveDosage(now.minusDays(9), DosageSchedule.AM, true);
+        saveDosage(now.minusDays(12), DosageSchedule.PM, true);
+        detachSavedDosages();
+
+        // When/Then - seven days back from three days ago reaches the nine-day-old dosage only
+        mockMvc.perform(get("/api/medication-dosages/patient/{patientId}/recent/cursor", patientId)
+                        .param("asOfTime", now.minusDays(3).toString())
+                        .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].schedule").value("AM"));
+    }
+
+    @Test
+    void searchMedicationDosagesByCursor_AppliesFiltersAcrossPages() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        saveDosage(now.minusHours(1), DosageSchedule.AM, false);
+        saveDosage(now.minusHours(2), DosageSchedule.AM, true);
+        saveDosage(now.minusHours(3), DosageSchedule.PM, true);
+        detachSavedDosages();
+        MedicationDosageSearchRequest firstPage = new MedicationDosageSearchRequest(
+                patientId, List.of(medicationId), null, true, null, null,
+                null, 1, null, "DESC", null, false);
+
+        // When
+        JsonNode first = objectMapper.readTree(mockMvc.perform(post("/api/medication-dosages/search/cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(firstPage)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].schedule").value("AM"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString());
+
+        MedicationDosageSearchRequest secondPage = new MedicationDosageSearchRequest(
+                patientId, List.of(medicationId), null, true, null, null,
+                null, 1, null, "DESC", first.get("nextCursor").asText(), false);
+
+        // Then
+        mockMvc.perform(post("/api/medication-dosages/search/cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(secondPage)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].schedule").value("PM"))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void getMedicationDosagesByCursor_BadRequest_WithOversizedPage() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/medication-dosages/patient/{patientId}/cursor", patientId)
+                        .param("size", "101"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getMedicationDosagesByCursor_BadRequest_WithMalformedCursor() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/api/medication-dosages/patient/{patientId}/cursor", patientId)
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Reload dosages from the database as a real request would, so cursors carry the stored timestamp precision.
+     */
+    private void detachSavedDosages() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void saveDosage(LocalDateTime administrationTime, DosageSchedule schedule, boolean administered) {
+        MedicationDosage dosage = new MedicationDosage();
+        dosage.setPatientId(patientId);
+        dosage.setMedicationId(medicationId);
+        dosage.setAdministrationTime(administrationTime);
+        dosage.setDosageAmount(new BigDecimal("500.0"));
+        dosage.setDosageUnit("mg");
+        dosage.setSchedule(schedule);
+        dosage.setAdministered(administered);
+        medicationDosageRepository.save(dosage);
+    }
+}
@@ -0,0 +1,221 @@
+package com.ciaranmckenna.medical_event_tracker.integration;
+
+import com.ciaranmckenna.medical_event_tracker.config.CacheConfig;
+import com.ciaranmckenna.medical_event_tracker.dto.CreateMedicationRequest;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationResponse;
+import com.ciaranmckenna.medical_event_tracker.dto.PatientResponse;
+import com.ciaranmckenna.medical_event_tracker.entity.Medication;
+import com.ciaranmckenna.medical_event_tracker.entity.Patient;
+import com.ciaranmckenna.medical_event_tracker.entity.User;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicationRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.PatientRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.UserRepository;
+import com.ciaranmckenna.medical_event_tracker.service.MedicationService;
+import com.ciaranmckenna.medical_event_tracker.service.NameSearchIndexService;
+import com.ciaranmckenna.medical_event_tracker.service.PatientService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration test for name search against the normalized columns and trigram tables.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+class NameSearchIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MedicationService medicationService;
+
+    @Autowired
+    private PatientService patientService;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private MedicationRepository medicationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NameSearchIndexService nameSearchIndexService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.MEDICATION_TYPEAHEAD_CACHE).clear();
+
+        testUser = new User();
+        testUser.setUsername("namesearchuser");
+        testUser.setEmail("namesearchuser@example.com");
+        testUser.setPassword("Password123!");
+        testUser.setFirstName("Name");
+        testUser.setLastName("Search");
+        testUser.setRole(User.Role.PRIMARY_USER);
+        testUser = userRepository.save(testUser);
+
+        UsernamePasswordAuthenticationToken authentication =
+            new UsernamePasswordAuthenticationToken(testUser, null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + testUser.getRole().name())));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void typeahead_RanksPrefixMatchesBeforeSubstringMatches() throws Exception {
+        // Given
+        createMedication("Co-Amoxiclav", null);
+        createMedication("Amoxil", "Amoxicillin");
+        createMedication("Paracetamol", null);
+
+        // When/Then
+        mockMvc.perform(get("/api/medications/typeahead").param("q", "AMOX"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].name").value("Amoxil"))
+            .andExpect(jsonPath("$[0].matchQuality").value("PREFIX"))
+            .andExpect(jsonPath("$[1].name").value("Co-Amoxiclav"))
+            .andExpect(jsonPath("$[1].matchQuality").value("WORD_PREFIX"));
+    }
+
+    @Test
+    void searchMedications_MatchesAccentInsensitiveSubstringsAndGenericNames() {
+        // Given
+        createMedication("Épilim Chrono", "Sodium Valproate");
+        createMedication("Keppra", "Levetiracetam");
+
+        // When
+        List<MedicationResponse> bySubstring = medicationService.searchMedications("pili");
+        List<MedicationResponse> byGeneric = medicationService.searchMedications("valpro");
+        List<MedicationResponse> byAccent = medicationService.searchMedications("epilim");
+
+        // Then
+        assertThat(bySubstring).extracting(MedicationResponse::name).containsExactly("Épilim Chrono");
+        assertThat(byGeneric).extracting(MedicationResponse::name).containsExactly("Épilim Chrono");
+        assertThat(byAccent).extracting(MedicationResponse::name).containsExactly("Épilim Chrono");
+    }
+
+    @Test
+    void suggestMedications_CreatingMedicationEvictsCachedSuggestions() {
+        // Given
+        createMedication("Lamictal", "Lamotrigine");
+        assertThat(medicationService.suggestMedications("lam", 10)).hasSize(1);
+
+        // When
+        createMedication("Lamotrigine Dispersible", null);
+
+        // Then
+        assertThat(medicationService.suggestMedications("lam", 10)).hasSize(2);
+    }
+
+    @Test
+    void searchPatientsByName_MatchesSubstringsWithinTheUsersCaseload() {
+        // Given
+        patientRepository.save(new Patient("Siobhán", "O'Sullivan", LocalDate.of(2015, 3, 1),
+            Patient.Gender.FEMALE, testUser));
+        patientRepository.save(new Patient("Oliver", "Sullivan", LocalDate.of(2012, 6, 1),
+            Patient.Gender.MALE, testUser));
+        patientRepository.save(new Patient("Ann", "Smith", LocalDate.of(2010, 1, 1),
+            Patient.Gender.FEMALE, testUser));
+
+        // When
+        List<PatientResponse> results = patientService.searchPatientsByName("sullivan", testUser);
+        List<PatientResponse> byAccent = patientService.searchPatientsByName("siobhan", testUser);
+
+        // Then
+        assertThat(results).extracting(PatientResponse::lastName).containsExactly("Sullivan", "O'Sullivan");
+        assertThat(byAccent).extracting(PatientResponse::firstName).containsExactly("Siobhán");
+    }
+
+    @Test
+    void searchMedications_SubstringMatch_SkipsInactiveMedications() {
+        // Given
+        MedicationResponse discontinued = createMedication("Co-Careldopa", null);
+        createMedication("Co-Beneldopa", null);
+        Medication medication = medicationRepository.findById(discontinued.id()).orElseThrow();
+        medication.setActive(false);
+        medicationRepository.saveAndFlush(medication);
+
+        // When
+        List<MedicationResponse> results = medicationService.searchMedications("eldopa");
+
+        // Then
+        assertThat(results).extracting(MedicationResponse::name).containsExactly("Co-Beneldopa");
+    }
+
+    @Test
+    void backfillMissing_RowsWrittenBeforeSearchKeysExisted_BecomeSearchable() {
+        // Given - rows as an older schema left them, with no normalized names or trigrams
+        Patient patient = patientRepository.saveAndFlush(new Patient("Niamh", "Gallagher",
+            LocalDate.of(2014, 2, 1), Patient.Gender.FEMALE, testUser));
+        MedicationResponse medication = createMedication("Tegretol", "Carbamazepine");
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE patients SET first_name_normalized = NULL, last_name_normalized = NULL WHERE id = ?",
+            patient.getId());
+        jdbcTemplate.update("DELETE FROM patient_name_trigrams WHERE patient_id = ?", patient.getId());
+        jdbcTemplate.update("UPDATE medications SET name_normalized = NULL, generic_name_normalized = NULL WHERE id = ?",
+            medication.id());
+        jdbcTemplate.update("DELETE FROM medication_name_trigrams WHERE medication_id = ?", medication.id());
+        entityManager.clear();
+        assertThat(patientService.searchPatientsByName("allagh", testUser)).isEmpty();
+        assertThat(nameSearchIndexService.needsBackfill()).isTrue();
+
+        // When
+        int backfilled = nameSearchIndexService.backfillMissing();
+        entityManager.flush();
+
+        // Then
+        assertThat(backfilled).isEqualTo(2);
+        assertThat(nameSearchIndexService.needsBackfill()).isFalse();
+        assertThat(patientService.searchPatientsByName("allagh", testUser))
+            .extracting(PatientResponse::lastName).containsExactly("Gallagher");
+        assertThat(medicationService.searchMedications("bamaz"))
+            .extracting(MedicationResponse::name).containsExactly("Tegretol");
+    }
+
+    private MedicationResponse createMedication(String name, String genericName) {
+        return medicationService.createMedication(new CreateMedicationRequest(
+            name, genericName, Medication.MedicationType.TABLET, null, null, null, null));
+    }
+}
@@ -0,0 +1,149 @@
+package com.ciaranmckenna.medical_event_tracker.integration;
+
+import com.ciaranmckenna.medical_event_tracker.entity.DosageSchedule;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
+import com.ciaranmckenna.medical_event_tracker.entity.User;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration test for the streaming patient history export.
+ * Not transactional: the export is written on an async thread with its own transaction,
+ * so test data is committed and removed in teardown.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PatientExportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MedicalEventRepository medicalEventRepository;
+
+    @Autowired
+    private MedicationDosageRepository medicationDosageRepository;
+
+    private UUID patientId;
+    private LocalDateTime baseTime;
+
+    @BeforeEach
+    void setUp() {
+        User testUser = new User();
+        testUser.setUsername("exportuser");
+        testUser.setRole(User.Role.PRIMARY_USER);
+        UsernamePasswordAuthenticationToken authentication =
+            new UsernamePasswordAuthenticationToken(testUser, null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + testUser.getRole().name())));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+
+        patientId = UUID.randomUUID();
+        baseTime = LocalDateTime.now().minusDays(3).withNano(0);
+        saveDosage(baseTime);
+        saveEvent("Headache", baseTime.plusHours(2));
+        saveDosage(baseTime.plusHours(12));
+    }
+
+    @AfterEach
+    void tearDown() {
+        medicalEventRepository.deleteAll(medicalEventRepository.findByPatientId(patientId));
+        medicationDosageRepository.deleteAll(medicationDosageRepository.findByPatientId(patientId));
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void exportPatientHistory_Ndjson_StreamsRowsInTimeOrder() throws Exception {
+        // When
+        MvcResult started = mockMvc.perform(get("/api/export/patients/{patientId}/history", patientId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"patient-" + patientId + "-history.ndjson\""))
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines).extracting(line -> objectMapper.readTree(line).get("type").asText())
+                .containsExactly("DOSAGE", "EVENT", "DOSAGE");
+        assertThat(objectMapper.readTree(lines[1]).get("title").asText()).isEqualTo("Headache");
+    }
+
+    @Test
+    void exportPatientHistory_Csv_WritesHeaderRow() throws Exception {
+        // When
+        MvcResult started = mockMvc.perform(get("/api/export/patients/{patientId}/history", patientId)
+                        .param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).startsWith("type,id,time,");
+        assertThat(lines[2]).startsWith("EVENT,");
+    }
+
+    private void saveEvent(String title, LocalDateTime eventTime) {
+        MedicalEvent event = new MedicalEvent();
+        event.setPatientId(patientId);
+        event.setEventTime(eventTime);
+        event.setTitle(title);
+        event.setDescription("Event used to exercise the history export");
+        event.setSeverity(MedicalEventSeverity.MILD);
+        event.setCategory(MedicalEventCategory.SYMPTOM);
+        event.setWeightKg(new BigDecimal("70.50"));
+        event.setHeightCm(new BigDecimal("175.00"));
+        event.setDosageGiven(new BigDecimal("5.00"));
+        medicalEventRepository.save(event);
+    }
+
+    private void saveDosage(LocalDateTime administrationTime) {
+        MedicationDosage dosage = new MedicationDosage();
+        dosage.setPatientId(patientId);
+        dosage.setMedicationId(UUID.randomUUID());
+        dosage.setAdministrationTime(administrationTime);
+        dosage.setDosageAmount(new BigDecimal("500.0"));
+        dosage.setDosageUnit("mg");
+        dosage.setSchedule(DosageSchedule.AM);
+        dosage.setAdministered(true);
+        medicationDosageRepository.save(dosage);
+    }
+}
@@ -0,0 +1,160 @@
+package com.ciaranmckenna.medical_event_tracker.integration;
+
+import com.ciaranmckenna.medical_event_tracker.entity.DosageSchedule;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.PatientDailyDosageRollupRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.PatientDailyRollupRepository;
+import com.ciaranmckenna.medical_event_tracker.service.DashboardService;
+import com.ciaranmckenna.medical_event_tracker.service.MedicalEventService;
+import com.ciaranmckenna.medical_event_tracker.service.MedicationDosageService;
+import com.ciaranmckenna.medical_event_tracker.service.PatientRollupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for concurrent writes to the daily rollups.
+ * Writers released together race to create the same rollup rows; every write must still commit and be counted.
+ * Not transactional, since each writer commits its own transaction; rows are removed in teardown.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PatientRollupConcurrencyIntegrationTest {
+
+    private static final int WRITERS = 8;
+    private static final int DAYS = 5;
+
+    @Autowired
+    private MedicalEventService medicalEventService;
+
+    @Autowired
+    private MedicationDosageService medicationDosageService;
+
+    @Autowired
+    private PatientRollupService patientRollupService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private MedicalEventRepository medicalEventRepository;
+
+    @Autowired
+    private MedicationDosageRepository medicationDosageRepository;
+
+    @Autowired
+    private PatientDailyRollupRepository eventRollupRepository;
+
+    @Autowired
+    private PatientDailyDosageRollupRepository dosageRollupRepository;
+
+    private ExecutorService executor;
+    private UUID patientId;
+    private UUID medicationId;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(WRITERS);
+        patientId = UUID.randomUUID();
+        medicationId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        medicalEventRepository.deleteAll(medicalEventRepository.findByPatientId(patientId));
+        medicationDosageRepository.deleteAll(
+                medicationDosageRepository.findByPatientIdOrderByAdministrationTimeDesc(patientId));
+        eventRollupRepository.deleteAll(eventRollupRepository.findByPatientId(patientId));
+        dosageRollupRepository.deleteAll(dosageRollupRepository.findByPatientId(patientId));
+    }
+
+    @Test
+    void createMedicalEvent_ConcurrentFirstWritesToTheSameKey_AllCommit() throws Exception {
+        // Given - each round is a new day, so every writer races to create that day's rollup row
+        for (int day = 1; day <= DAYS; day++) {
+            LocalDateTime eventTime = LocalDateTime.now().minusDays(day);
+
+            // When
+            runTogether(() -> medicalEventService.createMedicalEvent(createEvent(eventTime)));
+        }
+
+        // Then
+        assertThat(patientRollupService.checkConsistency(patientId).discrepancies()).isEmpty();
+        assertThat(dashboardService.generateDashboardSummary(patientId).totalEvents())
+                .isEqualTo((long) WRITERS * DAYS);
+    }
+
+    @Test
+    void createMedicationDosages_ConcurrentBulkWritesToTheSameKeys_AllCommit() throws Exception {
+        // When - every writer's bulk request touches the same five day rows
+        runTogether(() -> {
+            List<MedicationDosage> dosages = new ArrayList<>();
+            for (int day = 1; day <= DAYS; day++) {
+                dosages.add(createDosage(LocalDateTime.now().minusDays(day)));
+            }
+            return medicationDosageService.createMedicationDosages(dosages);
+        });
+
+        // Then
+        assertThat(patientRollupService.checkConsistency(patientId).discrepancies()).isEmpty();
+        assertThat(dashboardService.generateDashboardSummary(patientId).totalDosages())
+                .isEqualTo((long) WRITERS * DAYS);
+    }
+
+    private void runTogether(Callable<?> write) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(WRITERS);
+        List<Future<?>> writes = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            writes.add(executor.submit(() -> {
+                start.await(10, TimeUnit.SECONDS);
+                return write.call();
+            }));
+        }
+        for (Future<?> future : writes) {
+            // Rethrows a writer's failure, such as a duplicate rollup key rolling back its transaction
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private MedicalEvent createEvent(LocalDateTime eventTime) {
+        MedicalEvent event = new MedicalEvent();
+        event.setPatientId(patientId);
+        event.setEventTime(eventTime);
+        event.setTitle("Concurrent event");
+        event.setDescription("Event written alongside others for the same day");
+        event.setSeverity(MedicalEventSeverity.MILD);
+        event.setCategory(MedicalEventCategory.SYMPTOM);
+        event.setWeightKg(new BigDecimal("70.50"));
+        event.setHeightCm(new BigDecimal("175.00"));
+        event.setDosageGiven(new BigDecimal("5.00"));
+        return event;
+    }
+
+    private MedicationDosage createDosage(LocalDateTime administrationTime) {
+        return new MedicationDosage(patientId, medicationId, administrationTime,
+                new BigDecimal("100.0"), "mg", DosageSchedule.AM, true, null);
+    }
+}
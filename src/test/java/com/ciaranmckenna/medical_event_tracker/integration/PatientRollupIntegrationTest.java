@@ -0,0 +1,135 @@
+package com.ciaranmckenna.medical_event_tracker.integration;
+
+import com.ciaranmckenna.medical_event_tracker.dto.DashboardSummary;
+import com.ciaranmckenna.medical_event_tracker.dto.RollupConsistencyReport;
+import com.ciaranmckenna.medical_event_tracker.entity.*;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.PatientDailyRollupRepository;
+import com.ciaranmckenna.medical_event_tracker.service.DashboardService;
+import com.ciaranmckenna.medical_event_tracker.service.MedicalEventService;
+import com.ciaranmckenna.medical_event_tracker.service.MedicationDosageService;
+import com.ciaranmckenna.medical_event_tracker.service.PatientRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for the per-patient daily rollup tables.
+ * Drives writes through the services and checks the rollups stay in step with the raw rows.
+ */
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class PatientRollupIntegrationTest {
+
+    @Autowired
+    private MedicalEventService medicalEventService;
+
+    @Autowired
+    private MedicationDosageService medicationDosageService;
+
+    @Autowired
+    private PatientRollupService patientRollupService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private MedicalEventRepository medicalEventRepository;
+
+    @Autowired
+    private PatientDailyRollupRepository eventRollupRepository;
+
+    private UUID patientId;
+    private UUID medicationId;
+
+    @BeforeEach
+    void setUp() {
+        patientId = UUID.randomUUID();
+        medicationId = UUID.randomUUID();
+    }
+
+    @Test
+    void serviceWrites_KeepRollupsConsistent() {
+        // Given
+        MedicalEvent headache = medicalEventService.createMedicalEvent(
+                createEvent(LocalDateTime.now().minusHours(3), MedicalEventSeverity.MILD));
+        MedicalEvent seizure = medicalEventService.createMedicalEvent(
+                createEvent(LocalDateTime.now().minusDays(2), MedicalEventSeverity.SEVERE));
+        MedicationDosage dosage = medicationDosageService.createMedicationDosage(
+                createDosage(LocalDateTime.now().minusHours(5)));
+        medicationDosageService.createMedicationDosage(createDosage(LocalDateTime.now().minusDays(1)));
+
+        // When - move one event to another day and severity, delete the other, move the dosage
+        MedicalEvent moved = createEvent(LocalDateTime.now().minusDays(4), MedicalEventSeverity.MODERATE);
+        moved.setId(headache.getId());
+        medicalEventService.updateMedicalEvent(moved);
+        medicalEventService.deleteMedicalEvent(seizure.getId());
+        MedicationDosage movedDosage = createDosage(LocalDateTime.now().minusDays(3));
+        movedDosage.setId(dosage.getId());
+        medicationDosageService.updateMedicationDosage(movedDosage);
+
+        // Then
+        RollupConsistencyReport report = patientRollupService.checkConsistency(patientId);
+        assertThat(report.discrepancies()).isEmpty();
+        assertThat(report.isConsistent()).isTrue();
+
+        DashboardSummary summary = dashboardService.generateDashboardSummary(patientId);
+        assertThat(summary.totalEvents()).isEqualTo(1L);
+        assertThat(summary.totalDosages()).isEqualTo(2L);
+        assertThat(summary.eventsBySeverity()).containsOnlyKeys(MedicalEventSeverity.MODERATE);
+    }
+
+    @Test
+    void rebuildPatient_BackfillsRowsWrittenOutsideTheServices() {
+        // Given - rows written straight to the repository bypass rollup maintenance
+        medicalEventRepository.save(createEvent(LocalDateTime.now().minusHours(1), MedicalEventSeverity.MILD));
+        medicalEventRepository.save(createEvent(LocalDateTime.now().minusDays(1), MedicalEventSeverity.CRITICAL));
+        assertThat(patientRollupService.checkConsistency(patientId).discrepancies()).hasSize(2);
+
+        // When
+        patientRollupService.rebuildPatient(patientId);
+
+        // Then
+        assertThat(patientRollupService.checkConsistency(patientId).isConsistent()).isTrue();
+        assertThat(dashboardService.generateDashboardSummary(patientId).totalEvents()).isEqualTo(2L);
+    }
+
+    @Test
+    void needsBackfill_EmptyRollupsWithExistingEvents_IsTrue() {
+        // Given - as after upgrading a database whose events predate the rollup tables
+        eventRollupRepository.deleteAll();
+        medicalEventRepository.save(createEvent(LocalDateTime.now().minusHours(1), MedicalEventSeverity.MILD));
+
+        // When/Then
+        assertThat(patientRollupService.needsBackfill()).isTrue();
+    }
+
+    private MedicalEvent createEvent(LocalDateTime eventTime, MedicalEventSeverity severity) {
+        MedicalEvent event = new MedicalEvent();
+        event.setPatientId(patientId);
+        event.setEventTime(eventTime);
+        event.setTitle("Rollup event");
+        event.setDescription("Event used to exercise rollup maintenance");
+        event.setSeverity(severity);
+        event.setCategory(MedicalEventCategory.SYMPTOM);
+        event.setWeightKg(new BigDecimal("70.50"));
+        event.setHeightCm(new BigDecimal("175.00"));
+        event.setDosageGiven(new BigDecimal("5.00"));
+        return event;
+    }
+
+    private MedicationDosage createDosage(LocalDateTime administrationTime) {
+        return new MedicationDosage(patientId, medicationId, administrationTime,
+                new BigDecimal("100.0"), "mg", DosageSchedule.AM, true, null);
+    }
+}
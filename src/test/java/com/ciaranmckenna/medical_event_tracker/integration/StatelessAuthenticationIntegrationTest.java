@@ -0,0 +1,110 @@
+package com.ciaranmckenna.medical_event_tracker.integration;
+
+import com.ciaranmckenna.medical_event_tracker.dto.AuthResponse;
+import com.ciaranmckenna.medical_event_tracker.dto.RegisterRequest;
+import com.ciaranmckenna.medical_event_tracker.entity.User;
+import com.ciaranmckenna.medical_event_tracker.repository.UserRepository;
+import com.ciaranmckenna.medical_event_tracker.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration test for stateless role-claim authentication.
+ * Not transactional: revocation is applied after the disabling transaction commits.
+ * The revocation refresh interval is zero so versions raised without an event are seen at once.
+ */
+@SpringBootTest(properties = {"app.jwt.stateless-auth=true", "app.jwt.revocation.refresh-interval=0s"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatelessAuthenticationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String username;
+
+    @BeforeEach
+    void setUp() {
+        username = "stateless" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByUsername(username).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void disabledUser_TokenIsRejectedWithoutReload() throws Exception {
+        // Given
+        String token = register();
+        mockMvc.perform(get("/api/patients").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // When
+        User user = userRepository.findByUsername(username).orElseThrow();
+        userService.deleteUser(user.getId());
+
+        // Then
+        mockMvc.perform(get("/api/patients").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void tokenVersionRaisedOnAnotherNode_TokenIsRejectedAfterRefresh() throws Exception {
+        // Given
+        String token = register();
+        mockMvc.perform(get("/api/patients").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // When - written straight to the database, as another node would, so no event reaches this one
+        User user = userRepository.findByUsername(username).orElseThrow();
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
+
+        // Then
+        mockMvc.perform(get("/api/patients").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    private String register() throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest(
+            username,
+            username + "@example.com",
+            "Password123!",
+            "John",
+            "Doe"
+        );
+
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        return objectMapper.readValue(result.getResponse().getContentAsString(), AuthResponse.class).token();
+    }
+}
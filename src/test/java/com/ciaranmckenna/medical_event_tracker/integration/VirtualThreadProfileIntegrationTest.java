@@ -0,0 +1,49 @@
+package com.ciaranmckenna.medical_event_tracker.integration;
+
+import com.ciaranmckenna.medical_event_tracker.config.AnalyticsExecutorConfig;
+import com.ciaranmckenna.medical_event_tracker.config.VirtualThreadPinningMonitor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for the virtual-threads profile.
+ * Checks the analytics executor switches to virtual threads and the pinning monitor is running.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "virtual-threads"})
+class VirtualThreadProfileIntegrationTest {
+
+    @Autowired
+    @Qualifier(AnalyticsExecutorConfig.ANALYTICS_EXECUTOR)
+    private ExecutorService analyticsExecutor;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void analyticsExecutor_RunsOnVirtualThreads() throws Exception {
+        // When
+        Thread thread = analyticsExecutor.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(thread.isVirtual()).isTrue();
+    }
+
+    @Test
+    void pinningMonitor_IsRunning() {
+        // When
+        VirtualThreadPinningMonitor monitor = applicationContext.getBean(VirtualThreadPinningMonitor.class);
+
+        // Then
+        assertThat(monitor.isRunning()).isTrue();
+    }
+}
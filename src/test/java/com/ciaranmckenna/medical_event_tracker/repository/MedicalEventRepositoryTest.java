@@ -10,6 +10,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -192,6 +193,43 @@ class MedicalEventRepositoryTest {
         assertThat(count).isEqualTo(2);
     }
 
+    @Test
+    void countByPatientIdGroupByEventDateCategoryAndSeverity_ReturnsCountsPerDayAndKey() {
+        // Given
+        UUID patientId = UUID.randomUUID();
+        LocalDateTime day = LocalDate.now().minusDays(2).atTime(9, 0);
+
+        MedicalEvent morning = createMedicalEvent(patientId, "Morning", MedicalEventSeverity.MILD);
+        morning.setEventTime(day);
+        MedicalEvent evening = createMedicalEvent(patientId, "Evening", MedicalEventSeverity.MILD);
+        evening.setEventTime(day.plusHours(10));
+        MedicalEvent emergency = createMedicalEvent(patientId, "Emergency", MedicalEventSeverity.CRITICAL);
+        emergency.setEventTime(day.plusHours(1));
+        emergency.setCategory(MedicalEventCategory.EMERGENCY);
+        MedicalEvent otherPatient = createMedicalEvent(UUID.randomUUID(), "Other", MedicalEventSeverity.MILD);
+
+        entityManager.persistAndFlush(morning);
+        entityManager.persistAndFlush(evening);
+        entityManager.persistAndFlush(emergency);
+        entityManager.persistAndFlush(otherPatient);
+
+        // When
+        List<Object[]> rows = medicalEventRepository.countByPatientIdGroupByEventDateCategoryAndSeverity(patientId);
+
+        // Then
+        assertThat(rows).hasSize(2);
+        assertThat(rows).anySatisfy(row -> {
+            assertThat(row[0]).isEqualTo(day.toLocalDate());
+            assertThat(row[1]).isEqualTo(MedicalEventCategory.SYMPTOM);
+            assertThat(row[2]).isEqualTo(MedicalEventSeverity.MILD);
+            assertThat(((Number) row[3]).longValue()).isEqualTo(2L);
+        });
+        assertThat(rows).anySatisfy(row -> {
+            assertThat(row[1]).isEqualTo(MedicalEventCategory.EMERGENCY);
+            assertThat(((Number) row[3]).longValue()).isEqualTo(1L);
+        });
+    }
+
     /**
      * Helper method to create a test MedicalEvent with all required fields.
      * Sets realistic default medical values for weight, height, and dosage.
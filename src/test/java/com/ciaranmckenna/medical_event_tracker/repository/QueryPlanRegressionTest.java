@@ -0,0 +1,359 @@
+package com.ciaranmckenna.medical_event_tracker.repository;
+
+import com.ciaranmckenna.medical_event_tracker.entity.User;
+import com.ciaranmckenna.medical_event_tracker.util.KeysetCursor;
+import com.ciaranmckenna.medical_event_tracker.util.NameSearch;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-plan regression tests for the hot analytics repository methods.
+ * Captures the SQL Hibernate generates for each method, runs it through H2's EXPLAIN
+ * and fails if the plan stops using the expected composite index and falls back to a table scan.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.ciaranmckenna.medical_event_tracker.repository.QueryPlanRegressionTest$CapturingStatementInspector")
+@ActiveProfiles("test")
+class QueryPlanRegressionTest {
+
+    private static final String EVENT_PATIENT_TIME = "idx_medical_event_patient_time";
+    private static final String EVENT_PATIENT_MEDICATION_TIME = "idx_medical_event_patient_medication_time";
+    private static final String DOSAGE_PATIENT_TIME = "idx_medication_dosage_patient_time";
+    private static final String DOSAGE_PATIENT_MEDICATION_TIME = "idx_medication_dosage_patient_medication_time";
+    private static final String DOSAGE_PATIENT_ADMINISTERED_TIME = "idx_medication_dosage_patient_administered_time";
+    private static final String EVENT_ROLLUP_KEY = "uk_patient_daily_rollup_key";
+    private static final String DOSAGE_ROLLUP_KEY = "uk_patient_daily_dosage_rollup_key";
+    private static final String PATIENT_MEDICATION_PATIENT = "idx_patient_medication_patient";
+    private static final String MEDICATION_NAME_NORMALIZED = "idx_medication_active_name_normalized";
+    private static final String MEDICATION_GENERIC_NAME_NORMALIZED = "idx_medication_active_generic_name_normalized";
+    private static final String PATIENT_FIRST_NAME_NORMALIZED = "idx_patient_user_active_first_name_normalized";
+    private static final String PATIENT_LAST_NAME_NORMALIZED = "idx_patient_user_active_last_name_normalized";
+
+    @Autowired
+    private MedicalEventRepository medicalEventRepository;
+
+    @Autowired
+    private MedicationDosageRepository medicationDosageRepository;
+
+    @Autowired
+    private PatientDailyRollupRepository eventRollupRepository;
+
+    @Autowired
+    private PatientDailyDosageRollupRepository dosageRollupRepository;
+
+    @Autowired
+    private PatientMedicationRepository patientMedicationRepository;
+
+    @Autowired
+    private MedicationRepository medicationRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final UUID patientId = UUID.randomUUID();
+    private final UUID medicationId = UUID.randomUUID();
+    private final LocalDateTime startTime = LocalDateTime.now().minusDays(30);
+    private final LocalDateTime endTime = LocalDateTime.now();
+
+    @BeforeEach
+    void setUp() {
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    // ========== Medical events ==========
+
+    @Test
+    void findByPatientIdAndEventTimeBetween_UsesPatientTimeIndex() throws Exception {
+        medicalEventRepository.findByPatientIdAndEventTimeBetween(patientId, startTime, endTime);
+        assertLastQueryUsesIndex(EVENT_PATIENT_TIME);
+    }
+
+    @Test
+    void countByPatientIdAndEventTimeAfter_UsesPatientTimeIndex() throws Exception {
+        medicalEventRepository.countByPatientIdAndEventTimeAfter(patientId, startTime);
+        assertLastQueryUsesIndex(EVENT_PATIENT_TIME);
+    }
+
+    @Test
+    void countByPatientIdAndEventTimeBetween_UsesPatientTimeIndex() throws Exception {
+        medicalEventRepository.countByPatientIdAndEventTimeBetween(patientId, startTime, endTime);
+        assertLastQueryUsesIndex(EVENT_PATIENT_TIME);
+    }
+
+    @Test
+    void findByPatientIdOrderByEventTimeDesc_UsesPatientTimeIndex() throws Exception {
+        medicalEventRepository.findByPatientIdOrderByEventTimeDesc(patientId);
+        assertLastQueryUsesIndex(EVENT_PATIENT_TIME);
+    }
+
+    @Test
+    void countByPatientIdGroupByCategory_UsesPatientTimeIndex() throws Exception {
+        medicalEventRepository.countByPatientIdGroupByCategory(patientId);
+        assertLastQueryUsesIndex(EVENT_PATIENT_TIME);
+    }
+
+    @Test
+    void countByPatientIdGroupByEventDateCategoryAndSeverity_UsesPatientTimeIndex() throws Exception {
+        medicalEventRepository.countByPatientIdGroupByEventDateCategoryAndSeverity(patientId);
+        assertLastQueryUsesIndex(EVENT_PATIENT_TIME, EVENT_PATIENT_MEDICATION_TIME);
+    }
+
+    @Test
+    void findByPatientIdAndMedicationIdAndEventTimeBetween_UsesPatientMedicationTimeIndex() throws Exception {
+        medicalEventRepository.findByPatientIdAndMedicationIdAndEventTimeBetween(patientId, medicationId, startTime, endTime);
+        assertLastQueryUsesIndex(EVENT_PATIENT_MEDICATION_TIME);
+    }
+
+    @Test
+    void keysetPageByPatient_UsesPatientTimeIndex() throws Exception {
+        Sort keysetSort = Sort.by(Sort.Direction.DESC, "eventTime").and(Sort.by(Sort.Direction.DESC, "id"));
+        medicalEventRepository.findBy(
+                MedicalEventSpecification.hasPatientId(patientId).and(MedicalEventSpecification.isAfterCursor(
+                        new KeysetCursor(endTime, UUID.randomUUID()), Sort.Direction.DESC)),
+                query -> query.sortBy(keysetSort).limit(21).all());
+        assertLastQueryUsesIndex(EVENT_PATIENT_TIME, EVENT_PATIENT_MEDICATION_TIME);
+    }
+
+    @Test
+    void findEventPointsByPatientId_UsesPatientTimeIndex() throws Exception {
+        medicalEventRepository.findEventPointsByPatientId(patientId);
+        assertLastQueryUsesIndex(EVENT_PATIENT_TIME, EVENT_PATIENT_MEDICATION_TIME);
+    }
+
+    @Test
+    void findTimelinePointsByPatientIdAndEventTimeBetween_UsesPatientTimeIndex() throws Exception {
+        medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(patientId, startTime, endTime);
+        assertLastQueryUsesIndex(EVENT_PATIENT_TIME, EVENT_PATIENT_MEDICATION_TIME);
+    }
+
+    @Test
+    void findTimelinePointsByPatientIdAndMedicationIdAndEventTimeBetween_UsesPatientMedicationTimeIndex()
+            throws Exception {
+        medicalEventRepository.findTimelinePointsByPatientIdAndMedicationIdAndEventTimeBetween(
+                patientId, medicationId, startTime, endTime);
+        assertLastQueryUsesIndex(EVENT_PATIENT_MEDICATION_TIME);
+    }
+
+    // ========== Medication dosages ==========
+
+    @Test
+    void findByPatientIdAndAdministrationTimeBetween_UsesPatientTimeIndex() throws Exception {
+        medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(patientId, startTime, endTime);
+        assertLastQueryUsesIndex(DOSAGE_PATIENT_TIME);
+    }
+
+    @Test
+    void countByPatientIdAndAdministrationTimeBetween_UsesPatientTimeIndex() throws Exception {
+        medicationDosageRepository.countByPatientIdAndAdministrationTimeBetween(patientId, startTime, endTime);
+        assertLastQueryUsesIndex(DOSAGE_PATIENT_TIME);
+    }
+
+    @Test
+    void countByPatientIdGroupByAdministrationDateAndMedication_UsesPatientCompositeIndex() throws Exception {
+        medicationDosageRepository.countByPatientIdGroupByAdministrationDateAndMedication(patientId);
+        assertLastQueryUsesIndex(DOSAGE_PATIENT_TIME, DOSAGE_PATIENT_MEDICATION_TIME, DOSAGE_PATIENT_ADMINISTERED_TIME);
+    }
+
+    @Test
+    void findDosagePointsByPatientId_UsesPatientTimeIndex() throws Exception {
+        medicationDosageRepository.findDosagePointsByPatientId(patientId);
+        assertLastQueryUsesIndex(DOSAGE_PATIENT_TIME, DOSAGE_PATIENT_MEDICATION_TIME, DOSAGE_PATIENT_ADMINISTERED_TIME);
+    }
+
+    @Test
+    void findTimelinePointsByPatientIdAndAdministrationTimeBetween_UsesPatientTimeIndex() throws Exception {
+        medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(patientId, startTime, endTime);
+        assertLastQueryUsesIndex(DOSAGE_PATIENT_TIME, DOSAGE_PATIENT_MEDICATION_TIME, DOSAGE_PATIENT_ADMINISTERED_TIME);
+    }
+
+    @Test
+    void findTimelinePointsByPatientIdAndMedicationIdAndAdministrationTimeBetween_UsesPatientMedicationTimeIndex()
+            throws Exception {
+        medicationDosageRepository.findTimelinePointsByPatientIdAndMedicationIdAndAdministrationTimeBetween(
+                patientId, medicationId, startTime, endTime);
+        assertLastQueryUsesIndex(DOSAGE_PATIENT_MEDICATION_TIME);
+    }
+
+    @Test
+    void findByPatientIdAndMedicationIdAndAdministrationTimeBetween_UsesPatientMedicationTimeIndex() throws Exception {
+        medicationDosageRepository.findByPatientIdAndMedicationIdAndAdministrationTimeBetween(
+                patientId, medicationId, startTime, endTime);
+        assertLastQueryUsesIndex(DOSAGE_PATIENT_MEDICATION_TIME);
+    }
+
+    @Test
+    void findMissedDosagesByPatientId_UsesPatientCompositeIndex() throws Exception {
+        medicationDosageRepository.findMissedDosagesByPatientId(patientId, endTime);
+        assertLastQueryUsesIndex(DOSAGE_PATIENT_ADMINISTERED_TIME, DOSAGE_PATIENT_TIME);
+    }
+
+    @Test
+    void findUpcomingDosagesByPatientId_UsesPatientCompositeIndex() throws Exception {
+        medicationDosageRepository.findUpcomingDosagesByPatientId(patientId, startTime, endTime);
+        assertLastQueryUsesIndex(DOSAGE_PATIENT_ADMINISTERED_TIME, DOSAGE_PATIENT_TIME);
+    }
+
+    @Test
+    void keysetPageByPatient_UsesDosagePatientTimeIndex() throws Exception {
+        Sort keysetSort = Sort.by(Sort.Direction.DESC, "administrationTime").and(Sort.by(Sort.Direction.DESC, "id"));
+        medicationDosageRepository.findBy(
+                MedicationDosageSpecification.hasPatientId(patientId).and(MedicationDosageSpecification.isAfterCursor(
+                        new KeysetCursor(endTime, UUID.randomUUID()), Sort.Direction.DESC)),
+                query -> query.sortBy(keysetSort).limit(21).all());
+        assertLastQueryUsesIndex(DOSAGE_PATIENT_TIME, DOSAGE_PATIENT_MEDICATION_TIME, DOSAGE_PATIENT_ADMINISTERED_TIME);
+    }
+
+    @Test
+    void keysetPageOfMissedDosages_UsesPatientCompositeIndex() throws Exception {
+        Sort keysetSort = Sort.by(Sort.Direction.DESC, "administrationTime").and(Sort.by(Sort.Direction.DESC, "id"));
+        medicationDosageRepository.findBy(
+                MedicationDosageSpecification.hasPatientId(patientId).and(MedicationDosageSpecification.isMissed(endTime)),
+                query -> query.sortBy(keysetSort).limit(21).all());
+        assertLastQueryUsesIndex(DOSAGE_PATIENT_ADMINISTERED_TIME, DOSAGE_PATIENT_TIME);
+    }
+
+    // ========== Patient medications ==========
+
+    @Test
+    void findPeriodPointsByPatientId_UsesPatientIndex() throws Exception {
+        patientMedicationRepository.findPeriodPointsByPatientId(patientId);
+        assertLastQueryUsesIndex(PATIENT_MEDICATION_PATIENT);
+    }
+
+    @Test
+    void countActiveByPatientIds_UsesPatientIndex() throws Exception {
+        patientMedicationRepository.countActiveByPatientIds(List.of(patientId, UUID.randomUUID()));
+        assertLastQueryUsesIndex(PATIENT_MEDICATION_PATIENT);
+    }
+
+    // ========== Name search ==========
+
+    @Test
+    void findByNamePrefix_UsesNormalizedNameIndex() throws Exception {
+        medicationRepository.findByNamePrefix("amox", NameSearch.prefixEnd("amox"), Limit.of(10));
+        assertLastQueryUsesIndex(MEDICATION_NAME_NORMALIZED);
+    }
+
+    @Test
+    void findByGenericNamePrefix_UsesNormalizedGenericNameIndex() throws Exception {
+        medicationRepository.findByGenericNamePrefix("amox", NameSearch.prefixEnd("amox"), Limit.of(10));
+        assertLastQueryUsesIndex(MEDICATION_GENERIC_NAME_NORMALIZED);
+    }
+
+    @Test
+    void findIdsByNameTrigrams_IsDrivenByTrigramPrimaryKey() throws Exception {
+        medicationRepository.findIdsByNameTrigrams(List.of("xic", "ici"), 2, Limit.of(10));
+        List<String> statements = CapturingStatementInspector.STATEMENTS;
+        String plan = explain(statements.get(statements.size() - 1));
+
+        // The trigram table must come first and be read by its (trigram, medication_id) key
+        assertThat(plan).doesNotContain("tableScan");
+        assertThat(plan).containsPattern("FROM \"PUBLIC\"\\.\"MEDICATION_NAME_TRIGRAMS\" \"\\w+\"\\s+/\\* PUBLIC\\.PRIMARY_KEY_\\w+: TRIGRAM IN");
+    }
+
+    @Test
+    void findByUserAndFirstNamePrefix_UsesUserFirstNameIndex() throws Exception {
+        patientRepository.findByUserAndFirstNamePrefix(user(), "jo", NameSearch.prefixEnd("jo"), Limit.of(10));
+        assertLastQueryUsesIndex(PATIENT_FIRST_NAME_NORMALIZED);
+    }
+
+    @Test
+    void findByUserAndLastNamePrefix_UsesUserLastNameIndex() throws Exception {
+        patientRepository.findByUserAndLastNamePrefix(user(), "do", NameSearch.prefixEnd("do"), Limit.of(10));
+        assertLastQueryUsesIndex(PATIENT_LAST_NAME_NORMALIZED);
+    }
+
+    @Test
+    void findIdsByUserAndNameTrigrams_UsesUserIndex() throws Exception {
+        patientRepository.findIdsByUserAndNameTrigrams(user(), List.of("ohn", "hn "), 2, Limit.of(10));
+        assertLastQueryUsesIndex(PATIENT_FIRST_NAME_NORMALIZED, PATIENT_LAST_NAME_NORMALIZED, "idx_patient_user_id");
+    }
+
+    // ========== Daily rollups ==========
+
+    @Test
+    void sumEventCountsByPatientIdGroupByDate_UsesRollupKeyIndex() throws Exception {
+        eventRollupRepository.sumEventCountsByPatientIdGroupByDate(patientId, startTime.toLocalDate(), endTime.toLocalDate());
+        assertLastQueryUsesIndex(EVENT_ROLLUP_KEY);
+    }
+
+    @Test
+    void sumEventCountsByPatientIdGroupByCategoryAndSeverity_UsesRollupKeyIndex() throws Exception {
+        eventRollupRepository.sumEventCountsByPatientIdGroupByCategoryAndSeverity(patientId);
+        assertLastQueryUsesIndex(EVENT_ROLLUP_KEY);
+    }
+
+    @Test
+    void sumDosageCountsByPatientIdGroupByDate_UsesRollupKeyIndex() throws Exception {
+        dosageRollupRepository.sumDosageCountsByPatientIdGroupByDate(patientId, startTime.toLocalDate(), endTime.toLocalDate());
+        assertLastQueryUsesIndex(DOSAGE_ROLLUP_KEY);
+    }
+
+    private User user() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        return user;
+    }
+
+    /**
+     * Asserts the most recently captured statement is planned as a range scan over one of the given indexes.
+     * H2 plans against empty tables, so where two composite indexes are equally selective either is accepted.
+     */
+    private void assertLastQueryUsesIndex(String... acceptableIndexNames) throws Exception {
+        List<String> statements = CapturingStatementInspector.STATEMENTS;
+        assertThat(statements).as("captured SQL statements").isNotEmpty();
+        String sql = statements.get(statements.size() - 1);
+
+        String plan = explain(sql);
+
+        assertThat(plan).as("query plan for: %s", sql).doesNotContain("tableScan");
+        assertThat(Arrays.stream(acceptableIndexNames)
+                .anyMatch(indexName -> plan.toUpperCase().contains("PUBLIC." + indexName.toUpperCase())))
+                .as("query plan uses one of %s: %s", Arrays.toString(acceptableIndexNames), plan)
+                .isTrue();
+    }
+
+    private String explain(String sql) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares so the test can explain it.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.ciaranmckenna.medical_event_tracker.service.impl;
+
+import com.ciaranmckenna.medical_event_tracker.dto.AnalyticsOverview;
+import com.ciaranmckenna.medical_event_tracker.dto.DashboardSummary;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationCorrelationAnalysis;
+import com.ciaranmckenna.medical_event_tracker.dto.OverviewSection;
+import com.ciaranmckenna.medical_event_tracker.dto.OverviewSectionStatus;
+import com.ciaranmckenna.medical_event_tracker.service.AnalyticsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AnalyticsOverviewServiceImpl.
+ * Runs sections on a real executor to check they overlap and that each one's timeout is independent;
+ * the transaction manager is a mock, so section transactions are recorded rather than opened.
+ */
+@ExtendWith(MockitoExtension.class)
+class AnalyticsOverviewServiceImplTest {
+
+    private static final long DASHBOARD_TIMEOUT_MILLIS = 1_000L;
+    private static final long CORRELATIONS_TIMEOUT_MILLIS = 200L;
+
+    @Mock
+    private AnalyticsService analyticsService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+    private AnalyticsOverviewServiceImpl overviewService;
+    private UUID patientId;
+    private DashboardSummary dashboard;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        overviewService = new AnalyticsOverviewServiceImpl(analyticsService, executor,
+                DASHBOARD_TIMEOUT_MILLIS, CORRELATIONS_TIMEOUT_MILLIS, transactionManager);
+        patientId = UUID.randomUUID();
+        dashboard = new DashboardSummary(patientId, 4L, 3L, Map.of(), Map.of(), 1L, LocalDateTime.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void generateAnalyticsOverview_AllSectionsComplete_ReturnsFullOverview() {
+        // Given
+        when(analyticsService.generateDashboardSummary(patientId)).thenReturn(dashboard);
+        when(analyticsService.generateAllMedicationCorrelations(patientId)).thenReturn(List.of());
+
+        // When
+        AnalyticsOverview overview = overviewService.generateAnalyticsOverview(patientId);
+
+        // Then
+        assertThat(overview.dashboardSummary()).isEqualTo(dashboard);
+        assertThat(overview.medicationCorrelations()).isEmpty();
+        assertThat(overview.isComplete()).isTrue();
+        assertThat(overview.sectionStatus()).containsOnlyKeys(OverviewSection.values());
+    }
+
+    @Test
+    void generateAnalyticsOverview_SectionsRunConcurrently() {
+        // Given - neither section can finish until both have started
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(analyticsService.generateDashboardSummary(patientId)).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            bothStarted.await(500, TimeUnit.MILLISECONDS);
+            return dashboard;
+        });
+        when(analyticsService.generateAllMedicationCorrelations(patientId)).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            bothStarted.await(500, TimeUnit.MILLISECONDS);
+            return List.of();
+        });
+
+        // When
+        AnalyticsOverview overview = overviewService.generateAnalyticsOverview(patientId);
+
+        // Then
+        assertThat(bothStarted.getCount()).isZero();
+        assertThat(overview.isComplete()).isTrue();
+    }
+
+    @Test
+    void generateAnalyticsOverview_SlowSection_ReturnsPartialOverviewWithoutInterruptingIt() {
+        // Given - the correlations section cannot finish until the test releases it
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(analyticsService.generateDashboardSummary(patientId)).thenReturn(dashboard);
+        when(analyticsService.generateAllMedicationCorrelations(patientId)).thenAnswer(invocation -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            finished.countDown();
+            return List.<MedicationCorrelationAnalysis>of();
+        });
+
+        // When
+        AnalyticsOverview overview = overviewService.generateAnalyticsOverview(patientId);
+
+        // Then - the overview came back while the section was still running
+        assertThat(finished.getCount()).isEqualTo(1L);
+        assertThat(overview.dashboardSummary()).isEqualTo(dashboard);
+        assertThat(overview.medicationCorrelations()).isNull();
+        assertThat(overview.sectionStatus())
+                .containsEntry(OverviewSection.DASHBOARD, OverviewSectionStatus.COMPLETE)
+                .containsEntry(OverviewSection.CORRELATIONS, OverviewSectionStatus.TIMED_OUT);
+        assertThat(overview.isComplete()).isFalse();
+
+        // Cancelling it did not interrupt the worker, which finishes once released
+        release.countDown();
+        assertThat(awaitQuietly(finished)).isTrue();
+        assertThat(interrupted).isFalse();
+    }
+
+    @Test
+    void generateAnalyticsOverview_RunsEachSectionInAReadOnlyTransactionBoundedByItsDeadline() {
+        // Given
+        when(analyticsService.generateDashboardSummary(patientId)).thenReturn(dashboard);
+        when(analyticsService.generateAllMedicationCorrelations(patientId)).thenReturn(List.of());
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+
+        // When
+        overviewService.generateAnalyticsOverview(patientId);
+
+        // Then - timeouts are whole seconds, so both deadlines round up to one
+        verify(transactionManager, times(2)).getTransaction(definitions.capture());
+        assertThat(definitions.getAllValues()).allSatisfy(definition -> {
+            assertThat(definition.isReadOnly()).isTrue();
+            assertThat(definition.getTimeout()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void generateAnalyticsOverview_FailingSection_IsReportedWithoutFailingTheOverview() {
+        // Given
+        when(analyticsService.generateDashboardSummary(patientId)).thenThrow(new IllegalStateException("boom"));
+        when(analyticsService.generateAllMedicationCorrelations(patientId)).thenReturn(List.of());
+
+        // When
+        AnalyticsOverview overview = overviewService.generateAnalyticsOverview(patientId);
+
+        // Then
+        assertThat(overview.dashboardSummary()).isNull();
+        assertThat(overview.medicationCorrelations()).isEmpty();
+        assertThat(overview.sectionStatus())
+                .containsEntry(OverviewSection.DASHBOARD, OverviewSectionStatus.FAILED)
+                .containsEntry(OverviewSection.CORRELATIONS, OverviewSectionStatus.COMPLETE);
+    }
+
+    @Test
+    void generateAnalyticsOverview_SaturatedExecutor_ReportsSectionsAsFailed() {
+        // Given
+        executor.shutdown();
+
+        // When
+        AnalyticsOverview overview = overviewService.generateAnalyticsOverview(patientId);
+
+        // Then
+        assertThat(overview.sectionStatus()).containsOnly(
+                Map.entry(OverviewSection.DASHBOARD, OverviewSectionStatus.FAILED),
+                Map.entry(OverviewSection.CORRELATIONS, OverviewSectionStatus.FAILED));
+    }
+
+    @Test
+    void generateAnalyticsOverview_NullPatientId_ThrowsException() {
+        // When/Then
+        assertThatThrownBy(() -> overviewService.generateAnalyticsOverview(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Patient ID cannot be null");
+    }
+
+    private boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.ciaranmckenna.medical_event_tracker.service.impl;
+
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventPoint;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationCorrelationAnalysis;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationDosagePoint;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationExposureStatistics;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationImpactAnalysis;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationPeriodPoint;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.store.PatientTimeSeriesStore;
+import com.ciaranmckenna.medical_event_tracker.util.PatientTimeSeries;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CorrelationServiceImpl.
+ * Focuses on the post-dose window sweep and the on/off-medication exposure statistics
+ * over the patient's time-series snapshot.
+ */
+@ExtendWith(MockitoExtension.class)
+class CorrelationServiceImplTest {
+
+    @Mock
+    private PatientTimeSeriesStore timeSeriesStore;
+
+    @InjectMocks
+    private CorrelationServiceImpl correlationService;
+
+    private UUID patientId;
+    private UUID medicationId;
+    private LocalDateTime baseTime;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(correlationService, "correlationWindowHours", 24L);
+        ReflectionTestUtils.setField(correlationService, "lagBinMinutes", 60L);
+        patientId = UUID.randomUUID();
+        medicationId = UUID.randomUUID();
+        baseTime = LocalDateTime.of(2024, 1, 1, 8, 0);
+    }
+
+    @Test
+    void generateMedicationCorrelationAnalysis_OverlappingWindows_CountsEachEventOnce() {
+        // Given - two doses 12 hours apart, so their 24h windows overlap
+        List<MedicationDosagePoint> dosages = List.of(
+                createDosage(baseTime),
+                createDosage(baseTime.plusHours(12))
+        );
+        List<MedicalEventPoint> events = List.of(
+                createEvent(baseTime.plusHours(14), MedicalEventCategory.SYMPTOM)
+        );
+        stubSnapshot(dosages, events);
+
+        // When
+        MedicationCorrelationAnalysis result = correlationService
+                .generateMedicationCorrelationAnalysis(patientId, medicationId);
+
+        // Then
+        assertThat(result.totalDosages()).isEqualTo(2L);
+        assertThat(result.totalEventsAfterDosage()).isEqualTo(1L);
+        assertThat(result.eventsByCategoryCount()).containsEntry(MedicalEventCategory.SYMPTOM, 1L);
+    }
+
+    @Test
+    void generateMedicationCorrelationAnalysis_EventsOutsideWindows_AreExcluded() {
+        // Given - doses three days apart, events in the gap between windows
+        List<MedicationDosagePoint> dosages = List.of(
+                createDosage(baseTime),
+                createDosage(baseTime.plusDays(3))
+        );
+        List<MedicalEventPoint> events = List.of(
+                createEvent(baseTime.plusHours(24), MedicalEventCategory.SYMPTOM),   // window boundary, included
+                createEvent(baseTime.plusHours(30), MedicalEventCategory.SYMPTOM),   // gap, excluded
+                createEvent(baseTime.plusDays(2), MedicalEventCategory.EMERGENCY),   // gap, excluded
+                createEvent(baseTime.plusDays(3).plusHours(1), MedicalEventCategory.ADVERSE_REACTION)
+        );
+        stubSnapshot(dosages, events);
+
+        // When
+        MedicationCorrelationAnalysis result = correlationService
+                .generateMedicationCorrelationAnalysis(patientId, medicationId);
+
+        // Then
+        assertThat(result.totalEventsAfterDosage()).isEqualTo(2L);
+        assertThat(result.eventsByCategoryCount())
+                .containsEntry(MedicalEventCategory.SYMPTOM, 1L)
+                .containsEntry(MedicalEventCategory.ADVERSE_REACTION, 1L)
+                .doesNotContainKey(MedicalEventCategory.EMERGENCY);
+    }
+
+    @Test
+    void generateMedicationCorrelationAnalysis_ConfiguredWindow_LimitsEventRange() {
+        // Given - a 6 hour window
+        ReflectionTestUtils.setField(correlationService, "correlationWindowHours", 6L);
+        List<MedicationDosagePoint> dosages = List.of(createDosage(baseTime));
+        List<MedicalEventPoint> events = List.of(
+                createEvent(baseTime.plusHours(2), MedicalEventCategory.SYMPTOM),
+                createEvent(baseTime.plusHours(10), MedicalEventCategory.SYMPTOM)
+        );
+        stubSnapshot(dosages, events);
+
+        // When
+        MedicationCorrelationAnalysis result = correlationService
+                .generateMedicationCorrelationAnalysis(patientId, medicationId);
+
+        // Then
+        assertThat(result.totalEventsAfterDosage()).isEqualTo(1L);
+    }
+
+    @Test
+    void generateMedicationCorrelationAnalysis_NoDosages_ReturnsEmptyAnalysis() {
+        // Given - the patient has events for the medication but no dosages
+        MedicalEventPoint event = new MedicalEventPoint(baseTime, MedicalEventCategory.SYMPTOM,
+                MedicalEventSeverity.MILD, medicationId);
+        stubSnapshot(List.of(), List.of(event));
+
+        // When
+        MedicationCorrelationAnalysis result = correlationService
+                .generateMedicationCorrelationAnalysis(patientId, medicationId);
+
+        // Then
+        assertThat(result.totalDosages()).isZero();
+        assertThat(result.totalEventsAfterDosage()).isZero();
+    }
+
+    @Test
+    void generateAllMedicationCorrelations_PartitionsHistoryByMedicationInOnePass() {
+        // Given - two medications sharing one event history
+        UUID otherMedicationId = UUID.randomUUID();
+        MedicationDosagePoint otherDosage = new MedicationDosagePoint(baseTime.plusDays(5), otherMedicationId);
+        List<MedicationDosagePoint> allDosages = List.of(
+                createDosage(baseTime),
+                createDosage(baseTime.plusHours(12)),
+                otherDosage
+        );
+        List<MedicalEventPoint> events = List.of(
+                createEvent(baseTime.plusHours(14), MedicalEventCategory.SYMPTOM),
+                createEvent(baseTime.plusDays(5).plusHours(1), MedicalEventCategory.ADVERSE_REACTION)
+        );
+        stubSnapshot(allDosages, events);
+
+        // When
+        List<MedicationCorrelationAnalysis> results = correlationService.generateAllMedicationCorrelations(patientId);
+
+        // Then
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).medicationId()).isEqualTo(medicationId);
+        assertThat(results.get(0).totalDosages()).isEqualTo(2L);
+        assertThat(results.get(0).totalEventsAfterDosage()).isEqualTo(1L);
+        assertThat(results.get(1).medicationId()).isEqualTo(otherMedicationId);
+        assertThat(results.get(1).totalDosages()).isEqualTo(1L);
+        assertThat(results.get(1).eventsByCategoryCount()).containsEntry(MedicalEventCategory.ADVERSE_REACTION, 1L);
+        verify(timeSeriesStore, times(1)).get(patientId);
+    }
+
+    @Test
+    void generateAllMedicationCorrelations_NoDosages_ReturnsEmptyList() {
+        // Given
+        stubSnapshot(List.of(), List.of(createEvent(baseTime, MedicalEventCategory.SYMPTOM)));
+
+        // When
+        List<MedicationCorrelationAnalysis> results = correlationService.generateAllMedicationCorrelations(patientId);
+
+        // Then
+        assertThat(results).isEmpty();
+    }
+
+    @Test
+    void generateMedicationImpactAnalysis_CountsOnlyRowsInsideTheRange() {
+        // Given
+        UUID otherMedicationId = UUID.randomUUID();
+        List<MedicationDosagePoint> dosages = List.of(
+                createDosage(baseTime.minusDays(1)),                                 // before range
+                createDosage(baseTime),                                              // range start, included
+                new MedicationDosagePoint(baseTime.plusHours(1), otherMedicationId), // other medication
+                createDosage(baseTime.plusDays(2))                                   // range end, included
+        );
+        List<MedicalEventPoint> events = List.of(
+                createEvent(baseTime.minusHours(1), MedicalEventCategory.SYMPTOM),
+                createEvent(baseTime.plusHours(3), MedicalEventCategory.SYMPTOM),
+                createEvent(baseTime.plusDays(1), MedicalEventCategory.ADVERSE_REACTION),
+                createEvent(baseTime.plusDays(3), MedicalEventCategory.SYMPTOM)
+        );
+        stubSnapshot(dosages, events);
+
+        // When
+        MedicationImpactAnalysis result = correlationService.generateMedicationImpactAnalysis(
+                patientId, medicationId, baseTime, baseTime.plusDays(2));
+
+        // Then
+        assertThat(result.totalDosages()).isEqualTo(2L);
+        assertThat(result.eventsWithin24Hours()).isEqualTo(2L);
+        assertThat(result.symptomEvents()).isEqualTo(1L);
+        assertThat(result.adverseReactionEvents()).isEqualTo(1L);
+        assertThat(result.eventRatePercentage()).isEqualTo(1.0);
+    }
+
+    @Test
+    void generateMedicationCorrelationAnalysis_LagHistogram_BinsEventsByTimeSinceLatestDose() {
+        // Given - the second dose resets the lag for events after it
+        List<MedicationDosagePoint> dosages = List.of(
+                createDosage(baseTime),
+                createDosage(baseTime.plusDays(2))
+        );
+        List<MedicalEventPoint> events = List.of(
+                createEvent(baseTime.plusMinutes(30), MedicalEventCategory.SYMPTOM),
+                createEvent(baseTime.plusHours(3).plusMinutes(10), MedicalEventCategory.SYMPTOM),
+                createEvent(baseTime.plusHours(24), MedicalEventCategory.SYMPTOM),          // window boundary
+                createEvent(baseTime.plusHours(30), MedicalEventCategory.SYMPTOM),          // outside any window
+                createEvent(baseTime.plusDays(2).plusHours(3), MedicalEventCategory.SYMPTOM)
+        );
+        stubSnapshot(dosages, events);
+
+        // When
+        MedicationExposureStatistics exposure = correlationService
+                .generateMedicationCorrelationAnalysis(patientId, medicationId).exposure();
+
+        // Then
+        assertThat(exposure.lagBinMinutes()).isEqualTo(60L);
+        assertThat(exposure.lagHistogram()).hasSize(24);
+        assertThat(exposure.lagHistogram().get(0)).isEqualTo(1L);
+        assertThat(exposure.lagHistogram().get(3)).isEqualTo(2L);
+        assertThat(exposure.lagHistogram().get(23)).isEqualTo(1L);
+        assertThat(exposure.lagHistogram().stream().mapToLong(Long::longValue).sum()).isEqualTo(4L);
+    }
+
+    @Test
+    void generateMedicationImpactAnalysis_FewerEventsOnMedication_ReportsSignificantRateRatio() {
+        // Given - prescribed for the first 10 of 20 days, with 2 events on and 20 off medication
+        List<MedicalEventPoint> events = new ArrayList<>();
+        events.add(createEvent(baseTime.plusDays(2), MedicalEventCategory.SYMPTOM));
+        events.add(createEvent(baseTime.plusDays(7), MedicalEventCategory.SYMPTOM));
+        for (int i = 0; i < 20; i++) {
+            events.add(createEvent(baseTime.plusDays(10).plusHours(12L * i), MedicalEventCategory.SYMPTOM));
+        }
+        stubSnapshot(List.of(createDosage(baseTime)), events,
+                List.of(new MedicationPeriodPoint(medicationId, baseTime, baseTime.plusDays(10))));
+
+        // When
+        MedicationImpactAnalysis result = correlationService.generateMedicationImpactAnalysis(
+                patientId, medicationId, baseTime, baseTime.plusDays(20));
+
+        // Then
+        MedicationExposureStatistics exposure = result.exposure();
+        assertThat(exposure.eventsOnMedication()).isEqualTo(2L);
+        assertThat(exposure.eventsOffMedication()).isEqualTo(20L);
+        assertThat(exposure.daysOnMedication()).isCloseTo(10.0, within(1e-9));
+        assertThat(exposure.daysOffMedication()).isCloseTo(10.0, within(1e-9));
+        assertThat(exposure.eventRateOnMedication()).isCloseTo(0.2, within(1e-9));
+        assertThat(exposure.eventRateOffMedication()).isCloseTo(2.0, within(1e-9));
+        assertThat(exposure.rateRatio()).isCloseTo(0.1, within(1e-9));
+        assertThat(exposure.rateRatioLower95()).isCloseTo(0.0234, within(1e-3));
+        assertThat(exposure.rateRatioUpper95()).isCloseTo(0.4279, within(1e-3));
+        assertThat(exposure.isSignificant()).isTrue();
+        assertThat(result.effectivenessScore()).isCloseTo(0.9, within(1e-9));
+        assertThat(result.symptomReductionPercentage()).isCloseTo(90.0, within(1e-9));
+    }
+
+    @Test
+    void generateMedicationImpactAnalysis_NoEventsOnMedication_CorrectsZeroCount() {
+        // Given - overlapping prescriptions merge into one 10 day exposure
+        List<MedicalEventPoint> events = List.of(
+                createEvent(baseTime.plusDays(12), MedicalEventCategory.SYMPTOM),
+                createEvent(baseTime.plusDays(13), MedicalEventCategory.SYMPTOM),
+                createEvent(baseTime.plusDays(14), MedicalEventCategory.SYMPTOM),
+                createEvent(baseTime.plusDays(15), MedicalEventCategory.SYMPTOM)
+        );
+        stubSnapshot(List.of(createDosage(baseTime)), events, List.of(
+                new MedicationPeriodPoint(medicationId, baseTime, baseTime.plusDays(6)),
+                new MedicationPeriodPoint(medicationId, baseTime.plusDays(4), baseTime.plusDays(10))));
+
+        // When
+        MedicationExposureStatistics exposure = correlationService.generateMedicationImpactAnalysis(
+                patientId, medicationId, baseTime, baseTime.plusDays(20)).exposure();
+
+        // Then - 0.5 is added to both counts, giving (0.5 / 10) / (4.5 / 10)
+        assertThat(exposure.daysOnMedication()).isCloseTo(10.0, within(1e-9));
+        assertThat(exposure.eventRateOnMedication()).isZero();
+        assertThat(exposure.rateRatio()).isCloseTo(1.0 / 9.0, within(1e-9));
+        assertThat(exposure.rateRatioUpper95()).isGreaterThan(exposure.rateRatio());
+    }
+
+    @Test
+    void generateMedicationImpactAnalysis_NoPrescription_HasNoBaseline() {
+        // Given
+        stubSnapshot(List.of(createDosage(baseTime)),
+                List.of(createEvent(baseTime.plusHours(2), MedicalEventCategory.SYMPTOM)));
+
+        // When
+        MedicationImpactAnalysis result = correlationService.generateMedicationImpactAnalysis(
+                patientId, medicationId, baseTime, baseTime.plusDays(2));
+
+        // Then
+        assertThat(result.exposure().hasBaseline()).isFalse();
+        assertThat(result.exposure().eventsOffMedication()).isEqualTo(1L);
+        assertThat(result.exposure().eventRateOnMedication()).isNull();
+        assertThat(result.exposure().lagHistogram().get(2)).isEqualTo(1L);
+        assertThat(result.effectivenessScore()).isZero();
+        assertThat(result.symptomReductionPercentage()).isZero();
+    }
+
+    /**
+     * The snapshot is read once however many dosages the patient has.
+     * Sweep latency is measured by CorrelationServiceBenchmark.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 100, 2_000, 20_000})
+    void generateMedicationCorrelationAnalysis_SnapshotReadsStayFlatAsDosageCountGrows(int dosageCount) {
+        // Given - one dose every 12 hours with an event three hours after each dose
+        List<MedicationDosagePoint> dosages = new ArrayList<>(dosageCount);
+        List<MedicalEventPoint> events = new ArrayList<>(dosageCount);
+        for (int i = 0; i < dosageCount; i++) {
+            LocalDateTime doseTime = baseTime.plusHours(12L * i);
+            dosages.add(createDosage(doseTime));
+            events.add(createEvent(doseTime.plusHours(3), MedicalEventCategory.SYMPTOM));
+        }
+        stubSnapshot(dosages, events);
+
+        // When
+        MedicationCorrelationAnalysis result = correlationService
+                .generateMedicationCorrelationAnalysis(patientId, medicationId);
+
+        // Then
+        assertThat(result.totalEventsAfterDosage()).isEqualTo((long) dosageCount);
+        verify(timeSeriesStore, times(1)).get(patientId);
+        verifyNoMoreInteractions(timeSeriesStore);
+    }
+
+    private void stubSnapshot(List<MedicationDosagePoint> dosages, List<MedicalEventPoint> events) {
+        stubSnapshot(dosages, events, List.of());
+    }
+
+    private void stubSnapshot(List<MedicationDosagePoint> dosages, List<MedicalEventPoint> events,
+                              List<MedicationPeriodPoint> periods) {
+        when(timeSeriesStore.get(patientId)).thenReturn(PatientTimeSeries.of(events, dosages, periods));
+    }
+
+    private MedicationDosagePoint createDosage(LocalDateTime administrationTime) {
+        return new MedicationDosagePoint(administrationTime, medicationId);
+    }
+
+    private MedicalEventPoint createEvent(LocalDateTime eventTime, MedicalEventCategory category) {
+        return new MedicalEventPoint(eventTime, category, MedicalEventSeverity.MILD, null);
+    }
+}
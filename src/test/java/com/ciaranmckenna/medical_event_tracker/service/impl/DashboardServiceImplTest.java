@@ -0,0 +1,210 @@
+package com.ciaranmckenna.medical_event_tracker.service.impl;
+
+import com.ciaranmckenna.medical_event_tracker.dto.DashboardSummary;
+import com.ciaranmckenna.medical_event_tracker.dto.TrendPeriod;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.PatientDailyDosageRollupRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.PatientDailyRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DashboardServiceImpl.
+ * Focuses on reading rollup counts and folding them into trend buckets.
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceImplTest {
+
+    @Mock
+    private MedicalEventRepository medicalEventRepository;
+
+    @Mock
+    private PatientDailyRollupRepository eventRollupRepository;
+
+    @Mock
+    private PatientDailyDosageRollupRepository dosageRollupRepository;
+
+    @InjectMocks
+    private DashboardServiceImpl dashboardService;
+
+    private UUID patientId;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        patientId = UUID.randomUUID();
+        today = LocalDate.now();
+    }
+
+    @Test
+    void generateWeeklySummaries_FoldsDailyCountsIntoEightWeeks() {
+        // Given
+        when(eventRollupRepository.sumEventCountsByPatientIdGroupByDate(eq(patientId), any(), any()))
+                .thenReturn(List.of(
+                        dailyCount(today, 2L),
+                        dailyCount(today.minusDays(6), 1L),     // still week 1
+                        dailyCount(today.minusDays(7), 3L),     // week 2
+                        dailyCount(today.minusDays(55), 4L)     // week 8
+                ));
+        when(dosageRollupRepository.sumDosageCountsByPatientIdGroupByDate(eq(patientId), any(), any()))
+                .thenReturn(List.<Object[]>of(dailyCount(today.minusDays(1), 5L)));
+
+        // When
+        Map<String, DashboardSummary> summaries = dashboardService.generateWeeklySummaries(patientId);
+
+        // Then
+        assertThat(summaries).hasSize(8);
+        assertThat(summaries.keySet()).first().isEqualTo("Week 1");
+        assertThat(summaries.get("Week 1").totalEvents()).isEqualTo(3L);
+        assertThat(summaries.get("Week 1").totalDosages()).isEqualTo(5L);
+        assertThat(summaries.get("Week 2").totalEvents()).isEqualTo(3L);
+        assertThat(summaries.get("Week 3").totalEvents()).isZero();
+        assertThat(summaries.get("Week 8").totalEvents()).isEqualTo(4L);
+        assertThat(summaries.get("Week 8").recentEventsLast7Days()).isEqualTo(4L);
+    }
+
+    @Test
+    void generateTrendSummaries_Month_BucketsByCalendarMonth() {
+        // Given
+        LocalDate firstOfMonth = today.withDayOfMonth(1);
+        when(eventRollupRepository.sumEventCountsByPatientIdGroupByDate(eq(patientId), eq(firstOfMonth.minusMonths(23)), any()))
+                .thenReturn(List.of(
+                        dailyCount(firstOfMonth, 1L),
+                        dailyCount(firstOfMonth.minusDays(1), 2L),  // last day of previous month
+                        dailyCount(firstOfMonth.minusMonths(23), 6L)
+                ));
+        when(dosageRollupRepository.sumDosageCountsByPatientIdGroupByDate(eq(patientId), any(), any()))
+                .thenReturn(List.of());
+
+        // When
+        Map<String, DashboardSummary> summaries = dashboardService
+                .generateTrendSummaries(patientId, TrendPeriod.MONTH, 24);
+
+        // Then
+        assertThat(summaries).hasSize(24);
+        assertThat(summaries.get("Month 1").totalEvents()).isEqualTo(1L);
+        assertThat(summaries.get("Month 2").totalEvents()).isEqualTo(2L);
+        assertThat(summaries.get("Month 24").totalEvents()).isEqualTo(6L);
+    }
+
+    /**
+     * The database round trips stay at one per table however many buckets are requested.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 8, 52, 120})
+    void generateTrendSummaries_QueriesStayFlatAsBucketCountGrows(int periods) {
+        // Given
+        when(eventRollupRepository.sumEventCountsByPatientIdGroupByDate(eq(patientId), any(), any()))
+                .thenReturn(List.of());
+        when(dosageRollupRepository.sumDosageCountsByPatientIdGroupByDate(eq(patientId), any(), any()))
+                .thenReturn(List.of());
+
+        // When
+        Map<String, DashboardSummary> summaries = dashboardService
+                .generateTrendSummaries(patientId, TrendPeriod.WEEK, periods);
+
+        // Then
+        assertThat(summaries).hasSize(periods);
+        verify(eventRollupRepository, times(1)).sumEventCountsByPatientIdGroupByDate(eq(patientId), any(), any());
+        verify(dosageRollupRepository, times(1)).sumDosageCountsByPatientIdGroupByDate(eq(patientId), any(), any());
+        verifyNoMoreInteractions(eventRollupRepository, dosageRollupRepository);
+        verifyNoInteractions(medicalEventRepository);
+    }
+
+    @Test
+    void generateTrendSummaries_PeriodsOutOfRange_ThrowsException() {
+        assertThatThrownBy(() -> dashboardService.generateTrendSummaries(patientId, TrendPeriod.WEEK, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> dashboardService.generateTrendSummaries(patientId, TrendPeriod.WEEK, 121))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(eventRollupRepository, dosageRollupRepository);
+    }
+
+    @Test
+    void generateDashboardSummary_ReadsTotalsFromRollups() {
+        // Given
+        when(eventRollupRepository.sumEventCountsByPatientIdGroupByCategoryAndSeverity(patientId))
+                .thenReturn(List.of(
+                        new Object[]{MedicalEventCategory.SYMPTOM, MedicalEventSeverity.MILD, 3L},
+                        new Object[]{MedicalEventCategory.SYMPTOM, MedicalEventSeverity.SEVERE, 1L},
+                        new Object[]{MedicalEventCategory.EMERGENCY, MedicalEventSeverity.CRITICAL, 0L}
+                ));
+        when(medicalEventRepository.countByPatientIdAndEventTimeAfter(eq(patientId), any())).thenReturn(2L);
+        when(dosageRollupRepository.sumDosageCountByPatientId(patientId)).thenReturn(7L);
+
+        // When
+        DashboardSummary summary = dashboardService.generateDashboardSummary(patientId);
+
+        // Then
+        assertThat(summary.totalEvents()).isEqualTo(4L);
+        assertThat(summary.totalDosages()).isEqualTo(7L);
+        assertThat(summary.recentEventsLast7Days()).isEqualTo(2L);
+        assertThat(summary.eventsByCategory()).containsEntry(MedicalEventCategory.SYMPTOM, 4L)
+                .doesNotContainKey(MedicalEventCategory.EMERGENCY);
+        assertThat(summary.eventsBySeverity()).containsEntry(MedicalEventSeverity.MILD, 3L)
+                .containsEntry(MedicalEventSeverity.SEVERE, 1L);
+    }
+
+    @Test
+    void getEventsByCategoryAndSeverity_ReadFromRollup() {
+        // Given
+        when(eventRollupRepository.sumEventCountsByPatientIdGroupByCategoryAndSeverity(patientId))
+                .thenReturn(List.of(
+                        new Object[]{MedicalEventCategory.SYMPTOM, MedicalEventSeverity.MILD, 3L},
+                        new Object[]{MedicalEventCategory.MEDICATION, MedicalEventSeverity.MILD, 2L},
+                        new Object[]{MedicalEventCategory.EMERGENCY, MedicalEventSeverity.CRITICAL, 0L}
+                ));
+
+        // When
+        Map<MedicalEventCategory, Long> byCategory = dashboardService.getEventsByCategory(patientId);
+        Map<MedicalEventSeverity, Long> bySeverity = dashboardService.getEventsBySeverity(patientId);
+
+        // Then
+        assertThat(byCategory).containsOnly(
+                Map.entry(MedicalEventCategory.SYMPTOM, 3L),
+                Map.entry(MedicalEventCategory.MEDICATION, 2L));
+        assertThat(bySeverity).containsOnly(Map.entry(MedicalEventSeverity.MILD, 5L));
+        verifyNoInteractions(medicalEventRepository);
+    }
+
+    @Test
+    void calculateKeyMetrics_ReadsTotalsFromRollups() {
+        // Given
+        when(eventRollupRepository.sumEventCountsByPatientIdGroupByCategoryAndSeverity(patientId))
+                .thenReturn(List.<Object[]>of(
+                        new Object[]{MedicalEventCategory.SYMPTOM, MedicalEventSeverity.MILD, 3L},
+                        new Object[]{MedicalEventCategory.SYMPTOM, MedicalEventSeverity.SEVERE, 1L}
+                ));
+        when(dosageRollupRepository.sumDosageCountByPatientId(patientId)).thenReturn(7L);
+        when(medicalEventRepository.countByPatientIdAndEventTimeAfter(eq(patientId), any())).thenReturn(2L);
+
+        // When
+        long[] metrics = dashboardService.calculateKeyMetrics(patientId);
+
+        // Then
+        assertThat(metrics).containsExactly(4L, 7L, 2L);
+    }
+
+    private Object[] dailyCount(LocalDate date, long count) {
+        return new Object[]{date, count};
+    }
+}
@@ -0,0 +1,106 @@
+package com.ciaranmckenna.medical_event_tracker.service.impl;
+
+import com.ciaranmckenna.medical_event_tracker.dto.TokenClaims;
+import com.ciaranmckenna.medical_event_tracker.entity.User;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for JwtServiceImpl.
+ * Focuses on round-tripping tokens through the shared key and parser.
+ */
+class JwtServiceImplTest {
+
+    private static final String SECRET = "testSecretKey1234567890123456789012345678901234567890";
+
+    private JwtServiceImpl jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = createService(SECRET, 3_600_000L);
+        user = new User("medicaluser", "medicaluser@example.com", "encodedPassword", "John", "Doe");
+        user.setId(UUID.randomUUID());
+        user.setRole(User.Role.ADMIN);
+        user.setTokenVersion(3);
+    }
+
+    @Test
+    void parseToken_ReturnsSubjectRoleAndExpirationFromOneParse() {
+        // Given
+        String token = jwtService.generateToken(user);
+
+        // When
+        TokenClaims claims = jwtService.parseToken(token);
+
+        // Then
+        assertThat(claims.userId()).isEqualTo(user.getId());
+        assertThat(claims.username()).isEqualTo("medicaluser");
+        assertThat(claims.role()).isEqualTo(User.Role.ADMIN);
+        assertThat(claims.tokenVersion()).isEqualTo(3);
+        assertThat(claims.hasUserClaims()).isTrue();
+        assertThat(claims.expiresAt()).isBetween(
+                Instant.now().plus(59, ChronoUnit.MINUTES), Instant.now().plus(61, ChronoUnit.MINUTES));
+    }
+
+    @Test
+    void parseToken_RefreshToken_HasNoRole() {
+        // Given
+        String token = jwtService.generateRefreshToken(user);
+
+        // When
+        TokenClaims claims = jwtService.parseToken(token);
+
+        // Then
+        assertThat(claims.username()).isEqualTo("medicaluser");
+        assertThat(claims.role()).isNull();
+        assertThat(claims.hasUserClaims()).isFalse();
+    }
+
+    @Test
+    void parseToken_SignedWithDifferentSecret_ThrowsException() {
+        // Given
+        String token = createService(SECRET.replace('1', '2'), 3_600_000L).generateToken(user);
+
+        // When & Then
+        assertThatThrownBy(() -> jwtService.parseToken(token)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void parseToken_ExpiredToken_ThrowsException() {
+        // Given
+        String token = createService(SECRET, -1_000L).generateToken(user);
+
+        // When & Then
+        assertThatThrownBy(() -> jwtService.parseToken(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void isTokenValid_ChecksSubject() {
+        // Given
+        String token = jwtService.generateToken(user);
+
+        // When & Then
+        assertThat(jwtService.isTokenValid(token, "medicaluser")).isTrue();
+        assertThat(jwtService.isTokenValid(token, "someoneelse")).isFalse();
+    }
+
+    private JwtServiceImpl createService(String secret, long expirationMs) {
+        JwtServiceImpl service = new JwtServiceImpl();
+        ReflectionTestUtils.setField(service, "jwtSecret", secret);
+        ReflectionTestUtils.setField(service, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(service, "refreshExpirationMs", expirationMs);
+        service.init();
+        return service;
+    }
+}
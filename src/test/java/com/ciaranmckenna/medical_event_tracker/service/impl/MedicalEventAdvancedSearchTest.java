@@ -1,6 +1,7 @@
 package com.ciaranmckenna.medical_event_tracker.service.impl;
 
 import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventSearchRequest;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventText;
 import com.ciaranmckenna.medical_event_tracker.dto.PagedMedicalEventResponse;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
@@ -8,6 +9,8 @@ import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
 import com.ciaranmckenna.medical_event_tracker.exception.InvalidMedicalDataException;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventSpecification;
+import com.ciaranmckenna.medical_event_tracker.store.EventTextIndexStore;
+import com.ciaranmckenna.medical_event_tracker.util.EventTextIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,7 +31,9 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,6 +43,9 @@ class MedicalEventAdvancedSearchTest {
     @Mock
     private MedicalEventRepository medicalEventRepository;
 
+    @Mock
+    private EventTextIndexStore eventTextIndexStore;
+
     @InjectMocks
     private MedicalEventServiceImpl medicalEventService;
 
@@ -92,11 +100,8 @@ class MedicalEventAdvancedSearchTest {
                 "DESC"
         );
 
-        List<MedicalEvent> events = Arrays.asList(testEvent1);
-        Page<MedicalEvent> eventPage = new PageImpl<>(events, PageRequest.of(0, 10), 1);
-        
-        when(medicalEventRepository.findAll(any(Specification.class), any(Pageable.class)))
-                .thenReturn(eventPage);
+        when(eventTextIndexStore.get(patientId)).thenReturn(indexOf(testEvent1, testEvent2));
+        when(medicalEventRepository.findAllById(List.of(testEvent1.getId()))).thenReturn(List.of(testEvent1));
 
         // When
         PagedMedicalEventResponse response = medicalEventService.searchMedicalEvents(searchRequest);
@@ -111,7 +116,7 @@ class MedicalEventAdvancedSearchTest {
         assertThat(response.first()).isTrue();
         assertThat(response.last()).isTrue();
         
-        verify(medicalEventRepository).findAll(any(Specification.class), any(Pageable.class));
+        verify(medicalEventRepository, never()).findAll(any(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -131,22 +136,57 @@ class MedicalEventAdvancedSearchTest {
                 "DESC"
         );
 
-        List<MedicalEvent> events = Arrays.asList(testEvent1, testEvent2);
-        Page<MedicalEvent> eventPage = new PageImpl<>(events, PageRequest.of(0, 20), 2);
-        
-        when(medicalEventRepository.findAll(any(Specification.class), any(Pageable.class)))
-                .thenReturn(eventPage);
+        when(eventTextIndexStore.get(patientId)).thenReturn(indexOf(testEvent1, testEvent2));
+        when(medicalEventRepository.findAllById(List.of(testEvent2.getId(), testEvent1.getId())))
+                .thenReturn(List.of(testEvent1, testEvent2));
 
         // When
         PagedMedicalEventResponse response = medicalEventService.searchMedicalEvents(searchRequest);
 
         // Then
-        assertThat(response.content()).hasSize(2);
+        assertThat(response.content()).extracting("title").containsExactly("Medication Taken", "Severe Headache");
         assertThat(response.totalElements()).isEqualTo(2);
         assertThat(response.hasNext()).isFalse();
         assertThat(response.hasPrevious()).isFalse();
         
-        verify(medicalEventRepository).findAll(any(Specification.class), any(Pageable.class));
+        verify(medicalEventRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void searchMedicalEvents_TextSearchPagedInMemory_LoadsOnlyThePage() {
+        // Given
+        MedicalEventSearchRequest searchRequest = new MedicalEventSearchRequest(
+                patientId, "medication", null, null, null, null, null, 1, 1, "eventTime", "DESC");
+        when(eventTextIndexStore.get(patientId)).thenReturn(indexOf(testEvent1, testEvent2));
+        when(medicalEventRepository.findAllById(List.of(testEvent1.getId()))).thenReturn(List.of(testEvent1));
+
+        // When
+        PagedMedicalEventResponse response = medicalEventService.searchMedicalEvents(searchRequest);
+
+        // Then
+        assertThat(response.content()).extracting("title").containsExactly("Severe Headache");
+        assertThat(response.totalElements()).isEqualTo(2);
+        assertThat(response.totalPages()).isEqualTo(2);
+        assertThat(response.hasPrevious()).isTrue();
+        assertThat(response.hasNext()).isFalse();
+    }
+
+    @Test
+    void searchMedicalEvents_TextSearchSortedByOtherField_SortsEveryMatchInMemory() {
+        // Given
+        MedicalEventSearchRequest searchRequest = new MedicalEventSearchRequest(
+                patientId, "medication", null, null, null, null, null, 0, 20, "title", "ASC");
+        when(eventTextIndexStore.get(patientId)).thenReturn(indexOf(testEvent1, testEvent2));
+        when(medicalEventRepository.findAllById(List.of(testEvent2.getId(), testEvent1.getId())))
+                .thenReturn(List.of(testEvent1, testEvent2));
+
+        // When
+        PagedMedicalEventResponse response = medicalEventService.searchMedicalEvents(searchRequest);
+
+        // Then
+        assertThat(response.content()).extracting("title").containsExactly("Medication Taken", "Severe Headache");
+        assertThat(response.totalElements()).isEqualTo(2);
+        verify(medicalEventRepository, never()).findAll(any(Specification.class), any(Pageable.class));
     }
 
     @Test
@@ -265,4 +305,12 @@ class MedicalEventAdvancedSearchTest {
                 .isInstanceOf(InvalidMedicalDataException.class)
                 .hasMessage("Patient ID cannot be null");
     }
-}
\ No newline at end of file
+
+    private EventTextIndex indexOf(MedicalEvent... events) {
+        return EventTextIndex.of(Arrays.stream(events)
+                .map(event -> new MedicalEventText(event.getId(), event.getEventTime(), event.getTitle(),
+                        event.getDescription(), event.getMedicationId(), event.getCategory(), event.getSeverity(),
+                        event.getCreatedAt(), event.getUpdatedAt()))
+                .toList());
+    }
+}
@@ -1,17 +1,29 @@
 package com.ciaranmckenna.medical_event_tracker.service.impl;
 
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventText;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.event.MedicalEventsChangedEvent;
+import com.ciaranmckenna.medical_event_tracker.event.PatientDataChangedEvent;
 import com.ciaranmckenna.medical_event_tracker.exception.InvalidMedicalDataException;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
+import com.ciaranmckenna.medical_event_tracker.service.PatientRollupService;
 import com.ciaranmckenna.medical_event_tracker.service.MedicalEventService;
+import com.ciaranmckenna.medical_event_tracker.store.EventTextIndexStore;
+import com.ciaranmckenna.medical_event_tracker.util.EventTextIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -22,6 +34,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -31,6 +44,15 @@ class MedicalEventServiceImplTest {
     @Mock
     private MedicalEventRepository medicalEventRepository;
 
+    @Mock
+    private PatientRollupService patientRollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EventTextIndexStore eventTextIndexStore;
+
     @InjectMocks
     private MedicalEventServiceImpl medicalEventService;
 
@@ -65,6 +87,8 @@ class MedicalEventServiceImplTest {
         // Then
         assertThat(result).isEqualTo(testEvent);
         verify(medicalEventRepository).save(testEvent);
+        verify(patientRollupService).applyEvent(testEvent, 1);
+        verify(eventPublisher).publishEvent(new PatientDataChangedEvent(patientId));
     }
 
     @Test
@@ -77,6 +101,41 @@ class MedicalEventServiceImplTest {
         verify(medicalEventRepository, never()).save(any());
     }
 
+    @Test
+    void createMedicalEvents_SavesAllAndPublishesOncePerPatient() {
+        // Given
+        MedicalEvent secondEvent = new MedicalEvent();
+        secondEvent.setPatientId(patientId);
+        MedicalEvent otherPatientEvent = new MedicalEvent();
+        otherPatientEvent.setPatientId(UUID.randomUUID());
+        List<MedicalEvent> events = List.of(testEvent, secondEvent, otherPatientEvent);
+        when(medicalEventRepository.saveAll(events)).thenReturn(events);
+
+        // When
+        List<MedicalEvent> result = medicalEventService.createMedicalEvents(events);
+
+        // Then
+        assertThat(result).containsExactlyElementsOf(events);
+        verify(patientRollupService).applyEvents(events);
+        verify(patientRollupService, never()).applyEvent(any(MedicalEvent.class), anyLong());
+        verify(eventPublisher).publishEvent(new PatientDataChangedEvent(patientId));
+        verify(eventPublisher).publishEvent(new PatientDataChangedEvent(otherPatientEvent.getPatientId()));
+        verify(eventPublisher).publishEvent(MedicalEventsChangedEvent.saved(patientId, List.of(testEvent, secondEvent)));
+        verify(eventPublisher).publishEvent(
+                MedicalEventsChangedEvent.saved(otherPatientEvent.getPatientId(), List.of(otherPatientEvent)));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void createMedicalEvents_NullEvent_ThrowsException() {
+        // When/Then
+        assertThatThrownBy(() -> medicalEventService.createMedicalEvents(Arrays.asList(testEvent, null)))
+                .isInstanceOf(InvalidMedicalDataException.class)
+                .hasMessage("Medical events cannot be null");
+
+        verify(medicalEventRepository, never()).saveAll(any());
+    }
+
     @Test
     void getMedicalEventById_Found_ReturnsEvent() {
         // Given
@@ -125,7 +184,7 @@ class MedicalEventServiceImplTest {
     void updateMedicalEvent_Success() {
         // Given
         testEvent.setTitle("Updated Title");
-        when(medicalEventRepository.existsById(testEvent.getId())).thenReturn(true);
+        when(medicalEventRepository.findById(testEvent.getId())).thenReturn(Optional.of(testEvent));
         when(medicalEventRepository.save(testEvent)).thenReturn(testEvent);
 
         // When
@@ -133,21 +192,43 @@ class MedicalEventServiceImplTest {
 
         // Then
         assertThat(result.getTitle()).isEqualTo("Updated Title");
-        verify(medicalEventRepository).existsById(testEvent.getId());
+        verify(medicalEventRepository).findById(testEvent.getId());
         verify(medicalEventRepository).save(testEvent);
     }
 
+    @Test
+    void updateMedicalEvent_MovesRollupCountToNewKey() {
+        // Given - the stored event is moved to another day and severity
+        LocalDateTime originalTime = testEvent.getEventTime();
+        MedicalEvent updatedEvent = new MedicalEvent();
+        updatedEvent.setId(testEvent.getId());
+        updatedEvent.setPatientId(patientId);
+        updatedEvent.setEventTime(originalTime.minusDays(3));
+        updatedEvent.setSeverity(MedicalEventSeverity.SEVERE);
+        updatedEvent.setCategory(MedicalEventCategory.SYMPTOM);
+        when(medicalEventRepository.findById(testEvent.getId())).thenReturn(Optional.of(testEvent));
+        when(medicalEventRepository.save(updatedEvent)).thenReturn(updatedEvent);
+
+        // When
+        medicalEventService.updateMedicalEvent(updatedEvent);
+
+        // Then
+        verify(patientRollupService).applyEvent(patientId, originalTime, MedicalEventCategory.SYMPTOM,
+                MedicalEventSeverity.MODERATE, -1);
+        verify(patientRollupService).applyEvent(updatedEvent, 1);
+    }
+
     @Test
     void updateMedicalEvent_NotFound_ThrowsException() {
         // Given
-        when(medicalEventRepository.existsById(testEvent.getId())).thenReturn(false);
+        when(medicalEventRepository.findById(testEvent.getId())).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> medicalEventService.updateMedicalEvent(testEvent))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Medical event not found with id: " + testEvent.getId());
         
-        verify(medicalEventRepository).existsById(testEvent.getId());
+        verify(medicalEventRepository).findById(testEvent.getId());
         verify(medicalEventRepository, never()).save(any());
     }
 
@@ -155,29 +236,32 @@ class MedicalEventServiceImplTest {
     void deleteMedicalEvent_Success() {
         // Given
         UUID eventId = testEvent.getId();
-        when(medicalEventRepository.existsById(eventId)).thenReturn(true);
+        when(medicalEventRepository.findById(eventId)).thenReturn(Optional.of(testEvent));
 
         // When
         medicalEventService.deleteMedicalEvent(eventId);
 
         // Then
-        verify(medicalEventRepository).existsById(eventId);
-        verify(medicalEventRepository).deleteById(eventId);
+        verify(medicalEventRepository).findById(eventId);
+        verify(medicalEventRepository).delete(testEvent);
+        verify(patientRollupService).applyEvent(testEvent, -1);
+        verify(eventPublisher).publishEvent(new PatientDataChangedEvent(patientId));
     }
 
     @Test
     void deleteMedicalEvent_NotFound_ThrowsException() {
         // Given
         UUID eventId = UUID.randomUUID();
-        when(medicalEventRepository.existsById(eventId)).thenReturn(false);
+        when(medicalEventRepository.findById(eventId)).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> medicalEventService.deleteMedicalEvent(eventId))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Medical event not found with id: " + eventId);
         
-        verify(medicalEventRepository).existsById(eventId);
-        verify(medicalEventRepository, never()).deleteById(any());
+        verify(medicalEventRepository).findById(eventId);
+        verify(medicalEventRepository, never()).delete(any(MedicalEvent.class));
+        verifyNoInteractions(patientRollupService);
     }
 
     @Test
@@ -214,4 +298,83 @@ class MedicalEventServiceImplTest {
         assertThat(result).hasSize(1);
         verify(medicalEventRepository).findByPatientIdAndCategory(patientId, MedicalEventCategory.SYMPTOM);
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchMedicalEventsByPatientId_ReturnsEventsInIndexRankOrder() {
+        // Given - the older event ranks first: its title is shorter, so "fever" weighs more in it
+        MedicalEvent titleMatch = new MedicalEvent();
+        titleMatch.setId(UUID.randomUUID());
+        titleMatch.setPatientId(patientId);
+        titleMatch.setEventTime(LocalDateTime.now().minusDays(3));
+        titleMatch.setTitle("Fever");
+        EventTextIndex index = EventTextIndex.of(List.of(
+                textOf(testEvent),
+                new MedicalEventText(titleMatch.getId(), titleMatch.getEventTime(), titleMatch.getTitle(), null,
+                        null, MedicalEventCategory.SYMPTOM, MedicalEventSeverity.MILD, null, null),
+                new MedicalEventText(UUID.randomUUID(), LocalDateTime.now(), "Rash", "Itchy skin",
+                        null, MedicalEventCategory.SYMPTOM, MedicalEventSeverity.MILD, null, null)));
+        when(eventTextIndexStore.get(patientId)).thenReturn(index);
+        when(medicalEventRepository.findAllById(anyList())).thenReturn(List.of(testEvent, titleMatch));
+
+        // When
+        List<MedicalEvent> result = medicalEventService.searchMedicalEventsByPatientId(patientId, "fev", 10);
+
+        // Then
+        assertThat(result).containsExactly(titleMatch, testEvent);
+    }
+
+    @Test
+    void searchMedicalEventsByPatientId_NoMatches_SkipsEntityLoad() {
+        // Given
+        when(eventTextIndexStore.get(patientId)).thenReturn(EventTextIndex.of(List.of(textOf(testEvent))));
+
+        // When
+        List<MedicalEvent> result = medicalEventService.searchMedicalEventsByPatientId(patientId, "seizure", 10);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(medicalEventRepository, never()).findAllById(anyList());
+    }
+
+    @Test
+    void searchMedicalEventsByPatientId_BlankText_ReturnsNewestEventsWithoutIndex() {
+        // Given
+        when(medicalEventRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testEvent)));
+
+        // When
+        List<MedicalEvent> result = medicalEventService.searchMedicalEventsByPatientId(patientId, "  ", 10);
+
+        // Then
+        assertThat(result).containsExactly(testEvent);
+        verify(medicalEventRepository).findAll(any(Specification.class),
+                eq(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "eventTime"))));
+        verifyNoInteractions(eventTextIndexStore);
+    }
+
+    @Test
+    void searchMedicalEventsByPatientId_LoadsOnlyTheMostRelevantUpToTheLimit() {
+        // Given
+        MedicalEvent feverRecurring = new MedicalEvent();
+        feverRecurring.setId(UUID.randomUUID());
+        feverRecurring.setPatientId(patientId);
+        feverRecurring.setEventTime(LocalDateTime.now().minusDays(3));
+        feverRecurring.setTitle("Fever");
+        feverRecurring.setDescription("Fever again overnight");
+        when(eventTextIndexStore.get(patientId)).thenReturn(EventTextIndex.of(List.of(
+                textOf(testEvent), textOf(feverRecurring))));
+        when(medicalEventRepository.findAllById(List.of(feverRecurring.getId()))).thenReturn(List.of(feverRecurring));
+
+        // When
+        List<MedicalEvent> result = medicalEventService.searchMedicalEventsByPatientId(patientId, "fever", 1);
+
+        // Then
+        assertThat(result).containsExactly(feverRecurring);
+    }
+
+    private static MedicalEventText textOf(MedicalEvent event) {
+        return new MedicalEventText(event.getId(), event.getEventTime(), event.getTitle(), event.getDescription(),
+                event.getMedicationId(), event.getCategory(), event.getSeverity(), event.getCreatedAt(),
+                event.getUpdatedAt());
+    }
+}
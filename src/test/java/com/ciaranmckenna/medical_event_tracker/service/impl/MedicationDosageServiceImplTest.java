@@ -2,14 +2,17 @@ package com.ciaranmckenna.medical_event_tracker.service.impl;
 
 import com.ciaranmckenna.medical_event_tracker.entity.DosageSchedule;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
+import com.ciaranmckenna.medical_event_tracker.event.PatientDataChangedEvent;
 import com.ciaranmckenna.medical_event_tracker.exception.InvalidMedicalDataException;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
+import com.ciaranmckenna.medical_event_tracker.service.PatientRollupService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -29,6 +32,12 @@ class MedicationDosageServiceImplTest {
     @Mock
     private MedicationDosageRepository medicationDosageRepository;
 
+    @Mock
+    private PatientRollupService patientRollupService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private MedicationDosageServiceImpl medicationDosageService;
 
@@ -64,6 +73,8 @@ class MedicationDosageServiceImplTest {
         // Then
         assertThat(result).isEqualTo(testDosage);
         verify(medicationDosageRepository).save(testDosage);
+        verify(patientRollupService).applyDosage(testDosage, 1);
+        verify(eventPublisher).publishEvent(new PatientDataChangedEvent(patientId));
     }
 
     @Test
@@ -76,6 +87,34 @@ class MedicationDosageServiceImplTest {
         verify(medicationDosageRepository, never()).save(any());
     }
 
+    @Test
+    void createMedicationDosages_SavesAllAndPublishesOncePerPatient() {
+        // Given
+        MedicationDosage secondDosage = new MedicationDosage();
+        secondDosage.setPatientId(patientId);
+        List<MedicationDosage> dosages = List.of(testDosage, secondDosage);
+        when(medicationDosageRepository.saveAll(dosages)).thenReturn(dosages);
+
+        // When
+        List<MedicationDosage> result = medicationDosageService.createMedicationDosages(dosages);
+
+        // Then
+        assertThat(result).containsExactlyElementsOf(dosages);
+        verify(patientRollupService).applyDosages(dosages);
+        verify(eventPublisher, times(1)).publishEvent(new PatientDataChangedEvent(patientId));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void createMedicationDosages_NullList_ThrowsException() {
+        // When/Then
+        assertThatThrownBy(() -> medicationDosageService.createMedicationDosages(null))
+                .isInstanceOf(InvalidMedicalDataException.class)
+                .hasMessage("Medication dosages cannot be null");
+
+        verify(medicationDosageRepository, never()).saveAll(any());
+    }
+
     @Test
     void getMedicationDosageById_Found_ReturnsDosage() {
         // Given
@@ -125,7 +164,7 @@ class MedicationDosageServiceImplTest {
     void updateMedicationDosage_Success() {
         // Given
         testDosage.setNotes("Updated notes");
-        when(medicationDosageRepository.existsById(testDosage.getId())).thenReturn(true);
+        when(medicationDosageRepository.findById(testDosage.getId())).thenReturn(Optional.of(testDosage));
         when(medicationDosageRepository.save(testDosage)).thenReturn(testDosage);
 
         // When
@@ -133,21 +172,21 @@ class MedicationDosageServiceImplTest {
 
         // Then
         assertThat(result.getNotes()).isEqualTo("Updated notes");
-        verify(medicationDosageRepository).existsById(testDosage.getId());
+        verify(medicationDosageRepository).findById(testDosage.getId());
         verify(medicationDosageRepository).save(testDosage);
     }
 
     @Test
     void updateMedicationDosage_NotFound_ThrowsException() {
         // Given
-        when(medicationDosageRepository.existsById(testDosage.getId())).thenReturn(false);
+        when(medicationDosageRepository.findById(testDosage.getId())).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> medicationDosageService.updateMedicationDosage(testDosage))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Medication dosage not found with id: " + testDosage.getId());
         
-        verify(medicationDosageRepository).existsById(testDosage.getId());
+        verify(medicationDosageRepository).findById(testDosage.getId());
         verify(medicationDosageRepository, never()).save(any());
     }
 
@@ -155,29 +194,32 @@ class MedicationDosageServiceImplTest {
     void deleteMedicationDosage_Success() {
         // Given
         UUID dosageId = testDosage.getId();
-        when(medicationDosageRepository.existsById(dosageId)).thenReturn(true);
+        when(medicationDosageRepository.findById(dosageId)).thenReturn(Optional.of(testDosage));
 
         // When
         medicationDosageService.deleteMedicationDosage(dosageId);
 
         // Then
-        verify(medicationDosageRepository).existsById(dosageId);
-        verify(medicationDosageRepository).deleteById(dosageId);
+        verify(medicationDosageRepository).findById(dosageId);
+        verify(medicationDosageRepository).delete(testDosage);
+        verify(patientRollupService).applyDosage(testDosage, -1);
+        verify(eventPublisher).publishEvent(new PatientDataChangedEvent(patientId));
     }
 
     @Test
     void deleteMedicationDosage_NotFound_ThrowsException() {
         // Given
         UUID dosageId = UUID.randomUUID();
-        when(medicationDosageRepository.existsById(dosageId)).thenReturn(false);
+        when(medicationDosageRepository.findById(dosageId)).thenReturn(Optional.empty());
 
         // When/Then
         assertThatThrownBy(() -> medicationDosageService.deleteMedicationDosage(dosageId))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Medication dosage not found with id: " + dosageId);
         
-        verify(medicationDosageRepository).existsById(dosageId);
-        verify(medicationDosageRepository, never()).deleteById(any());
+        verify(medicationDosageRepository).findById(dosageId);
+        verify(medicationDosageRepository, never()).delete(any(MedicationDosage.class));
+        verifyNoInteractions(patientRollupService);
     }
 
     @Test
@@ -0,0 +1,171 @@
+package com.ciaranmckenna.medical_event_tracker.service.impl;
+
+import com.ciaranmckenna.medical_event_tracker.dto.ExportFormat;
+import com.ciaranmckenna.medical_event_tracker.entity.DosageSchedule;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
+import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PatientExportServiceImpl.
+ * Focuses on merging the two time-ordered streams and on the output formats.
+ */
+@ExtendWith(MockitoExtension.class)
+class PatientExportServiceImplTest {
+
+    @Mock
+    private MedicalEventRepository medicalEventRepository;
+
+    @Mock
+    private MedicationDosageRepository medicationDosageRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private PatientExportServiceImpl patientExportService;
+
+    private UUID patientId;
+    private LocalDateTime baseTime;
+
+    @BeforeEach
+    void setUp() {
+        patientExportService = new PatientExportServiceImpl(
+                medicalEventRepository, medicationDosageRepository, objectMapper, entityManager);
+        patientId = UUID.randomUUID();
+        baseTime = LocalDateTime.of(2024, 3, 1, 8, 0);
+    }
+
+    @Test
+    void exportPatientHistory_Ndjson_MergesEventsAndDosagesInTimeOrder() throws Exception {
+        // Given
+        MedicalEvent firstEvent = event("Morning headache", baseTime.plusHours(1));
+        MedicalEvent secondEvent = event("Evening seizure", baseTime.plusHours(10));
+        MedicationDosage firstDosage = dosage(baseTime);
+        MedicationDosage secondDosage = dosage(baseTime.plusHours(5));
+        when(medicalEventRepository.streamByPatientIdOrderByEventTimeAsc(patientId))
+                .thenReturn(Stream.of(firstEvent, secondEvent));
+        when(medicationDosageRepository.streamByPatientIdOrderByAdministrationTimeAsc(patientId))
+                .thenReturn(Stream.of(firstDosage, secondDosage));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long rows = patientExportService.exportPatientHistory(patientId, ExportFormat.NDJSON, output);
+
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(rows).isEqualTo(4);
+        assertThat(lines).hasSize(4);
+        assertThat(objectMapper.readTree(lines[0]).get("id").asText()).isEqualTo(firstDosage.getId().toString());
+        assertThat(objectMapper.readTree(lines[1]).get("title").asText()).isEqualTo("Morning headache");
+        assertThat(objectMapper.readTree(lines[2]).get("id").asText()).isEqualTo(secondDosage.getId().toString());
+        JsonNode last = objectMapper.readTree(lines[3]);
+        assertThat(last.get("type").asText()).isEqualTo("EVENT");
+        assertThat(last.get("time").asText()).isEqualTo("2024-03-01T18:00:00");
+        assertThat(last.has("schedule")).isFalse();
+        verify(entityManager).detach(firstEvent);
+        verify(entityManager).detach(secondDosage);
+    }
+
+    @Test
+    void exportPatientHistory_Csv_WritesHeaderAndEscapesValues() throws Exception {
+        // Given
+        MedicalEvent quotedEvent = event("Rash, \"itchy\"", baseTime);
+        when(medicalEventRepository.streamByPatientIdOrderByEventTimeAsc(patientId))
+                .thenReturn(Stream.of(quotedEvent));
+        when(medicationDosageRepository.streamByPatientIdOrderByAdministrationTimeAsc(patientId))
+                .thenReturn(Stream.of(dosage(baseTime.plusMinutes(30))));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        patientExportService.exportPatientHistory(patientId, ExportFormat.CSV, output);
+
+        // Then
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("type,id,time,");
+        assertThat(lines[1]).startsWith("EVENT," + quotedEvent.getId() + ",2024-03-01T08:00,")
+                .contains(",\"Rash, \"\"itchy\"\"\",");
+        assertThat(lines[2]).startsWith("DOSAGE,").endsWith(",mg,AM,true,");
+    }
+
+    @Test
+    void exportPatientHistory_ClosesBothStreams() throws Exception {
+        // Given
+        AtomicBoolean eventsClosed = new AtomicBoolean();
+        AtomicBoolean dosagesClosed = new AtomicBoolean();
+        when(medicalEventRepository.streamByPatientIdOrderByEventTimeAsc(patientId))
+                .thenReturn(Stream.<MedicalEvent>empty().onClose(() -> eventsClosed.set(true)));
+        when(medicationDosageRepository.streamByPatientIdOrderByAdministrationTimeAsc(patientId))
+                .thenReturn(Stream.<MedicationDosage>empty().onClose(() -> dosagesClosed.set(true)));
+
+        // When
+        long rows = patientExportService.exportPatientHistory(patientId, ExportFormat.NDJSON, new ByteArrayOutputStream());
+
+        // Then
+        assertThat(rows).isZero();
+        assertThat(eventsClosed).isTrue();
+        assertThat(dosagesClosed).isTrue();
+    }
+
+    @Test
+    void exportPatientHistory_NullPatientId_ThrowsException() {
+        assertThatThrownBy(() -> patientExportService.exportPatientHistory(
+                null, ExportFormat.NDJSON, new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(medicalEventRepository, medicationDosageRepository);
+    }
+
+    private MedicalEvent event(String title, LocalDateTime eventTime) {
+        MedicalEvent event = new MedicalEvent();
+        event.setId(UUID.randomUUID());
+        event.setPatientId(patientId);
+        event.setEventTime(eventTime);
+        event.setTitle(title);
+        event.setSeverity(MedicalEventSeverity.MILD);
+        event.setCategory(MedicalEventCategory.SYMPTOM);
+        event.setWeightKg(new BigDecimal("70.50"));
+        event.setDosageGiven(new BigDecimal("5.00"));
+        return event;
+    }
+
+    private MedicationDosage dosage(LocalDateTime administrationTime) {
+        MedicationDosage dosage = new MedicationDosage();
+        dosage.setId(UUID.randomUUID());
+        dosage.setPatientId(patientId);
+        dosage.setMedicationId(UUID.randomUUID());
+        dosage.setAdministrationTime(administrationTime);
+        dosage.setDosageAmount(new BigDecimal("10.5"));
+        dosage.setDosageUnit("mg");
+        dosage.setSchedule(DosageSchedule.AM);
+        dosage.setAdministered(true);
+        return dosage;
+    }
+}
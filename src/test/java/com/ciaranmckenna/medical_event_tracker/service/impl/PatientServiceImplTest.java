@@ -1,6 +1,7 @@
 package com.ciaranmckenna.medical_event_tracker.service.impl;
 
 import com.ciaranmckenna.medical_event_tracker.dto.PatientCreateRequest;
+import com.ciaranmckenna.medical_event_tracker.dto.PatientMedicationCount;
 import com.ciaranmckenna.medical_event_tracker.dto.PatientResponse;
 import com.ciaranmckenna.medical_event_tracker.dto.PatientUpdateRequest;
 import com.ciaranmckenna.medical_event_tracker.entity.Patient;
@@ -15,6 +16,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -59,7 +62,9 @@ class PatientServiceImplTest {
             Patient.Gender.MALE,
             testUser
         );
-        // Note: ID is set by JPA, not manually in tests
+        ReflectionTestUtils.setField(testPatient, "id", UUID.randomUUID());
+        ReflectionTestUtils.setField(patientService, "maxResults", 50);
+        ReflectionTestUtils.setField(patientService, "candidateLimit", 200);
         testPatient.setWeightKg(new BigDecimal("75.5"));
         testPatient.setHeightCm(new BigDecimal("180.0"));
 
@@ -118,7 +123,8 @@ class PatientServiceImplTest {
         // Given
         List<Patient> patients = Arrays.asList(testPatient);
         when(patientRepository.findByUserAndActiveTrue(testUser)).thenReturn(patients);
-        when(patientMedicationRepository.countByPatientAndActiveTrue(testPatient)).thenReturn(2L);
+        when(patientMedicationRepository.countActiveByPatientIds(List.of(testPatient.getId())))
+            .thenReturn(List.of(new PatientMedicationCount(testPatient.getId(), 2L)));
 
         // When
         List<PatientResponse> responses = patientService.getActivePatients(testUser);
@@ -215,16 +221,74 @@ class PatientServiceImplTest {
     @Test
     void searchPatientsByName_Success() {
         // Given
-        List<Patient> patients = Arrays.asList(testPatient);
-        when(patientRepository.findByUserAndNameContaining(testUser, "John")).thenReturn(patients);
-        when(patientMedicationRepository.countByPatientAndActiveTrue(testPatient)).thenReturn(1L);
+        when(patientRepository.findByUserAndLastNamePrefix(eq(testUser), eq("john"), anyString(), any(Limit.class)))
+            .thenReturn(List.of());
+        when(patientRepository.findByUserAndFirstNamePrefix(eq(testUser), eq("john"), anyString(), any(Limit.class)))
+            .thenReturn(List.of(testPatient));
+        when(patientRepository.findIdsByUserAndNameTrigrams(eq(testUser), anyCollection(), eq(2L), any(Limit.class)))
+            .thenReturn(List.of(testPatient.getId()));
+        when(patientRepository.findAllById(List.of(testPatient.getId()))).thenReturn(List.of(testPatient));
+        when(patientMedicationRepository.countActiveByPatientIds(List.of(testPatient.getId())))
+            .thenReturn(List.of(new PatientMedicationCount(testPatient.getId(), 1L)));
 
         // When
-        List<PatientResponse> responses = patientService.searchPatientsByName("John", testUser);
+        List<PatientResponse> responses = patientService.searchPatientsByName("  JOHN ", testUser);
 
         // Then
         assertThat(responses).hasSize(1);
         assertThat(responses.get(0).firstName()).isEqualTo("John");
+        assertThat(responses.get(0).activeMedicationCount()).isEqualTo(1);
+    }
+
+    @Test
+    void searchPatientsByName_RanksByMatchQualityAndDropsTrigramFalsePositives() {
+        // Given
+        Patient substringMatch = createPatient("Marjohn", "Smith");
+        Patient wordPrefixMatch = createPatient("Anne", "Doe Johnson");
+        Patient trigramFalsePositive = createPatient("Ohnjo", "Brown");
+        when(patientRepository.findByUserAndLastNamePrefix(eq(testUser), eq("john"), anyString(), any(Limit.class)))
+            .thenReturn(List.of());
+        when(patientRepository.findByUserAndFirstNamePrefix(eq(testUser), eq("john"), anyString(), any(Limit.class)))
+            .thenReturn(List.of(testPatient));
+        List<UUID> trigramIds = List.of(substringMatch.getId(), wordPrefixMatch.getId(), trigramFalsePositive.getId());
+        when(patientRepository.findIdsByUserAndNameTrigrams(eq(testUser), anyCollection(), eq(2L), any(Limit.class)))
+            .thenReturn(trigramIds);
+        when(patientRepository.findAllById(trigramIds))
+            .thenReturn(List.of(substringMatch, wordPrefixMatch, trigramFalsePositive));
+        when(patientMedicationRepository.countActiveByPatientIds(anyCollection())).thenReturn(List.of());
+
+        // When
+        List<PatientResponse> responses = patientService.searchPatientsByName("john", testUser);
+
+        // Then
+        assertThat(responses).extracting(PatientResponse::firstName).containsExactly("John", "Anne", "Marjohn");
+    }
+
+    @Test
+    void searchPatientsByName_ShortTerm_UsesPrefixIndexesOnly() {
+        // Given
+        when(patientRepository.findByUserAndLastNamePrefix(eq(testUser), eq("do"), anyString(), any(Limit.class)))
+            .thenReturn(List.of(testPatient));
+        when(patientRepository.findByUserAndFirstNamePrefix(eq(testUser), eq("do"), anyString(), any(Limit.class)))
+            .thenReturn(List.of());
+        when(patientMedicationRepository.countActiveByPatientIds(anyCollection())).thenReturn(List.of());
+
+        // When
+        List<PatientResponse> responses = patientService.searchPatientsByName("Do", testUser);
+
+        // Then
+        assertThat(responses).extracting(PatientResponse::lastName).containsExactly("Doe");
+        verify(patientRepository, never()).findIdsByUserAndNameTrigrams(any(), anyCollection(), anyLong(), any());
+    }
+
+    @Test
+    void searchPatientsByName_OnlyPunctuation_ReturnsNoPatients() {
+        // When
+        List<PatientResponse> responses = patientService.searchPatientsByName("%_'", testUser);
+
+        // Then
+        assertThat(responses).isEmpty();
+        verifyNoInteractions(patientRepository);
     }
 
     @Test
@@ -232,7 +296,7 @@ class PatientServiceImplTest {
         // Given
         List<Patient> patients = Arrays.asList(testPatient);
         when(patientRepository.findByUserAndActiveTrue(testUser)).thenReturn(patients);
-        when(patientMedicationRepository.countByPatientAndActiveTrue(testPatient)).thenReturn(0L);
+        when(patientMedicationRepository.countActiveByPatientIds(List.of(testPatient.getId()))).thenReturn(List.of());
 
         // When
         List<PatientResponse> responses = patientService.searchPatientsByName("", testUser);
@@ -248,7 +312,7 @@ class PatientServiceImplTest {
         List<Patient> patients = Arrays.asList(testPatient);
         when(patientRepository.findByUserAndDateOfBirthBetween(
             eq(testUser), any(LocalDate.class), any(LocalDate.class))).thenReturn(patients);
-        when(patientMedicationRepository.countByPatientAndActiveTrue(testPatient)).thenReturn(0L);
+        when(patientMedicationRepository.countActiveByPatientIds(List.of(testPatient.getId()))).thenReturn(List.of());
 
         // When
         List<PatientResponse> responses = patientService.findPatientsByAgeRange(20, 40, testUser);
@@ -308,7 +372,8 @@ class PatientServiceImplTest {
         // Given
         List<Patient> patients = Arrays.asList(testPatient);
         when(patientRepository.findByUserWithActiveMedications(testUser)).thenReturn(patients);
-        when(patientMedicationRepository.countByPatientAndActiveTrue(testPatient)).thenReturn(3L);
+        when(patientMedicationRepository.countActiveByPatientIds(List.of(testPatient.getId())))
+            .thenReturn(List.of(new PatientMedicationCount(testPatient.getId(), 3L)));
 
         // When
         List<PatientResponse> responses = patientService.getPatientsWithActiveMedications(testUser);
@@ -317,4 +382,47 @@ class PatientServiceImplTest {
         assertThat(responses).hasSize(1);
         assertThat(responses.get(0).activeMedicationCount()).isEqualTo(3);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getActivePatients_CountsMedicationsForAllPatientsInOneQuery() {
+        // Given
+        Patient otherPatient = new Patient("Mary", "Major", LocalDate.of(1980, 3, 3), Patient.Gender.FEMALE, testUser);
+        ReflectionTestUtils.setField(otherPatient, "id", UUID.randomUUID());
+        Patient untreatedPatient = new Patient("Sam", "Minor", LocalDate.of(2000, 4, 4), Patient.Gender.OTHER, testUser);
+        ReflectionTestUtils.setField(untreatedPatient, "id", UUID.randomUUID());
+        List<Patient> patients = List.of(testPatient, otherPatient, untreatedPatient);
+        when(patientRepository.findByUserAndActiveTrue(testUser)).thenReturn(patients);
+        when(patientMedicationRepository.countActiveByPatientIds(
+            List.of(testPatient.getId(), otherPatient.getId(), untreatedPatient.getId())))
+            .thenReturn(List.of(
+                new PatientMedicationCount(testPatient.getId(), 2L),
+                new PatientMedicationCount(otherPatient.getId(), 4L)));
+
+        // When
+        List<PatientResponse> responses = patientService.getActivePatients(testUser);
+
+        // Then
+        assertThat(responses).extracting(PatientResponse::activeMedicationCount).containsExactly(2, 4, 0);
+        verify(patientMedicationRepository, times(1)).countActiveByPatientIds(anyCollection());
+        verify(patientMedicationRepository, never()).countByPatientAndActiveTrue(any(Patient.class));
+    }
+
+    @Test
+    void getActivePatients_NoPatients_SkipsCountQuery() {
+        // Given
+        when(patientRepository.findByUserAndActiveTrue(testUser)).thenReturn(List.of());
+
+        // When
+        List<PatientResponse> responses = patientService.getActivePatients(testUser);
+
+        // Then
+        assertThat(responses).isEmpty();
+        verifyNoInteractions(patientMedicationRepository);
+    }
+
+    private Patient createPatient(String firstName, String lastName) {
+        Patient patient = new Patient(firstName, lastName, LocalDate.of(1980, 1, 1), Patient.Gender.OTHER, testUser);
+        ReflectionTestUtils.setField(patient, "id", UUID.randomUUID());
+        return patient;
+    }
+}
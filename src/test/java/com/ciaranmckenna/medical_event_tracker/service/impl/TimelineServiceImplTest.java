@@ -1,10 +1,13 @@
 package com.ciaranmckenna.medical_event_tracker.service.impl;
 
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventTimelinePoint;
+import com.ciaranmckenna.medical_event_tracker.dto.MedicationDosageTimelinePoint;
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineAnalysis;
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineBucket;
 import com.ciaranmckenna.medical_event_tracker.dto.TimelineDataPoint;
-import com.ciaranmckenna.medical_event_tracker.entity.MedicalEvent;
-import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineResolution;
+import com.ciaranmckenna.medical_event_tracker.dto.TimelineSection;
 import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
-import com.ciaranmckenna.medical_event_tracker.entity.MedicationDosage;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicalEventRepository;
 import com.ciaranmckenna.medical_event_tracker.repository.MedicationDosageRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,11 +19,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -60,15 +67,15 @@ class TimelineServiceImplTest {
     void createTimelineDataPoints_WithValidWeightAndHeight_CalculatesBMI() {
         // Given - Medical event with valid weight (70.5kg) and height (175cm)
         // Expected BMI: 70.5 / (1.75 * 1.75) = 23.0
-        MedicalEvent event = createMedicalEvent(
+        MedicalEventTimelinePoint event = createMedicalEvent(
                 "Test Event",
                 new BigDecimal("70.5"),  // weight in kg
                 new BigDecimal("175.0")  // height in cm
         );
 
-        when(medicalEventRepository.findByPatientIdAndEventTimeBetween(
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList(event));
-        when(medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList());
 
         // When
@@ -90,15 +97,15 @@ class TimelineServiceImplTest {
     void createTimelineDataPoints_WithDifferentWeightAndHeight_CalculatesCorrectBMI() {
         // Given - Medical event with weight (85kg) and height (180cm)
         // Expected BMI: 85 / (1.80 * 1.80) = 26.2
-        MedicalEvent event = createMedicalEvent(
+        MedicalEventTimelinePoint event = createMedicalEvent(
                 "Overweight Event",
                 new BigDecimal("85.0"),  // weight in kg
                 new BigDecimal("180.0")  // height in cm
         );
 
-        when(medicalEventRepository.findByPatientIdAndEventTimeBetween(
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList(event));
-        when(medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList());
 
         // When
@@ -116,15 +123,15 @@ class TimelineServiceImplTest {
     @Test
     void createTimelineDataPoints_WithNullWeight_ReturnsBMINull() {
         // Given - Medical event with null weight
-        MedicalEvent event = createMedicalEvent(
+        MedicalEventTimelinePoint event = createMedicalEvent(
                 "Event Without Weight",
                 null,  // null weight
                 new BigDecimal("175.0")  // height in cm
         );
 
-        when(medicalEventRepository.findByPatientIdAndEventTimeBetween(
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList(event));
-        when(medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList());
 
         // When
@@ -143,15 +150,15 @@ class TimelineServiceImplTest {
     @Test
     void createTimelineDataPoints_WithNullHeight_ReturnsBMINull() {
         // Given - Medical event with null height
-        MedicalEvent event = createMedicalEvent(
+        MedicalEventTimelinePoint event = createMedicalEvent(
                 "Event Without Height",
                 new BigDecimal("70.5"),  // weight in kg
                 null  // null height
         );
 
-        when(medicalEventRepository.findByPatientIdAndEventTimeBetween(
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList(event));
-        when(medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList());
 
         // When
@@ -169,15 +176,15 @@ class TimelineServiceImplTest {
     @Test
     void createTimelineDataPoints_WithZeroWeight_ReturnsBMINull() {
         // Given - Medical event with zero weight (invalid)
-        MedicalEvent event = createMedicalEvent(
+        MedicalEventTimelinePoint event = createMedicalEvent(
                 "Event With Zero Weight",
                 BigDecimal.ZERO,  // invalid weight
                 new BigDecimal("175.0")  // height in cm
         );
 
-        when(medicalEventRepository.findByPatientIdAndEventTimeBetween(
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList(event));
-        when(medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList());
 
         // When
@@ -194,15 +201,15 @@ class TimelineServiceImplTest {
     @Test
     void createTimelineDataPoints_WithNegativeWeight_ReturnsBMINull() {
         // Given - Medical event with negative weight (invalid)
-        MedicalEvent event = createMedicalEvent(
+        MedicalEventTimelinePoint event = createMedicalEvent(
                 "Event With Negative Weight",
                 new BigDecimal("-70.5"),  // invalid negative weight
                 new BigDecimal("175.0")  // height in cm
         );
 
-        when(medicalEventRepository.findByPatientIdAndEventTimeBetween(
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList(event));
-        when(medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList());
 
         // When
@@ -219,15 +226,15 @@ class TimelineServiceImplTest {
     @Test
     void createTimelineDataPoints_WithHeightTooLow_ReturnsBMINull() {
         // Given - Medical event with height below minimum (< 30cm)
-        MedicalEvent event = createMedicalEvent(
+        MedicalEventTimelinePoint event = createMedicalEvent(
                 "Event With Invalid Low Height",
                 new BigDecimal("70.5"),  // weight in kg
                 new BigDecimal("25.0")  // invalid height < 30cm
         );
 
-        when(medicalEventRepository.findByPatientIdAndEventTimeBetween(
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList(event));
-        when(medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList());
 
         // When
@@ -244,15 +251,15 @@ class TimelineServiceImplTest {
     @Test
     void createTimelineDataPoints_WithHeightTooHigh_ReturnsBMINull() {
         // Given - Medical event with height above maximum (> 300cm)
-        MedicalEvent event = createMedicalEvent(
+        MedicalEventTimelinePoint event = createMedicalEvent(
                 "Event With Invalid High Height",
                 new BigDecimal("70.5"),  // weight in kg
                 new BigDecimal("350.0")  // invalid height > 300cm
         );
 
-        when(medicalEventRepository.findByPatientIdAndEventTimeBetween(
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList(event));
-        when(medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList());
 
         // When
@@ -269,15 +276,15 @@ class TimelineServiceImplTest {
     @Test
     void createTimelineDataPoints_WithMinimumValidHeight_CalculatesBMI() {
         // Given - Medical event with minimum valid height (30cm)
-        MedicalEvent event = createMedicalEvent(
+        MedicalEventTimelinePoint event = createMedicalEvent(
                 "Event With Minimum Valid Height",
                 new BigDecimal("5.0"),  // weight in kg
                 new BigDecimal("30.0")  // minimum valid height
         );
 
-        when(medicalEventRepository.findByPatientIdAndEventTimeBetween(
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList(event));
-        when(medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList());
 
         // When
@@ -296,15 +303,15 @@ class TimelineServiceImplTest {
     @Test
     void createTimelineDataPoints_WithMaximumValidHeight_CalculatesBMI() {
         // Given - Medical event with maximum valid height (300cm)
-        MedicalEvent event = createMedicalEvent(
+        MedicalEventTimelinePoint event = createMedicalEvent(
                 "Event With Maximum Valid Height",
                 new BigDecimal("100.0"),  // weight in kg
                 new BigDecimal("300.0")  // maximum valid height
         );
 
-        when(medicalEventRepository.findByPatientIdAndEventTimeBetween(
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList(event));
-        when(medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList());
 
         // When
@@ -325,15 +332,15 @@ class TimelineServiceImplTest {
     @Test
     void createTimelineDataPoints_EventDataPoint_HasEventTypeAndBMI() {
         // Given - Medical event with valid measurements
-        MedicalEvent event = createMedicalEvent(
+        MedicalEventTimelinePoint event = createMedicalEvent(
                 "Medical Event",
                 new BigDecimal("70.5"),
                 new BigDecimal("175.0")
         );
 
-        when(medicalEventRepository.findByPatientIdAndEventTimeBetween(
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList(event));
-        when(medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList());
 
         // When
@@ -355,11 +362,11 @@ class TimelineServiceImplTest {
     @Test
     void createTimelineDataPoints_DosageDataPoint_HasDosageTypeAndNullBMI() {
         // Given - Medication dosage (no weight/height measurements)
-        MedicationDosage dosage = createMedicationDosage(new BigDecimal("500.0"));
+        MedicationDosageTimelinePoint dosage = createMedicationDosage(new BigDecimal("500.0"));
 
-        when(medicalEventRepository.findByPatientIdAndEventTimeBetween(
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList());
-        when(medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList(dosage));
 
         // When
@@ -383,16 +390,16 @@ class TimelineServiceImplTest {
     @Test
     void createTimelineDataPoints_MixedEventAndDosage_CorrectlyAssignsBMI() {
         // Given - Both medical event and medication dosage
-        MedicalEvent event = createMedicalEvent(
+        MedicalEventTimelinePoint event = createMedicalEvent(
                 "Headache",
                 new BigDecimal("70.5"),
                 new BigDecimal("175.0")
         );
-        MedicationDosage dosage = createMedicationDosage(new BigDecimal("500.0"));
+        MedicationDosageTimelinePoint dosage = createMedicationDosage(new BigDecimal("500.0"));
 
-        when(medicalEventRepository.findByPatientIdAndEventTimeBetween(
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList(event));
-        when(medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList(dosage));
 
         // When
@@ -421,23 +428,23 @@ class TimelineServiceImplTest {
     @Test
     void createTimelineDataPoints_MultipleEventsWithDifferentBMI_CalculatesEachCorrectly() {
         // Given - Multiple events with different weights (simulating weight change over time)
-        MedicalEvent event1 = createMedicalEvent(
+        MedicalEventTimelinePoint event1 = createMedicalEvent(
                 "Event 1 - Before Weight Loss",
                 new BigDecimal("85.0"),  // 85kg
-                new BigDecimal("175.0")   // 175cm
+                new BigDecimal("175.0"),  // 175cm
+                LocalDateTime.now().minusDays(5)
         );
-        event1.setEventTime(LocalDateTime.now().minusDays(5));
 
-        MedicalEvent event2 = createMedicalEvent(
+        MedicalEventTimelinePoint event2 = createMedicalEvent(
                 "Event 2 - After Weight Loss",
                 new BigDecimal("75.0"),  // 75kg (10kg loss)
-                new BigDecimal("175.0")   // 175cm (same height)
+                new BigDecimal("175.0"),  // 175cm (same height)
+                LocalDateTime.now().minusDays(1)
         );
-        event2.setEventTime(LocalDateTime.now().minusDays(1));
 
-        when(medicalEventRepository.findByPatientIdAndEventTimeBetween(
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList(event1, event2));
-        when(medicationDosageRepository.findByPatientIdAndAdministrationTimeBetween(
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
                 eq(patientId), any(), any())).thenReturn(Arrays.asList());
 
         // When
@@ -462,39 +469,248 @@ class TimelineServiceImplTest {
         assertThat(bmiDifference).isEqualByComparingTo(new BigDecimal("3.3"));
     }
 
+    // ========== Merge and Downsampling Tests ==========
+
+    @Test
+    void createTimelineDataPoints_InterleavedSources_MergesInTimeOrder() {
+        // Given - each source is already ordered, as returned by the repositories
+        LocalDateTime base = LocalDateTime.of(2024, 5, 6, 8, 0);
+        MedicalEventTimelinePoint morningEvent = createMedicalEvent("Morning", new BigDecimal("70.0"), new BigDecimal("175.0"), base.plusHours(1));
+        MedicalEventTimelinePoint eveningEvent = createMedicalEvent("Evening", new BigDecimal("70.0"), new BigDecimal("175.0"), base.plusHours(12));
+        MedicationDosageTimelinePoint firstDosage = createMedicationDosage(new BigDecimal("250.0"), base);
+        MedicationDosageTimelinePoint tiedDosage = createMedicationDosage(new BigDecimal("500.0"), base.plusHours(12));
+
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
+                eq(patientId), any(), any())).thenReturn(List.of(morningEvent, eveningEvent));
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
+                eq(patientId), any(), any())).thenReturn(List.of(firstDosage, tiedDosage));
+
+        // When
+        List<TimelineDataPoint> dataPoints = timelineService.createTimelineDataPoints(
+                patientId, startDate, endDate);
+
+        // Then - an event and a dosage at the same instant keep the event first
+        assertThat(dataPoints).extracting(TimelineDataPoint::description)
+                .containsExactly("Medication Administration", "Morning", "Evening", "Medication Administration");
+        assertThat(dataPoints.get(3).value()).isEqualByComparingTo("500.0");
+    }
+
+    @Test
+    void generateTimelineAnalysis_DailyResolution_SummarisesEachDay() {
+        // Given
+        LocalDateTime monday = LocalDateTime.of(2024, 5, 6, 0, 0);
+        MedicalEventTimelinePoint mildEvent = createMedicalEvent("Mild", new BigDecimal("70.0"), new BigDecimal("175.0"),
+                monday.plusHours(9), MedicalEventSeverity.MILD);
+        MedicalEventTimelinePoint severeEvent = createMedicalEvent("Severe", new BigDecimal("80.0"), new BigDecimal("175.0"),
+                monday.plusHours(20), MedicalEventSeverity.SEVERE);
+        MedicationDosageTimelinePoint mondayDosage = createMedicationDosage(new BigDecimal("250.0"), monday.plusHours(8));
+        MedicationDosageTimelinePoint secondMondayDosage = createMedicationDosage(new BigDecimal("500.0"), monday.plusHours(21));
+        MedicationDosageTimelinePoint wednesdayDosage = createMedicationDosage(new BigDecimal("300.0"), monday.plusDays(2).plusHours(8));
+
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
+                eq(patientId), any(), any())).thenReturn(List.of(mildEvent, severeEvent));
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
+                eq(patientId), any(), any())).thenReturn(List.of(mondayDosage, secondMondayDosage, wednesdayDosage));
+
+        // When
+        TimelineAnalysis timeline = timelineService.generateTimelineAnalysis(
+                patientId, monday, monday.plusDays(7), TimelineResolution.DAY);
+
+        // Then
+        assertThat(timeline.dataPoints()).isEmpty();
+        assertThat(timeline.resolution()).isEqualTo(TimelineResolution.DAY);
+        assertThat(timeline.buckets()).hasSize(3);
+
+        TimelineBucket mondayEvents = timeline.buckets().get(0);
+        assertThat(mondayEvents.bucketStart()).isEqualTo(monday);
+        assertThat(mondayEvents.eventType()).isEqualTo("EVENT");
+        assertThat(mondayEvents.count()).isEqualTo(2);
+        assertThat(mondayEvents.minValue()).isEqualByComparingTo("22.9");
+        assertThat(mondayEvents.maxValue()).isEqualByComparingTo("26.1");
+        assertThat(mondayEvents.maxSeverity()).isEqualTo(MedicalEventSeverity.SEVERE);
+
+        TimelineBucket mondayDosages = timeline.buckets().get(1);
+        assertThat(mondayDosages.eventType()).isEqualTo("DOSAGE");
+        assertThat(mondayDosages.count()).isEqualTo(2);
+        assertThat(mondayDosages.minValue()).isEqualByComparingTo("250.0");
+        assertThat(mondayDosages.maxValue()).isEqualByComparingTo("500.0");
+        assertThat(mondayDosages.maxSeverity()).isNull();
+
+        assertThat(timeline.buckets().get(2).bucketStart()).isEqualTo(monday.plusDays(2));
+        assertThat(timeline.getTotalEvents()).isEqualTo(2);
+        assertThat(timeline.getTotalDosages()).isEqualTo(3);
+    }
+
+    @Test
+    void generateTimelineAnalysis_WeeklyResolution_AlignsBucketsToMonday() {
+        // Given - a Sunday and the following Tuesday fall in different ISO weeks
+        LocalDateTime sunday = LocalDateTime.of(2024, 5, 12, 10, 0);
+        MedicationDosageTimelinePoint sundayDosage = createMedicationDosage(new BigDecimal("250.0"), sunday);
+        MedicationDosageTimelinePoint tuesdayDosage = createMedicationDosage(new BigDecimal("250.0"), sunday.plusDays(2));
+
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
+                eq(patientId), any(), any())).thenReturn(List.of());
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
+                eq(patientId), any(), any())).thenReturn(List.of(sundayDosage, tuesdayDosage));
+
+        // When
+        TimelineAnalysis timeline = timelineService.generateTimelineAnalysis(
+                patientId, sunday.minusDays(7), sunday.plusDays(7), TimelineResolution.WEEK);
+
+        // Then
+        assertThat(timeline.buckets()).extracting(TimelineBucket::bucketStart)
+                .containsExactly(LocalDateTime.of(2024, 5, 6, 0, 0), LocalDateTime.of(2024, 5, 13, 0, 0));
+    }
+
+    @Test
+    void generateTimelineAnalysis_TooManyBuckets_ThrowsException() {
+        // Given - ten years at hourly resolution
+        LocalDateTime end = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        // When/Then
+        assertThatThrownBy(() -> timelineService.generateTimelineAnalysis(
+                patientId, end.minusYears(10), end, TimelineResolution.HOUR))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("coarser resolution");
+        verifyNoInteractions(medicalEventRepository, medicationDosageRepository);
+    }
+
+    // ========== Analysis Section Tests ==========
+
+    @Test
+    void generateTimelineAnalysis_NoSectionsRequested_OmitsStatisticsAndPatterns() {
+        // Given
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
+                eq(patientId), any(), any())).thenReturn(List.of(
+                createMedicalEvent("Event", new BigDecimal("70.0"), new BigDecimal("175.0"))));
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
+                eq(patientId), any(), any())).thenReturn(List.of());
+
+        // When
+        TimelineAnalysis timeline = timelineService.generateTimelineAnalysis(patientId, startDate, endDate);
+
+        // Then
+        assertThat(timeline.dataPoints()).hasSize(1);
+        assertThat(timeline.statistics()).isNull();
+        assertThat(timeline.patterns()).isNull();
+    }
+
+    @Test
+    void generateTimelineAnalysis_StatisticsAndPatternsRequested_ComputesBoth() {
+        // Given - one event and three dosages spread over two days
+        LocalDateTime base = LocalDateTime.of(2024, 5, 6, 8, 0);
+        MedicalEventTimelinePoint event = createMedicalEvent("Event", new BigDecimal("70.0"), new BigDecimal("175.0"), base);
+        List<MedicationDosageTimelinePoint> dosages = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            MedicationDosageTimelinePoint dosage = createMedicationDosage(new BigDecimal("250.0"), base.plusHours(16L * i));
+            dosages.add(dosage);
+        }
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
+                eq(patientId), any(), any())).thenReturn(List.of(event));
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
+                eq(patientId), any(), any())).thenReturn(dosages);
+
+        // When
+        TimelineAnalysis timeline = timelineService.generateTimelineAnalysis(
+                patientId, startDate, endDate, null, Set.of(TimelineSection.STATISTICS, TimelineSection.PATTERNS));
+
+        // Then
+        assertThat(timeline.statistics())
+                .containsEntry("totalDataPoints", 4L)
+                .containsEntry("medicalEvents", 1L)
+                .containsEntry("medicationDosages", 3L)
+                .containsEntry("timeSpanDays", 2L);
+        assertThat(timeline.patterns())
+                .containsExactly("Consistent medication administration with low event frequency");
+    }
+
+    @Test
+    void generateTimelineAnalysis_DownsampledWithStatistics_CountsEveryDataPoint() {
+        // Given
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndEventTimeBetween(
+                eq(patientId), any(), any())).thenReturn(List.of(
+                createMedicalEvent("Event", new BigDecimal("70.0"), new BigDecimal("175.0"))));
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndAdministrationTimeBetween(
+                eq(patientId), any(), any())).thenReturn(List.of(createMedicationDosage(new BigDecimal("250.0"))));
+
+        // When
+        TimelineAnalysis timeline = timelineService.generateTimelineAnalysis(
+                patientId, startDate, endDate, TimelineResolution.DAY, Set.of(TimelineSection.STATISTICS));
+
+        // Then
+        assertThat(timeline.dataPoints()).isEmpty();
+        assertThat(timeline.buckets()).isNotEmpty();
+        assertThat(timeline.statistics()).containsEntry("totalDataPoints", 2L);
+        assertThat(timeline.patterns()).isNull();
+    }
+
+    @Test
+    void generateMedicationTimeline_PatternsRequested_ComputesPatternsOnly() {
+        // Given - more events than dosages for the medication
+        UUID medicationId = UUID.randomUUID();
+        List<MedicalEventTimelinePoint> events = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            events.add(createMedicalEvent("Event " + i, new BigDecimal("70.0"), new BigDecimal("175.0")));
+        }
+        when(medicalEventRepository.findTimelinePointsByPatientIdAndMedicationIdAndEventTimeBetween(
+                eq(patientId), eq(medicationId), any(), any())).thenReturn(events);
+        when(medicationDosageRepository.findTimelinePointsByPatientIdAndMedicationIdAndAdministrationTimeBetween(
+                eq(patientId), eq(medicationId), any(), any())).thenReturn(List.of(createMedicationDosage(new BigDecimal("250.0"))));
+
+        // When
+        TimelineAnalysis timeline = timelineService.generateMedicationTimeline(
+                patientId, medicationId, startDate, endDate, Set.of(TimelineSection.PATTERNS));
+
+        // Then
+        assertThat(timeline.statistics()).isNull();
+        assertThat(timeline.patterns()).containsExactly("High event frequency relative to medication dosages");
+    }
+
+    @Test
+    void identifyTimelinePatterns_ManyDataPoints_ReportsDenseActivity() {
+        // Given
+        List<TimelineDataPoint> dataPoints = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            dataPoints.add(new TimelineDataPoint(startDate.plusHours(i), i % 2 == 0 ? "EVENT" : "DOSAGE",
+                    "Point " + i, null, null, null, null));
+        }
+
+        // When
+        List<String> patterns = timelineService.identifyTimelinePatterns(dataPoints);
+        Map<String, Object> statistics = timelineService.calculateTimelineStatistics(dataPoints);
+
+        // Then
+        assertThat(patterns).containsExactly("Dense activity period with multiple data points");
+        assertThat(statistics).containsEntry("totalDataPoints", 11L).containsEntry("timeSpanDays", 0L);
+    }
+
     // ========== Helper Methods ==========
 
     /**
-     * Helper method to create a test MedicalEvent with all required fields.
+     * Helper method to create a test medical event projection two hours ago with moderate severity.
      */
-    private MedicalEvent createMedicalEvent(String title, BigDecimal weightKg, BigDecimal heightCm) {
-        MedicalEvent event = new MedicalEvent();
-        event.setId(UUID.randomUUID());
-        event.setPatientId(patientId);
-        event.setMedicationId(medicationId);
-        event.setEventTime(LocalDateTime.now().minusHours(2));
-        event.setTitle(title);
-        event.setDescription("Test description for " + title);
-        event.setSeverity(MedicalEventSeverity.MODERATE);
-        event.setCategory(MedicalEventCategory.SYMPTOM);
-        event.setWeightKg(weightKg);
-        event.setHeightCm(heightCm);
-        event.setDosageGiven(new BigDecimal("5.00"));
-        return event;
+    private MedicalEventTimelinePoint createMedicalEvent(String title, BigDecimal weightKg, BigDecimal heightCm) {
+        return createMedicalEvent(title, weightKg, heightCm, LocalDateTime.now().minusHours(2));
+    }
+
+    private MedicalEventTimelinePoint createMedicalEvent(String title, BigDecimal weightKg, BigDecimal heightCm,
+                                                         LocalDateTime eventTime) {
+        return createMedicalEvent(title, weightKg, heightCm, eventTime, MedicalEventSeverity.MODERATE);
+    }
+
+    private MedicalEventTimelinePoint createMedicalEvent(String title, BigDecimal weightKg, BigDecimal heightCm,
+                                                         LocalDateTime eventTime, MedicalEventSeverity severity) {
+        return new MedicalEventTimelinePoint(eventTime, title, severity, weightKg, heightCm);
     }
 
     /**
-     * Helper method to create a test MedicationDosage.
+     * Helper method to create a test medication dosage projection one hour ago.
      */
-    private MedicationDosage createMedicationDosage(BigDecimal dosageAmount) {
-        MedicationDosage dosage = new MedicationDosage();
-        dosage.setId(UUID.randomUUID());
-        dosage.setPatientId(patientId);
-        dosage.setMedicationId(medicationId);
-        dosage.setAdministrationTime(LocalDateTime.now().minusHours(1));
-        dosage.setDosageAmount(dosageAmount);
-        dosage.setDosageUnit("mg");
-        dosage.setAdministered(true);
-        return dosage;
+    private MedicationDosageTimelinePoint createMedicationDosage(BigDecimal dosageAmount) {
+        return createMedicationDosage(dosageAmount, LocalDateTime.now().minusHours(1));
+    }
+
+    private MedicationDosageTimelinePoint createMedicationDosage(BigDecimal dosageAmount, LocalDateTime administrationTime) {
+        return new MedicationDosageTimelinePoint(administrationTime, dosageAmount);
     }
 }
@@ -4,6 +4,7 @@ import com.ciaranmckenna.medical_event_tracker.dto.AuthResponse;
 import com.ciaranmckenna.medical_event_tracker.dto.LoginRequest;
 import com.ciaranmckenna.medical_event_tracker.dto.RegisterRequest;
 import com.ciaranmckenna.medical_event_tracker.entity.User;
+import com.ciaranmckenna.medical_event_tracker.event.UserAccountChangedEvent;
 import com.ciaranmckenna.medical_event_tracker.repository.UserRepository;
 import com.ciaranmckenna.medical_event_tracker.service.JwtService;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,12 +13,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,6 +39,9 @@ class UserServiceImplTest {
     @Mock
     private JwtService jwtService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -179,4 +185,48 @@ class UserServiceImplTest {
 
         assertTrue(exists);
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateUserProfile_PublishesAccountChange() {
+        UUID userId = UUID.randomUUID();
+        user.setId(userId);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.existsByUsernameOrEmailAndNotId(anyString(), anyString(), any(UUID.class))).thenReturn(false);
+        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(userRepository.save(any(User.class))).thenReturn(user);
+
+        userService.updateUserProfile(userId, registerRequest);
+
+        assertEquals(1, user.getTokenVersion());
+        verify(eventPublisher).publishEvent(new UserAccountChangedEvent(userId));
+    }
+
+    @Test
+    void updateUserProfile_NameOnlyChange_KeepsTokenVersion() {
+        UUID userId = UUID.randomUUID();
+        user.setId(userId);
+        RegisterRequest nameChange = new RegisterRequest("medicaluser", "medicaluser@example.com", null, "Jane", "Doe");
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(userRepository.existsByUsernameOrEmailAndNotId(anyString(), anyString(), any(UUID.class))).thenReturn(false);
+        when(userRepository.save(any(User.class))).thenReturn(user);
+
+        userService.updateUserProfile(userId, nameChange);
+
+        assertEquals(0, user.getTokenVersion());
+        assertEquals("Jane", user.getFirstName());
+    }
+
+    @Test
+    void deleteUser_DisablesUserAndPublishesAccountChange() {
+        UUID userId = UUID.randomUUID();
+        user.setId(userId);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+
+        userService.deleteUser(userId);
+
+        assertFalse(user.getEnabled());
+        assertEquals(1, user.getTokenVersion());
+        verify(userRepository).save(user);
+        verify(eventPublisher).publishEvent(new UserAccountChangedEvent(userId));
+    }
+}
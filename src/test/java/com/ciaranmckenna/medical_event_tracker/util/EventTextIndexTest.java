@@ -0,0 +1,179 @@
+package com.ciaranmckenna.medical_event_tracker.util;
+
+import com.ciaranmckenna.medical_event_tracker.dto.MedicalEventText;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventCategory;
+import com.ciaranmckenna.medical_event_tracker.entity.MedicalEventSeverity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventTextIndexTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2025, 3, 1, 9, 0);
+
+    private UUID seizureInTitle;
+    private UUID seizureInDescription;
+    private UUID armPain;
+    private UUID painInArm;
+    private UUID medicationId;
+    private EventTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        seizureInTitle = UUID.randomUUID();
+        seizureInDescription = UUID.randomUUID();
+        armPain = UUID.randomUUID();
+        painInArm = UUID.randomUUID();
+        medicationId = UUID.randomUUID();
+        index = EventTextIndex.of(List.of(
+                text(seizureInTitle, BASE_TIME, "Tonic-clonic seizure", "Lasted two minutes, recovered after rest",
+                        MedicalEventCategory.SYMPTOM, MedicalEventSeverity.SEVERE),
+                text(seizureInDescription, BASE_TIME.plusDays(1), "Night episode",
+                        "Possible seizure during sleep; parents reported left arm jerking",
+                        MedicalEventCategory.SYMPTOM, MedicalEventSeverity.MODERATE),
+                new MedicalEventText(armPain, BASE_TIME.plusDays(2), "Injection site", "Left arm pain after injection",
+                        medicationId, MedicalEventCategory.MEDICATION, MedicalEventSeverity.MILD, null, null),
+                text(painInArm, BASE_TIME.plusDays(3), "Pain", null,
+                        MedicalEventCategory.SYMPTOM, MedicalEventSeverity.MILD)));
+    }
+
+    @Test
+    void search_RanksTitleMatchesAboveDescriptionMatches() {
+        // When
+        List<EventTextIndex.Hit> hits = index.search("Seizure", 10);
+
+        // Then
+        assertThat(hits).extracting(EventTextIndex.Hit::id).containsExactly(seizureInTitle, seizureInDescription);
+        assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+    }
+
+    @Test
+    void search_WordsMatchTokenPrefixesAndMustAllMatch() {
+        // When/Then
+        assertThat(index.search("seiz", 10)).extracting(EventTextIndex.Hit::id)
+                .containsExactlyInAnyOrder(seizureInTitle, seizureInDescription);
+        assertThat(index.search("seizure arm", 10)).extracting(EventTextIndex.Hit::id)
+                .containsExactly(seizureInDescription);
+        assertThat(index.search("seizure rash", 10)).isEmpty();
+    }
+
+    @Test
+    void search_PhraseMatchesConsecutiveTokensOnly() {
+        // When/Then
+        assertThat(index.search("\"left arm\"", 10)).extracting(EventTextIndex.Hit::id)
+                .containsExactlyInAnyOrder(seizureInDescription, armPain);
+        assertThat(index.search("\"arm left\"", 10)).isEmpty();
+        assertThat(index.search("\"arm pain\" injection", 10)).extracting(EventTextIndex.Hit::id)
+                .containsExactly(armPain);
+    }
+
+    @Test
+    void search_PhraseDoesNotSpanFields() {
+        // When/Then - "Pain" title and no description; "injection site" title then "left arm" description
+        assertThat(index.search("\"site left\"", 10)).isEmpty();
+    }
+
+    @Test
+    void search_NormalizesCaseAccentsAndPunctuation() {
+        // Given
+        UUID accented = UUID.randomUUID();
+        EventTextIndex accentedIndex = EventTextIndex.of(List.of(
+                text(accented, BASE_TIME, "Fièvre", "Post-ictal drowsiness",
+                        MedicalEventCategory.SYMPTOM, MedicalEventSeverity.MILD)));
+
+        // When/Then
+        assertThat(accentedIndex.search("FIEVRE", 10)).extracting(EventTextIndex.Hit::id).containsExactly(accented);
+        assertThat(accentedIndex.search("\"post ictal\"", 10)).extracting(EventTextIndex.Hit::id).containsExactly(accented);
+    }
+
+    @Test
+    void search_EqualScoresAreOrderedNewestFirstAndLimited() {
+        // Given
+        UUID older = UUID.randomUUID();
+        UUID newer = UUID.randomUUID();
+        EventTextIndex tiedIndex = EventTextIndex.of(List.of(
+                text(older, BASE_TIME, "Fever", null, MedicalEventCategory.SYMPTOM, MedicalEventSeverity.MILD),
+                text(newer, BASE_TIME.plusHours(1), "Fever", null, MedicalEventCategory.SYMPTOM, MedicalEventSeverity.MILD)));
+
+        // When/Then
+        assertThat(tiedIndex.search("fever", 10)).extracting(EventTextIndex.Hit::id).containsExactly(newer, older);
+        assertThat(tiedIndex.search("fever", 1)).extracting(EventTextIndex.Hit::id).containsExactly(newer);
+    }
+
+    @Test
+    void matches_ReturnsEveryMatchInIndexOrder() {
+        // When/Then
+        assertThat(index.matches("arm", EventTextIndex.Filter.NONE)).extracting(EventTextIndex.Hit::id)
+                .containsExactly(seizureInDescription, armPain);
+        assertThat(index.matches("\"arm left\"", EventTextIndex.Filter.NONE)).isEmpty();
+        assertThat(index.matches("arm", EventTextIndex.Filter.NONE)).extracting(EventTextIndex.Hit::eventTime)
+                .containsExactly(BASE_TIME.plusDays(1), BASE_TIME.plusDays(2));
+    }
+
+    @Test
+    void matches_AppliesEveryFilterAttribute() {
+        // When/Then
+        assertThat(index.matches("pain", new EventTextIndex.Filter(
+                List.of(MedicalEventCategory.SYMPTOM), null, null, null, null)))
+                .extracting(EventTextIndex.Hit::id).containsExactly(painInArm);
+        assertThat(index.matches("seizure", new EventTextIndex.Filter(
+                null, List.of(MedicalEventSeverity.MODERATE), null, null, null)))
+                .extracting(EventTextIndex.Hit::id).containsExactly(seizureInDescription);
+        assertThat(index.matches("arm", new EventTextIndex.Filter(
+                null, null, List.of(medicationId), null, null)))
+                .extracting(EventTextIndex.Hit::id).containsExactly(armPain);
+        assertThat(index.matches("pain", new EventTextIndex.Filter(
+                null, null, null, BASE_TIME.plusDays(2), BASE_TIME.plusDays(2))))
+                .extracting(EventTextIndex.Hit::id).containsExactly(armPain);
+    }
+
+    @Test
+    void search_WithFilter_RanksOnlyAcceptedEvents() {
+        // When
+        List<EventTextIndex.Hit> hits = index.search("seizure", 10, new EventTextIndex.Filter(
+                null, null, null, BASE_TIME.plusHours(1), null));
+
+        // Then
+        assertThat(hits).extracting(EventTextIndex.Hit::id).containsExactly(seizureInDescription);
+    }
+
+    @Test
+    void search_QueryWithoutWords_ReturnsNoHits() {
+        // When/Then
+        assertThat(index.search("  \"\" -- ", 10)).isEmpty();
+        assertThat(index.search(null, 10)).isEmpty();
+        assertThat(index.matches("--", EventTextIndex.Filter.NONE)).isEmpty();
+        assertThat(EventTextIndex.of(List.of()).search("fever", 10)).isEmpty();
+    }
+
+    @Test
+    void apply_AddsReplacesAndRemovesEvents() {
+        // Given
+        UUID rash = UUID.randomUUID();
+
+        // When
+        EventTextIndex updated = index.apply(List.of(
+                        text(rash, BASE_TIME.minusDays(1), "Rash", "Red patches on arm",
+                                MedicalEventCategory.SYMPTOM, MedicalEventSeverity.MILD),
+                        text(painInArm, BASE_TIME.plusDays(3), "Pain", "Cramp in the calf",
+                                MedicalEventCategory.SYMPTOM, MedicalEventSeverity.MILD)),
+                List.of(armPain));
+
+        // Then
+        assertThat(updated.size()).isEqualTo(index.size());
+        assertThat(updated.matches("arm", EventTextIndex.Filter.NONE)).extracting(EventTextIndex.Hit::id)
+                .containsExactly(rash, seizureInDescription);
+        assertThat(updated.search("calf", 10)).extracting(EventTextIndex.Hit::id).containsExactly(painInArm);
+        assertThat(index.search("calf", 10)).isEmpty();
+    }
+
+    private static MedicalEventText text(UUID id, LocalDateTime eventTime, String title, String description,
+                                         MedicalEventCategory category, MedicalEventSeverity severity) {
+        return new MedicalEventText(id, eventTime, title, description, null, category, severity, null, null);
+    }
+}
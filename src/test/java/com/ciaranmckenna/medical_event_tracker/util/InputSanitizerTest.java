@@ -0,0 +1,183 @@
+package com.ciaranmckenna.medical_event_tracker.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for InputSanitizer.
+ * The differential tests compare it with the original one-pattern-per-rule implementation, kept below as
+ * {@link ReferenceSanitizer}, on generated input that mixes ordinary text with tags, protocols, event handlers,
+ * entities and every whitespace and control character the rules treat specially.
+ */
+class InputSanitizerTest {
+
+    private static final String[] FRAGMENTS = {
+            "a", "B", "x", "é", "\u017F", "\u212A", "1", "#", ";", "&", "&amp;", "&#39;", "am", "p;", "'", "\"",
+            "<", ">", "/", "=", ":", " ", "  ", "\t", "\n", "\r\n", "\u000B", "\f", "\u0001", "\u00A0", "\u2028",
+            "<b>", "</b>", "<p class='x'>", "<br/>", "script", "java", "vb", "on", "load", "click"
+    };
+
+    private static final String[] ACTIVE_FRAGMENTS = {
+            "<script>", "</script>", "<SCRIPT src=x>", "</ScRiPt>", "javascript:", "JaVaScRiPt:", "vbscript:",
+            "VBScript:", "onload", "onerror", "ONCLICK", "onClick=", "onerror ="
+    };
+
+    private static final String[] WORDS = {
+            "patient", "reported", "mild", "headache", "after", "morning", "dose", "of", "250mg", "levetiracetam",
+            "seizure", "lasted", "approximately", "two", "minutes;", "recovered", "fully.", "Temperature", "38.2C,",
+            "parents", "observed", "left-sided", "twitching", "(no", "injury)", "-", "follow", "up", "with", "GP"
+    };
+
+    private final InputSanitizer sanitizer = new InputSanitizer();
+
+    @Test
+    void sanitizeText_MatchesReferenceOnGeneratedInput() {
+        Random random = new Random(20240611L);
+        for (int run = 0; run < 50_000; run++) {
+            // Half the inputs have no active content, so only the single pass cleans them
+            String input = fragments(random, random.nextInt(24), run % 2 == 0);
+
+            assertThat(sanitizer.sanitizeText(input))
+                    .as("sanitizeText(%s)", escape(input))
+                    .isEqualTo(ReferenceSanitizer.sanitizeText(input));
+            assertThat(sanitizer.sanitizeMedicalData(input))
+                    .as("sanitizeMedicalData(%s)", escape(input))
+                    .isEqualTo(ReferenceSanitizer.sanitizeMedicalData(input));
+        }
+    }
+
+    @Test
+    void sanitizeMedicalData_MatchesReferenceOnGeneratedDescriptions() {
+        Random random = new Random(7L);
+        for (int run = 0; run < 2_000; run++) {
+            String input = description(random, 2_000);
+
+            assertThat(sanitizer.sanitizeMedicalData(input))
+                    .as("sanitizeMedicalData(%s)", escape(input))
+                    .isEqualTo(ReferenceSanitizer.sanitizeMedicalData(input));
+        }
+    }
+
+    @Test
+    void sanitizeText_MatchesReferenceWhereOneRuleExposesAnother() {
+        // Given - removing an earlier match creates or hides a later one
+        String[] inputs = {
+                "<a onclick>text = more",
+                "java<b>script:alert(1)",
+                "<scr<b>ipt>alert(1)</script>",
+                "onljavascript:oad=alert(1)",
+                "<<script>x</script>b>",
+                "<p>vbscript:</p> onerror <i>= x</i>",
+                "  leading and trailing  "
+        };
+
+        for (String input : inputs) {
+            // When/Then
+            assertThat(sanitizer.sanitizeText(input)).as(input).isEqualTo(ReferenceSanitizer.sanitizeText(input));
+        }
+    }
+
+    @Test
+    void sanitizeText_StripsTagsAndCollapsesWhitespace() {
+        // When/Then
+        assertThat(sanitizer.sanitizeText("  Mild <b>headache</b>\n\n after   dose ")).isEqualTo("Mild headache after dose");
+        assertThat(sanitizer.sanitizeText("Temp < 38 and rising")).isEqualTo("Temp < 38 and rising");
+        assertThat(sanitizer.sanitizeText("<script>alert('x')</script>Seizure")).isEqualTo("Seizure");
+        assertThat(sanitizer.sanitizeText("   ")).isEqualTo("   ");
+        assertThat(sanitizer.sanitizeText(null)).isNull();
+    }
+
+    @Test
+    void sanitizeText_CleanInput_ReturnsSameInstance() {
+        // Given
+        String input = "Patient reported mild headache after morning dose";
+
+        // When/Then
+        assertThat(sanitizer.sanitizeText(input)).isSameAs(input);
+        assertThat(sanitizer.sanitizeMedicalData(input)).isSameAs(input);
+    }
+
+    @Test
+    void sanitizeMedicalData_RemovesQuotesThenEntities() {
+        // When/Then
+        assertThat(sanitizer.sanitizeMedicalData("Said \"ouch\" &amp; cried")).isEqualTo("Said ouch  cried");
+        assertThat(sanitizer.sanitizeMedicalData("&am'p; & &; &#39")).isEqualTo(" & &; &#39");
+    }
+
+    private static String fragments(Random random, int count, boolean activeContent) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(activeContent && random.nextInt(8) == 0
+                    ? ACTIVE_FRAGMENTS[random.nextInt(ACTIVE_FRAGMENTS.length)]
+                    : FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static String description(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            int roll = random.nextInt(100);
+            if (roll < 2) {
+                text.append(fragments(random, 1, random.nextBoolean()));
+            } else {
+                text.append(WORDS[random.nextInt(WORDS.length)]).append(roll < 95 ? " " : roll < 98 ? "\n" : "  ");
+            }
+        }
+        return text.substring(0, length);
+    }
+
+    private static String escape(String input) {
+        StringBuilder escaped = new StringBuilder("\"");
+        for (char c : input.toCharArray()) {
+            escaped.append(c >= ' ' && c < 0x7F ? String.valueOf(c) : String.format("\\u%04X", (int) c));
+        }
+        return escaped.append('"').toString();
+    }
+
+    /**
+     * The sanitizer as it was before the single-pass rewrite, unchanged apart from being static.
+     */
+    private static final class ReferenceSanitizer {
+
+        private static final Pattern SCRIPT_PATTERN = Pattern.compile("<script[^>]*>.*?</script>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+        private static final Pattern HTML_PATTERN = Pattern.compile("<[^>]*>", Pattern.CASE_INSENSITIVE);
+        private static final Pattern JAVASCRIPT_PATTERN = Pattern.compile("javascript:", Pattern.CASE_INSENSITIVE);
+        private static final Pattern VBSCRIPT_PATTERN = Pattern.compile("vbscript:", Pattern.CASE_INSENSITIVE);
+        private static final Pattern ONLOAD_PATTERN = Pattern.compile("onload[^=]*=", Pattern.CASE_INSENSITIVE);
+        private static final Pattern ONERROR_PATTERN = Pattern.compile("onerror[^=]*=", Pattern.CASE_INSENSITIVE);
+        private static final Pattern ONCLICK_PATTERN = Pattern.compile("onclick[^=]*=", Pattern.CASE_INSENSITIVE);
+
+        static String sanitizeText(String input) {
+            if (input == null || input.trim().isEmpty()) {
+                return input;
+            }
+
+            String sanitized = input;
+            sanitized = SCRIPT_PATTERN.matcher(sanitized).replaceAll("");
+            sanitized = JAVASCRIPT_PATTERN.matcher(sanitized).replaceAll("");
+            sanitized = VBSCRIPT_PATTERN.matcher(sanitized).replaceAll("");
+            sanitized = ONLOAD_PATTERN.matcher(sanitized).replaceAll("");
+            sanitized = ONERROR_PATTERN.matcher(sanitized).replaceAll("");
+            sanitized = ONCLICK_PATTERN.matcher(sanitized).replaceAll("");
+            sanitized = HTML_PATTERN.matcher(sanitized).replaceAll("");
+            sanitized = sanitized.replaceAll("\\s+", " ").trim();
+            return sanitized;
+        }
+
+        static String sanitizeMedicalData(String medicalText) {
+            if (medicalText == null) {
+                return null;
+            }
+
+            String sanitized = sanitizeText(medicalText);
+            sanitized = sanitized.replaceAll("[<>\"']", "");
+            sanitized = sanitized.replaceAll("&[a-zA-Z0-9#]+;", "");
+            return sanitized;
+        }
+    }
+}
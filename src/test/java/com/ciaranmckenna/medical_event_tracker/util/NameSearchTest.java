@@ -0,0 +1,78 @@
+package com.ciaranmckenna.medical_event_tracker.util;
+
+import com.ciaranmckenna.medical_event_tracker.dto.NameMatchQuality;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameSearchTest {
+
+    @Test
+    void normalize_LowercasesStripsAccentsAndCollapsesPunctuation() {
+        // When/Then
+        assertThat(NameSearch.normalize("  Zoë  O'Brien-Núñez ")).isEqualTo("zoe o brien nunez");
+        assertThat(NameSearch.normalize("AMOXICILLIN 500mg")).isEqualTo("amoxicillin 500mg");
+        assertThat(NameSearch.normalize("--")).isEmpty();
+        assertThat(NameSearch.normalize(null)).isNull();
+    }
+
+    @Test
+    void trigrams_ContainsEveryTrigramOfEverySubstring() {
+        // When
+        var trigrams = NameSearch.trigrams("amoxil", null, "ab");
+
+        // Then
+        assertThat(trigrams).containsExactlyInAnyOrder("amo", "mox", "oxi", "xil");
+        assertThat(trigrams).containsAll(NameSearch.trigrams("moxi"));
+    }
+
+    @Test
+    void prefixEnd_BoundsEveryValueStartingWithThePrefix() {
+        // Given
+        String end = NameSearch.prefixEnd("amox");
+
+        // When/Then
+        assertThat("amox").isLessThan(end);
+        assertThat("amoxicillin").isLessThan(end);
+        assertThat("amoy").isGreaterThan(end);
+    }
+
+    @Test
+    void matchQuality_ReturnsBestQualityAcrossNames() {
+        // When/Then
+        assertThat(NameSearch.matchQuality("amoxil", "amoxil")).isEqualTo(NameMatchQuality.EXACT);
+        assertThat(NameSearch.matchQuality("amox", "amoxil")).isEqualTo(NameMatchQuality.PREFIX);
+        assertThat(NameSearch.matchQuality("sod", "valproate sodium")).isEqualTo(NameMatchQuality.WORD_PREFIX);
+        assertThat(NameSearch.matchQuality("oxi", "amoxil", null, "oxis")).isEqualTo(NameMatchQuality.PREFIX);
+        assertThat(NameSearch.matchQuality("xyz", "amoxil")).isNull();
+        assertThat(NameSearch.matchQuality("", "amoxil")).isNull();
+    }
+
+    @Test
+    void rank_OrdersByQualityThenNameAndDropsNonMatches() {
+        // Given - "amxo" shares no substring with the term, as a trigram false positive would not
+        List<String> candidates = List.of("co amoxiclav", "amoxil", "amoxicillin", "amxo", "amoxil", "amox");
+
+        // When
+        List<NameSearch.Match<String>> matches =
+                NameSearch.rank(candidates, "amox", name -> new String[]{name}, 10);
+
+        // Then
+        assertThat(matches).extracting(NameSearch.Match::item)
+                .containsExactly("amox", "amoxicillin", "amoxil", "co amoxiclav");
+        assertThat(matches).extracting(NameSearch.Match::quality).containsExactly(
+                NameMatchQuality.EXACT, NameMatchQuality.PREFIX, NameMatchQuality.PREFIX, NameMatchQuality.WORD_PREFIX);
+    }
+
+    @Test
+    void rank_AppliesLimit() {
+        // When
+        List<NameSearch.Match<String>> matches =
+                NameSearch.rank(List.of("abc", "abd", "abe"), "ab", name -> new String[]{name}, 2);
+
+        // Then
+        assertThat(matches).extracting(NameSearch.Match::item).containsExactly("abc", "abd");
+    }
+}